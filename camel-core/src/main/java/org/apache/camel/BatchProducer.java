@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import java.util.List;
+
+/**
+ * A {@link Producer} which can send a batch of exchanges at once, such as
+ * using a single transaction, session or batch statement.
+ * <p/>
+ * Batches is created by the <a href="http://camel.apache.org/batch-to.html">batchTo</a>
+ * EIP in the routes. Producers which do not implement this interface is
+ * sent the exchanges in the batch one by one.
+ *
+ * @version 
+ */
+public interface BatchProducer extends Producer {
+
+    /**
+     * Processes the batch of exchanges.
+     * <p/>
+     * Failures which only affects some of the exchanges should be set on the failed exchanges
+     * using {@link Exchange#setException(Throwable)}. Throwing an exception fails all the exchanges in the batch.
+     *
+     * @param exchanges the exchanges in the batch
+     * @throws Exception is thrown if the batch failed
+     */
+    void processBatch(List<Exchange> exchanges) throws Exception;
+}
@@ -50,6 +50,7 @@ import org.apache.camel.spi.ProcessorFactory;
 import org.apache.camel.spi.Registry;
 import org.apache.camel.spi.ServicePool;
 import org.apache.camel.spi.ShutdownStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.spi.UuidGenerator;
 
@@ -1014,6 +1015,20 @@ public interface CamelContext extends SuspendableService, RuntimeConfiguration {
      */
     void setShutdownStrategy(ShutdownStrategy shutdownStrategy);
 
+    /**
+     * Gets the {@link org.apache.camel.spi.StreamCachingStrategy} to use.
+     *
+     * @return the strategy
+     */
+    StreamCachingStrategy getStreamCachingStrategy();
+
+    /**
+     * Sets a custom {@link org.apache.camel.spi.StreamCachingStrategy} to use.
+     *
+     * @param streamCachingStrategy the custom strategy
+     */
+    void setStreamCachingStrategy(StreamCachingStrategy streamCachingStrategy);
+
     /**
      * Gets the current {@link org.apache.camel.spi.ExecutorServiceManager}
      *
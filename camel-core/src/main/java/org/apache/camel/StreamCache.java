@@ -43,4 +43,14 @@ public interface StreamCache {
      */
     void writeTo(OutputStream os) throws IOException;
 
+    /**
+     * Creates a copy of this stream cache which can be consumed independently of this stream cache.
+     * <p/>
+     * Implementations should share the cached data with the copy, instead of copying the data.
+     *
+     * @return a new stream cache positioned at the beginning of the cached data
+     * @throws java.io.IOException is thrown if the copy could not be created
+     */
+    StreamCache copy() throws IOException;
+
 }
@@ -0,0 +1,69 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedCircuitBreakerLoadBalancerMBean extends ManagedLoadBalancerMBean {
+
+    @ManagedAttribute(description = "Number of failures within the window which opens the circuit")
+    int getThreshold();
+
+    @ManagedAttribute(description = "Number of failures within the window which opens the circuit")
+    void setThreshold(int threshold);
+
+    @ManagedAttribute(description = "The window in millis the failures is counted within")
+    long getWindow();
+
+    @ManagedAttribute(description = "The window in millis the failures is counted within")
+    void setWindow(long window);
+
+    @ManagedAttribute(description = "Processing time in millis where an exchange taking longer is counted as a failure")
+    long getSlowCallThreshold();
+
+    @ManagedAttribute(description = "Processing time in millis where an exchange taking longer is counted as a failure")
+    void setSlowCallThreshold(long slowCallThreshold);
+
+    @ManagedAttribute(description = "Time in millis an open circuit waits before it becomes half open")
+    long getHalfOpenAfter();
+
+    @ManagedAttribute(description = "Time in millis an open circuit waits before it becomes half open")
+    void setHalfOpenAfter(long halfOpenAfter);
+
+    @ManagedAttribute(description = "Maximum number of probe exchanges when the circuit is half open")
+    int getHalfOpenProbes();
+
+    @ManagedAttribute(description = "Maximum number of probe exchanges when the circuit is half open")
+    void setHalfOpenProbes(int halfOpenProbes);
+
+    @ManagedAttribute(description = "The exception types which counts as failures")
+    String[] getExceptionTypes();
+
+    @ManagedAttribute(description = "The state of the circuit of each processor")
+    String[] getCircuitStates();
+
+    @ManagedAttribute(description = "Number of circuits which is open")
+    int getOpenCircuits();
+
+    @ManagedAttribute(description = "Number of exchanges rejected because all the circuits was open")
+    long getRejected();
+
+    @ManagedOperation(description = "Closes all the circuits")
+    void closeCircuits();
+
+}
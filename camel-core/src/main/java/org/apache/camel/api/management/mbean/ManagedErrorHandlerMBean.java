@@ -44,6 +44,9 @@ public interface ManagedErrorHandlerMBean {
     @ManagedAttribute(description = "RedeliveryPolicy for maximum redeliveries")
     void setMaximumRedeliveries(Integer maximum);
 
+    @ManagedAttribute(description = "Number of asynchronous redeliveries which is waiting to be redelivered")
+    Integer getPendingRedeliveries();
+
     @ManagedAttribute(description = "RedeliveryPolicy for maximum redelivery delay")
     Long getMaximumRedeliveryDelay();
 
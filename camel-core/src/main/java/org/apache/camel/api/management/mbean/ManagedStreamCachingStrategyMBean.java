@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+/**
+ *
+ */
+public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
+
+    @ManagedAttribute(description = "Directory used when overflow and spooling cache streams to disk")
+    String getSpoolDirectory();
+
+    @ManagedAttribute(description = "Cipher used if writing with encryption")
+    String getSpoolCipher();
+
+    @ManagedAttribute(description = "Threshold in bytes when overflow and spooling cache streams to disk instead of in-memory")
+    long getSpoolThreshold();
+
+    @ManagedAttribute(description = "Threshold in bytes when overflow and spooling cache streams to disk instead of in-memory")
+    void setSpoolThreshold(long threshold);
+
+    @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
+    int getBufferSize();
+
+    @ManagedAttribute(description = "Maximum number of bytes all in-memory cache streams can use (zero means no limit)")
+    long getMaxMemory();
+
+    @ManagedAttribute(description = "Maximum number of bytes all in-memory cache streams can use (zero means no limit)")
+    void setMaxMemory(long maxMemory);
+
+    @ManagedAttribute(description = "Whether in-memory cache streams use off-heap buffers")
+    boolean isDirectBuffer();
+
+    @ManagedAttribute(description = "Whether spooled cache streams is read using memory mapped files")
+    boolean isMemoryMapped();
+
+    @ManagedAttribute(description = "Whether to remove spool directory when stopping")
+    boolean isRemoveSpoolDirectoryWhenStopping();
+
+    @ManagedAttribute(description = "Number of bytes currently in use by in-memory cache streams")
+    long getMemoryUsed();
+
+    @ManagedAttribute(description = "Highest number of bytes which has been in use by in-memory cache streams at the same time")
+    long getPeakMemory();
+
+    @ManagedAttribute(description = "Number of spool files currently on disk")
+    int getSpoolFileCounter();
+
+    @ManagedAttribute(description = "Number of in-memory cache streams")
+    long getCacheMemoryCounter();
+
+    @ManagedAttribute(description = "Total accumulated number of bytes which has been stream cached for in-memory cache streams")
+    long getCacheMemorySize();
+
+    @ManagedAttribute(description = "Average number of bytes per cached stream for in-memory stream caches.")
+    long getCacheMemoryAverageSize();
+
+    @ManagedAttribute(description = "Number of spooled (not in-memory) cache streams")
+    long getCacheSpoolCounter();
+
+    @ManagedAttribute(description = "Total accumulated number of bytes which has been stream cached for spooled cache streams")
+    long getCacheSpoolSize();
+
+    @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
+    long getCacheSpoolAverageSize();
+
+    @ManagedAttribute(description = "Whether utilization statistics is enabled")
+    boolean isStatisticsEnabled();
+
+    @ManagedAttribute(description = "Whether utilization statistics is enabled")
+    void setStatisticsEnabled(boolean enabled);
+
+    @ManagedOperation(description = "Reset the utilization statistics")
+    void resetStatistics();
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.api.management.mbean;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+
+public interface ManagedXmlParserPoolMBean extends ManagedServiceMBean {
+
+    @ManagedAttribute(description = "Maximum number of idle instances of each kind kept in the pool")
+    int getMaxPoolSize();
+
+    @ManagedAttribute(description = "Maximum number of idle instances of each kind kept in the pool")
+    void setMaxPoolSize(int maxPoolSize);
+
+    @ManagedAttribute(description = "Number of idle document builders in the pool")
+    int getDocumentBuilderPoolSize();
+
+    @ManagedAttribute(description = "Number of document builders which has been created")
+    long getDocumentBuilderCreatedCounter();
+
+    @ManagedAttribute(description = "Number of document builders which has been acquired")
+    long getDocumentBuilderAcquiredCounter();
+
+    @ManagedAttribute(description = "Number of idle transformers in the pool")
+    int getTransformerPoolSize();
+
+    @ManagedAttribute(description = "Number of transformers which has been created")
+    long getTransformerCreatedCounter();
+
+    @ManagedAttribute(description = "Number of transformers which has been acquired")
+    long getTransformerAcquiredCounter();
+
+    @ManagedOperation(description = "Reset the counters")
+    void resetStatistics();
+
+    @ManagedOperation(description = "Discards the idle instances in the pool")
+    void purge();
+
+}
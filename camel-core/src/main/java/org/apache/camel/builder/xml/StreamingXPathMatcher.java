@@ -0,0 +1,641 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder.xml;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates a subset of XPath as a predicate by streaming the document using StAX, which
+ * stops reading as soon as the result is known.
+ * <p/>
+ * The supported subset is one or more terms combined using either <tt>or</tt> or <tt>and</tt>, where a term
+ * is a location path optionally compared using <tt>=</tt> or <tt>!=</tt> to a string or number literal.
+ * The location path consist of element name tests (which can use a namespace prefix or <tt>*</tt>)
+ * separated by <tt>/</tt> or <tt>//</tt>, where each element step can have attribute predicates such as
+ * <tt>[@type]</tt> or <tt>[@type='gold']</tt>. The path can end with an attribute <tt>@name</tt>
+ * or <tt>text()</tt>. For example <tt>/order/@priority = 'high'</tt> or <tt>//item[@type='gold']</tt>.
+ * <p/>
+ * Use {@link #compile(String, javax.xml.namespace.NamespaceContext)} which returns <tt>null</tt> if the expression
+ * is not supported, in which case the expression should be evaluated using the XPath engine instead.
+ *
+ * @version
+ */
+public final class StreamingXPathMatcher {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(StreamingXPathMatcher.class);
+
+    private enum Target { ELEMENT, ATTRIBUTE, TEXT }
+
+    private enum Operator { NONE, EQUAL, NOT_EQUAL }
+
+    private final String text;
+    private final List<Term> terms;
+    private final boolean and;
+    private final boolean attributesNeeded;
+
+    private StreamingXPathMatcher(String text, List<Term> terms, boolean and) {
+        this.text = text;
+        this.terms = terms;
+        this.and = and;
+        boolean needed = false;
+        for (Term term : terms) {
+            for (Step step : term.steps) {
+                needed |= !step.predicates.isEmpty();
+            }
+        }
+        this.attributesNeeded = needed;
+    }
+
+    /**
+     * Compiles the expression.
+     *
+     * @param text    the xpath expression
+     * @param context the namespace context to resolve prefixes
+     * @return the matcher, or <tt>null</tt> if the expression is not supported for streaming
+     */
+    public static StreamingXPathMatcher compile(String text, NamespaceContext context) {
+        try {
+            return new Parser(text, context).parse();
+        } catch (IllegalArgumentException e) {
+            LOG.debug("XPath expression {} is not supported for streaming due {}", text, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Streams the document and evaluates the expression.
+     *
+     * @param reader the reader positioned at the start of the document, the reader is not closed
+     * @return the result of the expression
+     * @throws XMLStreamException is thrown if error reading the document
+     */
+    public boolean matches(XMLStreamReader reader) throws XMLStreamException {
+        Evaluation evaluation = new Evaluation();
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                evaluation.startElement(reader);
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                evaluation.endElement();
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA || event == XMLStreamConstants.SPACE) {
+                evaluation.characters(reader);
+            } else {
+                continue;
+            }
+            Boolean answer = evaluation.result();
+            if (answer != null) {
+                LOG.trace("Streaming XPath {} is {} after reading to depth {}", new Object[]{text, answer, evaluation.names.size()});
+                return answer;
+            }
+        }
+        return evaluation.finalResult();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingXPathMatcher[" + text + "]";
+    }
+
+    /**
+     * The state while streaming a single document.
+     */
+    private final class Evaluation {
+        private final List<QName> names = new ArrayList<QName>();
+        private final List<Map<QName, String>> attributes = new ArrayList<Map<QName, String>>();
+        private final TermState[] states = new TermState[terms.size()];
+
+        private Evaluation() {
+            for (int i = 0; i < states.length; i++) {
+                states[i] = new TermState(terms.get(i));
+            }
+        }
+
+        void startElement(XMLStreamReader reader) {
+            names.add(reader.getName());
+            Map<QName, String> map = null;
+            if (attributesNeeded) {
+                map = new HashMap<QName, String>();
+                for (int i = 0; i < reader.getAttributeCount(); i++) {
+                    map.put(normalize(reader.getAttributeName(i)), reader.getAttributeValue(i));
+                }
+            }
+            attributes.add(map);
+
+            int depth = names.size() - 1;
+            for (TermState state : states) {
+                if (!state.result && state.term.matchesPath(this, state.term.steps.length - 1, depth)) {
+                    state.matched(reader, depth);
+                }
+            }
+        }
+
+        void endElement() {
+            int depth = names.size() - 1;
+            for (TermState state : states) {
+                state.endElement(depth);
+            }
+            names.remove(depth);
+            attributes.remove(depth);
+        }
+
+        void characters(XMLStreamReader reader) {
+            if (names.isEmpty()) {
+                return;
+            }
+            int depth = names.size() - 1;
+            for (TermState state : states) {
+                state.characters(reader, depth);
+            }
+        }
+
+        Boolean result() {
+            if (and) {
+                for (TermState state : states) {
+                    if (!state.result) {
+                        return null;
+                    }
+                }
+                return Boolean.TRUE;
+            } else {
+                for (TermState state : states) {
+                    if (state.result) {
+                        return Boolean.TRUE;
+                    }
+                }
+                return null;
+            }
+        }
+
+        boolean finalResult() {
+            Boolean answer = result();
+            return answer != null && answer;
+        }
+    }
+
+    /**
+     * The state of a single term while streaming a document.
+     */
+    private static final class TermState {
+        private final Term term;
+        private final List<Capture> captures = new ArrayList<Capture>();
+        private final List<Integer> textParents = new ArrayList<Integer>();
+        private boolean result;
+
+        private TermState(Term term) {
+            this.term = term;
+        }
+
+        void matched(XMLStreamReader reader, int depth) {
+            if (term.target == Target.ATTRIBUTE) {
+                for (int i = 0; i < reader.getAttributeCount() && !result; i++) {
+                    if (term.attribute.matches(normalize(reader.getAttributeName(i)))) {
+                        result = term.compare(reader.getAttributeValue(i));
+                    }
+                }
+            } else if (term.target == Target.TEXT) {
+                textParents.add(depth);
+            } else if (term.operator == Operator.NONE) {
+                result = true;
+            } else {
+                captures.add(new Capture(depth));
+            }
+        }
+
+        void characters(XMLStreamReader reader, int depth) {
+            if (result) {
+                return;
+            }
+            if (term.target == Target.TEXT) {
+                if (!textParents.isEmpty() && textParents.get(textParents.size() - 1) == depth) {
+                    result = term.compare(new String(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength()));
+                }
+            } else {
+                for (Capture capture : captures) {
+                    if (capture.overflow) {
+                        continue;
+                    }
+                    capture.buffer.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    if (term.maxLength >= 0 && capture.buffer.length() > term.maxLength) {
+                        // the value is longer than the literal so it cannot be equal
+                        capture.overflow = true;
+                        capture.buffer.setLength(0);
+                    }
+                }
+            }
+        }
+
+        void endElement(int depth) {
+            if (!textParents.isEmpty() && textParents.get(textParents.size() - 1) == depth) {
+                textParents.remove(textParents.size() - 1);
+            }
+            if (!captures.isEmpty()) {
+                Capture capture = captures.get(captures.size() - 1);
+                if (capture.depth == depth) {
+                    captures.remove(captures.size() - 1);
+                    if (!result) {
+                        result = capture.overflow ? term.operator == Operator.NOT_EQUAL : term.compare(capture.buffer.toString());
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class Capture {
+        private final int depth;
+        private final StringBuilder buffer = new StringBuilder();
+        private boolean overflow;
+
+        private Capture(int depth) {
+            this.depth = depth;
+        }
+    }
+
+    private static QName normalize(QName name) {
+        // the namespace is null or empty for no namespace depending on the StAX implementation
+        if (name.getNamespaceURI() == null) {
+            return new QName("", name.getLocalPart());
+        }
+        return name;
+    }
+
+    /**
+     * A name test which matches a qualified name, where <tt>null</tt> matches any namespace or name.
+     */
+    private static final class NameTest {
+        private final String namespaceURI;
+        private final String localPart;
+
+        private NameTest(String namespaceURI, String localPart) {
+            this.namespaceURI = namespaceURI;
+            this.localPart = localPart;
+        }
+
+        boolean matches(QName name) {
+            if (localPart != null && !localPart.equals(name.getLocalPart())) {
+                return false;
+            }
+            if (namespaceURI != null) {
+                String uri = name.getNamespaceURI() != null ? name.getNamespaceURI() : "";
+                return namespaceURI.equals(uri);
+            }
+            return true;
+        }
+    }
+
+    private static final class AttributePredicate {
+        private final NameTest name;
+        private final String value;
+
+        private AttributePredicate(NameTest name, String value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        boolean matches(Map<QName, String> attributes) {
+            for (Map.Entry<QName, String> entry : attributes.entrySet()) {
+                if (name.matches(entry.getKey()) && (value == null || value.equals(entry.getValue()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Step {
+        private final boolean descendant;
+        private final NameTest name;
+        private final List<AttributePredicate> predicates = new ArrayList<AttributePredicate>();
+
+        private Step(boolean descendant, NameTest name) {
+            this.descendant = descendant;
+            this.name = name;
+        }
+
+        boolean matches(QName element, Map<QName, String> attributes) {
+            if (!name.matches(element)) {
+                return false;
+            }
+            for (AttributePredicate predicate : predicates) {
+                if (!predicate.matches(attributes)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Term {
+        private final Step[] steps;
+        private final Target target;
+        private final NameTest attribute;
+        private Operator operator = Operator.NONE;
+        private String literal;
+        private Double number;
+        private int maxLength = -1;
+
+        private Term(List<Step> steps, Target target, NameTest attribute) {
+            this.steps = steps.toArray(new Step[steps.size()]);
+            this.target = target;
+            this.attribute = attribute;
+        }
+
+        void setComparison(Operator operator, String literal, Double number) {
+            this.operator = operator;
+            this.literal = literal;
+            this.number = number;
+            if (literal != null) {
+                maxLength = literal.length();
+            }
+        }
+
+        boolean matchesPath(Evaluation evaluation, int stepIndex, int depth) {
+            Step step = steps[stepIndex];
+            if (!step.matches(evaluation.names.get(depth), evaluation.attributes.get(depth))) {
+                return false;
+            }
+            if (stepIndex == 0) {
+                return step.descendant || depth == 0;
+            }
+            if (step.descendant) {
+                for (int i = depth - 1; i >= 0; i--) {
+                    if (matchesPath(evaluation, stepIndex - 1, i)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            return depth > 0 && matchesPath(evaluation, stepIndex - 1, depth - 1);
+        }
+
+        boolean compare(String value) {
+            if (operator == Operator.NONE) {
+                return true;
+            }
+            boolean equal;
+            if (number != null) {
+                double d;
+                try {
+                    d = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    d = Double.NaN;
+                }
+                equal = d == number;
+                // NaN is not equal to anything, and also not not-equal in XPath
+                if (Double.isNaN(d) && operator == Operator.NOT_EQUAL) {
+                    return true;
+                }
+            } else {
+                equal = literal.equals(value);
+            }
+            return operator == Operator.EQUAL ? equal : !equal;
+        }
+    }
+
+    /**
+     * Parser for the supported subset of XPath, which throws {@link IllegalArgumentException} if the expression is not supported.
+     */
+    private static final class Parser {
+        private final String text;
+        private final NamespaceContext context;
+        private int pos;
+
+        private Parser(String text, NamespaceContext context) {
+            this.text = text;
+            this.context = context;
+        }
+
+        StreamingXPathMatcher parse() {
+            List<Term> terms = new ArrayList<Term>();
+            String combinator = null;
+            terms.add(parseTerm());
+            skipWhitespace();
+            while (pos < text.length()) {
+                String name = parseNCName();
+                if (!"or".equals(name) && !"and".equals(name)) {
+                    throw unsupported();
+                }
+                if (combinator != null && !combinator.equals(name)) {
+                    throw new IllegalArgumentException("mixing and/or is not supported");
+                }
+                combinator = name;
+                terms.add(parseTerm());
+                skipWhitespace();
+            }
+            return new StreamingXPathMatcher(text, terms, "and".equals(combinator));
+        }
+
+        private Term parseTerm() {
+            List<Step> steps = new ArrayList<Step>();
+            Target target = Target.ELEMENT;
+            NameTest attribute = null;
+
+            skipWhitespace();
+            boolean descendant = false;
+            if (peek("//")) {
+                pos += 2;
+                descendant = true;
+            } else if (peek("/")) {
+                pos++;
+            }
+            while (true) {
+                skipWhitespace();
+                if (peek("@")) {
+                    if (descendant || steps.isEmpty()) {
+                        throw unsupported();
+                    }
+                    pos++;
+                    attribute = parseNameTest(true);
+                    target = Target.ATTRIBUTE;
+                    break;
+                }
+                if (peek("text()")) {
+                    if (descendant || steps.isEmpty()) {
+                        throw unsupported();
+                    }
+                    pos += 6;
+                    target = Target.TEXT;
+                    break;
+                }
+                Step step = new Step(descendant, parseNameTest(false));
+                skipWhitespace();
+                while (peek("[")) {
+                    pos++;
+                    step.predicates.add(parseAttributePredicate());
+                }
+                steps.add(step);
+
+                skipWhitespace();
+                if (peek("//")) {
+                    pos += 2;
+                    descendant = true;
+                } else if (peek("/")) {
+                    pos++;
+                    descendant = false;
+                } else {
+                    break;
+                }
+            }
+
+            Term term = new Term(steps, target, attribute);
+            skipWhitespace();
+            Operator operator = null;
+            if (peek("!=")) {
+                pos += 2;
+                operator = Operator.NOT_EQUAL;
+            } else if (peek("=")) {
+                pos++;
+                operator = Operator.EQUAL;
+            }
+            if (operator != null) {
+                skipWhitespace();
+                String literal = parseLiteral();
+                if (literal != null) {
+                    term.setComparison(operator, literal, null);
+                } else {
+                    term.setComparison(operator, null, parseNumber());
+                }
+            }
+            return term;
+        }
+
+        private AttributePredicate parseAttributePredicate() {
+            skipWhitespace();
+            if (!peek("@")) {
+                throw unsupported();
+            }
+            pos++;
+            NameTest name = parseNameTest(true);
+            String value = null;
+            skipWhitespace();
+            if (peek("=")) {
+                pos++;
+                skipWhitespace();
+                value = parseLiteral();
+                if (value == null) {
+                    throw unsupported();
+                }
+                skipWhitespace();
+            }
+            if (!peek("]")) {
+                throw unsupported();
+            }
+            pos++;
+            return new AttributePredicate(name, value);
+        }
+
+        private NameTest parseNameTest(boolean attribute) {
+            if (peek("*")) {
+                pos++;
+                return new NameTest(null, null);
+            }
+            String name = parseNCName();
+            if (peek(":")) {
+                pos++;
+                String uri = context != null ? context.getNamespaceURI(name) : null;
+                if (uri == null || uri.length() == 0) {
+                    throw new IllegalArgumentException("unbound prefix " + name);
+                }
+                if (peek("*")) {
+                    pos++;
+                    return new NameTest(uri, null);
+                }
+                return new NameTest(uri, parseNCName());
+            }
+            if (!attribute && peek("(")) {
+                // node tests and functions is not supported
+                throw unsupported();
+            }
+            // names without a prefix is in no namespace
+            return new NameTest("", name);
+        }
+
+        private String parseNCName() {
+            int start = pos;
+            while (pos < text.length()) {
+                char ch = text.charAt(pos);
+                boolean valid = pos == start ? Character.isLetter(ch) || ch == '_'
+                        : Character.isLetterOrDigit(ch) || ch == '_' || ch == '-' || ch == '.';
+                if (!valid) {
+                    break;
+                }
+                pos++;
+            }
+            if (pos == start) {
+                throw unsupported();
+            }
+            return text.substring(start, pos);
+        }
+
+        private String parseLiteral() {
+            if (pos >= text.length()) {
+                throw unsupported();
+            }
+            char quote = text.charAt(pos);
+            if (quote != '\'' && quote != '"') {
+                return null;
+            }
+            int end = text.indexOf(quote, pos + 1);
+            if (end < 0) {
+                throw unsupported();
+            }
+            String answer = text.substring(pos + 1, end);
+            pos = end + 1;
+            return answer;
+        }
+
+        private Double parseNumber() {
+            int start = pos;
+            while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+                pos++;
+            }
+            if (pos == start) {
+                throw unsupported();
+            }
+            try {
+                return Double.valueOf(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw unsupported();
+            }
+        }
+
+        private boolean peek(String token) {
+            return text.startsWith(token, pos);
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("unsupported syntax at position " + pos);
+        }
+    }
+
+}
@@ -28,6 +28,9 @@ import java.util.Properties;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
@@ -53,6 +56,7 @@ import org.apache.camel.RuntimeExpressionException;
 import org.apache.camel.Service;
 import org.apache.camel.WrappedFile;
 import org.apache.camel.component.bean.BeanInvocation;
+import org.apache.camel.converter.jaxp.StaxConverter;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.spi.Language;
 import org.apache.camel.spi.NamespaceAware;
@@ -104,6 +108,10 @@ public class XPathBuilder implements Expression, Predicate, NamespaceAware, Serv
     private String objectModelUri;
     private DefaultNamespaceContext namespaceContext;
     private boolean logNamespaces;
+    private boolean streaming;
+    private volatile StreamingXPathMatcher streamingMatcher;
+    private volatile boolean streamingCompiled;
+    private volatile XMLInputFactory streamingInputFactory;
     private XPathFunctionResolver functionResolver;
     private XPathFunction bodyFunction;
     private XPathFunction headerFunction;
@@ -151,6 +159,12 @@ public class XPathBuilder implements Expression, Predicate, NamespaceAware, Serv
 
     public boolean matches(Exchange exchange) {
         try {
+            if (streaming) {
+                Boolean answer = matchesStreaming(exchange);
+                if (answer != null) {
+                    return answer;
+                }
+            }
             Object booleanResult = evaluateAs(exchange, XPathConstants.BOOLEAN);
             return exchange.getContext().getTypeConverter().convertTo(Boolean.class, booleanResult);
         } finally {
@@ -424,6 +438,24 @@ public class XPathBuilder implements Expression, Predicate, NamespaceAware, Serv
         return this;
     }
 
+    /**
+     * Activates streaming evaluation when the xpath is used as a predicate.
+     * <p/>
+     * The message is read using StAX and the reading stops as soon as the result is known, instead of
+     * loading the entire message into a DOM. Only a subset of XPath is supported, see {@link StreamingXPathMatcher},
+     * and expressions outside the subset or messages which is already a DOM is evaluated as usual.
+     * Notice that when the result is known early the remainder of the message is not read, and therefore
+     * not validated to be well formed.
+     * <p/>
+     * This feature is disabled by default.
+     *
+     * @return the current builder.
+     */
+    public XPathBuilder streaming() {
+        setStreaming(true);
+        return this;
+    }
+
     // Properties
     // -------------------------------------------------------------------------
     public XPathFactory getXPathFactory() throws XPathFactoryConfigurationException {
@@ -670,6 +702,14 @@ public class XPathBuilder implements Expression, Predicate, NamespaceAware, Serv
         return logNamespaces;
     }
 
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
     public String getObjectModelUri() {
         return objectModelUri;
     }
@@ -795,6 +835,87 @@ public class XPathBuilder implements Expression, Predicate, NamespaceAware, Serv
         LOG.info("Namespaces discovered in message: {}.", map);
     }
 
+    /**
+     * Evaluates the predicate by streaming the message.
+     *
+     * @return the result, or <tt>null</tt> if streaming is not possible and the xpath engine should be used instead
+     */
+    protected Boolean matchesStreaming(Exchange exchange) {
+        StreamingXPathMatcher matcher = getStreamingMatcher();
+        if (matcher == null) {
+            return null;
+        }
+
+        Object obj = ObjectHelper.isNotEmpty(getHeaderName()) ? exchange.getIn().getHeader(getHeaderName()) : exchange.getIn().getBody();
+        if (obj instanceof WrappedFile) {
+            obj = ((WrappedFile<?>) obj).getFile();
+        }
+        // only stream the message if its not already parsed
+        if (!(obj instanceof String || obj instanceof byte[] || obj instanceof InputStream || obj instanceof File)) {
+            return null;
+        }
+
+        LOG.trace("Evaluating exchange: {} using streaming", exchange);
+        InputStream is = null;
+        XMLStreamReader reader = null;
+        try {
+            if (obj instanceof String) {
+                reader = getStreamingInputFactory().createXMLStreamReader(new StringReader((String) obj));
+            } else if (obj instanceof File) {
+                // the input stream must be closed to avoid locking the file
+                is = exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, exchange, obj);
+                reader = getStreamingInputFactory().createXMLStreamReader(is);
+            } else {
+                InputStream body = exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, exchange, obj);
+                reader = getStreamingInputFactory().createXMLStreamReader(body);
+            }
+            boolean answer = matcher.matches(reader);
+            LOG.trace("Done evaluating exchange: {} using streaming with result: {}", exchange, answer);
+            return answer;
+        } catch (XMLStreamException e) {
+            String message = getText();
+            if (ObjectHelper.isNotEmpty(getHeaderName())) {
+                message = message + " with headerName " + getHeaderName();
+            }
+            throw new RuntimeExpressionException("Error streaming message for xpath: " + message, e);
+        } catch (NoTypeConversionAvailableException e) {
+            throw new RuntimeExpressionException(e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
+            // IOHelper can handle if is is null
+            IOHelper.close(is);
+            // the stream may be read again later in the route
+            MessageHelper.resetStreamCache(exchange.getIn());
+        }
+    }
+
+    protected StreamingXPathMatcher getStreamingMatcher() {
+        if (!streamingCompiled) {
+            streamingMatcher = StreamingXPathMatcher.compile(getText(), getNamespaceContext());
+            streamingCompiled = true;
+            if (streamingMatcher == null) {
+                LOG.debug("XPath {} is not supported for streaming, will use the XPath engine", getText());
+            }
+        }
+        return streamingMatcher;
+    }
+
+    protected XMLInputFactory getStreamingInputFactory() {
+        if (streamingInputFactory == null) {
+            XMLInputFactory factory = StaxConverter.createXMLInputFactory(true);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+            factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.TRUE);
+            streamingInputFactory = factory;
+        }
+        return streamingInputFactory;
+    }
+
     protected Object doInEvaluateAs(XPathExpression xpathExpression, Exchange exchange, QName resultQName) {
         LOG.trace("Evaluating exchange: {} as: {}", exchange, resultQName);
 
@@ -267,6 +267,10 @@ public class XsltBuilder implements Processor {
     }
 
     public void setTemplate(Templates template) {
+        if (this.template == template) {
+            // keep the cached transformers
+            return;
+        }
         this.template = template;
         if (transformers != null) {
             transformers.clear();
@@ -308,6 +312,18 @@ public class XsltBuilder implements Processor {
      * @throws TransformerConfigurationException is thrown if creating a XSLT transformer failed.
      */
     public void setTransformerSource(Source source) throws TransformerConfigurationException {
+        setTemplate(createTemplates(source));
+    }
+
+    /**
+     * Compiles the XSLT stylesheet from a Source, using the transformer factory, uri resolver and error listener
+     * of this builder.
+     *
+     * @param source  the source
+     * @return the compiled stylesheet
+     * @throws TransformerConfigurationException is thrown if creating a XSLT template failed.
+     */
+    public Templates createTemplates(Source source) throws TransformerConfigurationException {
         TransformerFactory factory = converter.getTransformerFactory();
         factory.setErrorListener(errorListener);
         if (getUriResolver() != null) {
@@ -319,7 +335,7 @@ public class XsltBuilder implements Processor {
         // deployment and raise an exception as the route will not be setup properly.
         Templates templates = factory.newTemplates(source);
         if (templates != null) {
-            setTemplate(templates);
+            return templates;
         } else {
             throw new TransformerConfigurationException("Error creating XSLT template. "
                     + "This is most likely be caused by a XML parse error. "
@@ -17,7 +17,11 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.camel.Processor;
 import org.apache.camel.util.FileUtil;
@@ -28,7 +32,10 @@ import org.apache.camel.util.ObjectHelper;
  */
 public class FileConsumer extends GenericFileConsumer<File> {
 
+    private static final String WATCH_SERVICE_FILE_WATCHER = "org.apache.camel.component.file.WatchServiceFileWatcher";
+
     private String endpointPath;
+    private FileWatcher watcher;
 
     public FileConsumer(GenericFileEndpoint<File> endpoint, Processor processor, GenericFileOperations<File> operations) {
         super(endpoint, processor, operations);
@@ -39,6 +46,10 @@ public class FileConsumer extends GenericFileConsumer<File> {
     protected boolean pollDirectory(String fileName, List<GenericFile<File>> fileList, int depth) {
         log.trace("pollDirectory from fileName: {}", fileName);
 
+        if (watcher != null && depth == 0) {
+            return pollWatchedDirectory(fileName, fileList);
+        }
+
         depth++;
 
         File directory = new File(fileName);
@@ -50,6 +61,10 @@ public class FileConsumer extends GenericFileConsumer<File> {
             return true;
         }
 
+        if (depth == 1 && isParallelScan()) {
+            return pollDirectoryInParallel(fileName, fileList);
+        }
+
         log.trace("Polling directory: {}", directory.getPath());
         File[] files = directory.listFiles();
         if (files == null || files.length == 0) {
@@ -109,6 +124,139 @@ public class FileConsumer extends GenericFileConsumer<File> {
         return true;
     }
 
+    @Override
+    protected boolean isParallelScanSupported() {
+        return true;
+    }
+
+    @Override
+    protected List<GenericFile<File>> listDirectory(String directory) throws Exception {
+        File[] files = new File(directory).listFiles();
+        if (files == null) {
+            return null;
+        }
+
+        List<GenericFile<File>> answer = new ArrayList<GenericFile<File>>(files.length);
+        for (File file : files) {
+            answer.add(asGenericFile(endpointPath, file, getEndpoint().getCharset()));
+        }
+        return answer;
+    }
+
+    /**
+     * Polls the files from the index of the watcher, instead of listing the directories.
+     * <p/>
+     * The files is matched the same way as when polling the directories, where the sub directories
+     * must also be valid files.
+     */
+    protected boolean pollWatchedDirectory(String fileName, List<GenericFile<File>> fileList) {
+        try {
+            if (watcher.isStarted()) {
+                int events = watcher.update();
+                log.trace("Updated watched directory: {} with {} events", fileName, events);
+            }
+            if (!watcher.isStarted()) {
+                File directory = new File(fileName);
+                if (!directory.exists() || !directory.isDirectory()) {
+                    log.debug("Cannot poll as directory does not exists or its not a directory: {}", directory);
+                    if (getEndpoint().isDirectoryMustExist()) {
+                        throw new GenericFileOperationFailedException("Directory does not exist: " + directory);
+                    }
+                    return true;
+                }
+                log.debug("Starting to watch directory: {}", directory);
+                watcher.start();
+            }
+        } catch (IOException e) {
+            throw new GenericFileOperationFailedException("Cannot watch directory: " + fileName, e);
+        }
+
+        // cache whether the sub directories is valid during this poll
+        Map<File, Boolean> validDirectories = new HashMap<File, Boolean>();
+        for (FileWatcher.Entry entry : watcher.getFiles()) {
+            // check if we can continue polling in files
+            if (!canPollMoreFiles(fileList)) {
+                return false;
+            }
+
+            if (entry.getDepth() < endpoint.minDepth || !isValidDirectory(entry.getFile().getParentFile(), validDirectories)) {
+                continue;
+            }
+
+            GenericFile<File> gf = asGenericFile(endpointPath, entry.getFile(), getEndpoint().getCharset(),
+                    entry.getLength(), entry.getLastModified(), false);
+            if (isValidFile(gf, false)) {
+                if (isInProgress(gf)) {
+                    if (log.isTraceEnabled()) {
+                        log.trace("Skipping as file is already in progress: {}", gf.getFileName());
+                    }
+                } else {
+                    log.trace("Adding valid file: {}", entry.getFile());
+                    // matched file so add
+                    fileList.add(gf);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isValidDirectory(File directory, Map<File, Boolean> validDirectories) {
+        if (directory == null || directory.equals(watcher.getDirectory())) {
+            return true;
+        }
+        Boolean answer = validDirectories.get(directory);
+        if (answer == null) {
+            GenericFile<File> gf = asGenericFile(endpointPath, directory, getEndpoint().getCharset(), 0, directory.lastModified(), true);
+            answer = isValidDirectory(directory.getParentFile(), validDirectories) && isValidFile(gf, true);
+            validDirectories.put(directory, answer);
+        }
+        return answer;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (getEndpoint().isWatch()) {
+            watcher = createFileWatcher();
+            if (watcher == null) {
+                log.warn("The watch option requires Java 7 or newer, the directory will be listed on every poll instead on endpoint: {}",
+                        getEndpoint());
+            }
+        }
+        super.doStart();
+    }
+
+    /**
+     * Creates the watcher to use for the watch option.
+     * <p/>
+     * The watcher uses the <tt>java.nio.file.WatchService</tt> from Java 7, and is therefore loaded
+     * using reflection, so this consumer still works on Java 6.
+     *
+     * @return the watcher, or <tt>null</tt> if not supported on this platform
+     */
+    protected FileWatcher createFileWatcher() throws Exception {
+        ClassLoader classLoader = FileConsumer.class.getClassLoader();
+        if (ObjectHelper.loadClass("java.nio.file.WatchService", classLoader) == null) {
+            return null;
+        }
+        Class<?> type = ObjectHelper.loadClass(WATCH_SERVICE_FILE_WATCHER, classLoader);
+        if (type == null) {
+            return null;
+        }
+
+        int maxLevel = getEndpoint().isRecursive() ? Math.max(0, getEndpoint().getMaxDepth() - 1) : 0;
+        return (FileWatcher) type.getConstructor(File.class, int.class).newInstance(new File(endpointPath), maxLevel);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
+
     /**
      * Creates a new GenericFile<File> based on the given file.
      *
@@ -117,6 +265,21 @@ public class FileConsumer extends GenericFileConsumer<File> {
      * @return wrapped as a GenericFile
      */
     public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset) {
+        return asGenericFile(endpointPath, file, charset, file.length(), file.lastModified(), file.isDirectory());
+    }
+
+    /**
+     * Creates a new GenericFile<File> based on the given file, using the already known length and timestamp of the file.
+     *
+     * @param endpointPath the starting directory the endpoint was configured with
+     * @param file the source file
+     * @param length the length of the file
+     * @param lastModified the last modified timestamp of the file
+     * @param directory whether the file is a directory
+     * @return wrapped as a GenericFile
+     */
+    public static GenericFile<File> asGenericFile(String endpointPath, File file, String charset,
+                                                  long length, long lastModified, boolean directory) {
         GenericFile<File> answer = new GenericFile<File>();
         // use file specific binding
         answer.setBinding(new FileBinding());
@@ -125,8 +288,8 @@ public class FileConsumer extends GenericFileConsumer<File> {
         answer.setEndpointPath(endpointPath);
         answer.setFile(file);
         answer.setFileNameOnly(file.getName());
-        answer.setFileLength(file.length());
-        answer.setDirectory(file.isDirectory());
+        answer.setFileLength(length);
+        answer.setDirectory(directory);
         // must use FileUtil.isAbsolute to have consistent check for whether the file is
         // absolute or not. As windows do not consider \ paths as absolute where as all
         // other OS platforms will consider \ as absolute. The logic in Camel mandates
@@ -134,7 +297,7 @@ public class FileConsumer extends GenericFileConsumer<File> {
         // to return a consistent answer for all OS platforms.
         answer.setAbsolute(FileUtil.isAbsolute(file));
         answer.setAbsoluteFilePath(file.getAbsolutePath());
-        answer.setLastModified(file.lastModified());
+        answer.setLastModified(lastModified);
 
         // compute the file path as relative to the starting directory
         File path;
@@ -34,6 +34,12 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private FileOperations operations = new FileOperations(this);
     private File file;
     private boolean copyAndDeleteOnRenameFail = true;
+    private boolean watch;
+    private boolean keepOpen;
+    private int keepOpenMaxFiles = 100;
+    private long keepOpenIdleTimeout = 60000;
+    private int keepOpenFlushSize = 64 * 1024;
+    private long keepOpenFlushInterval = 1000;
 
     public FileEndpoint() {
         // use marker file as default exclusive read locks
@@ -93,11 +99,18 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public GenericFileProducer<File> createProducer() throws Exception {
         ObjectHelper.notNull(operations, "operations");
 
-        // you cannot use temp prefix and file exists append
-        if (getFileExist() == GenericFileExist.Append && getTempPrefix() != null) {
+        // you cannot use temp prefix and file exists append (unless the file is kept open)
+        if (getFileExist() == GenericFileExist.Append && getTempPrefix() != null && !isKeepOpen()) {
             throw new IllegalArgumentException("You cannot set both fileExist=Append and tempPrefix options");
         }
 
+        if (isKeepOpen()) {
+            if (getFileExist() != GenericFileExist.Append) {
+                throw new IllegalArgumentException("You must configure fileExist=Append when keepOpen=true");
+            }
+            return new FileKeepOpenProducer(this, operations);
+        }
+
         // ensure fileExist and moveExisting is configured correctly if in use
         if (getFileExist() == GenericFileExist.Move && getMoveExisting() == null) {
             throw new IllegalArgumentException("You must configure moveExisting option when fileExist=Move");
@@ -165,4 +178,78 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     public void setCopyAndDeleteOnRenameFail(boolean copyAndDeleteOnRenameFail) {
         this.copyAndDeleteOnRenameFail = copyAndDeleteOnRenameFail;
     }
+
+    public boolean isWatch() {
+        return watch;
+    }
+
+    /**
+     * Whether the consumer should watch the directory for created and modified files using a
+     * <tt>java.nio.file.WatchService</tt> and keep an index of the files, instead of listing the
+     * directory on every poll. Requires Java 7 or newer, on older platforms the directory is listed
+     * on every poll as usual.
+     */
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    public boolean isKeepOpen() {
+        return keepOpen;
+    }
+
+    /**
+     * Whether the producer should keep the files open for appending, instead of opening and closing the file
+     * for every message. Requires <tt>fileExist=Append</tt>.
+     *
+     * @see FileKeepOpenProducer
+     */
+    public void setKeepOpen(boolean keepOpen) {
+        this.keepOpen = keepOpen;
+    }
+
+    public int getKeepOpenMaxFiles() {
+        return keepOpenMaxFiles;
+    }
+
+    /**
+     * The maximum number of files to keep open, when a new file is opened the least recently used file is closed.
+     */
+    public void setKeepOpenMaxFiles(int keepOpenMaxFiles) {
+        this.keepOpenMaxFiles = keepOpenMaxFiles;
+    }
+
+    public long getKeepOpenIdleTimeout() {
+        return keepOpenIdleTimeout;
+    }
+
+    /**
+     * Time in millis a file which has not been written to is kept open. Use zero or negative value to keep
+     * the files open until they are evicted or the producer is stopped.
+     */
+    public void setKeepOpenIdleTimeout(long keepOpenIdleTimeout) {
+        this.keepOpenIdleTimeout = keepOpenIdleTimeout;
+    }
+
+    public int getKeepOpenFlushSize() {
+        return keepOpenFlushSize;
+    }
+
+    /**
+     * Size in bytes of the buffer per open file, the buffer is written to the file when its full.
+     */
+    public void setKeepOpenFlushSize(int keepOpenFlushSize) {
+        this.keepOpenFlushSize = keepOpenFlushSize;
+    }
+
+    public long getKeepOpenFlushInterval() {
+        return keepOpenFlushInterval;
+    }
+
+    /**
+     * Interval in millis for writing the buffered data of the open files and forcing it to disk.
+     * Use zero or negative value to only write the data when the buffer is full or the file is closed.
+     */
+    public void setKeepOpenFlushInterval(long keepOpenFlushInterval) {
+        this.keepOpenFlushInterval = keepOpenFlushInterval;
+    }
 }
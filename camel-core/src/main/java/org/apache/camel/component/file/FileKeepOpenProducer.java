@@ -0,0 +1,454 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * File producer which keeps the files open for appending, instead of opening and closing the file
+ * for every {@link Exchange}, which is used when <tt>keepOpen=true</tt> and <tt>fileExist=Append</tt>.
+ * <p/>
+ * The data is appended to an in-memory buffer per open file, which is written to the file and forced to disk
+ * when the buffer is full or the flush interval has elapsed. The open files is kept in a LRU cache, and a file
+ * is closed when it has been idle for the idle timeout, when its evicted from the cache as a new file is opened
+ * (for example when the file name rolls over to a new day), or when the producer is stopped.
+ * <p/>
+ * When <tt>tempFileName</tt> is in use, the data is appended to the temporary file which is renamed to the
+ * target file when the file is closed (or appended to the target file if it already exists). Likewise any
+ * <tt>doneFileName</tt> is written when the file is closed.
+ */
+public class FileKeepOpenProducer extends GenericFileProducer<File> {
+
+    private final Map<String, OpenFile> openFiles = new LinkedHashMap<String, OpenFile>(16, 0.75f, true);
+    // files which has been removed from the open files but is not yet closed
+    private final Map<String, OpenFile> closingFiles = new HashMap<String, OpenFile>();
+    private ScheduledExecutorService flushExecutor;
+
+    protected FileKeepOpenProducer(FileEndpoint endpoint, GenericFileOperations<File> operations) {
+        super(endpoint, operations);
+    }
+
+    @Override
+    public FileEndpoint getEndpoint() {
+        return (FileEndpoint) super.getEndpoint();
+    }
+
+    /**
+     * Number of currently open files
+     */
+    public int getOpenFileCount() {
+        synchronized (openFiles) {
+            return openFiles.size();
+        }
+    }
+
+    @Override
+    protected void processExchange(Exchange exchange, String target) throws Exception {
+        log.trace("Processing file: {} for exchange: {}", target, exchange);
+
+        try {
+            preWriteCheck();
+
+            // the file may be closed concurrently by the background task or by being evicted, so retry
+            // with a new open file in that case
+            boolean written = false;
+            while (!written) {
+                OpenFile file = acquireOpenFile(exchange, target);
+                written = file.write(exchange);
+            }
+
+            exchange.getIn().setHeader(Exchange.FILE_NAME_PRODUCED, target);
+        } catch (Exception e) {
+            handleFailedWrite(exchange, e);
+        }
+
+        postWriteCheck();
+    }
+
+    /**
+     * Flushes the buffered data of all the open files to disk
+     */
+    public void flush() {
+        for (OpenFile file : snapshot()) {
+            try {
+                file.flush();
+            } catch (IOException e) {
+                log.warn("Error flushing file: " + file.file + ". This exception is ignored.", e);
+            }
+        }
+    }
+
+    /**
+     * Closes all the open files, which renames any temporary files and writes any done files
+     */
+    public void closeFiles() {
+        List<OpenFile> files;
+        synchronized (openFiles) {
+            files = new ArrayList<OpenFile>(openFiles.values());
+            for (OpenFile file : files) {
+                retire(file);
+            }
+            files.addAll(closingFiles.values());
+        }
+        for (OpenFile file : files) {
+            close(file);
+        }
+    }
+
+    private OpenFile acquireOpenFile(Exchange exchange, String target) throws IOException {
+        OpenFile closing;
+        synchronized (openFiles) {
+            closing = closingFiles.get(target);
+        }
+        if (closing != null) {
+            // the previous file must be completed before we open the file again
+            // (we already hold the lock for the target file)
+            close(closing);
+        }
+
+        OpenFile evicted = null;
+        OpenFile answer;
+        synchronized (openFiles) {
+            answer = openFiles.get(target);
+            if (answer == null) {
+                String name = ObjectHelper.isNotEmpty(endpoint.getTempFileName()) ? createTempFileName(exchange, target) : target;
+                answer = new OpenFile(target, new File(name));
+                openFiles.put(target, answer);
+                if (openFiles.size() > getEndpoint().getKeepOpenMaxFiles()) {
+                    // evict the least recently used file
+                    evicted = openFiles.values().iterator().next();
+                    retire(evicted);
+                }
+            }
+        }
+
+        if (evicted != null) {
+            // close the evicted file from the background thread, as we must not wait for the lock of the evicted
+            // file while holding the lock of the target file
+            log.debug("Closing least recently used file: {}", evicted.file);
+            final OpenFile file = evicted;
+            flushExecutor.submit(new Runnable() {
+                public void run() {
+                    close(file);
+                }
+            });
+        }
+        return answer;
+    }
+
+    /**
+     * Removes the file from the open files, and marks the file as being closed.
+     * Must be invoked while synchronized on the open files.
+     */
+    private void retire(OpenFile file) {
+        openFiles.remove(file.target);
+        closingFiles.put(file.target, file);
+    }
+
+    private List<OpenFile> snapshot() {
+        synchronized (openFiles) {
+            return new ArrayList<OpenFile>(openFiles.values());
+        }
+    }
+
+    private void close(OpenFile file) {
+        // use the lock for the target file so the file is not opened again while we complete the file
+        Lock lock = getLock(file.target);
+        lock.lock();
+        try {
+            if (file.close()) {
+                completeFile(file);
+            }
+        } catch (Exception e) {
+            log.warn("Error closing file: " + file.file + ". This exception is ignored.", e);
+        } finally {
+            synchronized (openFiles) {
+                if (closingFiles.get(file.target) == file) {
+                    closingFiles.remove(file.target);
+                }
+            }
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Completes the closed file by renaming any temporary file to the target file, and writing any done file.
+     */
+    private void completeFile(OpenFile file) throws Exception {
+        String target = file.target;
+        if (!file.file.getPath().equals(new File(target).getPath())) {
+            File targetFile = new File(target);
+            if (targetFile.exists()) {
+                log.trace("Appending temp file: [{}] to existing file: [{}]", file.file, target);
+                appendFile(file.file, targetFile);
+                if (!operations.deleteFile(file.file.getPath())) {
+                    throw new GenericFileOperationFailedException("Cannot delete file: " + file.file);
+                }
+            } else {
+                log.trace("Renaming file: [{}] to: [{}]", file.file, target);
+                if (!operations.renameFile(file.file.getPath(), target)) {
+                    throw new GenericFileOperationFailedException("Cannot rename file from: " + file.file + " to: " + target);
+                }
+            }
+        }
+
+        if (endpoint.getDoneFileName() != null) {
+            String doneFileName = endpoint.createDoneFileName(target);
+            ObjectHelper.notEmpty(doneFileName, "doneFileName", endpoint);
+
+            // create empty exchange with empty body to write as the done file
+            Exchange empty = new DefaultExchange(endpoint);
+            empty.getIn().setBody("");
+
+            log.trace("Writing done file: [{}]", doneFileName);
+            if (operations.existsFile(doneFileName)) {
+                if (!operations.deleteFile(doneFileName)) {
+                    throw new GenericFileOperationFailedException("Cannot delete existing done file: " + doneFileName);
+                }
+            }
+            writeFile(empty, doneFileName);
+        }
+    }
+
+    private void appendFile(File source, File target) throws IOException {
+        FileChannel in = new RandomAccessFile(source, "r").getChannel();
+        FileChannel out = new RandomAccessFile(target, "rw").getChannel();
+        try {
+            long size = in.size();
+            long position = 0;
+            out.position(out.size());
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        } finally {
+            IOHelper.close(in, source.getName(), log);
+            IOHelper.force(out, target.getName(), log);
+            IOHelper.close(out, target.getName(), log);
+        }
+    }
+
+    private void flushAndCloseIdleFiles() {
+        long now = System.currentTimeMillis();
+        long idleTimeout = getEndpoint().getKeepOpenIdleTimeout();
+        long flushInterval = getEndpoint().getKeepOpenFlushInterval();
+
+        for (OpenFile file : snapshot()) {
+            if (idleTimeout > 0 && now - file.lastWrite >= idleTimeout) {
+                boolean removed = false;
+                synchronized (openFiles) {
+                    if (openFiles.get(file.target) == file) {
+                        retire(file);
+                        removed = true;
+                    }
+                }
+                if (removed) {
+                    log.debug("Closing idle file: {}", file.file);
+                    close(file);
+                }
+            } else if (flushInterval > 0 && now - file.lastFlush >= flushInterval) {
+                try {
+                    file.flush();
+                } catch (IOException e) {
+                    log.warn("Error flushing file: " + file.file + ". This exception is ignored.", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        long interval = getEndpoint().getKeepOpenFlushInterval();
+        long idleTimeout = getEndpoint().getKeepOpenIdleTimeout();
+        if (interval <= 0 || (idleTimeout > 0 && idleTimeout < interval)) {
+            interval = idleTimeout;
+        }
+        flushExecutor = endpoint.getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "FileKeepOpenFlush");
+        if (interval > 0) {
+            flushExecutor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        flushAndCloseIdleFiles();
+                    } catch (Throwable e) {
+                        log.warn("Error flushing files. This exception is ignored.", e);
+                    }
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (flushExecutor != null) {
+            // let any pending close of evicted files complete
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownGraceful(flushExecutor);
+            flushExecutor = null;
+        }
+        closeFiles();
+        super.doStop();
+    }
+
+    /**
+     * A file kept open for appending.
+     */
+    private final class OpenFile {
+        private final String target;
+        private final File file;
+        private ByteBuffer buffer;
+        private FileChannel channel;
+        private volatile long lastWrite = System.currentTimeMillis();
+        private volatile long lastFlush = System.currentTimeMillis();
+        private boolean closed;
+
+        private OpenFile(String target, File file) {
+            this.target = target;
+            this.file = file;
+        }
+
+        /**
+         * Appends the body of the exchange to the buffer
+         *
+         * @return <tt>false</tt> if the file has been closed and nothing was written
+         */
+        synchronized boolean write(Exchange exchange) throws Exception {
+            if (closed) {
+                return false;
+            }
+            if (channel == null) {
+                open();
+            }
+
+            Object body = exchange.getIn().getBody();
+            if (body == null) {
+                if (!endpoint.isAllowNullBody()) {
+                    throw new GenericFileOperationFailedException("Cannot write null body to file: " + file);
+                }
+            } else if (endpoint.getCharset() != null) {
+                String text = exchange.getIn().getMandatoryBody(String.class);
+                append(text.getBytes(endpoint.getCharset()));
+            } else {
+                InputStream in = exchange.getIn().getMandatoryBody(InputStream.class);
+                try {
+                    int read;
+                    do {
+                        if (!buffer.hasRemaining()) {
+                            writeBuffer();
+                        }
+                        read = in.read(buffer.array(), buffer.position(), buffer.remaining());
+                        if (read > 0) {
+                            buffer.position(buffer.position() + read);
+                        }
+                    } while (read != -1);
+                } finally {
+                    IOHelper.close(in, file.getName(), log);
+                }
+            }
+
+            lastWrite = System.currentTimeMillis();
+            if (!buffer.hasRemaining()) {
+                writeBuffer();
+            }
+            return true;
+        }
+
+        private void append(byte[] data) throws IOException {
+            int offset = 0;
+            while (offset < data.length) {
+                if (!buffer.hasRemaining()) {
+                    writeBuffer();
+                }
+                int length = Math.min(buffer.remaining(), data.length - offset);
+                buffer.put(data, offset, length);
+                offset += length;
+            }
+        }
+
+        private void open() throws IOException {
+            if (endpoint.isAutoCreate() && file.getParentFile() != null && !file.getParentFile().exists()) {
+                if (!operations.buildDirectory(file.getParent(), file.isAbsolute())) {
+                    log.debug("Cannot build directory [{}] (could be because of denied permissions)", file.getParent());
+                }
+            }
+            log.debug("Opening file: {} to keep open for appending", file);
+            channel = new FileOutputStream(file, true).getChannel();
+            buffer = ByteBuffer.allocate(Math.max(1, getEndpoint().getKeepOpenFlushSize()));
+        }
+
+        private void writeBuffer() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes the buffered data to the file and forces it to disk
+         */
+        synchronized void flush() throws IOException {
+            if (channel != null && !closed && (buffer.position() > 0 || lastFlush < lastWrite)) {
+                writeBuffer();
+                channel.force(false);
+            }
+            lastFlush = System.currentTimeMillis();
+        }
+
+        /**
+         * Flushes and closes the file
+         *
+         * @return <tt>true</tt> if the file was open and is now closed
+         */
+        synchronized boolean close() throws IOException {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            if (channel == null) {
+                return false;
+            }
+            try {
+                writeBuffer();
+                channel.force(false);
+            } finally {
+                IOHelper.close(channel, file.getName(), log);
+                channel = null;
+                buffer = null;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Keeps an in-memory index of the files in a directory (and its sub directories) which is kept
+ * up to date by watching the directory, so the directory does not have to be listed on every poll.
+ * <p/>
+ * The implementation which uses a <tt>java.nio.file.WatchService</tt> requires Java 7 or newer,
+ * and is therefore compiled separately and loaded by {@link FileConsumer} only when its available.
+ * <p/>
+ * Implementations is not thread safe, and is only to be used by the polling thread of the consumer.
+ */
+public interface FileWatcher {
+
+    /**
+     * A file in the index.
+     */
+    final class Entry {
+        private final File file;
+        private final int depth;
+        private long length;
+        private long lastModified;
+
+        public Entry(File file, int depth) {
+            this.file = file;
+            this.depth = depth;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * The depth of the file, where files in the starting directory has depth 1
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Refreshes the length and last modified timestamp from the file system
+         */
+        public void refresh() {
+            length = file.length();
+            lastModified = file.lastModified();
+        }
+    }
+
+    /**
+     * Whether the watcher has been started
+     */
+    boolean isStarted();
+
+    File getDirectory();
+
+    /**
+     * Number of times the directories has been (re)scanned
+     */
+    long getRescans();
+
+    /**
+     * Starts watching the directory and scans the existing files into the index.
+     */
+    void start() throws IOException;
+
+    /**
+     * Stops watching the directory and clears the index
+     */
+    void stop();
+
+    /**
+     * Updates the index with the events which has happened since last update.
+     * <p/>
+     * If the starting directory has been deleted then the watcher is stopped.
+     *
+     * @return the number of events
+     */
+    int update() throws IOException;
+
+    /**
+     * Gets the files currently in the index, in the order they was added
+     */
+    List<Entry> getFiles();
+
+    /**
+     * Removes the file from the index, such as when its known to be deleted
+     */
+    void remove(File file);
+
+    /**
+     * Clears the index and scans all the directories again.
+     */
+    void rescan() throws IOException;
+}
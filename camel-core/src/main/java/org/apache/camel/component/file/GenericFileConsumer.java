@@ -22,12 +22,18 @@ import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.impl.ScheduledBatchPollingConsumer;
+import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.util.CastUtils;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -48,6 +54,7 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
     protected volatile int pendingExchanges;
     protected Processor customProcessor;
     protected boolean eagerLimitMaxMessagesPerPoll = true;
+    protected ExecutorService scanExecutorService;
 
     public GenericFileConsumer(GenericFileEndpoint<T> endpoint, Processor processor, GenericFileOperations<T> operations) {
         super(endpoint, processor);
@@ -255,6 +262,153 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
      */
     protected abstract boolean pollDirectory(String fileName, List<GenericFile<T>> fileList, int depth);
 
+    /**
+     * Whether the sub directories is scanned in parallel.
+     */
+    protected boolean isParallelScan() {
+        return scanExecutorService != null;
+    }
+
+    /**
+     * Polls the given directory and its sub directories in parallel using the scan thread pool.
+     * <p/>
+     * The directories is listed concurrently, but the files is validated and added to the list by the polling
+     * thread in the same order as when polling one directory at a time, so the <tt>maxMessagesPerPoll</tt>
+     * limit and the in progress repository works the same way.
+     *
+     * @param directory the directory to poll
+     * @param fileList  current list of files gathered
+     * @return whether or not to continue polling, <tt>false</tt> means the maxMessagesPerPoll limit has been hit
+     */
+    protected boolean pollDirectoryInParallel(String directory, List<GenericFile<T>> fileList) {
+        AtomicBoolean done = new AtomicBoolean();
+        try {
+            Future<List<ScanEntry>> future = scanExecutorService.submit(new ScanTask(directory, 1, done));
+            return addScannedFiles(future, 1, fileList);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GenericFileOperationFailedException("Interrupted while scanning directory: " + directory, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GenericFileOperationFailedException("Cannot scan directory: " + directory, e.getCause());
+        } finally {
+            // signal any pending scan tasks to skip listing as we are done
+            done.set(true);
+        }
+    }
+
+    /**
+     * Whether this consumer supports scanning the sub directories in parallel, by implementing
+     * {@link #listDirectory(String)}.
+     * <p/>
+     * The default implementation returns <tt>false</tt>.
+     */
+    protected boolean isParallelScanSupported() {
+        return false;
+    }
+
+    /**
+     * Lists the files and sub directories in the given directory, when scanning in parallel.
+     * <p/>
+     * This method is invoked concurrently from the scan thread pool, and must not use the operations
+     * of this consumer. Consumers which implement this method must also override {@link #isParallelScanSupported()}.
+     * <p/>
+     * The default implementation throws {@link UnsupportedOperationException}.
+     *
+     * @param directory the directory
+     * @return the files and sub directories, where the sub directories is flagged as {@link GenericFile#isDirectory()}
+     * @throws Exception is thrown if the directory could not be listed
+     */
+    protected List<GenericFile<T>> listDirectory(String directory) throws Exception {
+        throw new UnsupportedOperationException("Parallel scan is not supported by " + this);
+    }
+
+    private boolean addScannedFiles(Future<List<ScanEntry>> future, int depth, List<GenericFile<T>> fileList)
+        throws InterruptedException, ExecutionException {
+
+        for (ScanEntry entry : future.get()) {
+            // check if we can continue polling in files
+            if (!canPollMoreFiles(fileList)) {
+                return false;
+            }
+
+            if (entry.directory != null) {
+                boolean canPollMore = addScannedFiles(entry.directory, depth + 1, fileList);
+                if (!canPollMore) {
+                    return false;
+                }
+            } else if (isValidFile(entry.file, false) && depth >= endpoint.getMinDepth()) {
+                if (isInProgress(entry.file)) {
+                    log.trace("Skipping as file is already in progress: {}", entry.file.getFileName());
+                } else {
+                    log.trace("Adding valid file: {}", entry.file);
+                    // matched file so add
+                    fileList.add(entry.file);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * A file or a sub directory being scanned, in the order they was listed.
+     */
+    private final class ScanEntry {
+        private final GenericFile<T> file;
+        private final Future<List<ScanEntry>> directory;
+
+        private ScanEntry(GenericFile<T> file, Future<List<ScanEntry>> directory) {
+            this.file = file;
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * Task which lists a directory and submits new tasks for the valid sub directories.
+     */
+    private final class ScanTask implements Callable<List<ScanEntry>> {
+        private final String directory;
+        private final int depth;
+        private final AtomicBoolean done;
+
+        private ScanTask(String directory, int depth, AtomicBoolean done) {
+            this.directory = directory;
+            this.depth = depth;
+            this.done = done;
+        }
+
+        public List<ScanEntry> call() throws Exception {
+            if (done.get()) {
+                return Collections.emptyList();
+            }
+
+            log.trace("Scanning directory: {}", directory);
+            List<GenericFile<T>> files = listDirectory(directory);
+            if (files == null || files.isEmpty()) {
+                log.trace("No files found in directory: {}", directory);
+                return Collections.emptyList();
+            }
+
+            List<ScanEntry> answer = new ArrayList<ScanEntry>(files.size());
+            for (GenericFile<T> file : files) {
+                if (file.isDirectory()) {
+                    if (isValidFile(file, true) && depth < endpoint.getMaxDepth()) {
+                        String name = file.getFileNameOnly();
+                        String subDirectory = ObjectHelper.isEmpty(directory) ? name : directory + "/" + name;
+                        Future<List<ScanEntry>> future = scanExecutorService.submit(new ScanTask(subDirectory, depth + 1, done));
+                        answer.add(new ScanEntry(null, future));
+                    }
+                } else {
+                    answer.add(new ScanEntry(file, null));
+                }
+            }
+            return answer;
+        }
+    }
+
     /**
      * Sets the operations to be used.
      * <p/>
@@ -395,6 +549,10 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
         if (!isMatched(file, isDirectory)) {
             log.trace("File did not match. Will skip this file: {}", file);
             return false;
+        } else if (endpoint.isIdempotent() && !isDirectory && endpoint.getIdempotentIndex() != null
+                && endpoint.getIdempotentIndex().contains(file.getAbsoluteFilePath(), file.getFileLength(), file.getLastModified())) {
+            log.trace("This consumer is idempotent and the file is in the index of consumed files. Will skip this file: {}", file);
+            return false;
         } else if (endpoint.isIdempotent() && endpoint.getIdempotentRepository().contains(file.getAbsoluteFilePath())) {
             log.trace("This consumer is idempotent and the file has been consumed before. Will skip this file: {}", file);
             return false;
@@ -534,9 +692,31 @@ public abstract class GenericFileConsumer<T> extends ScheduledBatchPollingConsum
 
     @Override
     protected void doStart() throws Exception {
+        if (endpoint.isParallelScan() && !isParallelScanSupported()) {
+            throw new IllegalArgumentException("The option parallelScan is not supported by " + this);
+        }
+        if (endpoint.isRecursive() && endpoint.isParallelScan() && scanExecutorService == null) {
+            // the scan tasks submits tasks for the sub directories so the queue must not be bounded
+            ThreadPoolProfile profile = new ThreadPoolProfile("FileScan");
+            profile.setPoolSize(endpoint.getParallelScanPoolSize());
+            profile.setMaxPoolSize(endpoint.getParallelScanPoolSize());
+            profile.setMaxQueueSize(-1);
+            scanExecutorService = endpoint.getCamelContext().getExecutorServiceManager().newThreadPool(this, "FileScan", profile);
+        }
+
         super.doStart();
 
         // prepare on startup
         endpoint.getGenericFileProcessStrategy().prepareOnStartup(operations, endpoint);
     }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        if (scanExecutorService != null) {
+            endpoint.getCamelContext().getExecutorServiceManager().shutdownNow(scanExecutorService);
+            scanExecutorService = null;
+        }
+    }
 }
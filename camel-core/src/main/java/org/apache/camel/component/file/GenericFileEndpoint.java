@@ -74,6 +74,8 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
     protected boolean eagerMaxMessagesPerPoll = true;
     protected int maxDepth = Integer.MAX_VALUE;
     protected int minDepth;
+    protected boolean parallelScan;
+    protected int parallelScanPoolSize = 4;
     protected String tempPrefix;
     protected Expression tempFileName;
     protected boolean eagerDeleteTargetFile = true;
@@ -87,6 +89,9 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
     protected Expression moveExisting;
     protected Boolean idempotent;
     protected IdempotentRepository<String> idempotentRepository;
+    protected GenericFileIndex idempotentIndex;
+    protected File idempotentIndexFile;
+    protected int idempotentIndexMaxSize = 1000 * 1000;
     protected GenericFileFilter<T> filter;
     protected AntPathMatcherGenericFileFilter<T> antFilter;
     protected Comparator<GenericFile<T>> sorter;
@@ -95,6 +100,7 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
     protected long readLockCheckInterval = 1000;
     protected long readLockTimeout = 10000;
     protected long readLockMinLength = 1;
+    protected boolean readLockNonBlocking;
     protected GenericFileExclusiveReadLockStrategy<T> exclusiveReadLockStrategy;
     protected boolean keepLastModified;
     protected String doneFileName;
@@ -420,6 +426,45 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
         this.idempotentRepository = idempotentRepository;
     }
 
+    public GenericFileIndex getIdempotentIndex() {
+        return idempotentIndex;
+    }
+
+    /**
+     * Sets a persistent index of the consumed files, which is used together with <tt>idempotent=true</tt>.
+     * <p/>
+     * The files found in the index is skipped when polling without checking the idempotent repository,
+     * so files consumed before a restart is not consumed again, even if there are more files than the
+     * idempotent repository can hold.
+     */
+    public void setIdempotentIndex(GenericFileIndex idempotentIndex) {
+        this.idempotentIndex = idempotentIndex;
+    }
+
+    public File getIdempotentIndexFile() {
+        return idempotentIndexFile;
+    }
+
+    /**
+     * Sets the file to use for a persistent index of the consumed files.
+     *
+     * @see #setIdempotentIndex(GenericFileIndex)
+     */
+    public void setIdempotentIndexFile(File idempotentIndexFile) {
+        this.idempotentIndexFile = idempotentIndexFile;
+    }
+
+    public int getIdempotentIndexMaxSize() {
+        return idempotentIndexMaxSize;
+    }
+
+    /**
+     * Sets the maximum number of files in the persistent index, default is 1000000.
+     */
+    public void setIdempotentIndexMaxSize(int idempotentIndexMaxSize) {
+        this.idempotentIndexMaxSize = idempotentIndexMaxSize;
+    }
+
     public GenericFileFilter<T> getFilter() {
         return filter;
     }
@@ -537,6 +582,18 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
         this.readLockMinLength = readLockMinLength;
     }
 
+    public boolean isReadLockNonBlocking() {
+        return readLockNonBlocking;
+    }
+
+    /**
+     * Whether the <tt>changed</tt> read lock should record the file changes across polls and only pick up
+     * the file when it has not been changed for the check interval, instead of waiting for the file while polling.
+     */
+    public void setReadLockNonBlocking(boolean readLockNonBlocking) {
+        this.readLockNonBlocking = readLockNonBlocking;
+    }
+
     public int getBufferSize() {
         return bufferSize;
     }
@@ -628,6 +685,30 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
         this.minDepth = minDepth;
     }
 
+    public boolean isParallelScan() {
+        return parallelScan;
+    }
+
+    /**
+     * Whether the sub directories should be scanned in parallel when using <tt>recursive=true</tt>.
+     * The files found is merged in the same order as when scanning one directory at a time.
+     */
+    public void setParallelScan(boolean parallelScan) {
+        this.parallelScan = parallelScan;
+    }
+
+    public int getParallelScanPoolSize() {
+        return parallelScanPoolSize;
+    }
+
+    /**
+     * The maximum number of directories to scan at the same time when using <tt>parallelScan=true</tt>.
+     * For remote files this is also the maximum number of additional connections used for scanning.
+     */
+    public void setParallelScanPoolSize(int parallelScanPoolSize) {
+        this.parallelScanPoolSize = parallelScanPoolSize;
+    }
+
     public IdempotentRepository<String> getInProgressRepository() {
         return inProgressRepository;
     }
@@ -749,6 +830,7 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
             params.put("readLockTimeout", readLockTimeout);
         }
         params.put("readLockMinLength", readLockMinLength);
+        params.put("readLockNonBlocking", readLockNonBlocking);
 
         return params;
     }
@@ -846,13 +928,17 @@ public abstract class GenericFileEndpoint<T> extends ScheduledPollEndpoint imple
 
     @Override
     protected void doStart() throws Exception {
-        ServiceHelper.startServices(inProgressRepository, idempotentRepository);
+        if (idempotentIndex == null && idempotentIndexFile != null) {
+            idempotentIndex = new GenericFileIndex(idempotentIndexFile);
+            idempotentIndex.setMaxSize(idempotentIndexMaxSize);
+        }
+        ServiceHelper.startServices(inProgressRepository, idempotentRepository, idempotentIndex);
         super.doStart();
     }
 
     @Override
     protected void doStop() throws Exception {
         super.doStop();
-        ServiceHelper.stopServices(inProgressRepository, idempotentRepository);
+        ServiceHelper.stopServices(inProgressRepository, idempotentRepository, idempotentIndex);
     }
 }
@@ -0,0 +1,293 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compact persistent index of the files which has been consumed, keyed by the path, length and last modified
+ * timestamp of the file.
+ * <p/>
+ * The index only keeps a 64 bit fingerprint per file in an open addressing hash table, so millions of files can
+ * be indexed using a few bytes of memory each, and the fingerprints is appended to a log file, so the index
+ * survives restarts. A file which is changed (its length or last modified timestamp) is not regarded as indexed.
+ * <p/>
+ * The index is bounded by the max size, and when the max size is exceeded then the oldest 10% of the files is
+ * evicted, by compacting the log file.
+ *
+ * @version
+ */
+public class GenericFileIndex extends ServiceSupport {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(GenericFileIndex.class);
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final File indexFile;
+    private int maxSize = 1000 * 1000;
+    private long[] table;
+    private int size;
+    private OutputStream log;
+
+    public GenericFileIndex(File indexFile) {
+        ObjectHelper.notNull(indexFile, "indexFile");
+        this.indexFile = indexFile;
+    }
+
+    public File getIndexFile() {
+        return indexFile;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets the maximum number of files in the index, default is 1000000.
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Number of files in the index
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Whether the file is in the index
+     *
+     * @param path         the absolute path of the file
+     * @param length       the length of the file
+     * @param lastModified the last modified timestamp of the file
+     * @return <tt>true</tt> if the file with the same length and last modified timestamp is in the index
+     */
+    public synchronized boolean contains(String path, long length, long lastModified) {
+        return table != null && contains(fingerprint(path, length, lastModified));
+    }
+
+    /**
+     * Adds the file to the index
+     *
+     * @param path         the absolute path of the file
+     * @param length       the length of the file
+     * @param lastModified the last modified timestamp of the file
+     * @return <tt>true</tt> if the file was added, <tt>false</tt> if it was already in the index
+     * @throws IOException is thrown if the file could not be written to the log file
+     */
+    public synchronized boolean add(String path, long length, long lastModified) throws IOException {
+        if (log == null) {
+            throw new IllegalStateException("Index is not started: " + indexFile);
+        }
+
+        long fingerprint = fingerprint(path, length, lastModified);
+        if (!insert(fingerprint)) {
+            return false;
+        }
+        writeLong(log, fingerprint);
+        log.flush();
+
+        if (size > maxSize) {
+            evict(size - (maxSize - maxSize / 10));
+        }
+        return true;
+    }
+
+    /**
+     * Removes all the files from the index
+     */
+    public synchronized void clear() throws IOException {
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+        IOHelper.close(log, "index", LOG);
+        log = new FileOutputStream(indexFile, false);
+    }
+
+    /**
+     * Computes the fingerprint of the file, which is a 63 bit positive hash of the path, length and last modified
+     * timestamp of the file.
+     */
+    static long fingerprint(String path, long length, long lastModified) {
+        // FNV-1a of the path mixed with the length and last modified
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < path.length(); i++) {
+            hash ^= path.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash = mix(hash ^ length);
+        hash = mix(hash ^ lastModified);
+        hash &= Long.MAX_VALUE;
+        // zero is used for empty slots in the table
+        return hash == 0 ? 1 : hash;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private boolean contains(long fingerprint) {
+        int mask = table.length - 1;
+        for (int i = (int) (fingerprint ^ (fingerprint >>> 32)) & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == fingerprint) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean insert(long fingerprint) {
+        // keep the load factor at most 50%
+        if ((size + 1) * 2 > table.length) {
+            long[] old = table;
+            table = new long[old.length * 2];
+            size = 0;
+            for (long existing : old) {
+                if (existing != 0) {
+                    insert(existing);
+                }
+            }
+        }
+
+        int mask = table.length - 1;
+        int i = (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        for (; table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == fingerprint) {
+                return false;
+            }
+        }
+        table[i] = fingerprint;
+        size++;
+        return true;
+    }
+
+    private void load() throws IOException {
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+        try {
+            while (true) {
+                insert(in.readLong());
+            }
+        } catch (EOFException e) {
+            // end of the log file (a partial written fingerprint is ignored)
+        } finally {
+            IOHelper.close(in, "index", LOG);
+        }
+    }
+
+    /**
+     * Evicts the oldest files, by rewriting the log file without the fingerprints of the oldest files,
+     * and rebuilding the table from the rewritten log file.
+     */
+    private void evict(int count) throws IOException {
+        LOG.debug("Evicting the {} oldest files from index: {}", count, indexFile);
+        IOHelper.close(log, "index", LOG);
+        log = null;
+
+        File tmp = new File(indexFile.getPath() + ".tmp");
+        table = new long[INITIAL_CAPACITY];
+        size = 0;
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)));
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+        try {
+            int skip = count;
+            while (true) {
+                long fingerprint = in.readLong();
+                if (skip > 0) {
+                    skip--;
+                } else if (insert(fingerprint)) {
+                    out.writeLong(fingerprint);
+                }
+            }
+        } catch (EOFException e) {
+            // end of the log file
+        } finally {
+            IOHelper.close(in, "index", LOG);
+            IOHelper.close(out, "index", LOG);
+        }
+
+        FileUtil.deleteFile(indexFile);
+        if (!FileUtil.renameFile(tmp, indexFile, true)) {
+            throw new IOException("Cannot rename compacted index file " + tmp + " to " + indexFile);
+        }
+        log = new FileOutputStream(indexFile, true);
+    }
+
+    private static void writeLong(OutputStream out, long value) throws IOException {
+        byte[] buffer = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            buffer[i] = (byte) value;
+            value >>>= 8;
+        }
+        // write the fingerprint in a single write so the log file is never left with a partial fingerprint
+        out.write(buffer);
+    }
+
+    @Override
+    protected synchronized void doStart() throws Exception {
+        File parent = indexFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory for index file: " + indexFile);
+        }
+
+        load();
+        // truncate any partial written fingerprint so new fingerprints is aligned
+        if (indexFile.exists() && indexFile.length() % 8 != 0) {
+            evict(0);
+        } else {
+            log = new FileOutputStream(indexFile, true);
+        }
+        LOG.debug("Loaded {} files from index: {}", size, indexFile);
+    }
+
+    @Override
+    protected synchronized void doStop() throws Exception {
+        IOHelper.close(log, "index", LOG);
+        log = null;
+    }
+
+    @Override
+    public String toString() {
+        return "GenericFileIndex[" + indexFile + "]";
+    }
+}
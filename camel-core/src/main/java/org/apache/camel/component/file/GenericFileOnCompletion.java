@@ -16,6 +16,8 @@
  */
 package org.apache.camel.component.file;
 
+import java.io.IOException;
+
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.LoggingExceptionHandler;
 import org.apache.camel.spi.ExceptionHandler;
@@ -107,6 +109,13 @@ public class GenericFileOnCompletion<T> implements Synchronization {
         if (endpoint.isIdempotent()) {
             // only add to idempotent repository if we could process the file
             endpoint.getIdempotentRepository().add(absoluteFileName);
+            if (endpoint.getIdempotentIndex() != null) {
+                try {
+                    endpoint.getIdempotentIndex().add(absoluteFileName, file.getFileLength(), file.getLastModified());
+                } catch (IOException e) {
+                    handleException(e);
+                }
+            }
         }
 
         // delete done file if used (and not noop=true)
@@ -62,14 +62,7 @@ public class GenericFileProducer<T> extends DefaultProducer {
 
         // use lock for same file name to avoid concurrent writes to the same file
         // for example when you concurrently append to the same file
-        Lock lock;
-        synchronized (locks) {
-            lock = locks.get(target);
-            if (lock == null) {
-                lock = new ReentrantLock();
-                locks.put(target, lock);
-            }
-        }
+        Lock lock = getLock(target);
 
         lock.lock();
         try {
@@ -81,6 +74,23 @@ public class GenericFileProducer<T> extends DefaultProducer {
         }
     }
 
+    /**
+     * Gets the lock used to avoid concurrent writes to the same file
+     *
+     * @param target the target filename
+     * @return the lock
+     */
+    protected Lock getLock(String target) {
+        synchronized (locks) {
+            Lock lock = locks.get(target);
+            if (lock == null) {
+                lock = new ReentrantLock();
+                locks.put(target, lock);
+            }
+            return lock;
+        }
+    }
+
     /**
      * Sets the operations to be used.
      * <p/>
@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.strategy;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the length and last modified timestamp of files across polls, which is used by the
+ * non blocking <tt>changed</tt> read lock strategies to only pick up a file when it has not been
+ * changed for a given interval, without having to sleep while waiting for the file to be stable.
+ * <p/>
+ * Observations of files which has not been checked for a long time (for example because they was
+ * deleted or renamed by others) is purged, to avoid keeping them forever.
+ */
+public class ChangedReadLockTracker {
+
+    /**
+     * The minimum time in millis an observation which has not been checked is kept.
+     */
+    public static final long MIN_PURGE_AGE = 10 * 60 * 1000L;
+
+    private final Map<String, Observation> observations = new ConcurrentHashMap<String, Observation>();
+    private volatile long lastPurge = System.currentTimeMillis();
+
+    private static final class Observation {
+        private final long length;
+        private final long lastModified;
+        private final long since;
+        private volatile long lastSeen;
+
+        private Observation(long length, long lastModified, long since) {
+            this.length = length;
+            this.lastModified = lastModified;
+            this.since = since;
+            this.lastSeen = since;
+        }
+    }
+
+    /**
+     * Records the current length and last modified timestamp of the file, and checks whether the file
+     * has not been changed for at least the given interval.
+     * <p/>
+     * When the file is regarded as unchanged then its observation is removed, so if the file is not
+     * processed it must be stable for another interval before its picked up again.
+     *
+     * @param key           the key of the file, such as its absolute path
+     * @param length        the current length of the file
+     * @param lastModified  the current last modified timestamp of the file
+     * @param minLength     the minimum length the file must have
+     * @param interval      the interval in millis the file must be unchanged
+     * @return <tt>true</tt> if the file is unchanged, <tt>false</tt> if the file is new or has changed
+     */
+    public boolean isUnchanged(String key, long length, long lastModified, long minLength, long interval) {
+        long now = System.currentTimeMillis();
+
+        Observation observation = observations.get(key);
+        if (observation == null || observation.length != length || observation.lastModified != lastModified) {
+            observations.put(key, new Observation(length, lastModified, now));
+            purge(now, interval);
+            return false;
+        }
+
+        observation.lastSeen = now;
+        if (length >= minLength && now - observation.since >= interval) {
+            observations.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes the observation of the file
+     */
+    public void remove(String key) {
+        observations.remove(key);
+    }
+
+    /**
+     * Removes all the observations
+     */
+    public void clear() {
+        observations.clear();
+    }
+
+    /**
+     * Number of files currently being observed
+     */
+    public int size() {
+        return observations.size();
+    }
+
+    private void purge(long now, long interval) {
+        long age = Math.max(MIN_PURGE_AGE, interval * 10);
+        if (now - lastPurge < age) {
+            return;
+        }
+        lastPurge = now;
+        for (Iterator<Observation> it = observations.values().iterator(); it.hasNext();) {
+            if (now - it.next().lastSeen > age) {
+                it.remove();
+            }
+        }
+    }
+}
@@ -28,14 +28,31 @@ import org.slf4j.LoggerFactory;
 /**
  * Acquires exclusive read lock to the given file by checking whether the file is being
  * changed by scanning the file at different intervals (to detect changes).
+ * <p/>
+ * If <tt>nonBlocking</tt> is enabled then the file is not scanned repeatedly while waiting, but the
+ * length and last modified timestamp is recorded across polls, and the lock is only acquired when the
+ * file has not been changed for the check interval. This allows the other files to be processed
+ * in the same poll, instead of waiting for a file which is still being written.
  */
 public class FileChangedExclusiveReadLockStrategy extends MarkerFileExclusiveReadLockStrategy {
     private static final transient Logger LOG = LoggerFactory.getLogger(FileChangedExclusiveReadLockStrategy.class);
     private long timeout;
     private long checkInterval = 1000;
     private long minLength = 1;
+    private boolean nonBlocking;
+    private final ChangedReadLockTracker tracker = new ChangedReadLockTracker();
 
     public boolean acquireExclusiveReadLock(GenericFileOperations<File> operations, GenericFile<File> file, Exchange exchange) throws Exception {
+        if (nonBlocking) {
+            // use the length and timestamp from the poll as we do not wait for the file
+            if (!tracker.isUnchanged(file.getAbsoluteFilePath(), file.getFileLength(), file.getLastModified(), minLength, checkInterval)) {
+                LOG.trace("File is new or changed since last poll, will skip the file for now: {}", file);
+                return false;
+            }
+            // must call super
+            return super.acquireExclusiveReadLock(operations, file, exchange);
+        }
+
         // must call super
         if (!super.acquireExclusiveReadLock(operations, file, exchange)) {
             return false;
@@ -120,4 +137,12 @@ public class FileChangedExclusiveReadLockStrategy extends MarkerFileExclusiveRea
     public void setMinLength(long minLength) {
         this.minLength = minLength;
     }
+
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    public void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
 }
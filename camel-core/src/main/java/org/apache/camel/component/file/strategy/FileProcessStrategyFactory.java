@@ -145,6 +145,10 @@ public final class FileProcessStrategyFactory {
                 if (minLength != null) {
                     readLockStrategy.setMinLength(minLength);
                 }
+                Boolean nonBlocking = (Boolean) params.get("readLockNonBlocking");
+                if (nonBlocking != null) {
+                    readLockStrategy.setNonBlocking(nonBlocking);
+                }
                 return readLockStrategy;
             } else if ("markerFile".equals(readLock)) {
                 return new MarkerFileExclusiveReadLockStrategy();
@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.validator;
+
+import javax.xml.validation.Schema;
+
+import org.w3c.dom.ls.LSResourceResolver;
+
+import org.apache.camel.processor.validation.ValidatingProcessor;
+import org.apache.camel.processor.validation.ValidationStatistics;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.LRUCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of compiled schemas which is shared by the endpoints of the {@link ValidatorComponent}, so
+ * the same schema is only compiled once, no matter how many endpoints validates against the schema.
+ * <p/>
+ * The schemas is cached by the resource uri, the schema language, the schema factory and any custom
+ * resource resolver. Each schema has {@link ValidationStatistics} which is shared by the endpoints.
+ * The least recently used schemas is evicted when the cache is full.
+ *
+ * @version
+ */
+public class SchemaCache extends ServiceSupport {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(SchemaCache.class);
+
+    private final LRUCache<String, Entry> cache;
+    private final int maximumCacheSize;
+
+    public SchemaCache() {
+        this(100);
+    }
+
+    public SchemaCache(int maximumCacheSize) {
+        this.maximumCacheSize = maximumCacheSize;
+        this.cache = new LRUCache<String, Entry>(16, maximumCacheSize, false);
+    }
+
+    /**
+     * Configures the validator with the cached schema and statistics, loading the schema if not already cached.
+     *
+     * @param resourceUri the resource uri of the schema
+     * @param validator   the validator which is configured with the schema source to load the schema
+     * @throws Exception is thrown if error loading the schema
+     */
+    public void configure(String resourceUri, ValidatingProcessor validator) throws Exception {
+        String key = createKey(resourceUri, validator);
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            entry = loadSchema(key, resourceUri, validator);
+        }
+        validator.setSchema(entry.schema);
+        validator.setStatistics(entry.statistics);
+    }
+
+    private synchronized Entry loadSchema(String key, String resourceUri, ValidatingProcessor validator) throws Exception {
+        // schema factories is not thread safe so only load one schema at a time
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            LOG.debug("Loading schema {}", resourceUri);
+            validator.loadSchema();
+            entry = new Entry(validator.getSchema(), new ValidationStatistics());
+            cache.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Clears the cache
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumCacheSize() {
+        return maximumCacheSize;
+    }
+
+    /**
+     * Number of times a schema was found in the cache
+     */
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    /**
+     * Number of times a schema was not found in the cache
+     */
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    /**
+     * Number of schemas which has been evicted from the cache
+     */
+    public long getEvicted() {
+        return cache.getEvicted();
+    }
+
+    protected String createKey(String resourceUri, ValidatingProcessor validator) {
+        StringBuilder sb = new StringBuilder(resourceUri);
+        sb.append("|").append(validator.getSchemaLanguage());
+        sb.append("|").append(validator.getSchemaFactory().getClass().getName());
+        LSResourceResolver resolver = validator.getResourceResolver();
+        // the default resolver resolves relative to the resource uri, so its only custom resolvers which affect the schema
+        if (resolver != null && !(resolver instanceof DefaultLSResourceResolver)) {
+            sb.append("|").append(resolver.getClass().getName()).append("@").append(System.identityHashCode(resolver));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Clearing cache[size={}, hits={}, misses={}, evicted={}]", new Object[]{size(), getHits(), getMisses(), getEvicted()});
+        }
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaCache[size=" + size() + ", maximumCacheSize=" + maximumCacheSize + "]";
+    }
+
+    private static final class Entry {
+        private final Schema schema;
+        private final ValidationStatistics statistics;
+
+        private Entry(Schema schema, ValidationStatistics statistics) {
+            this.schema = schema;
+            this.statistics = statistics;
+        }
+    }
+
+}
@@ -25,10 +25,10 @@ import org.w3c.dom.ls.LSResourceResolver;
 
 import org.apache.camel.Endpoint;
 import org.apache.camel.impl.DefaultComponent;
-import org.apache.camel.impl.ProcessorEndpoint;
 import org.apache.camel.processor.validation.ValidatingProcessor;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ResourceHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +39,21 @@ import org.slf4j.LoggerFactory;
 public class ValidatorComponent extends DefaultComponent {
 
     private static final transient Logger LOG = LoggerFactory.getLogger(ValidatorComponent.class);
+    private SchemaCache schemaCache;
+
+    public synchronized SchemaCache getSchemaCache() {
+        if (schemaCache == null) {
+            schemaCache = new SchemaCache();
+        }
+        return schemaCache;
+    }
+
+    /**
+     * Sets the cache of compiled schemas shared by the endpoints, for example to share the cache between components.
+     */
+    public void setSchemaCache(SchemaCache schemaCache) {
+        this.schemaCache = schemaCache;
+    }
 
     protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
         final String resourceUri = remaining;
@@ -50,13 +65,21 @@ public class ValidatorComponent extends DefaultComponent {
         LOG.debug("{} using schema resource: {}", this, resourceUri);
         configureValidator(validator, uri, remaining, parameters);
 
-        // force loading of schema at create time otherwise concurrent
-        // processing could cause thread safe issues for the javax.xml.validation.SchemaFactory
-        validator.loadSchema();
-        // and make sure to close the input stream after the schema has been loaded
-        IOHelper.close(is);
+        try {
+            if (validator.isUseSharedSchema()) {
+                // use the cached schema which is shared with the other endpoints using the same schema
+                getSchemaCache().configure(resourceUri, validator);
+            } else {
+                // force loading of schema at create time otherwise concurrent
+                // processing could cause thread safe issues for the javax.xml.validation.SchemaFactory
+                validator.loadSchema();
+            }
+        } finally {
+            // and make sure to close the input stream after the schema has been loaded
+            IOHelper.close(is);
+        }
 
-        return new ProcessorEndpoint(uri, this, validator);
+        return new ValidatorEndpoint(uri, this, validator, resourceUri);
     }
 
     protected void configureValidator(ValidatingProcessor validator, String uri, String remaining, Map<String, Object> parameters) throws Exception {
@@ -69,4 +92,10 @@ public class ValidatorComponent extends DefaultComponent {
 
         setProperties(validator, parameters);
     }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        ServiceHelper.stopService(schemaCache);
+    }
 }
\ No newline at end of file
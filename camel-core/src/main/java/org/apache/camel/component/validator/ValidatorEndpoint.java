@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.validator;
+
+import org.apache.camel.Component;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.impl.ProcessorEndpoint;
+import org.apache.camel.processor.validation.ValidatingProcessor;
+
+/**
+ * Validator endpoint which exposes the validation statistics of the schema, which are shared by all
+ * the endpoints validating against the same schema.
+ *
+ * @version
+ */
+@ManagedResource(description = "Managed ValidatorEndpoint")
+public class ValidatorEndpoint extends ProcessorEndpoint {
+
+    private final ValidatingProcessor validator;
+    private final String resourceUri;
+
+    public ValidatorEndpoint(String endpointUri, Component component, ValidatingProcessor validator, String resourceUri) {
+        super(endpointUri, component, validator);
+        this.validator = validator;
+        this.resourceUri = resourceUri;
+    }
+
+    @ManagedAttribute(description = "The schema resource uri")
+    public String getResourceUri() {
+        return resourceUri;
+    }
+
+    @ManagedAttribute(description = "Number of validations against the schema")
+    public long getValidationCounter() {
+        return validator.getStatistics().getValidationCounter();
+    }
+
+    @ManagedAttribute(description = "Number of failed validations against the schema")
+    public long getFailureCounter() {
+        return validator.getStatistics().getFailureCounter();
+    }
+
+    @ManagedAttribute(description = "Total validation time [ms]")
+    public long getTotalValidationTime() {
+        return validator.getStatistics().getTotalValidationTime();
+    }
+
+    @ManagedAttribute(description = "Min validation time [ms]")
+    public long getMinValidationTime() {
+        return validator.getStatistics().getMinValidationTime();
+    }
+
+    @ManagedAttribute(description = "Max validation time [ms]")
+    public long getMaxValidationTime() {
+        return validator.getStatistics().getMaxValidationTime();
+    }
+
+    @ManagedAttribute(description = "Mean validation time [ms]")
+    public long getMeanValidationTime() {
+        return validator.getStatistics().getMeanValidationTime();
+    }
+
+    @ManagedOperation(description = "Reset the validation statistics of the schema")
+    public void resetStatistics() {
+        validator.getStatistics().reset();
+    }
+
+}
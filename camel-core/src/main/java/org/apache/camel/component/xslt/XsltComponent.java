@@ -28,6 +28,7 @@ import org.apache.camel.converter.jaxp.XmlConverter;
 import org.apache.camel.impl.DefaultComponent;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ResourceHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +41,7 @@ public class XsltComponent extends DefaultComponent {
     private XmlConverter xmlConverter;
     private URIResolver uriResolver;
     private boolean contentCache = true;
+    private XsltTemplatesCache templatesCache;
 
     public XmlConverter getXmlConverter() {
         return xmlConverter;
@@ -65,6 +67,20 @@ public class XsltComponent extends DefaultComponent {
         this.contentCache = contentCache;
     }
 
+    public synchronized XsltTemplatesCache getTemplatesCache() {
+        if (templatesCache == null) {
+            templatesCache = new XsltTemplatesCache();
+        }
+        return templatesCache;
+    }
+
+    /**
+     * Sets the cache of compiled stylesheets shared by the endpoints, for example to share the cache between components.
+     */
+    public void setTemplatesCache(XsltTemplatesCache templatesCache) {
+        this.templatesCache = templatesCache;
+    }
+
     protected Endpoint createEndpoint(String uri, final String remaining, Map<String, Object> parameters) throws Exception {
         String resourceUri = remaining;
         LOG.debug("{} using schema resource: {}", this, resourceUri);
@@ -137,7 +153,7 @@ public class XsltComponent extends DefaultComponent {
         
         configureXslt(xslt, uri, remaining, parameters);
 
-        return new XsltEndpoint(uri, this, xslt, resourceUri, cache);
+        return new XsltEndpoint(uri, this, xslt, resourceUri, cache, getTemplatesCache());
     }
 
     protected void configureXslt(XsltBuilder xslt, String uri, String remaining, Map<String, Object> parameters) throws Exception {
@@ -162,4 +178,10 @@ public class XsltComponent extends DefaultComponent {
         }
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        ServiceHelper.stopService(templatesCache);
+    }
+
 }
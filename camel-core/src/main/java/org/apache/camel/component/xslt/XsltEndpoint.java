@@ -41,13 +41,20 @@ public class XsltEndpoint extends ProcessorEndpoint {
     private String resourceUri;
     private boolean cacheStylesheet;
     private volatile boolean cacheCleared;
+    private XsltTemplatesCache templatesCache;
 
     public XsltEndpoint(String endpointUri, Component component, XsltBuilder xslt, String resourceUri,
             boolean cacheStylesheet) throws Exception {
+        this(endpointUri, component, xslt, resourceUri, cacheStylesheet, null);
+    }
+
+    public XsltEndpoint(String endpointUri, Component component, XsltBuilder xslt, String resourceUri,
+            boolean cacheStylesheet, XsltTemplatesCache templatesCache) throws Exception {
         super(endpointUri, component, xslt);
         this.xslt = xslt;
         this.resourceUri = resourceUri;
         this.cacheStylesheet = cacheStylesheet;
+        this.templatesCache = templatesCache;
         loadResource(xslt, resourceUri);
     }
 
@@ -65,7 +72,15 @@ public class XsltEndpoint extends ProcessorEndpoint {
         LOG.trace("{} loading schema resource: {}", this, resourceUri);
         // prefer to use URL over InputStream as it loads better with http
         URL url = ResourceHelper.resolveMandatoryResourceAsUrl(getCamelContext().getClassResolver(), resourceUri);
-        xslt.setTransformerURL(url);
+        if (templatesCache != null) {
+            if (cacheCleared) {
+                templatesCache.remove(resourceUri, xslt);
+            }
+            // the compiled stylesheet is shared with other endpoints using the same stylesheet
+            xslt.setTemplate(templatesCache.getTemplates(resourceUri, url, xslt));
+        } else {
+            xslt.setTransformerURL(url);
+        }
         // now loaded so clear flag
         cacheCleared = false;
     }
@@ -0,0 +1,227 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.xslt;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.zip.CRC32;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.camel.builder.xml.XsltBuilder;
+import org.apache.camel.builder.xml.XsltUriResolver;
+import org.apache.camel.converter.IOConverter;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.LRUCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of compiled XSLT stylesheets ({@link Templates}) which is shared by the {@link XsltEndpoint}s of the
+ * {@link XsltComponent}, so the same stylesheet is only compiled once.
+ * <p/>
+ * The stylesheets is cached by the resource uri, the {@link TransformerFactory} used to compile the stylesheet
+ * (such as Saxon, which then caches its own compiled form) and any custom {@link URIResolver}.
+ * Each entry remembers the checksum of the stylesheet, so the stylesheet is only compiled again if the content has changed.
+ * Stylesheets loaded from the file system is only read again if the file has been modified.
+ * The least recently used stylesheets is evicted when the cache is full.
+ *
+ * @version
+ */
+public class XsltTemplatesCache extends ServiceSupport {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(XsltTemplatesCache.class);
+    // timestamps may have a granularity of a second so a file modified recently may be modified again unnoticed
+    private static final long TIMESTAMP_GRANULARITY = 1000;
+
+    private final LRUCache<String, Entry> cache;
+    private final int maximumCacheSize;
+
+    public XsltTemplatesCache() {
+        this(100);
+    }
+
+    public XsltTemplatesCache(int maximumCacheSize) {
+        this.maximumCacheSize = maximumCacheSize;
+        this.cache = new LRUCache<String, Entry>(16, maximumCacheSize, false);
+    }
+
+    /**
+     * Gets the compiled stylesheet, compiling the stylesheet if its not cached or has changed.
+     *
+     * @param resourceUri the resource uri of the stylesheet
+     * @param url         the url to load the stylesheet
+     * @param xslt        the builder which compiles the stylesheet
+     * @return the compiled stylesheet
+     * @throws TransformerConfigurationException is thrown if error compiling the stylesheet
+     * @throws IOException is thrown if error reading the stylesheet
+     */
+    public Templates getTemplates(String resourceUri, URL url, XsltBuilder xslt) throws TransformerConfigurationException, IOException {
+        String key = createKey(resourceUri, xslt);
+        Entry entry = cache.get(key);
+
+        File file = asFile(url);
+        long now = System.currentTimeMillis();
+        if (entry != null && file != null && file.lastModified() == entry.lastModified && file.length() == entry.length
+                && entry.lastModified + TIMESTAMP_GRANULARITY < entry.verified) {
+            LOG.trace("Stylesheet {} is not modified", resourceUri);
+            return entry.templates;
+        }
+
+        long lastModified = file != null ? file.lastModified() : 0;
+        long length = file != null ? file.length() : 0;
+        byte[] data = readStylesheet(url);
+        long checksum = checksum(data);
+        if (entry != null && entry.checksum == checksum) {
+            LOG.trace("Stylesheet {} is not changed", resourceUri);
+            cache.put(key, new Entry(entry.templates, checksum, lastModified, length, now));
+            return entry.templates;
+        }
+
+        LOG.debug("Compiling stylesheet {}", resourceUri);
+        Templates templates = xslt.createTemplates(new StreamSource(new ByteArrayInputStream(data)));
+        cache.put(key, new Entry(templates, checksum, lastModified, length, now));
+        return templates;
+    }
+
+    /**
+     * Removes the compiled stylesheet, forcing the stylesheet to be compiled on next request.
+     *
+     * @param resourceUri the resource uri of the stylesheet
+     * @param xslt        the builder which compiles the stylesheet
+     */
+    public void remove(String resourceUri, XsltBuilder xslt) {
+        cache.remove(createKey(resourceUri, xslt));
+    }
+
+    /**
+     * Clears the cache
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int getMaximumCacheSize() {
+        return maximumCacheSize;
+    }
+
+    /**
+     * Number of times a compiled stylesheet was found in the cache
+     */
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    /**
+     * Number of times a stylesheet was not found in the cache
+     */
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    /**
+     * Number of compiled stylesheets which has been evicted from the cache
+     */
+    public long getEvicted() {
+        return cache.getEvicted();
+    }
+
+    protected String createKey(String resourceUri, XsltBuilder xslt) {
+        StringBuilder sb = new StringBuilder(resourceUri);
+        TransformerFactory factory = xslt.getConverter().getTransformerFactory();
+        sb.append("|").append(factory.getClass().getName());
+        URIResolver resolver = xslt.getUriResolver();
+        // the default resolver resolves relative to the resource uri, so its only custom resolvers which affect the stylesheet
+        if (resolver != null && !(resolver instanceof XsltUriResolver)) {
+            sb.append("|").append(resolver.getClass().getName()).append("@").append(System.identityHashCode(resolver));
+        }
+        return sb.toString();
+    }
+
+    private static File asFile(URL url) {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI());
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static byte[] readStylesheet(URL url) throws IOException {
+        InputStream is = url.openStream();
+        try {
+            return IOConverter.toBytes(is);
+        } finally {
+            IOHelper.close(is);
+        }
+    }
+
+    private static long checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        // include the length to make collisions even less likely
+        return (crc.getValue() << 32) ^ data.length;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // noop
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Clearing cache[size={}, hits={}, misses={}, evicted={}]", new Object[]{size(), getHits(), getMisses(), getEvicted()});
+        }
+        cache.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "XsltTemplatesCache[size=" + size() + ", maximumCacheSize=" + maximumCacheSize + "]";
+    }
+
+    private static final class Entry {
+        private final Templates templates;
+        private final long checksum;
+        private final long lastModified;
+        private final long length;
+        private final long verified;
+
+        private Entry(Templates templates, long checksum, long lastModified, long length, long verified) {
+            this.templates = templates;
+            this.checksum = checksum;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.verified = verified;
+        }
+    }
+
+}
@@ -59,9 +59,12 @@ import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
 
 import org.apache.camel.BytesSource;
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
 import org.apache.camel.StringSource;
+import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 
@@ -71,7 +74,7 @@ import org.apache.camel.util.ObjectHelper;
  * @version 
  */
 @Converter
-public class XmlConverter {
+public class XmlConverter implements CamelContextAware {
     @Deprecated
     //It will be removed in Camel 3.0, please use the Exchange.DEFAULT_CHARSET 
     public static final String DEFAULT_CHARSET_PROPERTY = "org.apache.camel.default.charset";
@@ -87,6 +90,8 @@ public class XmlConverter {
 
     private DocumentBuilderFactory documentBuilderFactory;
     private TransformerFactory transformerFactory;
+    private volatile XmlParserPool parserPool;
+    private CamelContext camelContext;
 
     static {
         Class<?> cl = null;
@@ -132,12 +137,14 @@ public class XmlConverter {
             return;
         }
 
-        Transformer transformer = createTransformer();
+        XmlParserPool pool = getParserPool();
+        Transformer transformer = pool.acquireTransformer(outputProperties);
         if (transformer == null) {
             throw new TransformerException("Could not create a transformer - JAXP is misconfigured!");
         }
-        transformer.setOutputProperties(outputProperties);
         transformer.transform(source, result);
+        // only reuse the transformer if the transformation succeeded
+        pool.releaseTransformer(transformer, outputProperties);
     }
 
     /**
@@ -605,9 +612,14 @@ public class XmlConverter {
     public DOMSource toDOMSource(InputStream is) throws ParserConfigurationException, IOException, SAXException {
         InputSource source = new InputSource(is);
         String systemId = source.getSystemId();
-        DocumentBuilder builder = createDocumentBuilder();
-        Document document = builder.parse(source);
-        return new DOMSource(document, systemId);
+        XmlParserPool pool = getParserPool();
+        DocumentBuilder builder = pool.acquireDocumentBuilder();
+        try {
+            Document document = builder.parse(source);
+            return new DOMSource(document, systemId);
+        } finally {
+            pool.releaseDocumentBuilder(builder);
+        }
     }
 
     @Converter
@@ -621,19 +633,24 @@ public class XmlConverter {
         Document document;
         String systemId = source.getSystemId();
 
-        DocumentBuilder builder = createDocumentBuilder();
-        Reader reader = source.getReader();
-        if (reader != null) {
-            document = builder.parse(new InputSource(reader));
-        } else {
-            InputStream inputStream = source.getInputStream();
-            if (inputStream != null) {
-                InputSource inputsource = new InputSource(inputStream);
-                inputsource.setSystemId(systemId);
-                document = builder.parse(inputsource);
+        XmlParserPool pool = getParserPool();
+        DocumentBuilder builder = pool.acquireDocumentBuilder();
+        try {
+            Reader reader = source.getReader();
+            if (reader != null) {
+                document = builder.parse(new InputSource(reader));
             } else {
-                throw new IOException("No input stream or reader available on StreamSource: " + source);
+                InputStream inputStream = source.getInputStream();
+                if (inputStream != null) {
+                    InputSource inputsource = new InputSource(inputStream);
+                    inputsource.setSystemId(systemId);
+                    document = builder.parse(inputsource);
+                } else {
+                    throw new IOException("No input stream or reader available on StreamSource: " + source);
+                }
             }
+        } finally {
+            pool.releaseDocumentBuilder(builder);
         }
         return new DOMSource(document, systemId);
     }
@@ -760,8 +777,13 @@ public class XmlConverter {
      */
     @Converter
     public Document toDOMDocument(byte[] data) throws IOException, SAXException, ParserConfigurationException {
-        DocumentBuilder documentBuilder = getDocumentBuilderFactory().newDocumentBuilder();
-        return documentBuilder.parse(new ByteArrayInputStream(data));
+        XmlParserPool pool = getParserPool();
+        DocumentBuilder documentBuilder = pool.acquireDocumentBuilder();
+        try {
+            return documentBuilder.parse(new ByteArrayInputStream(data));
+        } finally {
+            pool.releaseDocumentBuilder(documentBuilder);
+        }
     }
 
     /**
@@ -772,8 +794,13 @@ public class XmlConverter {
      */
     @Converter
     public Document toDOMDocument(InputStream in) throws IOException, SAXException, ParserConfigurationException {
-        DocumentBuilder documentBuilder = getDocumentBuilderFactory().newDocumentBuilder();
-        return documentBuilder.parse(in);
+        XmlParserPool pool = getParserPool();
+        DocumentBuilder documentBuilder = pool.acquireDocumentBuilder();
+        try {
+            return documentBuilder.parse(in);
+        } finally {
+            pool.releaseDocumentBuilder(documentBuilder);
+        }
     }
 
     /**
@@ -795,8 +822,13 @@ public class XmlConverter {
      */
     @Converter
     public Document toDOMDocument(InputSource in) throws IOException, SAXException, ParserConfigurationException {
-        DocumentBuilder documentBuilder = getDocumentBuilderFactory().newDocumentBuilder();
-        return documentBuilder.parse(in);
+        XmlParserPool pool = getParserPool();
+        DocumentBuilder documentBuilder = pool.acquireDocumentBuilder();
+        try {
+            return documentBuilder.parse(in);
+        } finally {
+            pool.releaseDocumentBuilder(documentBuilder);
+        }
     }
 
     /**
@@ -818,8 +850,13 @@ public class XmlConverter {
      */
     @Converter
     public Document toDOMDocument(File file) throws IOException, SAXException, ParserConfigurationException {
-        DocumentBuilder documentBuilder = getDocumentBuilderFactory().newDocumentBuilder();
-        return documentBuilder.parse(file);
+        XmlParserPool pool = getParserPool();
+        DocumentBuilder documentBuilder = pool.acquireDocumentBuilder();
+        try {
+            return documentBuilder.parse(file);
+        } finally {
+            pool.releaseDocumentBuilder(documentBuilder);
+        }
     }
 
     /**
@@ -916,6 +953,40 @@ public class XmlConverter {
 
     public void setDocumentBuilderFactory(DocumentBuilderFactory documentBuilderFactory) {
         this.documentBuilderFactory = documentBuilderFactory;
+        this.parserPool = null;
+    }
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+        this.parserPool = null;
+    }
+
+    /**
+     * Gets the pool of parsers and transformers used by this converter.
+     * <p/>
+     * The pool of the {@link CamelContext} is used if this converter belongs to a {@link CamelContext}
+     * and no custom factories has been configured, otherwise this converter creates its own pool.
+     */
+    public XmlParserPool getParserPool() {
+        XmlParserPool answer = parserPool;
+        if (answer == null) {
+            if (documentBuilderFactory == null && transformerFactory == null && getClass() == XmlConverter.class
+                    && camelContext instanceof DefaultCamelContext) {
+                answer = ((DefaultCamelContext) camelContext).getXmlParserPool();
+            } else {
+                answer = new XmlParserPool(getDocumentBuilderFactory(), getTransformerFactory());
+            }
+            parserPool = answer;
+        }
+        return answer;
+    }
+
+    public void setParserPool(XmlParserPool parserPool) {
+        this.parserPool = parserPool;
     }
 
 
@@ -936,8 +1007,13 @@ public class XmlConverter {
     }
 
     public Document createDocument() throws ParserConfigurationException {
-        DocumentBuilder builder = createDocumentBuilder();
-        return builder.newDocument();
+        XmlParserPool pool = getParserPool();
+        DocumentBuilder builder = pool.acquireDocumentBuilder();
+        try {
+            return builder.newDocument();
+        } finally {
+            pool.releaseDocumentBuilder(builder);
+        }
     }
 
     public TransformerFactory getTransformerFactory() {
@@ -949,6 +1025,7 @@ public class XmlConverter {
 
     public void setTransformerFactory(TransformerFactory transformerFactory) {
         this.transformerFactory = transformerFactory;
+        this.parserPool = null;
     }
 
     /**
@@ -0,0 +1,319 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.jaxp;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+
+import org.apache.camel.support.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A thread safe pool of {@link DocumentBuilder} and identity {@link Transformer} instances
+ * created from a {@link DocumentBuilderFactory} and {@link TransformerFactory}.
+ * The transformers is pooled per set of output properties.
+ * <p/>
+ * Creating a parser or transformer is costly compared to parsing or transforming a small XML message,
+ * so they are reset and reused. The pool does not block, if the pool is empty a new instance is created,
+ * and instances which is released when the pool is full is discarded.
+ * <p/>
+ * Each {@link org.apache.camel.CamelContext} has its own pool which is used by the {@link XmlConverter} of its
+ * type converter registry, so parsers are not shared between applications using different class loaders.
+ * The factories is created when the pool is started, using the thread context class loader of the thread
+ * starting the pool, unless they were given when the pool was created.
+ *
+ * @version
+ */
+public class XmlParserPool extends ServiceSupport {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(XmlParserPool.class);
+
+    private static final int MAX_TRANSFORMER_KEYS = 16;
+
+    private final Pool<DocumentBuilder> documentBuilders = new Pool<DocumentBuilder>(new AtomicLong());
+    private final ConcurrentMap<Map<Object, Object>, Pool<Transformer>> transformers = new ConcurrentHashMap<Map<Object, Object>, Pool<Transformer>>();
+    private final AtomicLong transformerCreated = new AtomicLong();
+    private final AtomicLong transformerAcquired = new AtomicLong();
+    private volatile DocumentBuilderFactory documentBuilderFactory;
+    private volatile TransformerFactory transformerFactory;
+    private volatile int maxPoolSize = 100;
+
+    /**
+     * Creates a pool using the given factories.
+     *
+     * @param documentBuilderFactory the factory, or <tt>null</tt> to create a factory with the default settings of {@link XmlConverter}
+     * @param transformerFactory     the factory, or <tt>null</tt> to create a factory with the default settings of {@link XmlConverter}
+     */
+    public XmlParserPool(DocumentBuilderFactory documentBuilderFactory, TransformerFactory transformerFactory) {
+        this.documentBuilderFactory = documentBuilderFactory;
+        this.transformerFactory = transformerFactory;
+    }
+
+    /**
+     * Sets the maximum number of idle instances of each kind to keep in the pool.
+     * <p/>
+     * The default is 100. Use zero to disable pooling.
+     */
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    public DocumentBuilderFactory getDocumentBuilderFactory() {
+        DocumentBuilderFactory answer = documentBuilderFactory;
+        if (answer == null) {
+            answer = new XmlConverter().createDocumentBuilderFactory();
+            documentBuilderFactory = answer;
+        }
+        return answer;
+    }
+
+    public TransformerFactory getTransformerFactory() {
+        TransformerFactory answer = transformerFactory;
+        if (answer == null) {
+            answer = new XmlConverter().createTransformerFactory();
+            transformerFactory = answer;
+        }
+        return answer;
+    }
+
+    /**
+     * Acquires a document builder from the pool, which must be released using
+     * {@link #releaseDocumentBuilder(javax.xml.parsers.DocumentBuilder)} when no longer in use.
+     */
+    public DocumentBuilder acquireDocumentBuilder() throws ParserConfigurationException {
+        DocumentBuilder answer = documentBuilders.acquire();
+        if (answer == null) {
+            answer = getDocumentBuilderFactory().newDocumentBuilder();
+            documentBuilders.created.incrementAndGet();
+        }
+        return answer;
+    }
+
+    /**
+     * Releases the document builder back to the pool.
+     */
+    public void releaseDocumentBuilder(DocumentBuilder builder) {
+        if (builder == null) {
+            return;
+        }
+        try {
+            builder.reset();
+        } catch (UnsupportedOperationException e) {
+            // the builder cannot be reused
+            return;
+        }
+        documentBuilders.release(builder, maxPoolSize);
+    }
+
+    /**
+     * Acquires an identity transformer configured with the given output properties from the pool,
+     * which must be released using {@link #releaseTransformer(javax.xml.transform.Transformer, java.util.Properties)}
+     * with the same output properties when no longer in use.
+     * <p/>
+     * The transformer is pooled per set of output properties, as not all transformers restore the
+     * output properties on reset. The transformer must therefore not be changed by the caller.
+     */
+    public Transformer acquireTransformer(Properties outputProperties) throws TransformerConfigurationException {
+        Map<Object, Object> key = transformerKey(outputProperties);
+        Pool<Transformer> pool = transformers.get(key);
+        Transformer answer = null;
+        if (pool != null) {
+            answer = pool.acquire();
+        } else {
+            transformerAcquired.incrementAndGet();
+        }
+        if (answer == null) {
+            answer = getTransformerFactory().newTransformer();
+            if (outputProperties != null) {
+                answer.setOutputProperties(outputProperties);
+            }
+            transformerCreated.incrementAndGet();
+        }
+        return answer;
+    }
+
+    /**
+     * Releases the transformer back to the pool.
+     */
+    public void releaseTransformer(Transformer transformer, Properties outputProperties) {
+        if (transformer == null) {
+            return;
+        }
+        Map<Object, Object> key = transformerKey(outputProperties);
+        Pool<Transformer> pool = transformers.get(key);
+        if (pool == null) {
+            if (transformers.size() >= MAX_TRANSFORMER_KEYS) {
+                // too many different output properties in use so do not pool
+                return;
+            }
+            pool = new Pool<Transformer>(transformerAcquired);
+            Pool<Transformer> existing = transformers.putIfAbsent(key, pool);
+            if (existing != null) {
+                pool = existing;
+            }
+        }
+        pool.release(transformer, maxPoolSize);
+    }
+
+    /**
+     * Number of idle document builders in the pool
+     */
+    public int getDocumentBuilderPoolSize() {
+        return documentBuilders.size.get();
+    }
+
+    /**
+     * Number of document builders which has been created
+     */
+    public long getDocumentBuilderCreatedCounter() {
+        return documentBuilders.created.get();
+    }
+
+    /**
+     * Number of document builders which has been acquired
+     */
+    public long getDocumentBuilderAcquiredCounter() {
+        return documentBuilders.acquired.get();
+    }
+
+    /**
+     * Number of idle transformers in the pool
+     */
+    public int getTransformerPoolSize() {
+        int answer = 0;
+        for (Pool<Transformer> pool : transformers.values()) {
+            answer += pool.size.get();
+        }
+        return answer;
+    }
+
+    /**
+     * Number of transformers which has been created
+     */
+    public long getTransformerCreatedCounter() {
+        return transformerCreated.get();
+    }
+
+    /**
+     * Number of transformers which has been acquired
+     */
+    public long getTransformerAcquiredCounter() {
+        return transformerAcquired.get();
+    }
+
+    /**
+     * Reset the counters
+     */
+    public void resetStatistics() {
+        documentBuilders.reset();
+        transformerCreated.set(0);
+        transformerAcquired.set(0);
+    }
+
+    /**
+     * Discards the idle instances in the pool
+     */
+    public void purge() {
+        documentBuilders.purge();
+        transformers.clear();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        // create the factories eager so they are created with the class loader of the application
+        getDocumentBuilderFactory();
+        getTransformerFactory();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        // converters can still be used while stopped, so we only discard the idle instances
+        purge();
+        LOG.debug("Stopped {}", this);
+    }
+
+    @Override
+    public String toString() {
+        return "XmlParserPool[documentBuilders=" + getDocumentBuilderPoolSize() + ", transformers=" + getTransformerPoolSize() + "]";
+    }
+
+    private static Map<Object, Object> transformerKey(Properties outputProperties) {
+        if (outputProperties == null || outputProperties.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return new HashMap<Object, Object>(outputProperties);
+    }
+
+    private static final class Pool<T> {
+        private final Queue<T> queue = new ConcurrentLinkedQueue<T>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong acquired;
+
+        private Pool(AtomicLong acquired) {
+            this.acquired = acquired;
+        }
+
+        T acquire() {
+            acquired.incrementAndGet();
+            T answer = queue.poll();
+            if (answer != null) {
+                size.decrementAndGet();
+            }
+            return answer;
+        }
+
+        void release(T object, int max) {
+            if (size.incrementAndGet() > max) {
+                size.decrementAndGet();
+            } else {
+                queue.offer(object);
+            }
+        }
+
+        void reset() {
+            created.set(0);
+            acquired.set(0);
+        }
+
+        void purge() {
+            while (queue.poll() != null) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+}
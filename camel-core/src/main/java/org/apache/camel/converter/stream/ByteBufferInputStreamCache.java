@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import org.apache.camel.StreamCache;
+
+/**
+ * {@link org.apache.camel.StreamCache} implementation which reads from {@link ByteBuffer}s, such as
+ * pooled direct buffers or memory mapped files.
+ * <p/>
+ * Each instance has its own read position, and {@link #copy()} creates a new reader which
+ * shares the underlying buffers, which allows multiple readers without copying the data.
+ * <p/>
+ * When the buffers is pooled, they are only valid until the owning stream cache is closed,
+ * and reading after that fails with an {@link IOException}.
+ */
+public class ByteBufferInputStreamCache extends InputStream implements StreamCache {
+
+    private final ByteBuffer[] source;
+    private final ByteBuffer[] buffers;
+    private final ByteBufferOutputStream owner;
+    private int index;
+
+    public ByteBufferInputStreamCache(ByteBuffer... buffers) {
+        this(buffers, null);
+    }
+
+    ByteBufferInputStreamCache(ByteBuffer[] buffers, ByteBufferOutputStream owner) {
+        this.source = buffers;
+        this.owner = owner;
+        this.buffers = new ByteBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            this.buffers[i] = buffers[i].duplicate();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        beginRead();
+        try {
+            ByteBuffer buffer = current();
+            if (buffer == null) {
+                return -1;
+            }
+            return buffer.get() & 0xff;
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        beginRead();
+        try {
+            ByteBuffer buffer = current();
+            if (buffer == null) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        beginRead();
+        try {
+            long skipped = 0;
+            ByteBuffer buffer = current();
+            while (buffer != null && skipped < n) {
+                int step = (int) Math.min(n - skipped, buffer.remaining());
+                buffer.position(buffer.position() + step);
+                skipped += step;
+                buffer = current();
+            }
+            return skipped;
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        beginRead();
+        try {
+            long answer = 0;
+            for (int i = index; i < buffers.length; i++) {
+                answer += buffers[i].remaining();
+            }
+            return (int) Math.min(answer, Integer.MAX_VALUE);
+        } finally {
+            endRead();
+        }
+    }
+
+    @Override
+    public void reset() {
+        for (ByteBuffer buffer : buffers) {
+            buffer.rewind();
+        }
+        index = 0;
+    }
+
+    public void writeTo(OutputStream os) throws IOException {
+        beginRead();
+        try {
+            WritableByteChannel channel = os instanceof WritableByteChannel ? (WritableByteChannel) os : Channels.newChannel(os);
+            for (int i = index; i < buffers.length; i++) {
+                ByteBuffer buffer = buffers[i].duplicate();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } finally {
+            endRead();
+        }
+    }
+
+    public StreamCache copy() {
+        return new ByteBufferInputStreamCache(source, owner);
+    }
+
+    /**
+     * Whether the buffers is pooled memory, which is released when the owning stream cache is closed.
+     */
+    public boolean isPooled() {
+        return owner != null;
+    }
+
+    /**
+     * Gets the total length of the cached data.
+     */
+    public long length() {
+        long answer = 0;
+        for (ByteBuffer buffer : source) {
+            answer += buffer.limit();
+        }
+        return answer;
+    }
+
+    private ByteBuffer current() {
+        while (index < buffers.length) {
+            if (buffers[index].hasRemaining()) {
+                return buffers[index];
+            }
+            index++;
+        }
+        return null;
+    }
+
+    private void beginRead() throws IOException {
+        if (owner != null) {
+            // hold the read lock so the buffers cannot be released and reused while we read
+            owner.getReleaseLock().readLock().lock();
+            if (owner.isReleased()) {
+                owner.getReleaseLock().readLock().unlock();
+                throw new IOException("Cannot read from stream cache as its memory has been released");
+            }
+        }
+    }
+
+    private void endRead() {
+        if (owner != null) {
+            owner.getReleaseLock().readLock().unlock();
+        }
+    }
+
+}
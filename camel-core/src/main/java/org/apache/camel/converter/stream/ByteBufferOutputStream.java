@@ -0,0 +1,159 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An {@link OutputStream} which writes to chunks acquired from a {@link ByteBufferPool}.
+ * <p/>
+ * Use {@link #reserve(int)} before writing to ensure the pool had enough memory for the data,
+ * and {@link #close()} to release the chunks back to the pool when the data is no longer needed.
+ */
+public class ByteBufferOutputStream extends OutputStream {
+
+    private final ByteBufferPool pool;
+    private final List<ByteBuffer> chunks = new ArrayList<ByteBuffer>();
+    private final ReadWriteLock releaseLock = new ReentrantReadWriteLock();
+    private int index = -1;
+    private volatile boolean released;
+
+    public ByteBufferOutputStream(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Reserves memory from the pool so the given number of bytes can be written.
+     *
+     * @param len number of bytes to be written
+     * @return <tt>true</tt> if the memory was reserved, <tt>false</tt> if the pool has no more memory
+     */
+    public boolean reserve(int len) {
+        int capacity = 0;
+        for (int i = Math.max(index, 0); i < chunks.size(); i++) {
+            capacity += chunks.get(i).remaining();
+        }
+        while (capacity < len) {
+            ByteBuffer chunk = pool.acquire();
+            if (chunk == null) {
+                return false;
+            }
+            chunks.add(chunk);
+            capacity += chunk.remaining();
+        }
+        return true;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        nextChunk(1).put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            ByteBuffer chunk = nextChunk(len);
+            int n = Math.min(len, chunk.remaining());
+            chunk.put(b, off, n);
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes the content to the given stream.
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        WritableByteChannel channel = os instanceof WritableByteChannel ? (WritableByteChannel) os : Channels.newChannel(os);
+        for (ByteBuffer buffer : getBuffers()) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Gets read-only views of the written content. The views share the content with this stream,
+     * so the content is not copied.
+     */
+    public ByteBuffer[] getBuffers() {
+        List<ByteBuffer> answer = new ArrayList<ByteBuffer>(chunks.size());
+        for (int i = 0; i <= index && i < chunks.size(); i++) {
+            ByteBuffer view = chunks.get(i).asReadOnlyBuffer();
+            view.flip();
+            answer.add(view);
+        }
+        return answer.toArray(new ByteBuffer[answer.size()]);
+    }
+
+    /**
+     * Whether the chunks has been released back to the pool, which means the content is no longer valid.
+     */
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Gets the lock which readers of the content must hold as read lock while reading, so the chunks
+     * is not released back to the pool (and reused by another stream) in the middle of a read.
+     */
+    public ReadWriteLock getReleaseLock() {
+        return releaseLock;
+    }
+
+    /**
+     * Releases the chunks back to the pool, when no reader is in the middle of reading the content.
+     */
+    @Override
+    public void close() {
+        releaseLock.writeLock().lock();
+        try {
+            if (!released) {
+                released = true;
+                for (ByteBuffer chunk : chunks) {
+                    pool.release(chunk);
+                }
+                chunks.clear();
+                index = -1;
+            }
+        } finally {
+            releaseLock.writeLock().unlock();
+        }
+    }
+
+    private ByteBuffer nextChunk(int len) throws IOException {
+        if (released) {
+            throw new IOException("Stream has been closed");
+        }
+        if (index >= 0 && chunks.get(index).hasRemaining()) {
+            return chunks.get(index);
+        }
+        if (index + 1 == chunks.size() && !reserve(len)) {
+            throw new IOException("Cannot acquire memory from " + pool);
+        }
+        return chunks.get(++index);
+    }
+
+}
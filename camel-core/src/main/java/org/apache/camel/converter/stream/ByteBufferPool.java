@@ -0,0 +1,173 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of fixed sized direct (off-heap) {@link ByteBuffer} chunks used by the stream caching
+ * to keep message bodies in memory without creating garbage on the heap.
+ * <p/>
+ * The pool enforces a memory budget which is the maximum number of bytes which can be in use
+ * at any given time. When the budget is exhausted {@link #acquire()} returns <tt>null</tt> and
+ * the caller is expected to spool the data to disk instead. Memory which is not allocated by this
+ * pool, such as heap based caches, can be accounted for in the same budget using {@link #reserve(long)}.
+ * <p/>
+ * The pool is owned by the {@link org.apache.camel.spi.StreamCachingStrategy} of the
+ * {@link org.apache.camel.CamelContext}.
+ */
+public class ByteBufferPool {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong peak = new AtomicLong();
+    private final int chunkSize;
+    private volatile long maxMemory;
+
+    public ByteBufferPool(int chunkSize, long maxMemory) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("ChunkSize must be a positive number, was: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Acquires a chunk from the pool.
+     *
+     * @return the chunk ready for writing, or <tt>null</tt> if the memory budget has been exhausted
+     */
+    public ByteBuffer acquire() {
+        if (!reserve(chunkSize)) {
+            return null;
+        }
+
+        ByteBuffer answer = free.poll();
+        if (answer == null) {
+            try {
+                answer = ByteBuffer.allocateDirect(chunkSize);
+            } catch (OutOfMemoryError e) {
+                // the JVM has no more direct memory (-XX:MaxDirectMemorySize) so regard the budget as exhausted
+                used.addAndGet(-chunkSize);
+                return null;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Releases the chunk so it can be reused.
+     *
+     * @param buffer a chunk previously acquired from this pool
+     */
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        free.offer(buffer);
+        used.addAndGet(-chunkSize);
+    }
+
+    /**
+     * Reserves memory from the budget without acquiring a chunk.
+     *
+     * @param bytes number of bytes to reserve
+     * @return <tt>true</tt> if reserved, <tt>false</tt> if the memory budget has been exhausted
+     */
+    public boolean reserve(long bytes) {
+        long current;
+        do {
+            current = used.get();
+            if (maxMemory > 0 && current + bytes > maxMemory) {
+                return false;
+            }
+        } while (!used.compareAndSet(current, current + bytes));
+        updatePeak(current + bytes);
+        return true;
+    }
+
+    /**
+     * Returns memory previously reserved using {@link #reserve(long)} to the budget.
+     *
+     * @param bytes number of bytes to return
+     */
+    public void unreserve(long bytes) {
+        used.addAndGet(-bytes);
+    }
+
+    /**
+     * Discards the chunks which is currently not in use, so the direct memory can be reclaimed.
+     */
+    public void purge() {
+        free.clear();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    /**
+     * Sets the memory budget in bytes, where zero or a negative value means no limit. Setting a lower value than
+     * the memory in use does not free any memory, but no further chunks can be acquired until enough chunks has been released.
+     */
+    public void setMaxMemory(long maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Gets the number of bytes currently in use.
+     */
+    public long getUsedMemory() {
+        return used.get();
+    }
+
+    /**
+     * Gets the highest number of bytes which has been in use at the same time.
+     */
+    public long getPeakMemory() {
+        return peak.get();
+    }
+
+    /**
+     * Resets the peak to the memory currently in use.
+     */
+    public void resetPeakMemory() {
+        peak.set(used.get());
+    }
+
+    private void updatePeak(long value) {
+        long current = peak.get();
+        while (value > current) {
+            if (peak.compareAndSet(current, value)) {
+                return;
+            }
+            current = peak.get();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ByteBufferPool[chunkSize=" + chunkSize + ", used=" + used.get() + ", maxMemory=" + maxMemory + "]";
+    }
+}
@@ -19,14 +19,19 @@ package org.apache.camel.converter.stream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
+import org.apache.camel.impl.DefaultStreamCachingStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.SynchronizationAdapter;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
@@ -35,37 +40,79 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This output stream will store the content into a File if the stream context size is exceed the
- * THRESHOLD which's default value is 64K. The temp file will store in the temp directory, you 
- * can configure it by setting the TEMP_DIR property. If you don't set the TEMP_DIR property,
- * it will choose the directory which is set by the system property of "java.io.tmpdir".
+ * spool threshold which's default value is 64K, or if the memory budget of the
+ * {@link StreamCachingStrategy} is exhausted. The temp file will store in the spool directory of
+ * the {@link StreamCachingStrategy} which is configured on the {@link org.apache.camel.CamelContext}.
  * You can get a cached input stream of this stream. The temp file which is created with this 
  * output stream will be deleted when you close this output stream or the all cached 
  * fileInputStream is closed after the exchange is completed.
+ * <p/>
+ * If the strategy has direct buffer enabled the content is kept in memory using pooled off-heap buffers.
+ * If the strategy has memory mapped enabled the spooled temp file is read using a memory mapped file.
+ * In both cases the cached content is shared by the stream caches returned from this output stream.
+ * <p/>
+ * The memory budget and the direct buffers are only used when the stream is closed on completion of the
+ * {@link Exchange}, as the memory is returned to the budget when the stream is closed.
+ * <p/>
+ * The THRESHOLD, BUFFER_SIZE, TEMP_DIR, DIRECT_BUFFER and MEMORY_MAPPED properties on the
+ * {@link org.apache.camel.CamelContext} override the settings of the strategy.
  */
 public class CachedOutputStream extends OutputStream {
+    @Deprecated
     public static final String THRESHOLD = "CamelCachedOutputStreamThreshold";
+    @Deprecated
     public static final String BUFFER_SIZE = "CamelCachedOutputStreamBufferSize";
+    @Deprecated
     public static final String TEMP_DIR = "CamelCachedOutputStreamOutputDirectory";
+    @Deprecated
+    public static final String DIRECT_BUFFER = "CamelCachedOutputStreamDirectBuffer";
+    @Deprecated
+    public static final String MEMORY_MAPPED = "CamelCachedOutputStreamMemoryMapped";
     private static final transient Logger LOG = LoggerFactory.getLogger(CachedOutputStream.class);
+    private static final long MAPPED_SEGMENT_SIZE = Integer.MAX_VALUE;
     
     private OutputStream currentStream;
     private boolean inMemory = true;
     private int totalLength;
     private File tempFile;
     private FileInputStreamCache fileInputStreamCache;
+    private ByteBuffer[] mappedBuffers;
+    private long mappedLength;
+    private long reservedMemory;
+    private CipherPair ciphers;
+    private boolean closed;
 
-    private long threshold = 64 * 1024;
-    private int bufferSize = 2 * 1024;
+    private final StreamCachingStrategy strategy;
+    private final ByteBufferPool pool;
+    private final boolean pooled;
+    private long threshold;
+    private int bufferSize;
     private File outputDir;
+    private boolean directBuffer;
+    private boolean memoryMapped;
     
     public CachedOutputStream(Exchange exchange) {
         this(exchange, true);
     }
 
+    @SuppressWarnings("deprecation")
     public CachedOutputStream(Exchange exchange, boolean closedOnCompletion) {
+        this.strategy = exchange.getContext().getStreamCachingStrategy();
+        // only the default strategy has a pool with a memory budget
+        this.pool = strategy instanceof DefaultStreamCachingStrategy ? ((DefaultStreamCachingStrategy) strategy).getBufferPool() : null;
+        // the memory is only returned to the budget when the stream is closed, so a stream which
+        // may not be closed must not use the budget as otherwise the memory would never be returned
+        this.pooled = closedOnCompletion && pool != null;
+        this.threshold = strategy.getSpoolThreshold();
+        this.bufferSize = strategy.getBufferSize();
+        this.directBuffer = strategy.isDirectBuffer();
+        this.memoryMapped = strategy.isMemoryMapped();
+
         String bufferSize = exchange.getContext().getProperty(BUFFER_SIZE);
         String hold = exchange.getContext().getProperty(THRESHOLD);
         String dir = exchange.getContext().getProperty(TEMP_DIR);
+        String direct = exchange.getContext().getProperty(DIRECT_BUFFER);
+        String mapped = exchange.getContext().getProperty(MEMORY_MAPPED);
         
         if (bufferSize != null) {
             this.bufferSize = exchange.getContext().getTypeConverter().convertTo(Integer.class, bufferSize);
@@ -76,8 +123,18 @@ public class CachedOutputStream extends OutputStream {
         if (dir != null) {
             this.outputDir = exchange.getContext().getTypeConverter().convertTo(File.class, dir);
         }
-       
-        currentStream = new ByteArrayOutputStream(this.bufferSize);
+        if (direct != null) {
+            this.directBuffer = exchange.getContext().getTypeConverter().convertTo(Boolean.class, direct);
+        }
+        if (mapped != null) {
+            this.memoryMapped = exchange.getContext().getTypeConverter().convertTo(Boolean.class, mapped);
+        }
+
+        if (directBuffer && pooled) {
+            currentStream = new ByteBufferOutputStream(pool);
+        } else {
+            currentStream = new ByteArrayOutputStream(this.bufferSize);
+        }
         
         if (closedOnCompletion) {
             // add on completion so we can cleanup after the exchange is done such as deleting temporary files
@@ -108,6 +165,15 @@ public class CachedOutputStream extends OutputStream {
 
     public void close() throws IOException {
         currentStream.close();
+        if (!closed) {
+            closed = true;
+            if (inMemory) {
+                strategy.getStatistics().updateMemory(totalLength);
+            } else {
+                strategy.getStatistics().updateSpool(totalLength);
+            }
+        }
+        unreserveMemory();
         cleanUpTempFile();
     }
 
@@ -125,7 +191,7 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(byte[] b, int off, int len) throws IOException {
         this.totalLength += len;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
+        if (inMemory && isSpoolRequired(len)) {
             pageToFileStream();
         }
         currentStream.write(b, off, len);
@@ -133,7 +199,7 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(byte[] b) throws IOException {
         this.totalLength += b.length;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
+        if (inMemory && isSpoolRequired(b.length)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -141,7 +207,7 @@ public class CachedOutputStream extends OutputStream {
 
     public void write(int b) throws IOException {
         this.totalLength++;
-        if (threshold > 0 && inMemory && totalLength > threshold && currentStream instanceof ByteArrayOutputStream) {
+        if (inMemory && isSpoolRequired(1)) {
             pageToFileStream();
         }
         currentStream.write(b);
@@ -153,13 +219,17 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof ByteArrayOutputStream) {
                 return new ByteArrayInputStream(((ByteArrayOutputStream) currentStream).toByteArray());
+            } else if (currentStream instanceof ByteBufferOutputStream) {
+                return createByteBufferInputStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of ByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
+        } else if (memoryMapped && ciphers == null) {
+            return createMappedInputStreamCache();
         } else {
             try {
                 if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile);
+                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers);
                 }
                 return fileInputStreamCache;
             } catch (FileNotFoundException e) {
@@ -179,13 +249,17 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory) {
             if (currentStream instanceof ByteArrayOutputStream) {
                 return new InputStreamCache(((ByteArrayOutputStream) currentStream).toByteArray());
+            } else if (currentStream instanceof ByteBufferOutputStream) {
+                return createByteBufferInputStreamCache();
             } else {
                 throw new IllegalStateException("CurrentStream should be an instance of ByteArrayOutputStream but is: " + currentStream.getClass().getName());
             }
+        } else if (memoryMapped && ciphers == null) {
+            return createMappedInputStreamCache();
         } else {
             try {
                 if (fileInputStreamCache == null) {
-                    fileInputStreamCache = new FileInputStreamCache(tempFile);
+                    fileInputStreamCache = new FileInputStreamCache(tempFile, ciphers);
                 }
                 return fileInputStreamCache;
             } catch (FileNotFoundException e) {
@@ -194,10 +268,81 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private boolean isSpoolRequired(int len) throws IOException {
+        if (threshold > 0 && totalLength > threshold) {
+            return true;
+        }
+        if (currentStream instanceof ByteBufferOutputStream) {
+            if (!((ByteBufferOutputStream) currentStream).reserve(len)) {
+                // the pooled memory is exhausted so spool to file, or to heap memory if spooling is disabled
+                if (threshold > 0) {
+                    return true;
+                }
+                pageToHeapStream();
+            }
+        } else if (pooled && pool.getMaxMemory() > 0) {
+            // only account for the heap memory when the budget has a limit
+            if (pool.reserve(len)) {
+                reservedMemory += len;
+            } else if (threshold > 0) {
+                // the memory budget is exhausted so spool to file
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void unreserveMemory() {
+        if (reservedMemory > 0) {
+            pool.unreserve(reservedMemory);
+            reservedMemory = 0;
+        }
+    }
+
+    private void pageToHeapStream() throws IOException {
+        ByteBufferOutputStream bout = (ByteBufferOutputStream) currentStream;
+        LOG.trace("Pooled memory exhausted, using heap memory for stream cache");
+
+        ByteArrayOutputStream heap = new ByteArrayOutputStream(Math.max(bufferSize, totalLength));
+        bout.writeTo(heap);
+        bout.close();
+        currentStream = heap;
+    }
+
+    private ByteBufferInputStreamCache createByteBufferInputStreamCache() {
+        ByteBufferOutputStream bout = (ByteBufferOutputStream) currentStream;
+        return new ByteBufferInputStreamCache(bout.getBuffers(), bout);
+    }
+
+    private ByteBufferInputStreamCache createMappedInputStreamCache() throws IOException {
+        if (mappedBuffers == null || mappedLength != totalLength) {
+            if (tempFile == null) {
+                throw new IOException("Cached file has been deleted");
+            }
+            // the mapping remains valid after the channel has been closed
+            FileChannel channel = new FileInputStream(tempFile).getChannel();
+            try {
+                long size = channel.size();
+                int count = (int) ((size + MAPPED_SEGMENT_SIZE - 1) / MAPPED_SEGMENT_SIZE);
+                ByteBuffer[] buffers = new ByteBuffer[count];
+                for (int i = 0; i < count; i++) {
+                    long position = i * MAPPED_SEGMENT_SIZE;
+                    buffers[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAPPED_SEGMENT_SIZE, size - position));
+                }
+                mappedBuffers = buffers;
+                mappedLength = size;
+            } finally {
+                IOHelper.close(channel, "cached file", LOG);
+            }
+        }
+        return new ByteBufferInputStreamCache(mappedBuffers);
+    }
+
     private void cleanUpTempFile() {
+        mappedBuffers = null;
         // cleanup temporary file
         if (tempFile != null) {
-            FileUtil.deleteFile(tempFile);
+            strategy.deleteSpoolFile(tempFile);
             tempFile = null;
         }
     }
@@ -205,9 +350,9 @@ public class CachedOutputStream extends OutputStream {
     private void pageToFileStream() throws IOException {
         flush();
 
-        ByteArrayOutputStream bout = (ByteArrayOutputStream)currentStream;
+        OutputStream bout = currentStream;
         if (outputDir == null) {
-            tempFile = FileUtil.createTempFile("cos", ".tmp");
+            tempFile = strategy.createSpoolFile();
         } else {
             tempFile = FileUtil.createTempFile("cos", ".tmp", outputDir);
         }
@@ -215,8 +360,21 @@ public class CachedOutputStream extends OutputStream {
         LOG.trace("Creating temporary stream cache file: {}", tempFile);
 
         try {
-            currentStream = IOHelper.buffered(new FileOutputStream(tempFile));
-            bout.writeTo(currentStream);
+            OutputStream out = new FileOutputStream(tempFile);
+            if (strategy.getSpoolCipher() != null) {
+                ciphers = new CipherPair(strategy.getSpoolCipher());
+                out = ciphers.encrypt(out);
+            }
+            currentStream = IOHelper.buffered(out);
+            // the content is no longer held in memory
+            unreserveMemory();
+            if (bout instanceof ByteBufferOutputStream) {
+                ((ByteBufferOutputStream) bout).writeTo(currentStream);
+                // release the pooled memory as the content is now in the file
+                bout.close();
+            } else {
+                ((ByteArrayOutputStream) bout).writeTo(currentStream);
+            }
         } finally {
             // ensure flag is flipped to file based
             inMemory = false;
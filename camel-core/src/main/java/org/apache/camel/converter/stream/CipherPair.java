@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import javax.crypto.Cipher;
+import javax.crypto.CipherInputStream;
+import javax.crypto.CipherOutputStream;
+import javax.crypto.KeyGenerator;
+
+/**
+ * A class to hold a pair of encryption and decryption ciphers using a one-time key,
+ * which is used for encrypting spooled stream cache files.
+ * <p/>
+ * The transformation should use a stream cipher, or a block cipher in a streaming mode such as
+ * <tt>AES/CTR/NoPadding</tt>, so the spooled data can be read before the output is closed.
+ */
+public class CipherPair {
+
+    private final String transformation;
+    private final Key key;
+    private final Cipher encryptor;
+    private final AlgorithmParameters parameters;
+
+    public CipherPair(String transformation) throws IOException {
+        this.transformation = transformation;
+        String algorithm = transformation;
+        int idx = transformation.indexOf('/');
+        if (idx > 0) {
+            algorithm = transformation.substring(0, idx);
+        }
+        try {
+            key = KeyGenerator.getInstance(algorithm).generateKey();
+            encryptor = Cipher.getInstance(transformation);
+            encryptor.init(Cipher.ENCRYPT_MODE, key);
+            parameters = encryptor.getParameters();
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot create cipher " + transformation, e);
+        }
+    }
+
+    public String getTransformation() {
+        return transformation;
+    }
+
+    /**
+     * Wraps the stream so the written data is encrypted.
+     */
+    public OutputStream encrypt(OutputStream out) {
+        return new CipherOutputStream(out, encryptor);
+    }
+
+    /**
+     * Wraps the stream so the read data is decrypted.
+     * <p/>
+     * A new decryptor is created each time as the stream may be read more than once.
+     */
+    public InputStream decrypt(InputStream in) throws IOException {
+        try {
+            Cipher cipher = Cipher.getInstance(transformation);
+            cipher.init(Cipher.DECRYPT_MODE, key, parameters);
+            return new CipherInputStream(in, cipher);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cannot create cipher " + transformation, e);
+        }
+    }
+
+}
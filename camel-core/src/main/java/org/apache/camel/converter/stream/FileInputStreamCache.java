@@ -25,31 +25,43 @@ import java.io.OutputStream;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.StreamCache;
 import org.apache.camel.util.IOHelper;
 
 public class FileInputStreamCache extends InputStream implements StreamCache {
+    private final List<FileInputStreamCache> copies = new CopyOnWriteArrayList<FileInputStreamCache>();
     private InputStream stream;
     private File file;
+    private CipherPair ciphers;
 
     public FileInputStreamCache(File file) throws FileNotFoundException {
+        this(file, null);
+    }
+
+    public FileInputStreamCache(File file, CipherPair ciphers) throws FileNotFoundException {
         this.file = file;
+        this.ciphers = ciphers;
         this.stream = null;
     }
     
     @Override
     public void close() {
-        if (stream != null) {
-            IOHelper.close(stream);
+        closeStream();
+        // the copies is reading from the same file, so close them as well
+        for (FileInputStreamCache copy : copies) {
+            copy.close();
         }
+        copies.clear();
     }
 
     @Override
     public void reset() {
         // reset by closing and creating a new stream based on the file
-        close();
+        closeStream();
         // reset by creating a new stream based on the file
         stream = null;
         
@@ -59,7 +71,7 @@ public class FileInputStreamCache extends InputStream implements StreamCache {
     }
 
     public void writeTo(OutputStream os) throws IOException {
-        if (stream == null) {
+        if (stream == null && ciphers == null) {
             FileInputStream s = new FileInputStream(file);
             long len = file.length();
             WritableByteChannel out;
@@ -80,6 +92,12 @@ public class FileInputStreamCache extends InputStream implements StreamCache {
         }
     }
 
+    public StreamCache copy() throws IOException {
+        FileInputStreamCache copy = new FileInputStreamCache(file, ciphers);
+        copies.add(copy);
+        return copy;
+    }
+
     @Override
     public int available() throws IOException {
         return getInputStream().available();
@@ -90,9 +108,19 @@ public class FileInputStreamCache extends InputStream implements StreamCache {
         return getInputStream().read();
     }
 
+    private void closeStream() {
+        if (stream != null) {
+            IOHelper.close(stream);
+        }
+    }
+
     protected InputStream getInputStream() throws IOException {
         if (stream == null) {
-            stream = IOHelper.buffered(new FileInputStream(file));
+            InputStream in = new FileInputStream(file);
+            if (ciphers != null) {
+                in = ciphers.decrypt(in);
+            }
+            stream = IOHelper.buffered(in);
         }
         return stream;
     }
@@ -32,4 +32,9 @@ public class InputStreamCache extends ByteArrayInputStream implements StreamCach
         os.write(buf, pos, count - pos);
     }
 
+    public StreamCache copy() {
+        // the data is not modified so it can be shared
+        return new InputStreamCache(buf);
+    }
+
 }
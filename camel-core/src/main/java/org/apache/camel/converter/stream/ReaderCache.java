@@ -55,6 +55,10 @@ public class ReaderCache extends StringReader implements StreamCache {
         os.write(data.getBytes());
     }
 
+    public StreamCache copy() {
+        return new ReaderCache(data);
+    }
+
     String getData() {
         return data;
     }
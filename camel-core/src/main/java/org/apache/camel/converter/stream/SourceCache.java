@@ -45,4 +45,8 @@ public class SourceCache extends StringSource implements StreamCache {
         IOHelper.copy(getInputStream(), os);
     }
 
+    public StreamCache copy() {
+        return new SourceCache(getText());
+    }
+
 }
\ No newline at end of file
@@ -58,6 +58,20 @@ public class StreamSourceCache extends StreamSource implements StreamCache {
         }
     }
 
+    private StreamSourceCache(StreamCache streamCache, ReaderCache readCache, String systemId) {
+        this.streamCache = streamCache;
+        this.readCache = readCache;
+        setSystemId(systemId);
+        if (streamCache != null) {
+            stream = (InputStream) streamCache;
+        } else if (readCache != null) {
+            setReader(readCache);
+            stream = new ByteArrayInputStream(readCache.getData().getBytes());
+        } else {
+            stream = null;
+        }
+    }
+
     public void reset() {
         if (streamCache != null) {
             streamCache.reset();
@@ -82,6 +96,12 @@ public class StreamSourceCache extends StreamSource implements StreamCache {
         }
     }
 
+    public StreamCache copy() throws IOException {
+        StreamCache copyStreamCache = streamCache != null ? streamCache.copy() : null;
+        ReaderCache copyReadCache = readCache != null ? (ReaderCache) readCache.copy() : null;
+        return new StreamSourceCache(copyStreamCache, copyReadCache, getSystemId());
+    }
+
     @Override
     public InputStream getInputStream() {
         return stream;
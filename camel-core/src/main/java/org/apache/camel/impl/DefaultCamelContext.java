@@ -69,6 +69,7 @@ import org.apache.camel.TypeConverter;
 import org.apache.camel.VetoCamelContextStartException;
 import org.apache.camel.builder.ErrorHandlerBuilder;
 import org.apache.camel.component.properties.PropertiesComponent;
+import org.apache.camel.converter.jaxp.XmlParserPool;
 import org.apache.camel.impl.converter.BaseTypeConverterRegistry;
 import org.apache.camel.impl.converter.DefaultTypeConverter;
 import org.apache.camel.impl.converter.LazyLoadingTypeConverter;
@@ -113,6 +114,7 @@ import org.apache.camel.spi.RouteContext;
 import org.apache.camel.spi.RouteStartupOrder;
 import org.apache.camel.spi.ServicePool;
 import org.apache.camel.spi.ShutdownStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.TypeConverterRegistry;
 import org.apache.camel.spi.UuidGenerator;
 import org.apache.camel.support.ServiceSupport;
@@ -125,6 +127,8 @@ import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.StopWatch;
 import org.apache.camel.util.TimeUtils;
 import org.apache.camel.util.URISupport;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
+import org.apache.camel.util.concurrent.HashedWheelTimer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -178,6 +182,8 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     private Long delay;
     private ErrorHandlerFactory errorHandlerBuilder;
     private ScheduledExecutorService errorHandlerExecutorService;
+    private HashedWheelTimer errorHandlerRedeliveryTimer;
+    private XmlParserPool xmlParserPool;
     private Map<String, DataFormatDefinition> dataFormats = new HashMap<String, DataFormatDefinition>();
     private DataFormatResolver dataFormatResolver = new DefaultDataFormatResolver();
     private Map<String, String> properties = new HashMap<String, String>();
@@ -200,6 +206,7 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
     // start auto assigning route ids using numbering 1000 and upwards
     private int defaultRouteStartupOrder = 1000;
     private ShutdownStrategy shutdownStrategy = new DefaultShutdownStrategy(this);
+    private StreamCachingStrategy streamCachingStrategy = new DefaultStreamCachingStrategy();
     private ShutdownRoute shutdownRoute = ShutdownRoute.Default;
     private ShutdownRunningTask shutdownRunningTask = ShutdownRunningTask.CompleteCurrentTaskOnly;
     private ExecutorServiceManager executorServiceManager;
@@ -1297,6 +1304,39 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         return errorHandlerExecutorService;
     }
 
+    /**
+     * Gets the default shared timer for error handlers which leverages this
+     * for scheduling asynchronous delayed redeliveries, without holding a thread per pending redelivery.
+     * <p/>
+     * <b>Important:</b> This is an internal API and end users should not use this.
+     */
+    public synchronized HashedWheelTimer getErrorHandlerRedeliveryTimer() {
+        if (errorHandlerRedeliveryTimer == null) {
+            // setup default timer for error handler
+            ExecutorServiceManager manager = getExecutorServiceManager();
+            errorHandlerRedeliveryTimer = new HashedWheelTimer(new CamelThreadFactory(manager.getThreadNamePattern(), "ErrorHandlerRedeliveryTimer", true));
+            try {
+                errorHandlerRedeliveryTimer.start();
+            } catch (Exception e) {
+                throw ObjectHelper.wrapRuntimeCamelException(e);
+            }
+        }
+        return errorHandlerRedeliveryTimer;
+    }
+
+    /**
+     * Gets the pool of XML parsers and transformers used by the {@link org.apache.camel.converter.jaxp.XmlConverter}
+     * of this CamelContext. The pool is started and stopped together with this CamelContext.
+     * <p/>
+     * <b>Important:</b> This is an internal API and end users should not use this.
+     */
+    public synchronized XmlParserPool getXmlParserPool() {
+        if (xmlParserPool == null) {
+            xmlParserPool = new XmlParserPool(null, null);
+        }
+        return xmlParserPool;
+    }
+
     public void setProducerServicePool(ServicePool<Endpoint, Producer> producerServicePool) {
         this.producerServicePool = producerServicePool;
     }
@@ -1553,6 +1593,8 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         addService(producerServicePool);
         addService(inflightRepository);
         addService(shutdownStrategy);
+        addService(streamCachingStrategy);
+        addService(getXmlParserPool());
         addService(packageScanClassResolver);
 
         // eager lookup any configured properties component to avoid subsequent lookup attempts which may impact performance
@@ -1619,6 +1661,10 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
             getExecutorServiceManager().shutdownNow(errorHandlerExecutorService);
             errorHandlerExecutorService = null;
         }
+        if (errorHandlerRedeliveryTimer != null) {
+            ServiceHelper.stopService(errorHandlerRedeliveryTimer);
+            errorHandlerRedeliveryTimer = null;
+        }
 
         // shutdown debugger
         ServiceHelper.stopAndShutdownService(getDebugger());
@@ -2434,6 +2480,14 @@ public class DefaultCamelContext extends ServiceSupport implements ModelCamelCon
         this.shutdownStrategy = shutdownStrategy;
     }
 
+    public StreamCachingStrategy getStreamCachingStrategy() {
+        return streamCachingStrategy;
+    }
+
+    public void setStreamCachingStrategy(StreamCachingStrategy streamCachingStrategy) {
+        this.streamCachingStrategy = streamCachingStrategy;
+    }
+
     public ShutdownRoute getShutdownRoute() {
         return shutdownRoute;
     }
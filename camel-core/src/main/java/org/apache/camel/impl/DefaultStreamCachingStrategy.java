@@ -0,0 +1,349 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.converter.stream.ByteBufferPool;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default implementation of {@link StreamCachingStrategy}.
+ * <p/>
+ * Spool files which cannot be deleted at once (for example due the file is still open on Windows)
+ * are deleted by a background task, so the thread completing the exchange does not have to wait
+ * for retrying the delete.
+ *
+ * @version
+ */
+public class DefaultStreamCachingStrategy extends ServiceSupport implements CamelContextAware, StreamCachingStrategy {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(DefaultStreamCachingStrategy.class);
+
+    private final ByteBufferPool bufferPool = new ByteBufferPool(ByteBufferPool.DEFAULT_CHUNK_SIZE, 0);
+    private final Set<File> spoolFiles = Collections.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
+    private final Queue<File> pendingDeletes = new ConcurrentLinkedQueue<File>();
+    private final UtilizationStatistics statistics = new UtilizationStatistics();
+    private CamelContext camelContext;
+    private ScheduledExecutorService cleanupExecutor;
+    private volatile File spoolDirectory;
+    private boolean customSpoolDirectory;
+    private long spoolThreshold = 64 * 1024;
+    private int bufferSize = 2 * 1024;
+    private String spoolCipher;
+    private boolean directBuffer;
+    private boolean memoryMapped;
+    private boolean removeSpoolDirectoryWhenStopping = true;
+    private long cleanupInterval = 1000;
+
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    public void setSpoolDirectory(File path) {
+        this.spoolDirectory = path;
+        this.customSpoolDirectory = path != null;
+    }
+
+    public void setSpoolDirectory(String path) {
+        setSpoolDirectory(path != null ? new File(path) : null);
+    }
+
+    public File getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolThreshold(long threshold) {
+        this.spoolThreshold = threshold;
+    }
+
+    public long getSpoolThreshold() {
+        return spoolThreshold;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setSpoolCipher(String cipher) {
+        this.spoolCipher = cipher;
+    }
+
+    public String getSpoolCipher() {
+        return spoolCipher;
+    }
+
+    public void setMaxMemory(long maxMemory) {
+        bufferPool.setMaxMemory(maxMemory);
+    }
+
+    public long getMaxMemory() {
+        return bufferPool.getMaxMemory();
+    }
+
+    public void setDirectBuffer(boolean directBuffer) {
+        this.directBuffer = directBuffer;
+    }
+
+    public boolean isDirectBuffer() {
+        return directBuffer;
+    }
+
+    public void setMemoryMapped(boolean memoryMapped) {
+        this.memoryMapped = memoryMapped;
+    }
+
+    public boolean isMemoryMapped() {
+        return memoryMapped;
+    }
+
+    public void setRemoveSpoolDirectoryWhenStopping(boolean remove) {
+        this.removeSpoolDirectoryWhenStopping = remove;
+    }
+
+    public boolean isRemoveSpoolDirectoryWhenStopping() {
+        return removeSpoolDirectoryWhenStopping;
+    }
+
+    public void setCleanupInterval(long cleanupInterval) {
+        this.cleanupInterval = cleanupInterval;
+    }
+
+    public long getCleanupInterval() {
+        return cleanupInterval;
+    }
+
+    /**
+     * Gets the pool which holds the memory budget and the pooled off-heap buffers.
+     * <p/>
+     * <b>Important:</b> This is an internal API and end users should not use this.
+     */
+    public ByteBufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public File createSpoolFile() throws IOException {
+        File file = FileUtil.createTempFile("cos", ".tmp", resolveSpoolDirectory());
+        spoolFiles.add(file);
+        return file;
+    }
+
+    public void deleteSpoolFile(File file) {
+        if (file.delete() || !file.exists()) {
+            LOG.trace("Deleted spool file: {}", file);
+            spoolFiles.remove(file);
+        } else if (cleanupExecutor != null) {
+            LOG.debug("Cannot delete spool file: {} (will try again later)", file);
+            pendingDeletes.offer(file);
+        } else {
+            doDeleteSpoolFile(file);
+        }
+    }
+
+    public int getSpoolFileCounter() {
+        return spoolFiles.size();
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    protected synchronized File resolveSpoolDirectory() throws IOException {
+        if (spoolDirectory == null) {
+            String tmp = System.getProperty("java.io.tmpdir");
+            String name = "camel-tmp-" + (camelContext != null ? camelContext.getUuidGenerator().generateUuid() : System.nanoTime());
+            spoolDirectory = new File(tmp, name.replace(':', '-'));
+        }
+        return spoolDirectory;
+    }
+
+    protected void doDeleteSpoolFile(File file) {
+        LOG.trace("Deleting spool file: {}", file);
+        FileUtil.deleteFile(file);
+        if (file.exists()) {
+            LOG.debug("Cannot delete spool file: {} (will try again later)", file);
+            if (cleanupExecutor != null) {
+                pendingDeletes.offer(file);
+            }
+        } else {
+            spoolFiles.remove(file);
+        }
+    }
+
+    private void deletePendingSpoolFiles() {
+        // only attempt the files which is pending now, as files which cannot be deleted is offered back to the queue
+        int size = pendingDeletes.size();
+        for (int i = 0; i < size; i++) {
+            File file = pendingDeletes.poll();
+            if (file == null) {
+                break;
+            }
+            doDeleteSpoolFile(file);
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (cleanupInterval > 0 && camelContext != null) {
+            cleanupExecutor = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "StreamCacheSpoolCleaner");
+            cleanupExecutor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    try {
+                        deletePendingSpoolFiles();
+                    } catch (Throwable e) {
+                        LOG.warn("Error deleting spool files. This exception is ignored.", e);
+                    }
+                }
+            }, cleanupInterval, cleanupInterval, TimeUnit.MILLISECONDS);
+        }
+        LOG.debug("Started {}", this);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (cleanupExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(cleanupExecutor);
+            cleanupExecutor = null;
+        }
+
+        // delete any leftover spool files
+        pendingDeletes.clear();
+        for (File file : spoolFiles) {
+            doDeleteSpoolFile(file);
+        }
+
+        File dir = spoolDirectory;
+        if (removeSpoolDirectoryWhenStopping && dir != null) {
+            // only removes the directory if its empty, so we do not delete any files we do not own
+            if (dir.delete()) {
+                LOG.debug("Removed spool directory: {}", dir);
+            }
+            if (!customSpoolDirectory) {
+                spoolDirectory = null;
+            }
+        }
+
+        bufferPool.purge();
+        if (statistics.isStatisticsEnabled()) {
+            LOG.info("Stopping stream caching with {}", statistics);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultStreamCachingStrategy[spoolDirectory=" + spoolDirectory + ", spoolThreshold=" + spoolThreshold
+                + ", spoolCipher=" + spoolCipher + ", bufferSize=" + bufferSize + ", maxMemory=" + getMaxMemory()
+                + ", directBuffer=" + directBuffer + ", memoryMapped=" + memoryMapped + "]";
+    }
+
+    /**
+     * Represents utilization statistics.
+     */
+    private static final class UtilizationStatistics implements Statistics {
+
+        private final AtomicLong memoryCounter = new AtomicLong();
+        private final AtomicLong memorySize = new AtomicLong();
+        private final AtomicLong spoolCounter = new AtomicLong();
+        private final AtomicLong spoolSize = new AtomicLong();
+        private volatile boolean statisticsEnabled;
+
+        public long getCacheMemoryCounter() {
+            return memoryCounter.get();
+        }
+
+        public long getCacheMemorySize() {
+            return memorySize.get();
+        }
+
+        public long getCacheMemoryAverageSize() {
+            long counter = memoryCounter.get();
+            return counter > 0 ? memorySize.get() / counter : 0;
+        }
+
+        public long getCacheSpoolCounter() {
+            return spoolCounter.get();
+        }
+
+        public long getCacheSpoolSize() {
+            return spoolSize.get();
+        }
+
+        public long getCacheSpoolAverageSize() {
+            long counter = spoolCounter.get();
+            return counter > 0 ? spoolSize.get() / counter : 0;
+        }
+
+        public void updateMemory(long size) {
+            if (statisticsEnabled) {
+                memoryCounter.incrementAndGet();
+                memorySize.addAndGet(size);
+            }
+        }
+
+        public void updateSpool(long size) {
+            if (statisticsEnabled) {
+                spoolCounter.incrementAndGet();
+                spoolSize.addAndGet(size);
+            }
+        }
+
+        public void reset() {
+            memoryCounter.set(0);
+            memorySize.set(0);
+            spoolCounter.set(0);
+            spoolSize.set(0);
+        }
+
+        public boolean isStatisticsEnabled() {
+            return statisticsEnabled;
+        }
+
+        public void setStatisticsEnabled(boolean statisticsEnabled) {
+            this.statisticsEnabled = statisticsEnabled;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StreamCaching utilization[memoryCounter=%s, memorySize=%s, spoolCounter=%s, spoolSize=%s]",
+                    getCacheMemoryCounter(), getCacheMemorySize(), getCacheSpoolCounter(), getCacheSpoolSize());
+        }
+    }
+
+}
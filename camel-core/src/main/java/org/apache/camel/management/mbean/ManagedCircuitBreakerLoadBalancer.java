@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Processor;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedCircuitBreakerLoadBalancerMBean;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed CircuitBreaker LoadBalancer")
+public class ManagedCircuitBreakerLoadBalancer extends ManagedLoadBalancer implements ManagedCircuitBreakerLoadBalancerMBean {
+    private final CircuitBreakerLoadBalancer circuitBreaker;
+
+    public ManagedCircuitBreakerLoadBalancer(CamelContext context, CircuitBreakerLoadBalancer circuitBreaker, ProcessorDefinition<?> definition) {
+        super(context, circuitBreaker, definition);
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public CircuitBreakerLoadBalancer getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public int getThreshold() {
+        return circuitBreaker.getThreshold();
+    }
+
+    public void setThreshold(int threshold) {
+        circuitBreaker.setThreshold(threshold);
+    }
+
+    public long getWindow() {
+        return circuitBreaker.getWindow();
+    }
+
+    public void setWindow(long window) {
+        circuitBreaker.setWindow(window);
+    }
+
+    public long getSlowCallThreshold() {
+        return circuitBreaker.getSlowCallThreshold();
+    }
+
+    public void setSlowCallThreshold(long slowCallThreshold) {
+        circuitBreaker.setSlowCallThreshold(slowCallThreshold);
+    }
+
+    public long getHalfOpenAfter() {
+        return circuitBreaker.getHalfOpenAfter();
+    }
+
+    public void setHalfOpenAfter(long halfOpenAfter) {
+        circuitBreaker.setHalfOpenAfter(halfOpenAfter);
+    }
+
+    public int getHalfOpenProbes() {
+        return circuitBreaker.getHalfOpenProbes();
+    }
+
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        circuitBreaker.setHalfOpenProbes(halfOpenProbes);
+    }
+
+    public String[] getExceptionTypes() {
+        List<Class<?>> exceptions = circuitBreaker.getExceptions();
+        if (exceptions == null) {
+            return new String[0];
+        }
+        String[] answer = new String[exceptions.size()];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = exceptions.get(i).getName();
+        }
+        return answer;
+    }
+
+    public String[] getCircuitStates() {
+        // must use String type to be sure remote JMX can read the attribute without requiring Camel classes.
+        List<CircuitBreakerLoadBalancer.State> states = circuitBreaker.getStates();
+        String[] answer = new String[states.size()];
+        for (int i = 0; i < answer.length; i++) {
+            answer[i] = states.get(i).name();
+        }
+        return answer;
+    }
+
+    public int getOpenCircuits() {
+        int answer = 0;
+        for (CircuitBreakerLoadBalancer.State state : circuitBreaker.getStates()) {
+            if (state == CircuitBreakerLoadBalancer.State.Open) {
+                answer++;
+            }
+        }
+        return answer;
+    }
+
+    public long getRejected() {
+        return circuitBreaker.getRejected();
+    }
+
+    public void closeCircuits() {
+        circuitBreaker.reset();
+    }
+
+    @Override
+    protected void appendProcessorStats(StringBuilder sb, Processor processor) {
+        CircuitBreakerLoadBalancer.State state = circuitBreaker.getState(processor);
+        if (state != null) {
+            sb.append(String.format(" circuitState=\"%s\"", state.name()));
+        }
+    }
+}
@@ -119,6 +119,15 @@ public class ManagedErrorHandler implements ManagedErrorHandlerMBean {
         redelivery.getRedeliveryPolicy().setMaximumRedeliveries(maximum);
     }
 
+    public Integer getPendingRedeliveries() {
+        if (!isSupportRedelivery()) {
+            return null;
+        }
+
+        RedeliveryErrorHandler redelivery = (RedeliveryErrorHandler) errorHandler;
+        return redelivery.getPendingRedeliveries();
+    }
+
     public Long getMaximumRedeliveryDelay() {
         if (!isSupportRedelivery()) {
             return null;
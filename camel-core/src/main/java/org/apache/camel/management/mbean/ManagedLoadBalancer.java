@@ -0,0 +1,97 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.List;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Processor;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedLoadBalancerMBean;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.loadbalancer.AdaptiveLoadBalancerSupport;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.processor.loadbalancer.ProcessorStatistics;
+
+/**
+ * @version 
+ */
+@ManagedResource(description = "Managed LoadBalancer")
+public class ManagedLoadBalancer extends ManagedProcessor implements ManagedLoadBalancerMBean {
+    private final LoadBalancer loadBalancer;
+
+    public ManagedLoadBalancer(CamelContext context, LoadBalancer loadBalancer, ProcessorDefinition<?> definition) {
+        super(context, loadBalancer, definition);
+        this.loadBalancer = loadBalancer;
+    }
+
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    public String getLoadBalancerType() {
+        return loadBalancer.toString();
+    }
+
+    public Integer getSize() {
+        return loadBalancer.getProcessors().size();
+    }
+
+    @Override
+    public synchronized void reset() {
+        super.reset();
+        if (loadBalancer instanceof AdaptiveLoadBalancerSupport) {
+            ((AdaptiveLoadBalancerSupport) loadBalancer).resetStatistics();
+        }
+    }
+
+    public String dumpLoadBalancerStatsAsXml() {
+        List<Processor> processors = loadBalancer.getProcessors();
+        List<ProcessorDefinition<?>> outputs = getDefinition().getOutputs();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("<loadBalancerStats").append(String.format(" id=\"%s\"", getProcessorId())).append(">\n");
+        for (int i = 0; i < processors.size(); i++) {
+            Processor processor = processors.get(i);
+            sb.append("  <processorStat").append(String.format(" index=\"%s\"", i));
+            // the outputs of the load balancer is in the same order as the processors
+            if (outputs != null && i < outputs.size()) {
+                sb.append(String.format(" id=\"%s\"", outputs.get(i).idOrCreate(getContext().getNodeIdFactory())));
+            }
+            appendProcessorStats(sb, processor);
+            sb.append("/>\n");
+        }
+        sb.append("</loadBalancerStats>");
+        return sb.toString();
+    }
+
+    /**
+     * Appends the statistics of the given processor as XML attributes
+     */
+    protected void appendProcessorStats(StringBuilder sb, Processor processor) {
+        if (loadBalancer instanceof AdaptiveLoadBalancerSupport) {
+            ProcessorStatistics stats = ((AdaptiveLoadBalancerSupport) loadBalancer).getStatistics(processor);
+            if (stats != null) {
+                sb.append(String.format(" inflight=\"%s\"", stats.getInflight()));
+                sb.append(String.format(" exchangesCompleted=\"%s\"", stats.getCompleted()));
+                sb.append(String.format(" exchangesFailed=\"%s\"", stats.getFailed()));
+                sb.append(String.format(" averageProcessingTime=\"%s\"", stats.getAverageProcessingTime()));
+                sb.append(String.format(" lastProcessingTime=\"%s\"", stats.getLastProcessingTime()));
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedStreamCachingStrategyMBean;
+import org.apache.camel.converter.stream.ByteBufferPool;
+import org.apache.camel.impl.DefaultStreamCachingStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
+
+/**
+ *
+ */
+@ManagedResource(description = "Managed StreamCachingStrategy")
+public class ManagedStreamCachingStrategy extends ManagedService implements ManagedStreamCachingStrategyMBean {
+
+    private final StreamCachingStrategy streamCachingStrategy;
+
+    public ManagedStreamCachingStrategy(CamelContext camelContext, StreamCachingStrategy streamCachingStrategy) {
+        super(camelContext, streamCachingStrategy);
+        this.streamCachingStrategy = streamCachingStrategy;
+    }
+
+    public StreamCachingStrategy getStreamCachingStrategy() {
+        return streamCachingStrategy;
+    }
+
+    public String getSpoolDirectory() {
+        if (streamCachingStrategy.getSpoolDirectory() != null) {
+            return streamCachingStrategy.getSpoolDirectory().getPath();
+        } else {
+            return null;
+        }
+    }
+
+    public String getSpoolCipher() {
+        return streamCachingStrategy.getSpoolCipher();
+    }
+
+    public long getSpoolThreshold() {
+        return streamCachingStrategy.getSpoolThreshold();
+    }
+
+    public void setSpoolThreshold(long threshold) {
+        streamCachingStrategy.setSpoolThreshold(threshold);
+    }
+
+    public int getBufferSize() {
+        return streamCachingStrategy.getBufferSize();
+    }
+
+    public long getMaxMemory() {
+        return streamCachingStrategy.getMaxMemory();
+    }
+
+    public void setMaxMemory(long maxMemory) {
+        streamCachingStrategy.setMaxMemory(maxMemory);
+    }
+
+    public boolean isDirectBuffer() {
+        return streamCachingStrategy.isDirectBuffer();
+    }
+
+    public boolean isMemoryMapped() {
+        return streamCachingStrategy.isMemoryMapped();
+    }
+
+    public boolean isRemoveSpoolDirectoryWhenStopping() {
+        return streamCachingStrategy.isRemoveSpoolDirectoryWhenStopping();
+    }
+
+    public long getMemoryUsed() {
+        ByteBufferPool pool = getBufferPool();
+        return pool != null ? pool.getUsedMemory() : 0;
+    }
+
+    public long getPeakMemory() {
+        ByteBufferPool pool = getBufferPool();
+        return pool != null ? pool.getPeakMemory() : 0;
+    }
+
+    public int getSpoolFileCounter() {
+        return streamCachingStrategy.getSpoolFileCounter();
+    }
+
+    public long getCacheMemoryCounter() {
+        return streamCachingStrategy.getStatistics().getCacheMemoryCounter();
+    }
+
+    public long getCacheMemorySize() {
+        return streamCachingStrategy.getStatistics().getCacheMemorySize();
+    }
+
+    public long getCacheMemoryAverageSize() {
+        return streamCachingStrategy.getStatistics().getCacheMemoryAverageSize();
+    }
+
+    public long getCacheSpoolCounter() {
+        return streamCachingStrategy.getStatistics().getCacheSpoolCounter();
+    }
+
+    public long getCacheSpoolSize() {
+        return streamCachingStrategy.getStatistics().getCacheSpoolSize();
+    }
+
+    public long getCacheSpoolAverageSize() {
+        return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
+    }
+
+    public boolean isStatisticsEnabled() {
+        return streamCachingStrategy.getStatistics().isStatisticsEnabled();
+    }
+
+    public void setStatisticsEnabled(boolean enabled) {
+        streamCachingStrategy.getStatistics().setStatisticsEnabled(enabled);
+    }
+
+    public void resetStatistics() {
+        streamCachingStrategy.getStatistics().reset();
+        ByteBufferPool pool = getBufferPool();
+        if (pool != null) {
+            pool.resetPeakMemory();
+        }
+    }
+
+    private ByteBufferPool getBufferPool() {
+        // only the default strategy has a pool with a memory budget
+        if (streamCachingStrategy instanceof DefaultStreamCachingStrategy) {
+            return ((DefaultStreamCachingStrategy) streamCachingStrategy).getBufferPool();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.ManagedXmlParserPoolMBean;
+import org.apache.camel.converter.jaxp.XmlParserPool;
+
+/**
+ *
+ */
+@ManagedResource(description = "Managed XmlParserPool")
+public class ManagedXmlParserPool extends ManagedService implements ManagedXmlParserPoolMBean {
+
+    private final XmlParserPool parserPool;
+
+    public ManagedXmlParserPool(CamelContext camelContext, XmlParserPool parserPool) {
+        super(camelContext, parserPool);
+        this.parserPool = parserPool;
+    }
+
+    public XmlParserPool getParserPool() {
+        return parserPool;
+    }
+
+    public int getMaxPoolSize() {
+        return parserPool.getMaxPoolSize();
+    }
+
+    public void setMaxPoolSize(int maxPoolSize) {
+        parserPool.setMaxPoolSize(maxPoolSize);
+    }
+
+    public int getDocumentBuilderPoolSize() {
+        return parserPool.getDocumentBuilderPoolSize();
+    }
+
+    public long getDocumentBuilderCreatedCounter() {
+        return parserPool.getDocumentBuilderCreatedCounter();
+    }
+
+    public long getDocumentBuilderAcquiredCounter() {
+        return parserPool.getDocumentBuilderAcquiredCounter();
+    }
+
+    public int getTransformerPoolSize() {
+        return parserPool.getTransformerPoolSize();
+    }
+
+    public long getTransformerCreatedCounter() {
+        return parserPool.getTransformerCreatedCounter();
+    }
+
+    public long getTransformerAcquiredCounter() {
+        return parserPool.getTransformerAcquiredCounter();
+    }
+
+    public void resetStatistics() {
+        parserPool.resetStatistics();
+    }
+
+    public void purge() {
+        parserPool.purge();
+    }
+
+}
@@ -0,0 +1,229 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.Processor;
+import org.apache.camel.processor.BatchSendProcessor;
+import org.apache.camel.spi.RouteContext;
+
+/**
+ * Represents an XML &lt;batchTo/&gt; element
+ *
+ * @version 
+ */
+@XmlRootElement(name = "batchTo")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BatchToDefinition<Type extends ProcessorDefinition<Type>> extends NoOutputDefinition<BatchToDefinition<Type>> implements ExecutorServiceAwareDefinition<BatchToDefinition<Type>> {
+    @XmlAttribute
+    protected String uri;
+    @XmlAttribute
+    protected String ref;
+    @XmlTransient
+    protected Endpoint endpoint;
+    @XmlAttribute
+    private Integer batchSize;
+    @XmlAttribute
+    private Long batchTimeout;
+    @XmlTransient
+    private ExecutorService executorService;
+    @XmlAttribute
+    private String executorServiceRef;
+
+    public BatchToDefinition() {
+    }
+
+    public BatchToDefinition(String uri) {
+        setUri(uri);
+    }
+
+    public BatchToDefinition(Endpoint endpoint) {
+        setEndpoint(endpoint);
+    }
+
+    @Override
+    public Processor createProcessor(RouteContext routeContext) throws Exception {
+        // executor service is mandatory for the batch timeout
+        boolean shutdownThreadPool = ProcessorDefinitionHelper.willCreateNewThreadPool(routeContext, this, true);
+        ScheduledExecutorService threadPool = ProcessorDefinitionHelper.getConfiguredScheduledExecutorService(routeContext, "BatchTo", this, true);
+
+        Endpoint endpoint = resolveEndpoint(routeContext);
+        return new BatchSendProcessor(endpoint, getBatchSize(), getBatchTimeout(), threadPool, shutdownThreadPool);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchTo[" + description() + "]";
+    }
+
+    protected String description() {
+        return FromDefinition.description(getUri(), getRef(), getEndpoint());
+    }
+
+    @Override
+    public String getShortName() {
+        return "batchTo";
+    }
+
+    @Override
+    public String getLabel() {
+        return "batchTo[" + description() + "]";
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Type end() {
+        // allow end() to return to previous type so you can continue in the DSL
+        return (Type) super.end();
+    }
+
+    @Override
+    public void addOutput(ProcessorDefinition<?> output) {
+        // add outputs on parent as this batch to does not support outputs
+        getParent().addOutput(output);
+    }
+
+    public Endpoint resolveEndpoint(RouteContext context) {
+        if (endpoint == null) {
+            return context.resolveEndpoint(getUri(), getRef());
+        } else {
+            return endpoint;
+        }
+    }
+
+    // Fluent API
+    // -------------------------------------------------------------------------
+
+    /**
+     * Sets the maximum number of exchanges in a batch.
+     * <p/>
+     * The default size is 100.
+     *
+     * @param batchSize the batch size
+     * @return the builder
+     */
+    public BatchToDefinition<Type> batchSize(int batchSize) {
+        setBatchSize(batchSize);
+        return this;
+    }
+
+    /**
+     * Sets the timeout in millis from the first exchange in a batch arrived until the batch is sent,
+     * even if the batch is not full.
+     * <p/>
+     * The default timeout is 1000 millis. The timeout must be a positive number.
+     *
+     * @param batchTimeout the timeout in millis
+     * @return the builder
+     */
+    public BatchToDefinition<Type> batchTimeout(long batchTimeout) {
+        setBatchTimeout(batchTimeout);
+        return this;
+    }
+
+    /**
+     * Uses a custom thread pool
+     *
+     * @param executorService a custom {@link ExecutorService} to use as thread pool
+     *                        for sending batches which completes by timeout
+     * @return the builder
+     */
+    public BatchToDefinition<Type> executorService(ExecutorService executorService) {
+        setExecutorService(executorService);
+        return this;
+    }
+
+    /**
+     * Uses a custom thread pool
+     *
+     * @param executorServiceRef reference to lookup a custom {@link ExecutorService}
+     *                           to use as thread pool for sending batches which completes by timeout
+     * @return the builder
+     */
+    public BatchToDefinition<Type> executorServiceRef(String executorServiceRef) {
+        setExecutorServiceRef(executorServiceRef);
+        return this;
+    }
+
+    // Properties
+    // -------------------------------------------------------------------------
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public void setRef(String ref) {
+        this.ref = ref;
+    }
+
+    public Endpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public int getBatchSize() {
+        return batchSize != null ? batchSize : 100;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout != null ? batchTimeout : 1000L;
+    }
+
+    public void setBatchTimeout(Long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public String getExecutorServiceRef() {
+        return executorServiceRef;
+    }
+
+    public void setExecutorServiceRef(String executorServiceRef) {
+        this.executorServiceRef = executorServiceRef;
+    }
+}
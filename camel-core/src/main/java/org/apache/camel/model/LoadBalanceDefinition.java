@@ -31,14 +31,20 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.camel.Expression;
 import org.apache.camel.Processor;
+import org.apache.camel.model.loadbalancer.CircuitBreakerLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.CustomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.FailoverLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastInflightLoadBalancerDefinition;
+import org.apache.camel.model.loadbalancer.LeastLatencyLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RandomLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.RoundRobinLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.StickyLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.TopicLoadBalancerDefinition;
 import org.apache.camel.model.loadbalancer.WeightedLoadBalancerDefinition;
+import org.apache.camel.processor.loadbalancer.CircuitBreakerLoadBalancer;
 import org.apache.camel.processor.loadbalancer.FailOverLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastInflightLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LeastLatencyLoadBalancer;
 import org.apache.camel.processor.loadbalancer.LoadBalancer;
 import org.apache.camel.processor.loadbalancer.RandomLoadBalancer;
 import org.apache.camel.processor.loadbalancer.RoundRobinLoadBalancer;
@@ -66,7 +72,10 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
             @XmlElement(required = false, name = "roundRobin", type = RoundRobinLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "sticky", type = StickyLoadBalancerDefinition.class),
             @XmlElement(required = false, name = "topic", type = TopicLoadBalancerDefinition.class),
-            @XmlElement(required = false, name = "weighted", type = WeightedLoadBalancerDefinition.class)}
+            @XmlElement(required = false, name = "weighted", type = WeightedLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "leastLatency", type = LeastLatencyLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "leastInflight", type = LeastInflightLoadBalancerDefinition.class),
+            @XmlElement(required = false, name = "circuitBreaker", type = CircuitBreakerLoadBalancerDefinition.class)}
     )
     private LoadBalancerDefinition loadBalancerType;
     @XmlElementRef
@@ -203,6 +212,49 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses circuit breaker load balancer
+     * <p/>
+     * The circuit of a processor is opened after the given number of failures within a minute, and
+     * becomes half open after the given time where a single probe exchange is let through.
+     *
+     * @param threshold      number of failures which opens the circuit
+     * @param halfOpenAfter  time in millis before an open circuit becomes half open
+     * @param exceptions     exception classes which counts as failures, all exceptions counts if none given
+     * @return the builder
+     */
+    public LoadBalanceDefinition circuitBreaker(int threshold, long halfOpenAfter, Class<?>... exceptions) {
+        CircuitBreakerLoadBalancer breaker = new CircuitBreakerLoadBalancer(Arrays.asList(exceptions));
+        breaker.setThreshold(threshold);
+        breaker.setHalfOpenAfter(halfOpenAfter);
+        setLoadBalancerType(new LoadBalancerDefinition(breaker));
+        return this;
+    }
+
+    /**
+     * Uses circuit breaker load balancer
+     *
+     * @param threshold          number of failures within the window which opens the circuit
+     * @param window             the window in millis the failures is counted within
+     * @param slowCallThreshold  processing time in millis where an exchange taking longer is counted as a failure,
+     *                           use zero to not take the processing time into account
+     * @param halfOpenAfter      time in millis before an open circuit becomes half open
+     * @param halfOpenProbes     maximum number of probe exchanges when the circuit is half open
+     * @param exceptions         exception classes which counts as failures, all exceptions counts if none given
+     * @return the builder
+     */
+    public LoadBalanceDefinition circuitBreaker(int threshold, long window, long slowCallThreshold,
+                                                long halfOpenAfter, int halfOpenProbes, Class<?>... exceptions) {
+        CircuitBreakerLoadBalancer breaker = new CircuitBreakerLoadBalancer(Arrays.asList(exceptions));
+        breaker.setThreshold(threshold);
+        breaker.setWindow(window);
+        breaker.setSlowCallThreshold(slowCallThreshold);
+        breaker.setHalfOpenAfter(halfOpenAfter);
+        breaker.setHalfOpenProbes(halfOpenProbes);
+        setLoadBalancerType(new LoadBalancerDefinition(breaker));
+        return this;
+    }
+
     /**
      * Uses weighted load balancer
      *
@@ -294,6 +346,54 @@ public class LoadBalanceDefinition extends ProcessorDefinition<LoadBalanceDefini
         return this;
     }
 
+    /**
+     * Uses least latency load balancer, which chooses the processor with the lowest
+     * moving average of the processing time weighted by the number of exchanges in flight.
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastLatency() {
+        return leastLatency(false);
+    }
+
+    /**
+     * Uses least latency load balancer, which chooses the processor with the lowest
+     * moving average of the processing time weighted by the number of exchanges in flight.
+     *
+     * @param twoRandomChoices  whether to only compare two random processors (the power of two choices)
+     *                          instead of all the processors
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastLatency(boolean twoRandomChoices) {
+        LeastLatencyLoadBalancer balancer = new LeastLatencyLoadBalancer();
+        balancer.setTwoRandomChoices(twoRandomChoices);
+        setLoadBalancerType(new LoadBalancerDefinition(balancer));
+        return this;
+    }
+
+    /**
+     * Uses least inflight load balancer, which chooses the processor with the least number of exchanges in flight.
+     *
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastInflight() {
+        return leastInflight(false);
+    }
+
+    /**
+     * Uses least inflight load balancer, which chooses the processor with the least number of exchanges in flight.
+     *
+     * @param twoRandomChoices  whether to only compare two random processors (the power of two choices)
+     *                          instead of all the processors
+     * @return the builder
+     */
+    public LoadBalanceDefinition leastInflight(boolean twoRandomChoices) {
+        LeastInflightLoadBalancer balancer = new LeastInflightLoadBalancer();
+        balancer.setTwoRandomChoices(twoRandomChoices);
+        setLoadBalancerType(new LoadBalancerDefinition(balancer));
+        return this;
+    }
+
     @Override
     public String getLabel() {
         CollectionStringBuffer buffer = new CollectionStringBuffer("loadBalance[");
@@ -777,6 +777,38 @@ public abstract class ProcessorDefinition<Type extends ProcessorDefinition<Type>
         return (Type) this;
     }
 
+    /**
+     * Sends the exchanges to the given endpoint in batches, which is sent at once
+     * if the producer is a {@link org.apache.camel.BatchProducer}.
+     * <p/>
+     * Each exchange continues being routed when its batch has been sent, so synchronous callers
+     * block until the batch is complete. Transacted exchanges is sent right away without batching.
+     *
+     * @param uri  the endpoint to send to
+     * @return the builder
+     */
+    public BatchToDefinition<Type> batchTo(String uri) {
+        BatchToDefinition<Type> answer = new BatchToDefinition<Type>(uri);
+        addOutput(answer);
+        return answer;
+    }
+
+    /**
+     * Sends the exchanges to the given endpoint in batches, which is sent at once
+     * if the producer is a {@link org.apache.camel.BatchProducer}.
+     * <p/>
+     * Each exchange continues being routed when its batch has been sent, so synchronous callers
+     * block until the batch is complete. Transacted exchanges is sent right away without batching.
+     *
+     * @param endpoint  the endpoint to send to
+     * @return the builder
+     */
+    public BatchToDefinition<Type> batchTo(Endpoint endpoint) {
+        BatchToDefinition<Type> answer = new BatchToDefinition<Type>(endpoint);
+        addOutput(answer);
+        return answer;
+    }
+
     /**
      * <a href="http://camel.apache.org/exchange-pattern.html">ExchangePattern:</a>
      * set the {@link ExchangePattern} into the {@link Exchange}.
@@ -45,6 +45,8 @@ public class XPathExpression extends NamespaceAwareExpression {
     private String objectModel;
     @XmlAttribute(name = "logNamespaces")
     private Boolean logNamespaces;
+    @XmlAttribute(name = "streaming")
+    private Boolean streaming;
     @XmlAttribute(name = "headerName")
     private String headerName;
     
@@ -124,6 +126,18 @@ public class XPathExpression extends NamespaceAwareExpression {
     public boolean isLogNamespaces() {
         return logNamespaces != null && logNamespaces;
     }
+
+    public void setStreaming(Boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public Boolean getStreaming() {
+        return streaming;
+    }
+
+    public boolean isStreaming() {
+        return streaming != null && streaming;
+    }
     
     public String getHeaderName() {
         return headerName;
@@ -194,6 +208,9 @@ public class XPathExpression extends NamespaceAwareExpression {
         if (isLogNamespaces()) {
             ObjectHelper.cast(XPathBuilder.class, predicate).setLogNamespaces(true);
         }
+        if (isStreaming()) {
+            ObjectHelper.cast(XPathBuilder.class, predicate).setStreaming(true);
+        }
         if (ObjectHelper.isNotEmpty(getHeaderName())) {
             ObjectHelper.cast(XPathBuilder.class, predicate).setHeaderName(getHeaderName());
         }
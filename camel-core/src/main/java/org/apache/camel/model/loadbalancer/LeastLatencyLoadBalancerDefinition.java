@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.model.loadbalancer;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.apache.camel.model.LoadBalancerDefinition;
+import org.apache.camel.processor.loadbalancer.LeastLatencyLoadBalancer;
+import org.apache.camel.processor.loadbalancer.LoadBalancer;
+import org.apache.camel.spi.RouteContext;
+
+/**
+ * Represents an XML &lt;leastLatency/&gt; element
+ */
+@XmlRootElement(name = "leastLatency")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class LeastLatencyLoadBalancerDefinition extends LoadBalancerDefinition {
+    @XmlAttribute
+    private Boolean twoRandomChoices;
+    @XmlAttribute
+    private Double smoothingFactor;
+    @XmlAttribute
+    private Long failureRetryInterval;
+
+    public LeastLatencyLoadBalancerDefinition() {
+    }
+
+    @Override
+    protected LoadBalancer createLoadBalancer(RouteContext routeContext) {
+        LeastLatencyLoadBalancer answer = new LeastLatencyLoadBalancer();
+        if (twoRandomChoices != null) {
+            answer.setTwoRandomChoices(twoRandomChoices);
+        }
+        if (smoothingFactor != null) {
+            answer.setSmoothingFactor(smoothingFactor);
+        }
+        if (failureRetryInterval != null) {
+            answer.setFailureRetryInterval(failureRetryInterval);
+        }
+        return answer;
+    }
+
+    public Boolean getTwoRandomChoices() {
+        return twoRandomChoices;
+    }
+
+    public void setTwoRandomChoices(Boolean twoRandomChoices) {
+        this.twoRandomChoices = twoRandomChoices;
+    }
+
+    public Double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    public void setSmoothingFactor(Double smoothingFactor) {
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    public Long getFailureRetryInterval() {
+        return failureRetryInterval;
+    }
+
+    public void setFailureRetryInterval(Long failureRetryInterval) {
+        this.failureRetryInterval = failureRetryInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "LeastLatencyLoadBalancer";
+    }
+}
@@ -0,0 +1,327 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.BatchProducer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Producer;
+import org.apache.camel.Traceable;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.apache.camel.util.URISupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processor for forwarding exchanges to an endpoint destination in batches.
+ * <p/>
+ * The exchanges are held until the batch is complete, either by reaching the batch size
+ * or when the batch timeout elapses since the first exchange in the batch arrived. The batch is then
+ * sent at once if the producer is a {@link BatchProducer}, or otherwise one by one, before each
+ * exchange continues being routed.
+ * <p/>
+ * This implementation uses the asynchronous routing engine so the exchanges do not block while waiting,
+ * however synchronous callers block until their batch has been sent. A single synchronous caller, such as a
+ * consumer which is not asynchronous and uses a single thread, therefore only sends one exchange per batch,
+ * each being delayed by the batch timeout, so batches only makes sense with concurrent or asynchronous callers.
+ * <p/>
+ * The thread completing the batch, either the caller adding the last exchange or the thread pool when the
+ * batch timeout elapses, continues routing the other exchanges in the batch one after the other, before it
+ * continues routing its own exchange. Use a thread pool afterwards in the route, such as <tt>threads</tt>,
+ * to route the exchanges concurrently after their batch has been sent.
+ * <p/>
+ * Transacted exchanges is not batched, but sent right away, as the transaction is bound to the thread
+ * processing the exchange and cannot be shared with the other exchanges in a batch.
+ *
+ * @version 
+ */
+public class BatchSendProcessor extends ServiceSupport implements AsyncProcessor, Traceable {
+    private static final transient Logger LOG = LoggerFactory.getLogger(BatchSendProcessor.class);
+    private final CamelContext camelContext;
+    private final Endpoint destination;
+    private final int batchSize;
+    private final long batchTimeout;
+    private final ScheduledExecutorService executorService;
+    private final boolean shutdownExecutorService;
+    private final boolean ownProducer;
+    private final Lock lock = new ReentrantLock();
+    private List<BatchEntry> batch = new ArrayList<BatchEntry>();
+    private Producer producer;
+
+    public BatchSendProcessor(Endpoint destination, int batchSize, long batchTimeout,
+                              ScheduledExecutorService executorService, boolean shutdownExecutorService) {
+        this(destination, null, batchSize, batchTimeout, executorService, shutdownExecutorService);
+    }
+
+    /**
+     * Creates the processor to send the batches using the given producer.
+     * <p/>
+     * The lifecycle of the given producer is not managed by this processor, which allows a producer
+     * to use this processor for collecting its own batches.
+     *
+     * @param destination the endpoint
+     * @param producer    the producer to send the batches, or <tt>null</tt> to create a producer from the endpoint
+     */
+    public BatchSendProcessor(Endpoint destination, Producer producer, int batchSize, long batchTimeout,
+                              ScheduledExecutorService executorService, boolean shutdownExecutorService) {
+        ObjectHelper.notNull(destination, "destination");
+        ObjectHelper.notNull(executorService, "executorService");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("BatchSize must be a positive number, was: " + batchSize);
+        }
+        // a partial batch would otherwise wait until this processor is stopped
+        if (batchTimeout <= 0) {
+            throw new IllegalArgumentException("BatchTimeout must be a positive number, was: " + batchTimeout);
+        }
+        this.destination = destination;
+        this.camelContext = destination.getCamelContext();
+        this.batchSize = batchSize;
+        this.batchTimeout = batchTimeout;
+        this.executorService = executorService;
+        this.shutdownExecutorService = shutdownExecutorService;
+        this.producer = producer;
+        this.ownProducer = producer == null;
+    }
+
+    @Override
+    public String toString() {
+        return "batchSendTo(" + destination + ")";
+    }
+
+    public String getTraceLabel() {
+        return "batchTo(" + URISupport.sanitizeUri(destination.getEndpointUri()) + ")";
+    }
+
+    public Endpoint getDestination() {
+        return destination;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Gets the number of exchanges currently waiting for their batch to be sent
+     */
+    public int getPendingExchanges() {
+        lock.lock();
+        try {
+            return batch.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void process(Exchange exchange) throws Exception {
+        AsyncProcessorHelper.process(this, exchange);
+    }
+
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        if (!isRunAllowed()) {
+            if (exchange.getException() == null) {
+                exchange.setException(new RejectedExecutionException("Run is not allowed"));
+            }
+            callback.done(true);
+            return true;
+        }
+
+        // set property which endpoint we send to
+        exchange.setProperty(Exchange.TO_ENDPOINT, destination.getEndpointUri());
+
+        if (exchange.isTransacted()) {
+            // the transaction is bound to this thread so the exchange must be sent by this thread
+            LOG.trace("Transacted exchange is sent without batching: {}", exchange);
+            try {
+                producer.process(exchange);
+            } catch (Throwable e) {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        }
+
+        List<BatchEntry> completed = null;
+        lock.lock();
+        try {
+            batch.add(new BatchEntry(exchange, callback));
+            if (batch.size() >= batchSize) {
+                completed = batch;
+                batch = new ArrayList<BatchEntry>(batchSize);
+            } else if (batch.size() == 1) {
+                // first exchange in a new batch so schedule the timeout for this batch
+                final List<BatchEntry> current = batch;
+                executorService.schedule(new Runnable() {
+                    public void run() {
+                        onTimeout(current);
+                    }
+                }, batchTimeout, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (completed == null) {
+            LOG.trace("Exchange waiting for batch to complete: {}", exchange);
+            // we continue routing asynchronously when the batch has been sent
+            return false;
+        }
+
+        LOG.debug("Batch completed by size: {}", batchSize);
+        sendBatch(completed, exchange);
+        return true;
+    }
+
+    private void onTimeout(List<BatchEntry> expected) {
+        List<BatchEntry> completed = null;
+        lock.lock();
+        try {
+            // the batch may already have been completed by size
+            if (batch == expected) {
+                completed = batch;
+                batch = new ArrayList<BatchEntry>(batchSize);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (completed != null) {
+            LOG.debug("Batch completed by timeout: {} with size: {}", batchTimeout, completed.size());
+            sendBatch(completed, null);
+        }
+    }
+
+    /**
+     * Sends the batch and signals all the exchanges in the batch to continue routing.
+     *
+     * @param entries the batch
+     * @param current the exchange being processed by the current thread, which is done synchronously,
+     *                or <tt>null</tt> if none
+     */
+    protected void sendBatch(List<BatchEntry> entries, Exchange current) {
+        List<Exchange> exchanges = new ArrayList<Exchange>(entries.size());
+        for (BatchEntry entry : entries) {
+            exchanges.add(entry.exchange);
+        }
+
+        try {
+            if (producer instanceof BatchProducer) {
+                LOG.debug(">>>> {} batch of {} exchanges", destination, exchanges.size());
+                ((BatchProducer) producer).processBatch(exchanges);
+            } else {
+                for (Exchange exchange : exchanges) {
+                    LOG.debug(">>>> {} {}", destination, exchange);
+                    try {
+                        producer.process(exchange);
+                    } catch (Throwable e) {
+                        exchange.setException(e);
+                    }
+                }
+            }
+        } catch (Throwable e) {
+            // the entire batch failed
+            for (Exchange exchange : exchanges) {
+                exchange.setException(e);
+            }
+        }
+
+        // signal the current exchange first as its done synchronously, the others continue routing from this thread
+        for (BatchEntry entry : entries) {
+            if (entry.exchange == current) {
+                entry.callback.done(true);
+            }
+        }
+        for (BatchEntry entry : entries) {
+            if (entry.exchange != current) {
+                entry.callback.done(false);
+            }
+        }
+    }
+
+    protected void doStart() throws Exception {
+        if (!ownProducer) {
+            return;
+        }
+        if (producer == null) {
+            producer = destination.createProducer();
+        }
+        // warm up the producer by starting it so we can fail fast if there was a problem
+        // however must start endpoint first
+        ServiceHelper.startService(destination);
+        ServiceHelper.startService(producer);
+    }
+
+    protected void doStop() throws Exception {
+        // send any pending exchanges so they do not wait forever
+        List<BatchEntry> completed;
+        lock.lock();
+        try {
+            completed = batch;
+            batch = new ArrayList<BatchEntry>(batchSize);
+        } finally {
+            lock.unlock();
+        }
+        if (!completed.isEmpty()) {
+            LOG.debug("Sending pending batch with size: {} while stopping", completed.size());
+            sendBatch(completed, null);
+        }
+
+        if (ownProducer) {
+            ServiceHelper.stopService(producer);
+        }
+    }
+
+    protected void doShutdown() throws Exception {
+        if (ownProducer) {
+            ServiceHelper.stopAndShutdownService(producer);
+            producer = null;
+        }
+        if (shutdownExecutorService) {
+            camelContext.getExecutorServiceManager().shutdownNow(executorService);
+        }
+    }
+
+    /**
+     * An exchange waiting in a batch.
+     */
+    protected static final class BatchEntry {
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+
+        private BatchEntry(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+    }
+}
@@ -58,6 +58,7 @@ import org.apache.camel.util.CastUtils;
 import org.apache.camel.util.EventHelper;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.KeyValueHolder;
+import org.apache.camel.util.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.apache.camel.util.StopWatch;
@@ -790,6 +791,8 @@ public class MulticastProcessor extends ServiceSupport implements AsyncProcessor
         for (Processor processor : processors) {
             // copy exchange, and do not share the unit of work
             Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
+            // let each copy read the stream cache independently without copying the cached data
+            MessageHelper.copyStreamCache(copy.getIn());
 
             // if we share unit of work, we need to prepare the child exchange
             if (isShareUnitOfWork()) {
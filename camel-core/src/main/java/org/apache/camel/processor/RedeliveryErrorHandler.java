@@ -20,6 +20,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProcessor;
@@ -29,6 +30,7 @@ import org.apache.camel.LoggingLevel;
 import org.apache.camel.Message;
 import org.apache.camel.Predicate;
 import org.apache.camel.Processor;
+import org.apache.camel.impl.DefaultCamelContext;
 import org.apache.camel.model.OnExceptionDefinition;
 import org.apache.camel.spi.ShutdownPrepared;
 import org.apache.camel.spi.SubUnitOfWorkCallback;
@@ -42,6 +44,7 @@ import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
+import org.apache.camel.util.concurrent.HashedWheelTimer;
 
 /**
  * Base redeliverable error handler that also supports a final dead letter queue in case
@@ -55,6 +58,7 @@ import org.apache.camel.util.ServiceHelper;
 public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport implements AsyncProcessor, ShutdownPrepared {
 
     protected ScheduledExecutorService executorService;
+    protected HashedWheelTimer redeliveryTimer;
     protected final CamelContext camelContext;
     protected final Processor deadLetter;
     protected final String deadLetterUri;
@@ -67,6 +71,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
     protected final boolean useOriginalMessagePolicy;
     protected boolean redeliveryEnabled;
     protected volatile boolean preparingShutdown;
+    private final AtomicInteger pendingRedeliveries = new AtomicInteger();
 
     /**
      * Contains the current redelivery data
@@ -107,6 +112,8 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         }
 
         public Boolean call() throws Exception {
+            pendingRedeliveries.decrementAndGet();
+
             // prepare for redelivery
             prepareExchangeForRedelivery(exchange, data);
 
@@ -325,7 +332,7 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                         if (log.isTraceEnabled()) {
                             log.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", data.redeliveryDelay, exchange.getExchangeId());
                         }
-                        executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+                        scheduleRedelivery(task, data.redeliveryDelay);
 
                         return false;
                     } else {
@@ -487,14 +494,60 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
                 if (log.isTraceEnabled()) {
                     log.trace("Scheduling redelivery task to run in {} millis for exchangeId: {}", data.redeliveryDelay, exchange.getExchangeId());
                 }
-                executorService.schedule(task, data.redeliveryDelay, TimeUnit.MILLISECONDS);
+                scheduleRedelivery(task, data.redeliveryDelay);
             } else {
                 // execute the task immediately
+                pendingRedeliveries.incrementAndGet();
                 executorService.submit(task);
             }
         }
     }
 
+    /**
+     * Schedules the redelivery task to be executed after the given delay.
+     * <p/>
+     * When using the default shared thread pool the delay is parked on the shared redelivery timer,
+     * which hands over the task to the thread pool when the delay has elapsed. This allows to have
+     * a large number of pending redeliveries without occupying the thread pool. The timer keeps
+     * the order of the redeliveries which is due at the same time.
+     * <p/>
+     * If the task cannot be scheduled or handed over to the thread pool, the exchange is failed
+     * with a {@link RejectedExecutionException} and the callback is invoked.
+     */
+    private void scheduleRedelivery(final AsyncRedeliveryTask task, long delay) {
+        pendingRedeliveries.incrementAndGet();
+        try {
+            if (redeliveryTimer != null) {
+                redeliveryTimer.schedule(new Runnable() {
+                    public void run() {
+                        try {
+                            // the caller runs policy silently discards the task when the thread pool is shutdown
+                            if (executorService.isShutdown()) {
+                                throw new RejectedExecutionException("ExecutorService is shutdown: " + executorService);
+                            }
+                            executorService.submit(task);
+                        } catch (RejectedExecutionException e) {
+                            rejectRedelivery(task, e);
+                        }
+                    }
+                }, delay, TimeUnit.MILLISECONDS);
+            } else {
+                executorService.schedule(task, delay, TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            rejectRedelivery(task, e);
+        }
+    }
+
+    private void rejectRedelivery(AsyncRedeliveryTask task, RejectedExecutionException e) {
+        pendingRedeliveries.decrementAndGet();
+        log.warn("Cannot submit redelivery task to the thread pool: " + executorService + " as it was rejected."
+                + " Will fail exchangeId: " + task.exchange.getExchangeId(), e);
+        // we cannot redeliver so invoke callback
+        task.exchange.setException(e);
+        task.callback.done(false);
+    }
+
     /**
      * Performs a defensive copy of the exchange if needed
      *
@@ -582,6 +635,13 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         return redeliveryPolicy;
     }
 
+    /**
+     * Gets the number of asynchronous redeliveries which is scheduled and waiting to be redelivered.
+     */
+    public int getPendingRedeliveries() {
+        return pendingRedeliveries.get();
+    }
+
     public CamelLogger getLogger() {
         return logger;
     }
@@ -1088,8 +1148,11 @@ public abstract class RedeliveryErrorHandler extends ErrorHandlerSupport impleme
         // we only need thread pool if redelivery is enabled
         if (redeliveryEnabled) {
             if (executorService == null) {
-                // use default shared executor service
+                // use default shared executor service and timer
                 executorService = camelContext.getErrorHandlerExecutorService();
+                if (camelContext instanceof DefaultCamelContext) {
+                    redeliveryTimer = ((DefaultCamelContext) camelContext).getErrorHandlerRedeliveryTimer();
+                }
             }
             if (log.isTraceEnabled()) {
                 log.trace("Using ExecutorService: {} for redeliveries on error handler: {}", executorService, this);
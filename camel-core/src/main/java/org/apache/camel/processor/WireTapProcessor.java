@@ -16,6 +16,8 @@
  */
 package org.apache.camel.processor;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -29,10 +31,13 @@ import org.apache.camel.ExchangePattern;
 import org.apache.camel.Expression;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.converter.stream.ByteBufferInputStreamCache;
+import org.apache.camel.converter.stream.InputStreamCache;
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.support.ServiceSupport;
 import org.apache.camel.util.AsyncProcessorHelper;
 import org.apache.camel.util.ExchangeHelper;
+import org.apache.camel.util.MessageHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
 import org.slf4j.Logger;
@@ -155,6 +160,22 @@ public class WireTapProcessor extends ServiceSupport implements AsyncProcessor,
     private Exchange configureCopyExchange(Exchange exchange) {
         // must use a copy as we dont want it to cause side effects of the original exchange
         Exchange copy = ExchangeHelper.createCorrelatedCopy(exchange, false);
+        try {
+            Object body = copy.getIn().getBody();
+            if (body instanceof ByteBufferInputStreamCache && ((ByteBufferInputStreamCache) body).isPooled()) {
+                // the pooled memory is released when the original exchange is done, which can be before
+                // the wire tap is done, so the tapped exchange must have its own copy of the cached data
+                ByteBufferInputStreamCache cache = (ByteBufferInputStreamCache) body;
+                ByteArrayOutputStream bos = new ByteArrayOutputStream((int) cache.length());
+                cache.copy().writeTo(bos);
+                copy.getIn().setBody(new InputStreamCache(bos.toByteArray()));
+            } else {
+                // let the tapped exchange read the stream cache independently without copying the cached data
+                MessageHelper.copyStreamCache(copy.getIn());
+            }
+        } catch (IOException e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
         // set MEP to InOnly as this wire tap is a fire and forget
         copy.setPattern(ExchangePattern.InOnly);
         return copy;
@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.util.AsyncProcessorConverterHelper;
+import org.apache.camel.util.AsyncProcessorHelper;
+
+/**
+ * Base class for load balancers which adapts to how the processors is actually performing, by tracking
+ * {@link ProcessorStatistics} for each processor and choosing the processor with the lowest score.
+ * <p/>
+ * By default all the processors is scored and the best is chosen. If <tt>twoRandomChoices</tt> is enabled
+ * then only two random processors is scored and the best of the two is chosen (the power of two choices),
+ * which avoids herding all the exchanges on the same processor when the statistics is lagging behind.
+ * <p/>
+ * The statistics is tracked without locking, so its cheap to use on the hot path.
+ *
+ * @version 
+ */
+public abstract class AdaptiveLoadBalancerSupport extends LoadBalancerSupport {
+
+    private static final Random RANDOM = new Random();
+
+    private final ConcurrentMap<Processor, ProcessorStatistics> statistics = new ConcurrentHashMap<Processor, ProcessorStatistics>();
+    private boolean twoRandomChoices;
+    private double smoothingFactor = ProcessorStatistics.DEFAULT_SMOOTHING_FACTOR;
+
+    public boolean isTwoRandomChoices() {
+        return twoRandomChoices;
+    }
+
+    /**
+     * Whether to only score two random processors and choose the best of the two, instead of scoring all the processors.
+     */
+    public void setTwoRandomChoices(boolean twoRandomChoices) {
+        this.twoRandomChoices = twoRandomChoices;
+    }
+
+    public double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    /**
+     * Sets the weight of a new sample when updating the moving average of the processing time.
+     * <p/>
+     * A higher factor adapts faster but is more sensitive to spikes. The default is <tt>0.3</tt>.
+     */
+    public void setSmoothingFactor(double smoothingFactor) {
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    @Override
+    public void addProcessor(Processor processor) {
+        super.addProcessor(processor);
+        statistics.putIfAbsent(processor, new ProcessorStatistics(smoothingFactor));
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        statistics.remove(processor);
+    }
+
+    /**
+     * Gets the statistics for the given processor
+     *
+     * @param processor the processor
+     * @return the statistics, or <tt>null</tt> if the processor is not part of this load balancer
+     */
+    public ProcessorStatistics getStatistics(Processor processor) {
+        return statistics.get(processor);
+    }
+
+    /**
+     * Gets the statistics for all the processors, in the same order as {@link #getProcessors()}.
+     */
+    public List<ProcessorStatistics> getProcessorStatistics() {
+        List<ProcessorStatistics> answer = new ArrayList<ProcessorStatistics>();
+        for (Processor processor : getProcessors()) {
+            answer.add(getOrCreateStatistics(processor));
+        }
+        return answer;
+    }
+
+    /**
+     * Resets the statistics of all the processors
+     */
+    public void resetStatistics() {
+        for (ProcessorStatistics stats : statistics.values()) {
+            stats.reset();
+        }
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<Processor> list = getProcessors();
+        if (list.isEmpty()) {
+            // no processors but indicate we are done
+            callback.done(true);
+            return true;
+        }
+
+        Processor processor = chooseProcessor(list, exchange);
+        if (processor == null) {
+            throw new IllegalStateException("No processors could be chosen to process " + exchange);
+        }
+
+        final ProcessorStatistics stats = getOrCreateStatistics(processor);
+        final long start = stats.onBegin();
+        AsyncProcessor albp = AsyncProcessorConverterHelper.convert(processor);
+        boolean sync = AsyncProcessorHelper.process(albp, exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                stats.onDone(start, exchange.getException() != null);
+                // only handle the async case
+                if (doneSync) {
+                    return;
+                }
+
+                callback.done(false);
+            }
+        });
+
+        if (!sync) {
+            // will continue routing asynchronously
+            return false;
+        }
+
+        callback.done(true);
+        return true;
+    }
+
+    /**
+     * Chooses the processor with the lowest score, either among all the processors, or among two random processors.
+     */
+    protected Processor chooseProcessor(List<Processor> processors, Exchange exchange) {
+        // the list may be changed concurrently so take a copy
+        Processor[] array = processors.toArray(new Processor[processors.size()]);
+        int size = array.length;
+        if (size == 0) {
+            return null;
+        } else if (size == 1) {
+            return array[0];
+        }
+
+        if (twoRandomChoices) {
+            int first = RANDOM.nextInt(size);
+            // pick a different second choice
+            int second = RANDOM.nextInt(size - 1);
+            if (second >= first) {
+                second++;
+            }
+            double firstScore = score(getOrCreateStatistics(array[first]));
+            double secondScore = score(getOrCreateStatistics(array[second]));
+            return secondScore < firstScore ? array[second] : array[first];
+        }
+
+        // start from a random offset so ties is spread among the processors
+        int offset = RANDOM.nextInt(size);
+        Processor answer = null;
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            Processor processor = array[(offset + i) % size];
+            double score = score(getOrCreateStatistics(processor));
+            if (answer == null || score < best) {
+                answer = processor;
+                best = score;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Scores the processor based on its statistics, where the processor with the lowest score is chosen.
+     *
+     * @param statistics the statistics of the processor
+     * @return the score
+     */
+    protected abstract double score(ProcessorStatistics statistics);
+
+    private ProcessorStatistics getOrCreateStatistics(Processor processor) {
+        ProcessorStatistics answer = statistics.get(processor);
+        if (answer == null) {
+            // the processor may have been added directly to the list of processors
+            ProcessorStatistics stats = new ProcessorStatistics(smoothingFactor);
+            answer = statistics.putIfAbsent(processor, stats);
+            if (answer == null) {
+                answer = stats;
+            }
+        }
+        return answer;
+    }
+}
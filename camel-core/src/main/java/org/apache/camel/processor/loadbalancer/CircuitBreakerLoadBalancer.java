@@ -0,0 +1,393 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Traceable;
+import org.apache.camel.util.AsyncProcessorConverterHelper;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * This CircuitBreakerLoadBalancer keeps a circuit for each processor, which is opened when the processor
+ * keeps failing, so exchanges is not sent to the processor until it has recovered.
+ * <p/>
+ * The circuit of a processor goes through the following states:
+ * <ul>
+ *   <li>Closed - exchanges is sent to the processor. If the number of failures within the window reaches the
+ *   threshold, then the circuit is opened. An exchange which takes longer than the slow call threshold is
+ *   counted as a failure.</li>
+ *   <li>Open - the processor is skipped. When all the processors is open, the exchange is rejected immediately
+ *   with a {@link RejectedExecutionException}, instead of paying for the failure (and its timeout) again.
+ *   After the half open timeout the circuit becomes half open.</li>
+ *   <li>HalfOpen - a limited number of probe exchanges is let through. If a probe succeeds the circuit is
+ *   closed, and if it fails the circuit is opened again.</li>
+ * </ul>
+ * The exchanges is sent to the processors with a closed (or half open) circuit in a round robin fashion. A failed
+ * exchange is not retried on another processor; combine with the error handler or failover for that.
+ */
+public class CircuitBreakerLoadBalancer extends LoadBalancerSupport implements Traceable {
+
+    /**
+     * The states of a circuit
+     */
+    public enum State {
+        Closed, Open, HalfOpen
+    }
+
+    private final List<Class<?>> exceptions;
+    private final ConcurrentMap<Processor, Circuit> circuits = new ConcurrentHashMap<Processor, Circuit>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private int threshold = 5;
+    private long window = 60000;
+    private long slowCallThreshold;
+    private long halfOpenAfter = 30000;
+    private int halfOpenProbes = 1;
+
+    public CircuitBreakerLoadBalancer() {
+        this.exceptions = null;
+    }
+
+    public CircuitBreakerLoadBalancer(List<Class<?>> exceptions) {
+        this.exceptions = exceptions;
+
+        // validate its all exception types
+        for (Class<?> type : exceptions) {
+            if (!ObjectHelper.isAssignableFrom(Throwable.class, type)) {
+                throw new IllegalArgumentException("Class is not an instance of Throwable: " + type);
+            }
+        }
+    }
+
+    public List<Class<?>> getExceptions() {
+        return exceptions;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Number of failures within the window which opens the circuit. The default is 5.
+     */
+    public void setThreshold(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * The window in millis the failures is counted within. The default is 60000 millis.
+     */
+    public void setWindow(long window) {
+        this.window = window;
+    }
+
+    public long getSlowCallThreshold() {
+        return slowCallThreshold;
+    }
+
+    /**
+     * Processing time in millis, where an exchange taking longer is counted as a failure.
+     * The default is zero which means the processing time is not taken into account.
+     */
+    public void setSlowCallThreshold(long slowCallThreshold) {
+        this.slowCallThreshold = slowCallThreshold;
+    }
+
+    public long getHalfOpenAfter() {
+        return halfOpenAfter;
+    }
+
+    /**
+     * Time in millis an open circuit waits before it becomes half open. The default is 30000 millis.
+     */
+    public void setHalfOpenAfter(long halfOpenAfter) {
+        this.halfOpenAfter = halfOpenAfter;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    /**
+     * Maximum number of probe exchanges let through at the same time when the circuit is half open. The default is 1.
+     */
+    public void setHalfOpenProbes(int halfOpenProbes) {
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * Number of exchanges which has been rejected because all the circuits was open
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Gets the state of the circuit for the given processor
+     *
+     * @param processor the processor
+     * @return the state, or <tt>null</tt> if the processor is not part of this load balancer
+     */
+    public State getState(Processor processor) {
+        if (!getProcessors().contains(processor)) {
+            return null;
+        }
+        return getOrCreateCircuit(processor).getState();
+    }
+
+    /**
+     * Gets the state of the circuits, in the same order as {@link #getProcessors()}.
+     */
+    public List<State> getStates() {
+        List<State> answer = new ArrayList<State>();
+        for (Processor processor : getProcessors()) {
+            answer.add(getOrCreateCircuit(processor).getState());
+        }
+        return answer;
+    }
+
+    /**
+     * Closes all the circuits and resets the counters.
+     */
+    public void reset() {
+        for (Circuit circuit : circuits.values()) {
+            circuit.close();
+        }
+        rejected.set(0);
+    }
+
+    @Override
+    public void removeProcessor(Processor processor) {
+        super.removeProcessor(processor);
+        circuits.remove(processor);
+    }
+
+    /**
+     * Should the given exchange be counted as a failure of the processor?
+     *
+     * @param exchange the exchange
+     * @param elapsed  the processing time in millis
+     * @return <tt>true</tt> if its a failure
+     */
+    protected boolean isFailure(Exchange exchange, long elapsed) {
+        if (slowCallThreshold > 0 && elapsed > slowCallThreshold) {
+            log.trace("Exchange took {} millis which is a slow call for exchangeId: {}", elapsed, exchange.getExchangeId());
+            return true;
+        }
+        if (exchange.getException() == null) {
+            return false;
+        }
+        if (exceptions == null || exceptions.isEmpty()) {
+            // all exceptions counts if no exceptions defined
+            return true;
+        }
+        for (Class<?> exception : exceptions) {
+            // will look in exception hierarchy
+            if (exchange.getException(exception) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        List<Processor> list = getProcessors();
+        if (list.isEmpty()) {
+            // no processors but indicate we are done
+            callback.done(true);
+            return true;
+        }
+
+        // the list may be changed concurrently so take a copy
+        Processor[] array = list.toArray(new Processor[list.size()]);
+        int size = array.length;
+        int start = (counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+        Processor processor = null;
+        Circuit circuit = null;
+        State acquired = null;
+        for (int i = 0; i < size && acquired == null; i++) {
+            processor = array[(start + i) % size];
+            circuit = getOrCreateCircuit(processor);
+            acquired = circuit.tryAcquire();
+        }
+
+        if (acquired == null) {
+            rejected.incrementAndGet();
+            log.debug("All circuits are open, will reject executing exchange: {}", exchange);
+            exchange.setException(new RejectedExecutionException("CircuitBreaker open for all " + size + " processors"));
+            callback.done(true);
+            return true;
+        }
+
+        final Circuit chosen = circuit;
+        final State state = acquired;
+        final long begin = System.currentTimeMillis();
+        AsyncProcessor albp = AsyncProcessorConverterHelper.convert(processor);
+        boolean sync = AsyncProcessorHelper.process(albp, exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                long elapsed = System.currentTimeMillis() - begin;
+                chosen.onDone(state, isFailure(exchange, elapsed));
+                // only handle the async case
+                if (doneSync) {
+                    return;
+                }
+
+                callback.done(false);
+            }
+        });
+
+        if (!sync) {
+            // will continue routing asynchronously
+            return false;
+        }
+
+        callback.done(true);
+        return true;
+    }
+
+    public String getTraceLabel() {
+        return "circuitbreaker";
+    }
+
+    public String toString() {
+        return "CircuitBreakerLoadBalancer";
+    }
+
+    private Circuit getOrCreateCircuit(Processor processor) {
+        Circuit answer = circuits.get(processor);
+        if (answer == null) {
+            Circuit circuit = new Circuit(processor);
+            answer = circuits.putIfAbsent(processor, circuit);
+            if (answer == null) {
+                answer = circuit;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * The circuit of a processor.
+     * <p/>
+     * When the circuit is closed then acquiring and completing successfully does not lock.
+     */
+    private final class Circuit {
+
+        private final Processor processor;
+        private volatile State state = State.Closed;
+        private long openedAt;
+        private long windowStart;
+        private int failures;
+        private int probes;
+
+        private Circuit(Processor processor) {
+            this.processor = processor;
+        }
+
+        State getState() {
+            return state;
+        }
+
+        /**
+         * Tries to acquire the circuit for processing an exchange.
+         *
+         * @return the state the circuit was acquired in, or <tt>null</tt> if the circuit is open
+         */
+        State tryAcquire() {
+            if (state == State.Closed) {
+                return State.Closed;
+            }
+            synchronized (this) {
+                if (state == State.Open) {
+                    if (System.currentTimeMillis() - openedAt < halfOpenAfter) {
+                        return null;
+                    }
+                    log.debug("Circuit is half open for processor: {}", processor);
+                    state = State.HalfOpen;
+                    probes = 0;
+                }
+                if (state == State.HalfOpen) {
+                    if (probes < halfOpenProbes) {
+                        probes++;
+                        return State.HalfOpen;
+                    }
+                    return null;
+                }
+                return State.Closed;
+            }
+        }
+
+        void onDone(State acquired, boolean failure) {
+            if (acquired == State.Closed && !failure) {
+                // the common case does not need to lock
+                return;
+            }
+            synchronized (this) {
+                long now = System.currentTimeMillis();
+                if (acquired == State.HalfOpen) {
+                    if (state != State.HalfOpen) {
+                        return;
+                    }
+                    if (failure) {
+                        open(now);
+                    } else {
+                        log.debug("Circuit is closed for processor: {}", processor);
+                        close();
+                    }
+                } else if (state == State.Closed) {
+                    if (failures == 0 || now - windowStart > window) {
+                        windowStart = now;
+                        failures = 0;
+                    }
+                    if (++failures >= threshold) {
+                        open(now);
+                    }
+                }
+            }
+        }
+
+        private void open(long now) {
+            log.debug("Circuit is open for processor: {}", processor);
+            state = State.Open;
+            openedAt = now;
+            failures = 0;
+            probes = 0;
+        }
+
+        synchronized void close() {
+            state = State.Closed;
+            failures = 0;
+            probes = 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+/**
+ * Implements a load balancing policy which chooses the processor with the least latency, which is the
+ * moving average of the processing time multiplied by the number of exchanges in flight (plus the new exchange).
+ * <p/>
+ * Processors which has not processed any exchanges yet is preferred, so new processors is probed.
+ * Failed exchanges is not included in the moving average, instead the score is doubled for each
+ * consecutive failure, so the traffic moves away from a processor which is failing.
+ * <p/>
+ * A failing processor is probed again with a single exchange when <tt>failureRetryInterval</tt> has elapsed
+ * since its last failure, so the processor can recover. If the probe completes successfully the failures
+ * is reset, otherwise the processor is probed again after another interval.
+ *
+ * @version 
+ */
+public class LeastLatencyLoadBalancer extends AdaptiveLoadBalancerSupport {
+
+    public static final long DEFAULT_FAILURE_RETRY_INTERVAL = 5000;
+
+    private long failureRetryInterval = DEFAULT_FAILURE_RETRY_INTERVAL;
+
+    public long getFailureRetryInterval() {
+        return failureRetryInterval;
+    }
+
+    /**
+     * Sets the interval in millis after the last failure, before a failing processor is probed again.
+     * Use zero or a negative value to not probe failing processors. The default is <tt>5000</tt>.
+     */
+    public void setFailureRetryInterval(long failureRetryInterval) {
+        this.failureRetryInterval = failureRetryInterval;
+    }
+
+    @Override
+    protected double score(ProcessorStatistics statistics) {
+        int failures = statistics.getConsecutiveFailures();
+        if (failures > 0 && isFailureRetryDue(statistics)) {
+            // probe the failing processor, which resets the failures if the exchange completes successfully
+            return 0;
+        }
+        if (!statistics.hasSamples()) {
+            // prefer unknown processors but not if they are already busy being probed or has failed
+            return statistics.getInflight() == 0 && failures == 0 ? 0 : Double.MAX_VALUE;
+        }
+        double score = statistics.getAverageProcessingTimeNanos() * (statistics.getInflight() + 1);
+        return failures > 0 ? score * (1L << Math.min(failures, 30)) : score;
+    }
+
+    private boolean isFailureRetryDue(ProcessorStatistics statistics) {
+        // only probe with one exchange at a time
+        return failureRetryInterval > 0 && statistics.getInflight() == 0
+                && statistics.getTimeSinceLastFailure() >= failureRetryInterval;
+    }
+
+    public String toString() {
+        return "LeastLatencyLoadBalancer";
+    }
+}
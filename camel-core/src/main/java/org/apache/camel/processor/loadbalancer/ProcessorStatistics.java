@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics about how a processor in a load balancer is performing, such as the number of
+ * exchanges currently in flight and the exponentially weighted moving average (EWMA) of the
+ * processing time of the exchanges which completed successfully.
+ * <p/>
+ * The statistics is updated without locking, so it is cheap to track on every exchange.
+ *
+ * @version 
+ */
+public class ProcessorStatistics {
+
+    /**
+     * The default weight of a new sample when updating the moving average.
+     */
+    public static final double DEFAULT_SMOOTHING_FACTOR = 0.3;
+
+    private final double smoothingFactor;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    // holds the raw bits of the moving average in nanos as a double, or -1 if no samples yet
+    private final AtomicLong average = new AtomicLong(-1);
+    private volatile long lastProcessingTime = -1;
+    private volatile long lastFailureTime = -1;
+
+    public ProcessorStatistics() {
+        this(DEFAULT_SMOOTHING_FACTOR);
+    }
+
+    public ProcessorStatistics(double smoothingFactor) {
+        if (smoothingFactor <= 0 || smoothingFactor > 1) {
+            throw new IllegalArgumentException("SmoothingFactor must be in the range (0, 1], was: " + smoothingFactor);
+        }
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    /**
+     * Callback when an exchange is about to be processed by the processor.
+     *
+     * @return the start time in nanos to be given to {@link #onDone(long, boolean)}
+     */
+    public long onBegin() {
+        inflight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Callback when the processor is done processing an exchange.
+     *
+     * @param start  the start time returned from {@link #onBegin()}
+     * @param failure whether the exchange failed
+     */
+    public void onDone(long start, boolean failure) {
+        long now = System.nanoTime();
+        long elapsed = now - start;
+        inflight.decrementAndGet();
+        lastProcessingTime = elapsed;
+        if (failure) {
+            // do not update the average as a processor which fails fast would otherwise look fast
+            lastFailureTime = now;
+            failed.incrementAndGet();
+            consecutiveFailures.incrementAndGet();
+        } else {
+            completed.incrementAndGet();
+            consecutiveFailures.set(0);
+            updateAverage(elapsed);
+        }
+    }
+
+    private void updateAverage(long sample) {
+        while (true) {
+            long current = average.get();
+            double value;
+            if (current == -1) {
+                value = sample;
+            } else {
+                double previous = Double.longBitsToDouble(current);
+                value = previous + smoothingFactor * (sample - previous);
+            }
+            if (average.compareAndSet(current, Double.doubleToRawLongBits(value))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Number of exchanges currently being processed
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * Number of exchanges completed successfully
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Number of exchanges which failed
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Number of exchanges which failed since the last exchange which completed successfully
+     */
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    /**
+     * Whether any exchanges has completed successfully, and thus the moving average is known.
+     */
+    public boolean hasSamples() {
+        return average.get() != -1;
+    }
+
+    /**
+     * The moving average of the processing time in nanos, or <tt>0</tt> if no exchanges has completed successfully yet.
+     */
+    public double getAverageProcessingTimeNanos() {
+        long current = average.get();
+        return current == -1 ? 0 : Double.longBitsToDouble(current);
+    }
+
+    /**
+     * The moving average of the processing time in millis, or <tt>0</tt> if no exchanges has completed successfully yet.
+     */
+    public long getAverageProcessingTime() {
+        return (long) (getAverageProcessingTimeNanos() / 1000000);
+    }
+
+    /**
+     * The processing time in millis of the last exchange, or <tt>-1</tt> if no exchanges has been processed yet.
+     */
+    public long getLastProcessingTime() {
+        long last = lastProcessingTime;
+        return last == -1 ? -1 : last / 1000000;
+    }
+
+    /**
+     * The time in millis since the last exchange failed, or <tt>-1</tt> if no exchanges has failed.
+     */
+    public long getTimeSinceLastFailure() {
+        long last = lastFailureTime;
+        return last == -1 ? -1 : (System.nanoTime() - last) / 1000000;
+    }
+
+    public double getSmoothingFactor() {
+        return smoothingFactor;
+    }
+
+    /**
+     * Resets the statistics, except the number of in flight exchanges.
+     */
+    public void reset() {
+        completed.set(0);
+        failed.set(0);
+        consecutiveFailures.set(0);
+        average.set(-1);
+        lastProcessingTime = -1;
+        lastFailureTime = -1;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessorStatistics[inflight=" + getInflight() + ", completed=" + getCompleted() + ", failed=" + getFailed()
+                + ", averageProcessingTime=" + getAverageProcessingTime() + "]";
+    }
+}
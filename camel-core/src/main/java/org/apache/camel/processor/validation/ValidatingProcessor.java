@@ -22,8 +22,13 @@ import java.io.InputStream;
 import java.io.StringWriter;
 import java.net.URL;
 import java.util.Collections;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMResult;
@@ -47,6 +52,7 @@ import org.apache.camel.ExpectedBodyTypeException;
 import org.apache.camel.Processor;
 import org.apache.camel.RuntimeTransformException;
 import org.apache.camel.TypeConverter;
+import org.apache.camel.converter.jaxp.StaxConverter;
 import org.apache.camel.converter.jaxp.XmlConverter;
 import org.apache.camel.util.IOHelper;
 import org.slf4j.Logger;
@@ -72,24 +78,41 @@ public class ValidatingProcessor implements Processor {
     private boolean useSharedSchema = true;
     private LSResourceResolver resourceResolver;
     private boolean failOnNullBody = true;
+    private boolean streaming;
+    private int validatorPoolSize = 100;
+    private volatile BlockingQueue<Validator> validators;
+    private volatile XMLInputFactory inputFactory;
+    private ValidationStatistics statistics = new ValidationStatistics();
 
     public void process(Exchange exchange) throws Exception {
         Schema schema;
-        if (isUseSharedSchema()) {
+        boolean shared = isUseSharedSchema();
+        if (shared) {
             schema = getSchema();
         } else {
             schema = createSchema();
         }
 
-        Validator validator = schema.newValidator();
+        // validators can be reused for the shared schema
+        Validator validator = shared ? acquireValidator(schema) : schema.newValidator();
 
         // the underlying input stream, which we need to close to avoid locking files or other resources
         Source source = null;
         InputStream is = null;
+        XMLStreamReader reader = null;
+        long start = 0;
+        boolean valid = false;
         try {
             Result result = null;
             // only convert to input stream if really needed
-            if (isInputStreamNeeded(exchange)) {
+            if (isStreaming() && isStreamingNeeded(exchange)) {
+                // validate the message while reading it using StAX, so the message is not buffered
+                is = exchange.getIn().getBody(InputStream.class);
+                if (is != null) {
+                    reader = getXMLInputFactory().createXMLStreamReader(is);
+                    source = new StAXSource(reader);
+                }
+            } else if (isInputStreamNeeded(exchange)) {
                 is = exchange.getIn().getBody(InputStream.class);
                 if (is != null) {
                     source = getSource(exchange, is);
@@ -124,23 +147,47 @@ public class ValidatingProcessor implements Processor {
 
                 try {
                     LOG.trace("Validating {}", source);
+                    start = System.nanoTime();
                     validator.validate(source, result);
                     handler.handleErrors(exchange, schema, result);
+                    valid = true;
                 } catch (SAXParseException e) {
                     // can be thrown for non well formed XML
                     throw new SchemaValidationException(exchange, schema, Collections.singletonList(e),
                             Collections.<SAXParseException> emptyList(),
                             Collections.<SAXParseException> emptyList());
+                } catch (SAXException e) {
+                    if (reader == null) {
+                        throw e;
+                    }
+                    // non well formed XML is reported as a XMLStreamException when using StAX
+                    SAXParseException cause = new SAXParseException(e.getMessage(), null, e);
+                    throw new SchemaValidationException(exchange, schema, Collections.singletonList(cause),
+                            Collections.<SAXParseException> emptyList(),
+                            Collections.<SAXParseException> emptyList());
                 }
             }
         } finally {
+            if (start > 0) {
+                statistics.onValidation(System.nanoTime() - start, valid);
+            }
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    // ignore
+                }
+            }
             IOHelper.close(is);
+            if (shared) {
+                releaseValidator(validator);
+            }
         }
     }
 
     public void loadSchema() throws Exception {
         // force loading of schema
-        schema = createSchema();
+        setSchema(createSchema());
     }
 
     // Properties
@@ -155,6 +202,8 @@ public class ValidatingProcessor implements Processor {
 
     public void setSchema(Schema schema) {
         this.schema = schema;
+        // the pooled validators belongs to the old schema
+        validators = null;
     }
 
     public String getSchemaLanguage() {
@@ -250,9 +299,102 @@ public class ValidatingProcessor implements Processor {
         this.failOnNullBody = failOnNullBody;
     }
 
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Sets whether to validate streams (such as files) using StAX while reading the message, so large messages
+     * is not buffered in memory.
+     *
+     * @param streaming <tt>true</tt> to validate using StAX
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public int getValidatorPoolSize() {
+        return validatorPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of idle {@link Validator}s to keep for reuse when using the shared schema.
+     * Use zero to create a new {@link Validator} for every message.
+     */
+    public void setValidatorPoolSize(int validatorPoolSize) {
+        this.validatorPoolSize = validatorPoolSize;
+        this.validators = null;
+    }
+
+    public ValidationStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Sets the statistics to use, which allows processors using the same schema to share statistics.
+     */
+    public void setStatistics(ValidationStatistics statistics) {
+        this.statistics = statistics;
+    }
+
     // Implementation methods
     // -----------------------------------------------------------------------
 
+    protected Validator acquireValidator(Schema schema) {
+        BlockingQueue<Validator> queue = validators;
+        Validator validator = queue != null ? queue.poll() : null;
+        if (validator == null) {
+            validator = schema.newValidator();
+        }
+        return validator;
+    }
+
+    protected void releaseValidator(Validator validator) {
+        if (validatorPoolSize <= 0) {
+            return;
+        }
+        BlockingQueue<Validator> queue = validators;
+        if (queue == null) {
+            synchronized (this) {
+                if (validators == null) {
+                    validators = new ArrayBlockingQueue<Validator>(validatorPoolSize);
+                }
+                queue = validators;
+            }
+        }
+        try {
+            validator.reset();
+        } catch (UnsupportedOperationException e) {
+            // the validator cannot be reused
+            LOG.debug("Cannot reset validator {}, will not pool validators", validator);
+            validatorPoolSize = 0;
+            return;
+        }
+        queue.offer(validator);
+    }
+
+    protected XMLInputFactory getXMLInputFactory() {
+        if (inputFactory == null) {
+            inputFactory = StaxConverter.createXMLInputFactory(true);
+        }
+        return inputFactory;
+    }
+
+    /**
+     * Checks whether the message body should be validated using StAX, which is for bodies which is streams
+     * or converted to streams, but not for bodies which is already XML documents or sources.
+     *
+     * @param exchange the current exchange
+     * @return <tt>true</tt> to validate using StAX
+     */
+    protected boolean isStreamingNeeded(Exchange exchange) {
+        Object body = exchange.getIn().getBody();
+        if (body == null || body instanceof Source || body instanceof Node) {
+            return false;
+        }
+        return isInputStreamNeeded(exchange);
+    }
+
     protected SchemaFactory createSchemaFactory() {
         SchemaFactory factory = SchemaFactory.newInstance(schemaLanguage);
         if (getResourceResolver() != null) {
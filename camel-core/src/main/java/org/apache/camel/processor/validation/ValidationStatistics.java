@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.validation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the validations against a schema, which can be shared by the {@link ValidatingProcessor}s
+ * using the same schema.
+ *
+ * @version
+ */
+public class ValidationStatistics {
+
+    private final AtomicLong validationCounter = new AtomicLong();
+    private final AtomicLong failureCounter = new AtomicLong();
+    private final AtomicLong totalTime = new AtomicLong();
+    private final AtomicLong minTime = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxTime = new AtomicLong();
+
+    /**
+     * Records a validation
+     *
+     * @param nanos the time the validation took in nanos
+     * @param valid whether the message was valid
+     */
+    public void onValidation(long nanos, boolean valid) {
+        validationCounter.incrementAndGet();
+        if (!valid) {
+            failureCounter.incrementAndGet();
+        }
+        totalTime.addAndGet(nanos);
+
+        long min = minTime.get();
+        while (nanos < min && !minTime.compareAndSet(min, nanos)) {
+            min = minTime.get();
+        }
+        long max = maxTime.get();
+        while (nanos > max && !maxTime.compareAndSet(max, nanos)) {
+            max = maxTime.get();
+        }
+    }
+
+    /**
+     * Number of validations
+     */
+    public long getValidationCounter() {
+        return validationCounter.get();
+    }
+
+    /**
+     * Number of validations which failed
+     */
+    public long getFailureCounter() {
+        return failureCounter.get();
+    }
+
+    /**
+     * Total validation time in millis
+     */
+    public long getTotalValidationTime() {
+        return TimeUnit.NANOSECONDS.toMillis(totalTime.get());
+    }
+
+    /**
+     * Minimum validation time in millis
+     */
+    public long getMinValidationTime() {
+        long min = minTime.get();
+        return min == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(min);
+    }
+
+    /**
+     * Maximum validation time in millis
+     */
+    public long getMaxValidationTime() {
+        return TimeUnit.NANOSECONDS.toMillis(maxTime.get());
+    }
+
+    /**
+     * Mean validation time in millis
+     */
+    public long getMeanValidationTime() {
+        long counter = validationCounter.get();
+        return counter > 0 ? TimeUnit.NANOSECONDS.toMillis(totalTime.get() / counter) : 0;
+    }
+
+    /**
+     * Reset the statistics
+     */
+    public void reset() {
+        validationCounter.set(0);
+        failureCounter.set(0);
+        totalTime.set(0);
+        minTime.set(Long.MAX_VALUE);
+        maxTime.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationStatistics[validations=" + getValidationCounter() + ", failures=" + getFailureCounter()
+                + ", meanValidationTime=" + getMeanValidationTime() + "]";
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.spi;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.camel.Service;
+
+/**
+ * Strategy for using <a href="http://camel.apache.org/stream-caching.html">stream caching</a>
+ * on the {@link org.apache.camel.CamelContext}.
+ * <p/>
+ * The strategy holds the settings for stream caching, enforces a global memory budget for the
+ * in-memory caches, and manages the spool files used when caches is spooled to disk.
+ *
+ * @version
+ */
+public interface StreamCachingStrategy extends Service {
+
+    /**
+     * Utilization statistics of stream caching.
+     */
+    interface Statistics {
+
+        /**
+         * Number of in-memory stream caches created
+         */
+        long getCacheMemoryCounter();
+
+        /**
+         * Total accumulated number of bytes which has been stream cached in-memory
+         */
+        long getCacheMemorySize();
+
+        /**
+         * Average number of bytes per in-memory stream cache
+         */
+        long getCacheMemoryAverageSize();
+
+        /**
+         * Number of spooled (not in-memory) stream caches created
+         */
+        long getCacheSpoolCounter();
+
+        /**
+         * Total accumulated number of bytes which has been spooled to disk
+         */
+        long getCacheSpoolSize();
+
+        /**
+         * Average number of bytes per spooled stream cache
+         */
+        long getCacheSpoolAverageSize();
+
+        /**
+         * Updates the statistics for an in-memory stream cache
+         *
+         * @param size the size of the cache in bytes
+         */
+        void updateMemory(long size);
+
+        /**
+         * Updates the statistics for a spooled stream cache
+         *
+         * @param size the size of the spool file in bytes
+         */
+        void updateSpool(long size);
+
+        /**
+         * Reset the counters
+         */
+        void reset();
+
+        /**
+         * Whether statistics is enabled.
+         */
+        boolean isStatisticsEnabled();
+
+        /**
+         * Sets whether statistics is enabled.
+         *
+         * @param statisticsEnabled <tt>true</tt> to enable
+         */
+        void setStatisticsEnabled(boolean statisticsEnabled);
+    }
+
+    /**
+     * Sets the spool (temporary) directory to use for spooling caches to disk.
+     * <p/>
+     * If not set a sub directory named <tt>camel-tmp-</tt> with a unique suffix in the
+     * <tt>java.io.tmpdir</tt> directory is used.
+     */
+    void setSpoolDirectory(File path);
+
+    void setSpoolDirectory(String path);
+
+    File getSpoolDirectory();
+
+    /**
+     * Threshold in bytes when overflow to disk is activated.
+     * <p/>
+     * The default threshold is 64kb. Use zero or negative value to disable overflow to disk.
+     */
+    void setSpoolThreshold(long threshold);
+
+    long getSpoolThreshold();
+
+    /**
+     * Sets the buffer size to use when allocating in-memory buffers used for in-memory stream caches.
+     * <p/>
+     * The default size is 2kb.
+     */
+    void setBufferSize(int bufferSize);
+
+    int getBufferSize();
+
+    /**
+     * Sets a cipher transformation (such as <tt>AES/CTR/NoPadding</tt>) to use for encrypting the
+     * spool files, using a one-time key per spool file.
+     * <p/>
+     * The default is not to encrypt. Encrypted spool files is not read using memory mapping.
+     */
+    void setSpoolCipher(String cipher);
+
+    String getSpoolCipher();
+
+    /**
+     * Sets the memory budget in bytes, which is the maximum number of bytes all the in-memory stream
+     * caches in the {@link org.apache.camel.CamelContext} can use at the same time. When the budget is
+     * exhausted new stream caches is spooled to disk.
+     * <p/>
+     * The default is zero which means there is no limit. Heap based stream caches is only accounted
+     * for when there is a limit.
+     */
+    void setMaxMemory(long maxMemory);
+
+    long getMaxMemory();
+
+    /**
+     * Whether to keep in-memory stream caches in pooled off-heap buffers instead of on the heap.
+     * <p/>
+     * This is disabled by default.
+     */
+    void setDirectBuffer(boolean directBuffer);
+
+    boolean isDirectBuffer();
+
+    /**
+     * Whether to read spool files using memory mapped files.
+     * <p/>
+     * This is disabled by default.
+     */
+    void setMemoryMapped(boolean memoryMapped);
+
+    boolean isMemoryMapped();
+
+    /**
+     * Whether to remove the spool directory when stopping {@link org.apache.camel.CamelContext}.
+     * <p/>
+     * This is enabled by default.
+     */
+    void setRemoveSpoolDirectoryWhenStopping(boolean remove);
+
+    boolean isRemoveSpoolDirectoryWhenStopping();
+
+    /**
+     * Sets the interval in millis for the background task which deletes spool files which could not be deleted
+     * when the {@link org.apache.camel.Exchange} completed.
+     * <p/>
+     * The default is 1000 millis. Use zero or negative value to disable the background task, which means
+     * the thread which completes the {@link org.apache.camel.Exchange} retries deleting the spool file.
+     */
+    void setCleanupInterval(long cleanupInterval);
+
+    long getCleanupInterval();
+
+    /**
+     * Creates a new spool file in the spool directory.
+     *
+     * @return the spool file
+     * @throws IOException is thrown if the file could not be created
+     */
+    File createSpoolFile() throws IOException;
+
+    /**
+     * Deletes the spool file which is no longer in use.
+     *
+     * @param file the spool file
+     */
+    void deleteSpoolFile(File file);
+
+    /**
+     * Number of spool files currently on disk.
+     */
+    int getSpoolFileCounter();
+
+    /**
+     * Gets the utilization statistics.
+     */
+    Statistics getStatistics();
+
+}
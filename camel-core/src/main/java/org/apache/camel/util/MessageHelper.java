@@ -17,6 +17,7 @@
 package org.apache.camel.util;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
@@ -112,6 +113,23 @@ public final class MessageHelper {
         }
     }
 
+    /**
+     * If the message body contains a {@link StreamCache} instance, replace the body
+     * with a copy of the cache, so the message can be read independently of the
+     * original message. The copy shares the cached data with the original cache.
+     *
+     * @param message the message for which to copy the body
+     * @throws java.io.IOException is thrown if the copy could not be created
+     */
+    public static void copyStreamCache(Message message) throws IOException {
+        if (message == null) {
+            return;
+        }
+        if (message.getBody() instanceof StreamCache) {
+            message.setBody(((StreamCache) message.getBody()).copy());
+        }
+    }
+
     /**
      * Returns the MIME content type on the message or <tt>null</tt> if none
      * defined
@@ -0,0 +1,398 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A timer based on a hashed timing wheel, which can hold a large number of pending timeouts
+ * using only a single thread.
+ * <p/>
+ * The timeouts are kept in a circular array of buckets (the wheel), and a worker thread advances
+ * the wheel one bucket per tick, and runs the timeouts which has expired. A timeout is therefore
+ * fired with an accuracy of the tick duration. Timeouts which expire in the same tick is run
+ * in the order of their deadline, and timeouts with the same deadline in the order they was scheduled.
+ * <p/>
+ * The tasks is run by the worker thread and must therefore be short, for example by handing over
+ * the actual work to a thread pool. The worker thread is idle when there is no pending timeouts.
+ * <p/>
+ * When the timer is stopped the pending timeouts is run by the stopping thread, regardless of their deadline.
+ *
+ * @version
+ */
+public class HashedWheelTimer extends ServiceSupport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private static final Comparator<HashedTimeout> ORDER = new Comparator<HashedTimeout>() {
+        public int compare(HashedTimeout o1, HashedTimeout o2) {
+            if (o1.deadline != o2.deadline) {
+                return o1.deadline < o2.deadline ? -1 : 1;
+            }
+            return o1.sequence < o2.sequence ? -1 : (o1.sequence == o2.sequence ? 0 : 1);
+        }
+    };
+
+    private final ThreadFactory threadFactory;
+    private final long tickDuration;
+    private final List<HashedTimeout>[] wheel;
+    private final int mask;
+    private final Queue<HashedTimeout> newTimeouts = new ConcurrentLinkedQueue<HashedTimeout>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Object idleLock = new Object();
+    private volatile boolean idle;
+    private volatile Thread workerThread;
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * A handle to a scheduled task.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancels the task if not already run.
+         *
+         * @return <tt>true</tt> if cancelled, <tt>false</tt> if the task has already been run or cancelled
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    /**
+     * Creates a timer with a tick duration of 10 millis and a wheel with 512 buckets.
+     *
+     * @param threadFactory factory for creating the worker thread
+     */
+    public HashedWheelTimer(ThreadFactory threadFactory) {
+        this(threadFactory, 10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Creates a timer.
+     *
+     * @param threadFactory factory for creating the worker thread
+     * @param tickDuration  the duration between ticks
+     * @param unit          the time unit of the tick duration
+     * @param wheelSize     the number of buckets in the wheel, is rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    public HashedWheelTimer(ThreadFactory threadFactory, long tickDuration, TimeUnit unit, int wheelSize) {
+        ObjectHelper.notNull(threadFactory, "threadFactory");
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive, was: " + tickDuration);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("wheelSize must be positive, was: " + wheelSize);
+        }
+        this.threadFactory = threadFactory;
+        this.tickDuration = unit.toNanos(tickDuration);
+
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new List[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new LinkedList<HashedTimeout>();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Schedules the task to be run once after the given delay.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @return a handle which can be used to cancel the task
+     * @throws RejectedExecutionException is thrown if the timer is not started
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        ObjectHelper.notNull(task, "task");
+        if (!isRunAllowed() || workerThread == null) {
+            throw new RejectedExecutionException("Timer is not started: " + this);
+        }
+
+        long deadline = System.nanoTime() - startTime + unit.toNanos(Math.max(0, delay));
+        HashedTimeout timeout = new HashedTimeout(task, deadline, sequence.incrementAndGet());
+        pending.incrementAndGet();
+        newTimeouts.add(timeout);
+
+        // the worker sets the idle flag before checking for pending timeouts, so its safe to only wake it up when idle
+        if (idle) {
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * Gets the number of timeouts which is pending (not yet run or cancelled)
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    public long getTickDuration() {
+        return TimeUnit.NANOSECONDS.toMillis(tickDuration);
+    }
+
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        startTime = System.nanoTime();
+        tick = 0;
+        workerThread = threadFactory.newThread(new Worker());
+        workerThread.start();
+        LOG.debug("Started {}", this);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        Thread thread = workerThread;
+        workerThread = null;
+        if (thread != null) {
+            thread.interrupt();
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+            if (thread != Thread.currentThread()) {
+                thread.join(5000);
+            }
+        }
+
+        // run any pending timeouts now, so the tasks is not lost, which allows the tasks to fail if they cannot be run
+        List<HashedTimeout> remaining = new ArrayList<HashedTimeout>();
+        HashedTimeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            remaining.add(timeout);
+        }
+        for (List<HashedTimeout> bucket : wheel) {
+            remaining.addAll(bucket);
+            bucket.clear();
+        }
+        if (!remaining.isEmpty()) {
+            LOG.debug("Running {} pending timeouts on stopping {}", pending.get(), this);
+            Collections.sort(remaining, ORDER);
+            for (HashedTimeout remainingTimeout : remaining) {
+                remainingTimeout.expire();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HashedWheelTimer[tickDuration=" + getTickDuration() + "ms, wheelSize=" + wheel.length + "]";
+    }
+
+    private boolean isWorkerRunning() {
+        return workerThread != null && !Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Waits while there is no pending timeouts.
+     *
+     * @return <tt>false</tt> if the worker should stop
+     */
+    private boolean waitWhileIdle() {
+        if (pending.get() > 0) {
+            return true;
+        }
+        synchronized (idleLock) {
+            idle = true;
+            try {
+                while (pending.get() == 0) {
+                    if (!isWorkerRunning()) {
+                        return false;
+                    }
+                    idleLock.wait();
+                }
+            } catch (InterruptedException e) {
+                return false;
+            } finally {
+                idle = false;
+            }
+        }
+        // the wheel is empty so jump ahead to the current time
+        tick = (System.nanoTime() - startTime) / tickDuration;
+        return true;
+    }
+
+    /**
+     * Waits until the current tick has elapsed.
+     *
+     * @return the elapsed time in nanos since the timer was started, or <tt>-1</tt> if the worker should stop
+     */
+    private long waitForNextTick() {
+        long deadline = tickDuration * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startTime;
+            long sleep = deadline - current;
+            if (sleep <= 0) {
+                return current;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            } catch (InterruptedException e) {
+                return -1;
+            }
+            if (!isWorkerRunning()) {
+                return -1;
+            }
+        }
+    }
+
+    private void transferTimeouts() {
+        HashedTimeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long calculated = timeout.deadline / tickDuration;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            // timeouts which should already have expired is put in the current bucket
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private List<HashedTimeout> expireTimeouts(long currentTime) {
+        List<HashedTimeout> answer = null;
+        Iterator<HashedTimeout> it = wheel[(int) (tick & mask)].iterator();
+        while (it.hasNext()) {
+            HashedTimeout timeout = it.next();
+            if (timeout.isCancelled()) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0 && timeout.deadline <= currentTime) {
+                it.remove();
+                if (answer == null) {
+                    answer = new ArrayList<HashedTimeout>();
+                }
+                answer.add(timeout);
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+        return answer;
+    }
+
+    private final class Worker implements Runnable {
+
+        public void run() {
+            while (isWorkerRunning()) {
+                if (!waitWhileIdle()) {
+                    break;
+                }
+                long currentTime = waitForNextTick();
+                if (currentTime < 0) {
+                    break;
+                }
+                transferTimeouts();
+                List<HashedTimeout> expired = expireTimeouts(currentTime);
+                if (expired != null) {
+                    if (expired.size() > 1) {
+                        Collections.sort(expired, ORDER);
+                    }
+                    for (HashedTimeout timeout : expired) {
+                        timeout.expire();
+                    }
+                }
+                tick++;
+            }
+            LOG.trace("Worker thread stopped for {}", HashedWheelTimer.this);
+        }
+    }
+
+    private final class HashedTimeout implements Timeout {
+
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final long sequence;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        private long remainingRounds;
+
+        private HashedTimeout(Runnable task, long deadline, long sequence) {
+            this.task = task;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        public boolean cancel() {
+            if (state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                pending.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == ST_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(ST_INIT, ST_EXPIRED)) {
+                return;
+            }
+            pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LOG.warn("Error running task " + task + " scheduled by " + HashedWheelTimer.this + ". This exception is ignored.", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Timeout[task=" + task + ", sequence=" + sequence + "]";
+        }
+    }
+
+}
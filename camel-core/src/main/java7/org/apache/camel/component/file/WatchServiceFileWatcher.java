@@ -0,0 +1,236 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.util.IOHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link FileWatcher} which keeps the index up to date using a {@link WatchService}.
+ * <p/>
+ * The index holds the length and last modified timestamp of the files, which is refreshed when a
+ * file is created or modified. The directories is only listed when they are registered, or when the
+ * watch service reports an overflow, where all the directories is rescanned.
+ * <p/>
+ * This class is not thread safe, and is only to be used by the polling thread of the consumer.
+ * <p/>
+ * <b>Important:</b> This requires Java 7 or newer, and is therefore kept in a separate source folder
+ * which is only compiled when building with Java 7 or newer.
+ */
+public class WatchServiceFileWatcher implements FileWatcher {
+
+    private static final transient Logger LOG = LoggerFactory.getLogger(WatchServiceFileWatcher.class);
+
+    private final File directory;
+    private final int maxLevel;
+    private final Map<WatchKey, File> keys = new HashMap<WatchKey, File>();
+    private final Map<File, Integer> directories = new HashMap<File, Integer>();
+    private final Map<File, Entry> files = new LinkedHashMap<File, Entry>();
+    private WatchService watchService;
+    private long rescans;
+
+    /**
+     * @param directory the starting directory
+     * @param maxLevel  the maximum level of sub directories to watch, use 0 to only watch the starting directory
+     */
+    public WatchServiceFileWatcher(File directory, int maxLevel) {
+        this.directory = directory;
+        this.maxLevel = maxLevel;
+    }
+
+    public boolean isStarted() {
+        return watchService != null;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getRescans() {
+        return rescans;
+    }
+
+    public void start() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        rescan();
+    }
+
+    public void stop() {
+        IOHelper.close(watchService, "watchService", LOG);
+        watchService = null;
+        keys.clear();
+        directories.clear();
+        files.clear();
+    }
+
+    public int update() throws IOException {
+        if (watchService == null) {
+            return 0;
+        }
+
+        int count = 0;
+        boolean overflow = false;
+        WatchKey key;
+        try {
+            while ((key = watchService.poll()) != null) {
+                File dir = keys.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    count++;
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        overflow = true;
+                    } else if (dir != null && !overflow) {
+                        File child = new File(dir, ((Path) event.context()).toString());
+                        onEvent(event.kind(), child, directories.get(dir));
+                    }
+                }
+                if (!key.reset()) {
+                    // the directory is no longer accessible
+                    keys.remove(key);
+                    if (dir != null) {
+                        removeDirectory(dir);
+                    }
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // the watcher was stopped
+            return count;
+        }
+
+        if (!directory.isDirectory()) {
+            LOG.debug("Directory {} no longer exists, stopping watching", directory);
+            stop();
+        } else if (overflow) {
+            LOG.debug("Overflow of events watching directory {}, rescanning", directory);
+            rescan();
+        }
+        return count;
+    }
+
+    public List<Entry> getFiles() {
+        return new ArrayList<Entry>(files.values());
+    }
+
+    public void remove(File file) {
+        files.remove(file);
+    }
+
+    public void rescan() throws IOException {
+        for (WatchKey key : keys.keySet()) {
+            key.cancel();
+        }
+        keys.clear();
+        directories.clear();
+        files.clear();
+        rescans++;
+        register(directory, 0);
+    }
+
+    private void onEvent(WatchEvent.Kind<?> kind, File child, Integer level) throws IOException {
+        if (level == null) {
+            return;
+        }
+        if (kind == StandardWatchEventKinds.ENTRY_DELETE) {
+            if (directories.containsKey(child)) {
+                removeDirectory(child);
+            } else {
+                files.remove(child);
+            }
+        } else if (child.isDirectory()) {
+            if (isWatchable(child, level + 1)) {
+                register(child, level + 1);
+            }
+        } else if (child.exists()) {
+            Entry entry = files.get(child);
+            if (entry == null) {
+                entry = new Entry(child, level + 1);
+                files.put(child, entry);
+            }
+            entry.refresh();
+        }
+    }
+
+    private boolean isWatchable(File dir, int level) {
+        // directories starting with a dot is never polled (eg. the default .camel directory files is moved to)
+        return level <= maxLevel && !dir.getName().startsWith(".") && !directories.containsKey(dir);
+    }
+
+    private void register(File dir, int level) throws IOException {
+        LOG.trace("Watching directory: {}", dir);
+        WatchKey key = dir.toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        keys.put(key, dir);
+        directories.put(dir, level);
+
+        // scan the existing files after registering, so we do not miss any files
+        File[] list = dir.listFiles();
+        if (list == null) {
+            return;
+        }
+        for (File file : list) {
+            if (file.isDirectory()) {
+                if (isWatchable(file, level + 1)) {
+                    register(file, level + 1);
+                }
+            } else if (!files.containsKey(file)) {
+                Entry entry = new Entry(file, level + 1);
+                entry.refresh();
+                files.put(file, entry);
+            }
+        }
+    }
+
+    private void removeDirectory(File dir) {
+        LOG.trace("No longer watching directory: {}", dir);
+        String prefix = dir.getPath() + File.separator;
+        for (Iterator<Map.Entry<WatchKey, File>> it = keys.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<WatchKey, File> entry = it.next();
+            if (entry.getValue().equals(dir) || entry.getValue().getPath().startsWith(prefix)) {
+                entry.getKey().cancel();
+                directories.remove(entry.getValue());
+                it.remove();
+            }
+        }
+        directories.remove(dir);
+        for (Iterator<File> it = files.keySet().iterator(); it.hasNext();) {
+            if (it.next().getPath().startsWith(prefix)) {
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WatchServiceFileWatcher[" + directory + "]";
+    }
+}
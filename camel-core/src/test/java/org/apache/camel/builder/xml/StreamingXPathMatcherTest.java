@@ -0,0 +1,140 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder.xml;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathFactory;
+
+import org.xml.sax.InputSource;
+
+import junit.framework.TestCase;
+import org.apache.camel.converter.IOConverter;
+
+/**
+ * @version
+ */
+public class StreamingXPathMatcherTest extends TestCase {
+
+    private static final String XML = "<order xmlns:c=\"http://acme.com/cheese\" priority=\"high\">"
+            + "<customer id=\"123\"><name>Claus</name></customer>"
+            + "<items><item type=\"gold\"><price>10</price></item>"
+            + "<item type=\"silver\">Silver<price>5.50</price></item></items>"
+            + "<c:cheese c:kind=\"gouda\">Gouda</c:cheese>"
+            + "<note><![CDATA[a & b]]></note>"
+            + "</order>";
+
+    private DefaultNamespaceContext context;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        context = new DefaultNamespaceContext();
+        context.add("c", "http://acme.com/cheese");
+    }
+
+    public void testSameResultAsXPath() throws Exception {
+        String[] expressions = {
+            "/order", "/customer", "//customer", "/order/customer/name", "/order/name", "//name", "/*/customer",
+            "/order//price", "//items/item/price", "//item//price", "/order/items/item[@type]",
+            "//item[@type='gold']", "//item[@type='bronze']", "//item[@type='gold'][@missing]",
+            "/order/@priority", "/order/@priority = 'high'", "/order/@priority = 'low'", "/order/@priority != 'low'",
+            "//customer/@id = 123", "//customer/@id = 124", "//customer/@id != 123",
+            "//price = 10", "//price = 5.5", "//price = 7", "//price != 10", "//price = '5.50'",
+            "//customer/name = 'Claus'", "//customer = 'Claus'", "/order/customer/name = 'Jonathan'",
+            "//item/text() = 'Silver'", "//item/text()", "//price/text() = '10'", "//name/text() = 'Cl'",
+            "//c:cheese", "//c:cheese = 'Gouda'", "//c:cheese/@c:kind = 'gouda'", "//cheese", "//c:*", "/order/c:*/@*",
+            "//note = 'a & b'", "//foo or //name", "//foo or //bar", "//name and //price", "//name and //foo",
+            "/order/@priority = 'high' and //item[@type='silver']/price = 5.5",
+            "/order/@priority = \"low\" or //customer[@id = '123']"
+        };
+
+        XPath xpath = XPathFactory.newInstance().newXPath();
+        xpath.setNamespaceContext(context);
+        for (String expression : expressions) {
+            StreamingXPathMatcher matcher = StreamingXPathMatcher.compile(expression, context);
+            assertNotNull("Should support: " + expression, matcher);
+
+            Boolean expected = (Boolean) xpath.evaluate(expression, new InputSource(new StringReader(XML)), XPathConstants.BOOLEAN);
+            assertEquals("Result of: " + expression, expected.booleanValue(), matcher.matches(createReader(XML)));
+        }
+    }
+
+    public void testUnsupported() throws Exception {
+        String[] expressions = {
+            "count(//item) = 2", "//item[1]", "//item[price > 5]", "//price > 5", "$foo", "//foo | //bar",
+            "//foo or //bar and //baz", "//unknown:foo", "in:body()", "//item/..", "//@type", "not(//foo)", "/order/customer/name = /order/name"
+        };
+
+        for (String expression : expressions) {
+            assertNull("Should not support: " + expression, StreamingXPathMatcher.compile(expression, context));
+        }
+    }
+
+    public void testStopReadingWhenResultKnown() throws Exception {
+        StringBuilder sb = new StringBuilder("<orders><order type=\"gold\"/>");
+        for (int i = 0; i < 1000; i++) {
+            sb.append("<order type=\"silver\"/>");
+        }
+        sb.append("</orders>");
+
+        CountingInputStream is = new CountingInputStream(IOConverter.toInputStream(sb.toString().getBytes()));
+        StreamingXPathMatcher matcher = StreamingXPathMatcher.compile("//order[@type='gold']", context);
+        assertTrue(matcher.matches(XMLInputFactory.newInstance().createXMLStreamReader(is)));
+        assertTrue("Should not read the entire message, was " + is.count.get(), is.count.get() < sb.length());
+    }
+
+    private static XMLStreamReader createReader(String xml) throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        return factory.createXMLStreamReader(new StringReader(xml));
+    }
+
+    private static final class CountingInputStream extends InputStream {
+        private final InputStream delegate;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private CountingInputStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws java.io.IOException {
+            int answer = delegate.read();
+            if (answer != -1) {
+                count.incrementAndGet();
+            }
+            return answer;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws java.io.IOException {
+            // read small chunks so the test can tell how much was read
+            int answer = delegate.read(b, off, Math.min(len, 64));
+            if (answer > 0) {
+                count.addAndGet(answer);
+            }
+            return answer;
+        }
+    }
+
+}
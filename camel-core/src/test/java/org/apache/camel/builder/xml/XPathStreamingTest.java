@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.builder.xml;
+
+import java.io.ByteArrayInputStream;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+
+import static org.apache.camel.builder.xml.XPathBuilder.xpath;
+
+/**
+ * @version
+ */
+public class XPathStreamingTest extends ContextTestSupport {
+
+    public void testChoice() throws Exception {
+        getMockEndpoint("mock:gold").expectedBodiesReceived("<order type=\"gold\"><amount>10</amount></order>");
+        getMockEndpoint("mock:big").expectedMessageCount(1);
+        getMockEndpoint("mock:other").expectedBodiesReceived("<order type=\"silver\"/>");
+
+        template.sendBody("direct:choice", "<order type=\"gold\"><amount>10</amount></order>");
+        template.sendBody("direct:choice", new ByteArrayInputStream("<order><amount>200</amount></order>".getBytes()));
+        template.sendBody("direct:choice", "<order type=\"silver\"/>");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testFilter() throws Exception {
+        getMockEndpoint("mock:filter").expectedBodiesReceived("<c:cheese xmlns:c=\"http://acme.com/cheese\">gouda</c:cheese>");
+
+        template.sendBody("direct:filter", "<c:cheese xmlns:c=\"http://acme.com/cheese\">gouda</c:cheese>");
+        template.sendBody("direct:filter", "<cheese>gouda</cheese>");
+        template.sendBody("direct:filter", "<c:cheese xmlns:c=\"http://acme.com/cheese\">edam</c:cheese>");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testFallbackUnsupported() throws Exception {
+        getMockEndpoint("mock:count").expectedMessageCount(1);
+
+        template.sendBody("direct:count", "<orders><order/><order/></orders>");
+        template.sendBody("direct:count", "<orders><order/></orders>");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testHeader() throws Exception {
+        getMockEndpoint("mock:header").expectedMessageCount(1);
+
+        template.sendBodyAndHeader("direct:header", "Hello", "invoice", "<invoice paid=\"true\"/>");
+        template.sendBodyAndHeader("direct:header", "Bye", "invoice", "<invoice paid=\"false\"/>");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:choice").streamCaching()
+                    .choice()
+                        .when(xpath("/order/@type = 'gold'").streaming()).to("mock:gold")
+                        .when(xpath("/order/amount = 200").streaming()).to("mock:big")
+                        .otherwise().to("mock:other");
+
+                from("direct:filter")
+                    .filter(xpath("/c:cheese = 'gouda'").namespace("c", "http://acme.com/cheese").streaming())
+                        .to("mock:filter");
+
+                from("direct:count")
+                    .filter(xpath("count(/orders/order) = 2").streaming())
+                        .to("mock:count");
+
+                XPathBuilder paid = xpath("/invoice/@paid = 'true'").streaming();
+                paid.setHeaderName("invoice");
+                from("direct:header")
+                    .filter(paid)
+                        .to("mock:header");
+            }
+        };
+    }
+}
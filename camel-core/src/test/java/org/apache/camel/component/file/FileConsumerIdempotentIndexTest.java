@@ -0,0 +1,84 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for the idempotentIndexFile option, where the consumed files is kept in a persistent index.
+ */
+public class FileConsumerIdempotentIndexTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/idempotentindex");
+        super.setUp();
+        template.sendBodyAndHeader("file://target/idempotentindex/in", "Hello World", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file://target/idempotentindex/in", "Bye World", Exchange.FILE_NAME, "bye.txt");
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("file://target/idempotentindex/in?noop=true&idempotentIndexFile=target/idempotentindex/index.dat"
+                        + "&initialDelay=0&delay=10")
+                    .routeId("foo").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+
+    public void testIdempotentIndex() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World");
+        NotifyBuilder notify = new NotifyBuilder(context).whenDone(2).create();
+        context.startRoute("foo");
+        assertMockEndpointsSatisfied();
+        assertTrue(notify.matchesMockWaitTime());
+        assertEquals(16, new File("target/idempotentindex/index.dat").length());
+
+        // restart the context which loses the memory based idempotent repository
+        context.stop();
+        context.start();
+        context.startRoute("foo");
+
+        mock = getMockEndpoint("mock:result");
+        mock.reset();
+        mock.expectedBodiesReceived("Hello Again");
+
+        // the consumed file which is not changed should not be consumed again
+        // but the changed file should be consumed as its not in the index
+        File hello = new File("target/idempotentindex/in/hello.txt");
+        long lastModified = hello.lastModified();
+        template.sendBodyAndHeader("file://target/idempotentindex/tmp", "Hello Again", Exchange.FILE_NAME, "hello.txt");
+        File changed = new File("target/idempotentindex/tmp/hello.txt");
+        changed.setLastModified(lastModified + 2000);
+        assertTrue(changed.renameTo(hello));
+
+        assertMockEndpointsSatisfied();
+        Thread.sleep(200);
+        mock.assertIsSatisfied();
+    }
+
+}
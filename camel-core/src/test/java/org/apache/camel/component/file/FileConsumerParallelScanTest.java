@@ -0,0 +1,119 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * Unit test for the parallelScan option, where the sub directories is scanned in parallel
+ */
+public class FileConsumerParallelScanTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/parallelscan");
+        super.setUp();
+    }
+
+    public void testParallelScan() throws Exception {
+        List<String> names = new ArrayList<String>();
+        names.add("root.txt");
+        for (int i = 0; i < 10; i++) {
+            names.add("dir" + i + "/file" + i + ".txt");
+            names.add("dir" + i + "/sub/deep" + i + ".txt");
+        }
+        for (String name : names) {
+            template.sendBodyAndHeader("file:target/parallelscan/all", name, Exchange.FILE_NAME, name);
+        }
+        // files starting with a dot and files in directories starting with a dot is skipped
+        template.sendBodyAndHeader("file:target/parallelscan/all", "Hidden", Exchange.FILE_NAME, ".hidden/hidden.txt");
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder(names.toArray());
+        mock.expectedFileExists("target/parallelscan/all/.camel/root.txt");
+        mock.expectedFileExists("target/parallelscan/all/dir9/sub/.camel/deep9.txt");
+
+        context.startRoute("all");
+
+        assertMockEndpointsSatisfied();
+
+        // the file name should be the relative path as when not scanning in parallel
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            assertEquals(exchange.getIn().getBody(String.class), exchange.getIn().getHeader(Exchange.FILE_NAME, String.class));
+        }
+    }
+
+    public void testParallelScanDepth() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("a2", "b2");
+
+        template.sendBodyAndHeader("file:target/parallelscan/depth", "a", Exchange.FILE_NAME, "a.txt");
+        template.sendBodyAndHeader("file:target/parallelscan/depth/foo", "a2", Exchange.FILE_NAME, "a2.txt");
+        template.sendBodyAndHeader("file:target/parallelscan/depth/foo/bar", "a3", Exchange.FILE_NAME, "a3.txt");
+        template.sendBodyAndHeader("file:target/parallelscan/depth/bar", "b2", Exchange.FILE_NAME, "b2.txt");
+        template.sendBodyAndHeader("file:target/parallelscan/depth/bar/foo", "b3", Exchange.FILE_NAME, "b3.txt");
+
+        context.startRoute("depth");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testParallelScanMaxMessagesPerPoll() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            template.sendBodyAndHeader("file:target/parallelscan/max", "Hello " + i, Exchange.FILE_NAME, "dir" + i + "/hello.txt");
+        }
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+
+        context.startRoute("max");
+
+        assertMockEndpointsSatisfied();
+
+        // should be limited to 3 files per poll
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            assertTrue(exchange.getProperty(Exchange.BATCH_SIZE, Integer.class) <= 3);
+        }
+        assertEquals(3, mock.getReceivedExchanges().get(0).getProperty(Exchange.BATCH_SIZE));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/parallelscan/all?recursive=true&parallelScan=true&parallelScanPoolSize=3&initialDelay=0&delay=10")
+                    .routeId("all").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from("file:target/parallelscan/depth?recursive=true&parallelScan=true&minDepth=2&maxDepth=2&initialDelay=0&delay=10")
+                    .routeId("depth").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from("file:target/parallelscan/max?recursive=true&parallelScan=true&maxMessagesPerPoll=3&initialDelay=0&delay=10")
+                    .routeId("max").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
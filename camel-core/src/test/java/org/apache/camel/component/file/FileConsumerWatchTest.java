@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.JndiRegistry;
+
+/**
+ * Unit test for the watch option, where the directory is watched instead of being listed on every poll
+ */
+public class FileConsumerWatchTest extends ContextTestSupport {
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myFilter", new MyDirectoryFilter<Object>());
+        return jndi;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/watch");
+        super.setUp();
+        // a file which exists before the consumer is started
+        template.sendBodyAndHeader("file://target/watch", "Hello World", Exchange.FILE_NAME, "hello.txt");
+    }
+
+    public void testWatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Bye World", "Hi World");
+
+        NotifyBuilder notify = new NotifyBuilder(context).whenDone(3).create();
+        context.startRoute("watch");
+
+        // files created after the consumer is watching
+        template.sendBodyAndHeader("file://target/watch", "Bye World", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader("file://target/watch", "Hi World", Exchange.FILE_NAME, "hi.txt");
+        template.sendBodyAndHeader("file://target/watch", "Skip me", Exchange.FILE_NAME, "skip.dat");
+
+        assertMockEndpointsSatisfied();
+        assertTrue(notify.matchesMockWaitTime());
+
+        assertFalse("File should have been moved", new File("target/watch/hello.txt").exists());
+        assertTrue("File should have been moved", new File("target/watch/.camel/bye.txt").exists());
+        assertTrue("File should not match include", new File("target/watch/skip.dat").exists());
+    }
+
+    public void testWatchRecursive() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:sub");
+        mock.expectedBodiesReceivedInAnyOrder("Hello World", "Sub World", "Deep World");
+
+        context.startRoute("sub");
+
+        // new sub directories created after the consumer is watching
+        template.sendBodyAndHeader("file://target/watch", "Sub World", Exchange.FILE_NAME, "sub/sub.txt");
+        template.sendBodyAndHeader("file://target/watch", "Deep World", Exchange.FILE_NAME, "sub/deep/deep.txt");
+        // and a directory which is not accepted by the filter
+        template.sendBodyAndHeader("file://target/watch", "Skip World", Exchange.FILE_NAME, "skipDir/skip.txt");
+
+        assertMockEndpointsSatisfied();
+
+        Thread.sleep(200);
+        assertTrue("Should not consume files in filtered directory", new File("target/watch/skipDir/skip.txt").exists());
+    }
+
+    public void testWatchNoopIdempotent() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:noop");
+        mock.expectedBodiesReceived("Hello World");
+
+        context.startRoute("noop");
+
+        assertMockEndpointsSatisfied();
+
+        // update the file which is already consumed so it should not be consumed again
+        template.sendBodyAndHeader("file://target/watch", "Hello Again", Exchange.FILE_NAME, "hello.txt");
+
+        Thread.sleep(300);
+        mock.assertIsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file://target/watch?watch=true&include=.*txt&delay=10&initialDelay=0")
+                    .routeId("watch").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+
+                from("file://target/watch?watch=true&recursive=true&filter=#myFilter&delay=10&initialDelay=0")
+                    .routeId("sub").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:sub");
+
+                from("file://target/watch?watch=true&noop=true&delay=10&initialDelay=0")
+                    .routeId("noop").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:noop");
+            }
+        };
+    }
+
+    public class MyDirectoryFilter<T> implements GenericFileFilter<T> {
+
+        public boolean accept(GenericFile<T> file) {
+            // we dont accept any files within directory starting with skip in the name
+            return !(file.isDirectory() && file.getFileName().startsWith("skip"));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * Unit test for the keepOpen option, where the files is kept open for appending
+ */
+public class FileKeepOpenProducerTest extends ContextTestSupport {
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/keepopen");
+        super.setUp();
+    }
+
+    public void testKeepOpen() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String line = "Line " + i + LS;
+            template.sendBodyAndHeader("direct:start", line, Exchange.FILE_NAME, "audit.txt");
+            expected.append(line);
+        }
+
+        // stopping the route should close the file
+        context.stopRoute("start");
+
+        String content = context.getTypeConverter().convertTo(String.class, new File("target/keepopen/audit.txt"));
+        assertEquals(expected.toString(), content);
+    }
+
+    public void testFlushInterval() throws Exception {
+        template.sendBodyAndHeader("direct:flush", "Hello World" + LS, Exchange.FILE_NAME, "flush.txt");
+        template.sendBodyAndHeader("direct:flush", "Bye World" + LS, Exchange.FILE_NAME, "flush.txt");
+
+        // the buffered data should be flushed while the file is still open
+        File file = new File("target/keepopen/flush.txt");
+        for (int i = 0; i < 50 && file.length() == 0; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals("Hello World" + LS + "Bye World" + LS, context.getTypeConverter().convertTo(String.class, file));
+    }
+
+    public void testRolloverTempFileNameAndDoneFile() throws Exception {
+        template.sendBodyAndHeader("direct:rollover", "Hello", Exchange.FILE_NAME, "day1.txt");
+        template.sendBodyAndHeader("direct:rollover", " World", Exchange.FILE_NAME, "day1.txt");
+
+        // should be written to the temp file while its open
+        assertFalse(new File("target/keepopen/rollover/day1.txt").exists());
+        assertFalse(new File("target/keepopen/rollover/day1.done").exists());
+
+        // rollover to a new file should close the previous file
+        template.sendBodyAndHeader("direct:rollover", "Bye World", Exchange.FILE_NAME, "day2.txt");
+
+        File day1 = new File("target/keepopen/rollover/day1.txt");
+        File done = new File("target/keepopen/rollover/day1.done");
+        for (int i = 0; i < 50 && !done.exists(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue("Done file should exist", done.exists());
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, day1));
+        assertFalse("Temp file should be renamed", new File("target/keepopen/rollover/day1.tmp").exists());
+        assertFalse(new File("target/keepopen/rollover/day2.done").exists());
+
+        // and the rolled over file is completed when stopping
+        context.stopRoute("rollover");
+        assertTrue(new File("target/keepopen/rollover/day2.done").exists());
+        assertEquals("Bye World", context.getTypeConverter().convertTo(String.class, new File("target/keepopen/rollover/day2.txt")));
+    }
+
+    public void testIdleTimeout() throws Exception {
+        template.sendBodyAndHeader("direct:idle", "Hello World", Exchange.FILE_NAME, "idle.txt");
+
+        File done = new File("target/keepopen/idle/idle.done");
+        for (int i = 0; i < 50 && !done.exists(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue("Idle file should be closed", done.exists());
+
+        // and appending again should open the file again
+        template.sendBodyAndHeader("direct:idle", " again", Exchange.FILE_NAME, "idle.txt");
+        context.stopRoute("idle");
+        assertEquals("Hello World again", context.getTypeConverter().convertTo(String.class, new File("target/keepopen/idle/idle.txt")));
+    }
+
+    public void testKeepOpenRequiresAppend() throws Exception {
+        try {
+            context.getEndpoint("file:target/keepopen?keepOpen=true").createProducer();
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("You must configure fileExist=Append when keepOpen=true", e.getMessage());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start")
+                    .to("file:target/keepopen?fileExist=Append&keepOpen=true&keepOpenFlushSize=1024&keepOpenFlushInterval=0");
+
+                from("direct:flush")
+                    .to("file:target/keepopen?fileExist=Append&keepOpen=true&keepOpenFlushInterval=100");
+
+                from("direct:rollover").routeId("rollover")
+                    .to("file:target/keepopen/rollover?fileExist=Append&keepOpen=true&keepOpenMaxFiles=1"
+                        + "&tempFileName=${file:name.noext}.tmp&doneFileName=${file:name.noext}.done");
+
+                from("direct:idle").routeId("idle")
+                    .to("file:target/keepopen/idle?fileExist=Append&keepOpen=true&keepOpenIdleTimeout=200"
+                        + "&keepOpenFlushInterval=100&doneFileName=${file:name.noext}.done");
+            }
+        };
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.apache.camel.TestSupport;
+
+/**
+ * Unit test for {@link GenericFileIndex}
+ */
+public class GenericFileIndexTest extends TestSupport {
+
+    private File indexFile = new File("target/fileindex/index.dat");
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/fileindex");
+        super.setUp();
+    }
+
+    public void testAddAndContains() throws Exception {
+        GenericFileIndex index = new GenericFileIndex(indexFile);
+        index.start();
+
+        assertFalse(index.contains("/foo/hello.txt", 11, 1000));
+        assertTrue(index.add("/foo/hello.txt", 11, 1000));
+        assertFalse("Should already be in the index", index.add("/foo/hello.txt", 11, 1000));
+        assertTrue(index.contains("/foo/hello.txt", 11, 1000));
+
+        // a changed file is not in the index
+        assertFalse(index.contains("/foo/hello.txt", 12, 1000));
+        assertFalse(index.contains("/foo/hello.txt", 11, 2000));
+        assertFalse(index.contains("/foo/bye.txt", 11, 1000));
+        assertEquals(1, index.size());
+
+        index.stop();
+    }
+
+    public void testPersistent() throws Exception {
+        GenericFileIndex index = new GenericFileIndex(indexFile);
+        index.start();
+        for (int i = 0; i < 5000; i++) {
+            index.add("/foo/file" + i + ".txt", i, 1000 + i);
+        }
+        index.stop();
+        assertEquals(5000 * 8, indexFile.length());
+
+        index = new GenericFileIndex(indexFile);
+        index.start();
+        assertEquals(5000, index.size());
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(index.contains("/foo/file" + i + ".txt", i, 1000 + i));
+        }
+        assertFalse(index.contains("/foo/file5000.txt", 5000, 6000));
+        index.stop();
+    }
+
+    public void testPartialWrittenFingerprint() throws Exception {
+        GenericFileIndex index = new GenericFileIndex(indexFile);
+        index.start();
+        index.add("/foo/hello.txt", 11, 1000);
+        index.stop();
+
+        // simulate a crash while writing
+        FileOutputStream fos = new FileOutputStream(indexFile, true);
+        fos.write(new byte[]{1, 2, 3});
+        fos.close();
+
+        index.start();
+        assertEquals(1, index.size());
+        assertEquals(8, indexFile.length());
+        index.add("/foo/bye.txt", 11, 1000);
+        index.stop();
+
+        index.start();
+        assertTrue(index.contains("/foo/hello.txt", 11, 1000));
+        assertTrue(index.contains("/foo/bye.txt", 11, 1000));
+        index.stop();
+    }
+
+    public void testEvictOldest() throws Exception {
+        GenericFileIndex index = new GenericFileIndex(indexFile);
+        index.setMaxSize(100);
+        index.start();
+        for (int i = 0; i < 101; i++) {
+            index.add("/foo/file" + i + ".txt", i, 1000);
+        }
+
+        // the oldest 10% should be evicted
+        assertEquals(90, index.size());
+        assertEquals(90 * 8, indexFile.length());
+        for (int i = 0; i < 11; i++) {
+            assertFalse(index.contains("/foo/file" + i + ".txt", i, 1000));
+        }
+        for (int i = 11; i < 101; i++) {
+            assertTrue(index.contains("/foo/file" + i + ".txt", i, 1000));
+        }
+
+        // and we can continue adding after the eviction
+        assertTrue(index.add("/foo/file0.txt", 0, 1000));
+        index.stop();
+
+        index.start();
+        assertEquals(91, index.size());
+        index.stop();
+    }
+
+}
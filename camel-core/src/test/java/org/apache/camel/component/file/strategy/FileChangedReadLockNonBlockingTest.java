@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.strategy;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version
+ */
+public class FileChangedReadLockNonBlockingTest extends ContextTestSupport {
+
+    private final CountDownLatch written = new CountDownLatch(1);
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/changed/");
+        createDirectory("target/changed/in");
+        super.setUp();
+    }
+
+    public void testChangedReadLockNonBlocking() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceived("Hello World", "SLOW");
+        mock.expectedFileExists("target/changed/out/slowfile.dat");
+        MockEndpoint hello = getMockEndpoint("mock:hello");
+        hello.expectedMessageCount(1);
+
+        template.sendBodyAndHeader("file:target/changed/in", "Hello World", Exchange.FILE_NAME, "hello.dat");
+
+        Thread writer = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    writeSlowFile();
+                } catch (Exception e) {
+                    // ignore
+                } finally {
+                    written.countDown();
+                }
+            }
+        });
+        writer.start();
+
+        // the ready file should be processed while the slow file is still being written
+        hello.assertIsSatisfied();
+        assertEquals("Slow file should still be written", 1, written.getCount());
+
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        assertMockEndpointsSatisfied();
+
+        String content = context.getTypeConverter().convertTo(String.class, new File("target/changed/out/slowfile.dat").getAbsoluteFile());
+        String[] lines = content.split(LS);
+        assertEquals("There should be 20 lines in the file", 20, lines.length);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("Line " + i, lines[i]);
+        }
+    }
+
+    private void writeSlowFile() throws Exception {
+        FileOutputStream fos = new FileOutputStream("target/changed/in/slowfile.dat");
+        for (int i = 0; i < 20; i++) {
+            fos.write(("Line " + i + LS).getBytes());
+            fos.flush();
+            Thread.sleep(200);
+        }
+        fos.close();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("file:target/changed/in?readLock=changed&readLockNonBlocking=true&readLockCheckInterval=1000&delay=100")
+                    .to("file:target/changed/out")
+                    .choice()
+                        .when(header(Exchange.FILE_NAME).isEqualTo("hello.dat")).convertBodyTo(String.class).to("mock:hello")
+                        .otherwise().setBody(constant("SLOW"))
+                    .end()
+                    .to("mock:result");
+            }
+        };
+    }
+}
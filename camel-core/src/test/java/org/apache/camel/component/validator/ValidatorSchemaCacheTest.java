@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.validator;
+
+import java.io.ByteArrayInputStream;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.ValidationException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.validation.ValidatingProcessor;
+
+/**
+ *
+ */
+public class ValidatorSchemaCacheTest extends ContextTestSupport {
+
+    private static final String VALID = "<mail xmlns='http://foo.com/bar'><subject>Hey</subject><body>Hello world!</body></mail>";
+    private static final String INVALID = "<mail xmlns='http://foo.com/bar'><body>Hello world!</body></mail>";
+
+    @Override
+    public boolean useJmx() {
+        return true;
+    }
+
+    public void testSchemaShared() throws Exception {
+        ValidatorEndpoint a = context.getEndpoint("validator:org/apache/camel/component/validator/schema.xsd", ValidatorEndpoint.class);
+        ValidatorEndpoint b = context.getEndpoint("validator:org/apache/camel/component/validator/schema.xsd?streaming=true", ValidatorEndpoint.class);
+
+        ValidatingProcessor validatorA = (ValidatingProcessor) a.getProcessor();
+        ValidatingProcessor validatorB = (ValidatingProcessor) b.getProcessor();
+        assertSame(validatorA.getSchema(), validatorB.getSchema());
+        assertSame(validatorA.getStatistics(), validatorB.getStatistics());
+        assertEquals(1, context.getComponent("validator", ValidatorComponent.class).getSchemaCache().size());
+    }
+
+    public void testStreaming() throws Exception {
+        getMockEndpoint("mock:valid").expectedMessageCount(2);
+        getMockEndpoint("mock:invalid").expectedMessageCount(2);
+
+        template.sendBody("direct:streaming", new ByteArrayInputStream(VALID.getBytes()));
+        template.sendBody("direct:streaming", new ByteArrayInputStream(INVALID.getBytes()));
+        template.sendBody("direct:streaming", new ByteArrayInputStream("<mail xmlns='http://foo.com/bar'><subject>".getBytes()));
+        template.sendBody("direct:streaming", VALID);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testStatistics() throws Exception {
+        getMockEndpoint("mock:valid").expectedMessageCount(3);
+        getMockEndpoint("mock:invalid").expectedMessageCount(1);
+
+        template.sendBody("direct:start", VALID);
+        template.sendBody("direct:start", VALID);
+        template.sendBody("direct:start", INVALID);
+        template.sendBody("direct:streaming", new ByteArrayInputStream(VALID.getBytes()));
+
+        assertMockEndpointsSatisfied();
+
+        // the statistics is per schema
+        MBeanServer mbeanServer = context.getManagementStrategy().getManagementAgent().getMBeanServer();
+        Set<ObjectName> names = mbeanServer.queryNames(new ObjectName("org.apache.camel:type=endpoints,name=\"validator:*\",*"), null);
+        assertEquals(2, names.size());
+        for (ObjectName name : names) {
+            assertEquals(4L, mbeanServer.getAttribute(name, "ValidationCounter"));
+            assertEquals(1L, mbeanServer.getAttribute(name, "FailureCounter"));
+            assertEquals("org/apache/camel/component/validator/schema.xsd", mbeanServer.getAttribute(name, "ResourceUri"));
+        }
+
+        mbeanServer.invoke(names.iterator().next(), "resetStatistics", null, null);
+        for (ObjectName name : names) {
+            assertEquals(0L, mbeanServer.getAttribute(name, "ValidationCounter"));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                onException(ValidationException.class).handled(true).to("mock:invalid");
+
+                from("direct:start")
+                    .to("validator:org/apache/camel/component/validator/schema.xsd")
+                    .to("mock:valid");
+
+                from("direct:streaming")
+                    .to("validator:org/apache/camel/component/validator/schema.xsd?streaming=true")
+                    .to("mock:valid");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.xslt;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.builder.xml.XsltBuilder;
+import org.apache.camel.util.ResourceHelper;
+
+/**
+ * @version
+ */
+public class XsltTemplatesCacheTest extends ContextTestSupport {
+
+    private static final String HELLO_XSL =
+        "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:template match=\"/\"><goodbye><xsl:value-of select=\"/hello\"/></goodbye></xsl:template>"
+            + "</xsl:stylesheet>";
+
+    private static final String BYE_XSL =
+        "<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:template match=\"/\"><goodnight><xsl:value-of select=\"/hello\"/></goodnight></xsl:template>"
+            + "</xsl:stylesheet>";
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/xslt");
+        super.setUp();
+        template.sendBodyAndHeader("file://target/xslt", HELLO_XSL, Exchange.FILE_NAME, "hello.xsl");
+    }
+
+    public void testSharedBetweenEndpoints() throws Exception {
+        XsltEndpoint a = context.getEndpoint("xslt:org/apache/camel/component/xslt/transform.xsl", XsltEndpoint.class);
+        XsltEndpoint b = context.getEndpoint("xslt:org/apache/camel/component/xslt/transform.xsl?output=bytes", XsltEndpoint.class);
+        XsltEndpoint c = context.getEndpoint("xslt:org/apache/camel/component/xslt/transform_to_foo.xsl", XsltEndpoint.class);
+
+        XsltComponent xslt = context.getComponent("xslt", XsltComponent.class);
+        assertEquals(2, xslt.getTemplatesCache().size());
+        assertSame(builder(a).getTemplate(), builder(b).getTemplate());
+        assertNotSame(builder(a).getTemplate(), builder(c).getTemplate());
+    }
+
+    public void testNotCompiledAgainIfNotChanged() throws Exception {
+        XsltTemplatesCache cache = context.getComponent("xslt", XsltComponent.class).getTemplatesCache();
+        XsltEndpoint endpoint = context.getEndpoint("xslt:file:target/xslt/hello.xsl?contentCache=false", XsltEndpoint.class);
+
+        String out = template.requestBody(endpoint, "<hello>world!</hello>", String.class);
+        assertTrue(out, out.endsWith("<goodbye>world!</goodbye>"));
+        out = template.requestBody(endpoint, "<hello>world!</hello>", String.class);
+        assertTrue(out, out.endsWith("<goodbye>world!</goodbye>"));
+
+        // only the first load should compile the stylesheet
+        assertEquals(1, cache.getMisses());
+        assertSame(builder(endpoint).getTemplate(), cache.getTemplates("file:target/xslt/hello.xsl",
+                ResourceHelper.resolveMandatoryResourceAsUrl(context.getClassResolver(), "file:target/xslt/hello.xsl"), builder(endpoint)));
+
+        // changing the stylesheet should compile the stylesheet again
+        template.sendBodyAndHeader("file://target/xslt?fileExist=Override", BYE_XSL, Exchange.FILE_NAME, "hello.xsl");
+        out = template.requestBody(endpoint, "<hello>world!</hello>", String.class);
+        assertTrue(out, out.endsWith("<goodnight>world!</goodnight>"));
+    }
+
+    public void testEviction() throws Exception {
+        XsltComponent xslt = context.getComponent("xslt", XsltComponent.class);
+        xslt.setTemplatesCache(new XsltTemplatesCache(1));
+
+        context.getEndpoint("xslt:org/apache/camel/component/xslt/transform.xsl", XsltEndpoint.class);
+        context.getEndpoint("xslt:org/apache/camel/component/xslt/transform_to_foo.xsl", XsltEndpoint.class);
+
+        assertEquals(1, xslt.getTemplatesCache().size());
+        assertEquals(1, xslt.getTemplatesCache().getEvicted());
+    }
+
+    private static XsltBuilder builder(XsltEndpoint endpoint) throws Exception {
+        return (XsltBuilder) endpoint.getProcessor();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                // noop
+            }
+        };
+    }
+}
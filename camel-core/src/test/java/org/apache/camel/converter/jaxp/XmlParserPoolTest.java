@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.jaxp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+
+import org.w3c.dom.Document;
+
+import junit.framework.TestCase;
+
+import org.apache.camel.impl.DefaultCamelContext;
+
+/**
+ * @version 
+ */
+public class XmlParserPoolTest extends TestCase {
+
+    public void testDocumentBuilderReused() throws Exception {
+        XmlParserPool pool = new XmlParserPool(null, null);
+
+        DocumentBuilder builder = pool.acquireDocumentBuilder();
+        assertNotNull(builder);
+        assertEquals(1, pool.getDocumentBuilderCreatedCounter());
+        pool.releaseDocumentBuilder(builder);
+        assertEquals(1, pool.getDocumentBuilderPoolSize());
+
+        DocumentBuilder builder2 = pool.acquireDocumentBuilder();
+        assertSame(builder, builder2);
+        assertEquals(0, pool.getDocumentBuilderPoolSize());
+        assertEquals(1, pool.getDocumentBuilderCreatedCounter());
+        assertEquals(2, pool.getDocumentBuilderAcquiredCounter());
+        pool.releaseDocumentBuilder(builder2);
+
+        pool.purge();
+        assertEquals(0, pool.getDocumentBuilderPoolSize());
+        pool.resetStatistics();
+        assertEquals(0, pool.getDocumentBuilderAcquiredCounter());
+    }
+
+    public void testTransformerPooledPerOutputProperties() throws Exception {
+        XmlParserPool pool = new XmlParserPool(null, null);
+
+        Properties omit = new Properties();
+        omit.put(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        Properties standalone = new Properties();
+        standalone.put(OutputKeys.STANDALONE, "no");
+
+        Transformer transformer = pool.acquireTransformer(omit);
+        assertEquals("yes", transformer.getOutputProperty(OutputKeys.OMIT_XML_DECLARATION));
+        pool.releaseTransformer(transformer, omit);
+        assertEquals(1, pool.getTransformerPoolSize());
+
+        Transformer transformer2 = pool.acquireTransformer(standalone);
+        assertNotSame(transformer, transformer2);
+        assertEquals("no", transformer2.getOutputProperty(OutputKeys.STANDALONE));
+        pool.releaseTransformer(transformer2, standalone);
+
+        Transformer transformer3 = pool.acquireTransformer((Properties) omit.clone());
+        assertSame(transformer, transformer3);
+        assertEquals(2, pool.getTransformerCreatedCounter());
+        assertEquals(3, pool.getTransformerAcquiredCounter());
+    }
+
+    public void testMaxPoolSize() throws Exception {
+        XmlParserPool pool = new XmlParserPool(null, null);
+        pool.setMaxPoolSize(2);
+
+        List<DocumentBuilder> builders = new ArrayList<DocumentBuilder>();
+        for (int i = 0; i < 5; i++) {
+            builders.add(pool.acquireDocumentBuilder());
+        }
+        assertEquals(5, pool.getDocumentBuilderCreatedCounter());
+        for (DocumentBuilder builder : builders) {
+            pool.releaseDocumentBuilder(builder);
+        }
+        assertEquals(2, pool.getDocumentBuilderPoolSize());
+    }
+
+    public void testConverterUsesPool() throws Exception {
+        DefaultCamelContext context = new DefaultCamelContext();
+        XmlConverter converter = new XmlConverter();
+        converter.setCamelContext(context);
+        assertSame(context.getXmlParserPool(), converter.getParserPool());
+
+        XmlConverter custom = new XmlConverter();
+        custom.setCamelContext(context);
+        custom.setDocumentBuilderFactory(custom.createDocumentBuilderFactory());
+        XmlParserPool pool = custom.getParserPool();
+        assertNotSame(context.getXmlParserPool(), pool);
+        assertNotSame(new XmlConverter().getParserPool(), new XmlConverter().getParserPool());
+
+        Document doc = custom.toDOMDocument("<hello>world</hello>");
+        assertEquals("hello", doc.getDocumentElement().getLocalName());
+        doc = custom.toDOMDocument("<bye>world</bye>");
+        assertEquals("bye", doc.getDocumentElement().getLocalName());
+        assertEquals("<bye>world</bye>", custom.toString(doc, null));
+        assertEquals("<bye>world</bye>", custom.toString(doc, null));
+
+        assertEquals(1, pool.getDocumentBuilderCreatedCounter());
+        assertEquals(2, pool.getDocumentBuilderAcquiredCounter());
+        assertEquals(1, pool.getTransformerCreatedCounter());
+        assertEquals(2, pool.getTransformerAcquiredCounter());
+    }
+
+    public void testConcurrentParsing() throws Exception {
+        final XmlConverter converter = new XmlConverter();
+        converter.setParserPool(new XmlParserPool(null, null));
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<Future<String>> futures = new ArrayList<Future<String>>();
+            for (int i = 0; i < 200; i++) {
+                final int num = i;
+                futures.add(executor.submit(new Callable<String>() {
+                    public String call() throws Exception {
+                        Document doc = converter.toDOMDocument("<order id=\"" + num + "\"><item>" + num + "</item></order>");
+                        return doc.getDocumentElement().getAttribute("id");
+                    }
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                assertEquals("" + i, futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        XmlParserPool pool = converter.getParserPool();
+        assertEquals(200, pool.getDocumentBuilderAcquiredCounter());
+        assertTrue(pool.getDocumentBuilderCreatedCounter() <= 10);
+    }
+}
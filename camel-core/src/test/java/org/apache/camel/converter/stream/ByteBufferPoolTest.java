@@ -0,0 +1,109 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+/**
+ * @version 
+ */
+public class ByteBufferPoolTest extends TestCase {
+
+    public void testBudget() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(1024, 2048);
+
+        ByteBuffer a = pool.acquire();
+        ByteBuffer b = pool.acquire();
+        assertNotNull(a);
+        assertNotNull(b);
+        assertTrue(a.isDirect());
+        assertNull("Budget should be exhausted", pool.acquire());
+        assertEquals(2048, pool.getUsedMemory());
+
+        pool.release(a);
+        assertEquals(1024, pool.getUsedMemory());
+        // should reuse the released chunk
+        assertSame(a, pool.acquire());
+
+        pool.release(a);
+        pool.release(b);
+        assertEquals(0, pool.getUsedMemory());
+        assertEquals(2048, pool.getPeakMemory());
+    }
+
+    public void testOutputStream() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(4, 1024);
+
+        ByteBufferOutputStream bos = new ByteBufferOutputStream(pool);
+        assertTrue(bos.reserve(11));
+        bos.write("Hello World".getBytes());
+        bos.write('!');
+
+        ByteBufferInputStreamCache cache = new ByteBufferInputStreamCache(bos.getBuffers());
+        assertEquals(12, cache.length());
+        assertEquals(12, cache.available());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        cache.writeTo(out);
+        assertEquals("Hello World!", out.toString());
+
+        assertEquals(6, cache.skip(6));
+        assertEquals('W', cache.read());
+        cache.reset();
+        assertEquals('H', cache.read());
+
+        bos.close();
+        assertEquals(0, pool.getUsedMemory());
+    }
+
+    public void testReadAfterReleased() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(4, 1024);
+
+        ByteBufferOutputStream bos = new ByteBufferOutputStream(pool);
+        bos.write("Hello World".getBytes());
+
+        ByteBufferInputStreamCache cache = new ByteBufferInputStreamCache(bos.getBuffers(), bos);
+        ByteBufferInputStreamCache copy = (ByteBufferInputStreamCache) cache.copy();
+        assertTrue(copy.isPooled());
+        assertEquals('H', copy.read());
+
+        bos.close();
+        // the chunks may be reused by another stream so reading must fail
+        try {
+            copy.read();
+            fail("Should have thrown an exception");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    public void testOutputStreamBudgetExhausted() throws Exception {
+        ByteBufferPool pool = new ByteBufferPool(4, 8);
+
+        ByteBufferOutputStream bos = new ByteBufferOutputStream(pool);
+        assertTrue(bos.reserve(8));
+        assertFalse(bos.reserve(9));
+
+        bos.close();
+        assertEquals(0, pool.getUsedMemory());
+    }
+
+}
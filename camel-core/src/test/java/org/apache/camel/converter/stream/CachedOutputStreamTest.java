@@ -27,7 +27,9 @@ import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.IOConverter;
 import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.impl.DefaultStreamCachingStrategy;
 import org.apache.camel.impl.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.UnitOfWork;
 import org.apache.camel.util.CollectionStringBuffer;
 import org.apache.camel.util.IOHelper;
@@ -182,4 +184,193 @@ public class CachedOutputStreamTest extends ContextTestSupport {
         files = file.list();
         assertEquals("we should have no temp file", files.length, 0);       
     }
+
+    public void testCacheStreamToDirectBuffer() throws IOException {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "1024");
+        context.getProperties().put(CachedOutputStream.DIRECT_BUFFER, "true");
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("./target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have no temp file", files.length, 0);
+
+        StreamCache cache = cos.getStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        String temp = IOConverter.toString((InputStream)cache, null);
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+
+        // the copy should share the data but have its own position
+        StreamCache copy = cache.copy();
+        temp = IOConverter.toString((InputStream)copy, null);
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+        cache.reset();
+        temp = IOConverter.toString((InputStream)cache, null);
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+
+        exchange.getUnitOfWork().done(exchange);
+
+        try {
+            ((InputStream)copy).read();
+            fail("Should have thrown an exception as the memory is released");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    public void testCacheStreamToDirectBufferSpoolWhenBudgetExhausted() throws IOException {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "1024");
+        context.getProperties().put(CachedOutputStream.DIRECT_BUFFER, "true");
+
+        // a budget smaller than a chunk
+        context.getStreamCachingStrategy().setMaxMemory(16);
+        try {
+            CachedOutputStream cos = new CachedOutputStream(exchange);
+            cos.write(TEST_STRING.getBytes("UTF-8"));
+
+            File file = new File("./target/cachedir");
+            String[] files = file.list();
+            assertEquals("we should have a temp file", files.length, 1);
+
+            StreamCache cache = cos.getStreamCache();
+            assertTrue("Should get the FileInputStreamCache", cache instanceof FileInputStreamCache);
+            String temp = toString((InputStream)cache);
+            assertEquals("Cached a wrong file", temp, TEST_STRING);
+            ((InputStream)cache).close();
+            exchange.getUnitOfWork().done(exchange);
+        } finally {
+            context.getStreamCachingStrategy().setMaxMemory(0);
+        }
+    }
+
+    public void testCacheStreamToMemoryMappedFile() throws IOException {
+        context.getProperties().put(CachedOutputStream.MEMORY_MAPPED, "true");
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("./target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have a temp file", files.length, 1);
+
+        StreamCache cache = cos.getStreamCache();
+        assertTrue("Should get the ByteBufferInputStreamCache", cache instanceof ByteBufferInputStreamCache);
+        assertEquals(TEST_STRING.length(), ((ByteBufferInputStreamCache) cache).length());
+        String temp = toString((InputStream)cache);
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+        cache.reset();
+        temp = toString((InputStream)cache.copy());
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+
+        exchange.getUnitOfWork().done(exchange);
+
+        files = file.list();
+        assertEquals("we should have no temp file", files.length, 0);
+    }
+
+    public void testCacheStreamToFileWithStreamCachingStrategy() throws IOException {
+        context.getProperties().remove(CachedOutputStream.TEMP_DIR);
+        context.getProperties().remove(CachedOutputStream.THRESHOLD);
+
+        StreamCachingStrategy strategy = context.getStreamCachingStrategy();
+        strategy.setSpoolDirectory("./target/cachedir");
+        strategy.setSpoolThreshold(16);
+        strategy.getStatistics().setStatisticsEnabled(true);
+
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(TEST_STRING.getBytes("UTF-8"));
+
+        File file = new File("./target/cachedir");
+        String[] files = file.list();
+        assertEquals("we should have a temp file", files.length, 1);
+        assertEquals(1, strategy.getSpoolFileCounter());
+
+        StreamCache cache = cos.getStreamCache();
+        String temp = toString((InputStream)cache);
+        assertEquals("Cached a wrong file", temp, TEST_STRING);
+        ((InputStream)cache).close();
+
+        exchange.getUnitOfWork().done(exchange);
+
+        files = file.list();
+        assertEquals("we should have no temp file", files.length, 0);
+        assertEquals(0, strategy.getSpoolFileCounter());
+        assertEquals(1, strategy.getStatistics().getCacheSpoolCounter());
+        assertEquals(TEST_STRING.length(), strategy.getStatistics().getCacheSpoolSize());
+    }
+
+    public void testCacheStreamToFileWithCipher() throws IOException {
+        context.getStreamCachingStrategy().setSpoolCipher("AES/CTR/NoPadding");
+        try {
+            CachedOutputStream cos = new CachedOutputStream(exchange);
+            cos.write(TEST_STRING.getBytes("UTF-8"));
+
+            File file = new File("./target/cachedir");
+            String[] files = file.list();
+            assertEquals("we should have a temp file", files.length, 1);
+            // the spooled data should be encrypted
+            String spooled = context.getTypeConverter().convertTo(String.class, new File(file, files[0]));
+            assertFalse("Spool file should be encrypted", TEST_STRING.equals(spooled));
+
+            StreamCache cache = cos.getStreamCache();
+            String temp = toString((InputStream)cache);
+            assertEquals("Cached a wrong file", temp, TEST_STRING);
+            cache.reset();
+            temp = toString((InputStream)cache);
+            assertEquals("Cached a wrong file", temp, TEST_STRING);
+            ((InputStream)cache).close();
+
+            exchange.getUnitOfWork().done(exchange);
+        } finally {
+            context.getStreamCachingStrategy().setSpoolCipher(null);
+        }
+    }
+
+    public void testCacheStreamToMemoryWithMemoryBudget() throws IOException {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "1024");
+
+        DefaultStreamCachingStrategy strategy = (DefaultStreamCachingStrategy) context.getStreamCachingStrategy();
+        strategy.setMaxMemory(200);
+        try {
+            CachedOutputStream cos = new CachedOutputStream(exchange);
+            cos.write(TEST_STRING.getBytes("UTF-8"));
+            assertEquals(TEST_STRING.length(), strategy.getBufferPool().getUsedMemory());
+
+            File file = new File("./target/cachedir");
+            String[] files = file.list();
+            assertEquals("we should have no temp file", files.length, 0);
+
+            // the other stream exceeds the budget so it should be spooled
+            CachedOutputStream other = new CachedOutputStream(exchange);
+            other.write(TEST_STRING.getBytes("UTF-8"));
+            files = file.list();
+            assertEquals("we should have a temp file", files.length, 1);
+
+            exchange.getUnitOfWork().done(exchange);
+            assertEquals(0, strategy.getBufferPool().getUsedMemory());
+        } finally {
+            strategy.setMaxMemory(0);
+        }
+    }
+
+    public void testCacheStreamNotClosedOnCompletionWithMemoryBudget() throws IOException {
+        context.getProperties().put(CachedOutputStream.THRESHOLD, "1024");
+        context.getProperties().put(CachedOutputStream.DIRECT_BUFFER, "true");
+
+        DefaultStreamCachingStrategy strategy = (DefaultStreamCachingStrategy) context.getStreamCachingStrategy();
+        strategy.setMaxMemory(200);
+        try {
+            // the stream may never be closed so it should not use the budget
+            CachedOutputStream cos = new CachedOutputStream(exchange, false);
+            cos.write(TEST_STRING.getBytes("UTF-8"));
+            assertEquals(0, strategy.getBufferPool().getUsedMemory());
+
+            StreamCache cache = cos.getStreamCache();
+            assertTrue("Should get the InputStreamCache", cache instanceof InputStreamCache);
+            assertEquals("Cached a wrong file", TEST_STRING, toString((InputStream)cache));
+        } finally {
+            strategy.setMaxMemory(0);
+        }
+    }
 }
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedCircuitBreakerLoadBalancerTest extends ManagementTestSupport {
+
+    public void testManageCircuitBreaker() throws Exception {
+        getMockEndpoint("mock:a").whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                throw new IllegalArgumentException("Damn");
+            }
+        });
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=processors,name=\"myBreaker\"");
+        assertTrue(mbeanServer.isRegistered(name));
+
+        assertEquals("CircuitBreakerLoadBalancer", mbeanServer.getAttribute(name, "LoadBalancerType"));
+        assertEquals(1, mbeanServer.getAttribute(name, "Threshold"));
+        assertEquals(60000L, mbeanServer.getAttribute(name, "HalfOpenAfter"));
+        String[] types = (String[]) mbeanServer.getAttribute(name, "ExceptionTypes");
+        assertEquals(1, types.length);
+        assertEquals(IllegalArgumentException.class.getName(), types[0]);
+
+        // open the circuit of a
+        for (int i = 0; i < 2; i++) {
+            try {
+                template.sendBody("direct:start", "Hello World");
+            } catch (CamelExecutionException e) {
+                // ignore
+            }
+        }
+
+        String[] states = (String[]) mbeanServer.getAttribute(name, "CircuitStates");
+        assertEquals(2, states.length);
+        assertEquals("Open", states[0]);
+        assertEquals("Closed", states[1]);
+        assertEquals(1, mbeanServer.getAttribute(name, "OpenCircuits"));
+
+        String xml = (String) mbeanServer.invoke(name, "dumpLoadBalancerStatsAsXml", null, null);
+        assertTrue(xml.contains("<processorStat index=\"0\" id=\"a\" circuitState=\"Open\"/>"));
+        assertTrue(xml.contains("<processorStat index=\"1\" id=\"b\" circuitState=\"Closed\"/>"));
+
+        mbeanServer.invoke(name, "closeCircuits", null, null);
+        assertEquals(0, mbeanServer.getAttribute(name, "OpenCircuits"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(noErrorHandler());
+
+                from("direct:start").routeId("foo")
+                    .loadBalance().id("myBreaker").circuitBreaker(1, 60000, IllegalArgumentException.class)
+                        .to("mock:a").id("a").to("mock:b").id("b");
+            }
+        };
+    }
+
+}
@@ -98,6 +98,9 @@ public class ManagedErrorHandlerRedeliveryTest extends ManagementTestSupport {
         Boolean uebf = (Boolean) mbeanServer.getAttribute(on, "UseExponentialBackOff");
         assertEquals(false, uebf.booleanValue());
 
+        Integer pending = (Integer) mbeanServer.getAttribute(on, "PendingRedeliveries");
+        assertEquals(0, pending.intValue());
+
         MockEndpoint mock = getMockEndpoint("mock:result");
         mock.expectedMessageCount(1);
 
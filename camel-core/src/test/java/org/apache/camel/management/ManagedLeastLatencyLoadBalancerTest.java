@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedLeastLatencyLoadBalancerTest extends ManagementTestSupport {
+
+    public void testLoadBalancerStats() throws Exception {
+        getMockEndpoint("mock:a").expectedMinimumMessageCount(1);
+        getMockEndpoint("mock:b").expectedMinimumMessageCount(1);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName name = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=processors,name=\"myBalancer\"");
+        assertTrue(mbeanServer.isRegistered(name));
+
+        String type = (String) mbeanServer.getAttribute(name, "LoadBalancerType");
+        assertEquals("LeastLatencyLoadBalancer", type);
+
+        String xml = (String) mbeanServer.invoke(name, "dumpLoadBalancerStatsAsXml", null, null);
+        log.info(xml);
+        assertTrue(xml.startsWith("<loadBalancerStats id=\"myBalancer\">"));
+        assertTrue(xml.contains("<processorStat index=\"0\" id=\"a\" inflight=\"0\""));
+        assertTrue(xml.contains("<processorStat index=\"1\" id=\"b\" inflight=\"0\""));
+
+        int completed = getMockEndpoint("mock:a").getReceivedCounter();
+        assertTrue(xml.contains("id=\"a\" inflight=\"0\" exchangesCompleted=\"" + completed + "\""));
+
+        // reset the statistics
+        mbeanServer.invoke(name, "reset", null, null);
+        xml = (String) mbeanServer.invoke(name, "dumpLoadBalancerStatsAsXml", null, null);
+        assertTrue(xml.contains("id=\"a\" inflight=\"0\" exchangesCompleted=\"0\" exchangesFailed=\"0\" averageProcessingTime=\"0\" lastProcessingTime=\"-1\""));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                    .loadBalance().id("myBalancer").leastLatency()
+                        .to("mock:a").id("a").to("mock:b").id("b");
+            }
+        };
+    }
+
+}
@@ -51,6 +51,12 @@ public class ManagedLoadBalancerTest extends ManagementTestSupport {
         
         Long total = (Long) mbeanServer.getAttribute(name, "ExchangesTotal");
         assertEquals(3, total.intValue());
+
+        String type = (String) mbeanServer.getAttribute(name, "LoadBalancerType");
+        assertEquals("RoundRobinLoadBalancer", type);
+
+        Integer size = (Integer) mbeanServer.getAttribute(name, "Size");
+        assertEquals(2, size.intValue());
     }
 
     @Override
@@ -0,0 +1,110 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.io.InputStream;
+import java.util.Set;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.StreamCache;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class ManagedStreamCachingStrategyTest extends ManagementTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getStreamCachingStrategy().setSpoolDirectory("target/cachedir");
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        return context;
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        deleteDirectory("target/cachedir");
+        super.setUp();
+    }
+
+    public void testStreamCachingStrategy() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(2);
+
+        template.sendBody("direct:start", "Hello");
+        template.sendBody("direct:start", "Hello World, this message should be spooled to disk");
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=services,*");
+
+        Set<ObjectName> names = mbeanServer.queryNames(on, null);
+        ObjectName name = null;
+        for (ObjectName service : names) {
+            if (service.toString().contains("DefaultStreamCachingStrategy")) {
+                name = service;
+                break;
+            }
+        }
+        assertNotNull("Cannot find DefaultStreamCachingStrategy", name);
+
+        String dir = (String) mbeanServer.getAttribute(name, "SpoolDirectory");
+        assertTrue(dir.endsWith("cachedir"));
+        Long threshold = (Long) mbeanServer.getAttribute(name, "SpoolThreshold");
+        assertEquals(16, threshold.longValue());
+        Long maxMemory = (Long) mbeanServer.getAttribute(name, "MaxMemory");
+        assertEquals(0, maxMemory.longValue());
+        Boolean enabled = (Boolean) mbeanServer.getAttribute(name, "StatisticsEnabled");
+        assertTrue(enabled);
+
+        Long memoryCounter = (Long) mbeanServer.getAttribute(name, "CacheMemoryCounter");
+        assertEquals(1, memoryCounter.longValue());
+        Long spoolCounter = (Long) mbeanServer.getAttribute(name, "CacheSpoolCounter");
+        assertEquals(1, spoolCounter.longValue());
+        Long spoolSize = (Long) mbeanServer.getAttribute(name, "CacheSpoolSize");
+        assertTrue(spoolSize > 16);
+        Integer files = (Integer) mbeanServer.getAttribute(name, "SpoolFileCounter");
+        assertEquals(0, files.intValue());
+
+        // reset
+        mbeanServer.invoke(name, "resetStatistics", null, null);
+
+        memoryCounter = (Long) mbeanServer.getAttribute(name, "CacheMemoryCounter");
+        assertEquals(0, memoryCounter.longValue());
+        spoolCounter = (Long) mbeanServer.getAttribute(name, "CacheSpoolCounter");
+        assertEquals(0, spoolCounter.longValue());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("foo")
+                    .convertBodyTo(InputStream.class)
+                    .convertBodyTo(StreamCache.class)
+                    .to("mock:a");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.Set;
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.w3c.dom.Document;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.converter.jaxp.XmlParserPool;
+import org.apache.camel.impl.DefaultCamelContext;
+
+/**
+ * @version 
+ */
+public class ManagedXmlParserPoolTest extends ManagementTestSupport {
+
+    public void testXmlParserPool() throws Exception {
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName on = ObjectName.getInstance("org.apache.camel:context=localhost/camel-1,type=services,*");
+
+        Set<ObjectName> names = mbeanServer.queryNames(on, null);
+        ObjectName name = null;
+        for (ObjectName service : names) {
+            if (service.toString().contains("XmlParserPool")) {
+                name = service;
+                break;
+            }
+        }
+        assertNotNull("Cannot find XmlParserPool", name);
+
+        getMockEndpoint("mock:a").expectedMessageCount(2);
+        template.sendBody("direct:start", "<hello>world</hello>");
+        template.sendBody("direct:start", "<bye>world</bye>");
+        assertMockEndpointsSatisfied();
+
+        // the pool is owned by this CamelContext
+        XmlParserPool pool = ((DefaultCamelContext) context).getXmlParserPool();
+        Integer max = (Integer) mbeanServer.getAttribute(name, "MaxPoolSize");
+        assertEquals(100, max.intValue());
+        Long acquired = (Long) mbeanServer.getAttribute(name, "DocumentBuilderAcquiredCounter");
+        assertEquals(2, acquired.longValue());
+        assertEquals(2, pool.getDocumentBuilderAcquiredCounter());
+        Integer size = (Integer) mbeanServer.getAttribute(name, "DocumentBuilderPoolSize");
+        assertEquals(1, size.intValue());
+
+        mbeanServer.invoke(name, "purge", null, null);
+        assertEquals(0, pool.getDocumentBuilderPoolSize());
+        mbeanServer.invoke(name, "resetStatistics", null, null);
+        assertEquals(0, pool.getDocumentBuilderAcquiredCounter());
+        mbeanServer.setAttribute(name, new Attribute("MaxPoolSize", 0));
+        assertEquals(0, pool.getMaxPoolSize());
+
+        // the pool is stopped together with the CamelContext
+        context.stop();
+        assertTrue(pool.isStopped());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .convertBodyTo(Document.class)
+                    .to("mock:a");
+            }
+        };
+    }
+
+}
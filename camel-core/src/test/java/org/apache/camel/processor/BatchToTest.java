@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.camel.BatchProducer;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultEndpoint;
+import org.apache.camel.impl.DefaultProducer;
+
+/**
+ * @version 
+ */
+public class BatchToTest extends ContextTestSupport {
+
+    private final List<Integer> batches = new CopyOnWriteArrayList<Integer>();
+
+    public void testBatchBySize() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(2, batches.size());
+        assertEquals(5, batches.get(0).intValue());
+        assertEquals(5, batches.get(1).intValue());
+    }
+
+    public void testBatchByTimeout() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).intValue());
+    }
+
+    public void testBatchFallbackToNonBatchProducer() throws Exception {
+        getMockEndpoint("mock:batch").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:start", "Hello World");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testTransactedNotBatched() throws Exception {
+        getMockEndpoint("mock:batch").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+
+        // the batch timeout is long so the exchange should be sent right away without waiting
+        long start = System.currentTimeMillis();
+        template.sendBody("direct:tx", "Hello World");
+        long delta = System.currentTimeMillis() - start;
+
+        assertMockEndpointsSatisfied();
+        assertTrue("Should not wait for the batch timeout, was " + delta, delta < 5000);
+    }
+
+    public void testInvalidBatchTimeout() throws Exception {
+        ScheduledExecutorService executor = context.getExecutorServiceManager().newSingleThreadScheduledExecutor(this, "BatchToTest");
+        try {
+            new BatchSendProcessor(context.getEndpoint("mock:batch"), 5, 0, executor, false);
+            fail("Should have thrown an exception");
+        } catch (IllegalArgumentException e) {
+            assertEquals("BatchTimeout must be a positive number, was: 0", e.getMessage());
+        } finally {
+            context.getExecutorServiceManager().shutdownNow(executor);
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:start?concurrentConsumers=10")
+                    .batchTo(new MyBatchEndpoint("mybatch", context)).batchSize(5).batchTimeout(1000).end()
+                    .to("mock:result");
+
+                from("direct:start")
+                    .batchTo("mock:batch").batchSize(5).batchTimeout(100).end()
+                    .to("mock:result");
+
+                from("direct:tx")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.getUnitOfWork().beginTransactedBy("tx");
+                        }
+                    })
+                    .batchTo("mock:batch").batchSize(5).batchTimeout(10000).end()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.getUnitOfWork().endTransactedBy("tx");
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+
+    private final class MyBatchEndpoint extends DefaultEndpoint {
+
+        private MyBatchEndpoint(String endpointUri, CamelContext camelContext) {
+            setCamelContext(camelContext);
+            setEndpointUri(endpointUri);
+        }
+
+        public Producer createProducer() throws Exception {
+            return new MyBatchProducer(this);
+        }
+
+        public Consumer createConsumer(Processor processor) throws Exception {
+            throw new UnsupportedOperationException("Consumer not supported");
+        }
+
+        public boolean isSingleton() {
+            return true;
+        }
+    }
+
+    private final class MyBatchProducer extends DefaultProducer implements BatchProducer {
+
+        private MyBatchProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        public void process(Exchange exchange) throws Exception {
+            fail("Should send in batches");
+        }
+
+        public void processBatch(List<Exchange> exchanges) throws Exception {
+            batches.add(exchanges.size());
+        }
+    }
+}
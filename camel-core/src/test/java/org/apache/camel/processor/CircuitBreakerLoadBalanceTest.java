@@ -0,0 +1,160 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+
+/**
+ * @version 
+ */
+public class CircuitBreakerLoadBalanceTest extends ContextTestSupport {
+
+    private volatile boolean fail = true;
+
+    public void testCircuitBreaker() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                if (fail) {
+                    throw new IllegalArgumentException("Damn");
+                }
+            }
+        });
+
+        // 2 failures opens the circuit
+        expectFailure("direct:start", IllegalArgumentException.class);
+        expectFailure("direct:start", IllegalArgumentException.class);
+
+        // and the next is rejected without calling the processor
+        expectFailure("direct:start", RejectedExecutionException.class);
+        assertEquals(2, result.getReceivedCounter());
+
+        // the circuit becomes half open where the probe succeeds and closes the circuit
+        fail = false;
+        Thread.sleep(600);
+        template.sendBody("direct:start", "Hello World");
+        template.sendBody("direct:start", "Bye World");
+        assertEquals(4, result.getReceivedCounter());
+    }
+
+    public void testCircuitBreakerProbeFails() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                throw new IllegalArgumentException("Damn");
+            }
+        });
+
+        expectFailure("direct:start", IllegalArgumentException.class);
+        expectFailure("direct:start", IllegalArgumentException.class);
+        expectFailure("direct:start", RejectedExecutionException.class);
+
+        // the probe fails and opens the circuit again
+        Thread.sleep(600);
+        expectFailure("direct:start", IllegalArgumentException.class);
+        expectFailure("direct:start", RejectedExecutionException.class);
+        assertEquals(3, result.getReceivedCounter());
+    }
+
+    public void testCircuitBreakerNotMatchingException() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                throw new IllegalStateException("Not counted");
+            }
+        });
+
+        for (int i = 0; i < 3; i++) {
+            expectFailure("direct:start", IllegalStateException.class);
+        }
+        assertEquals(3, result.getReceivedCounter());
+    }
+
+    public void testCircuitBreakerSkipsOpenProcessor() throws Exception {
+        getMockEndpoint("mock:a").whenAnyExchangeReceived(new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                throw new IllegalArgumentException("Damn");
+            }
+        });
+        getMockEndpoint("mock:b").expectedMinimumMessageCount(5);
+
+        for (int i = 0; i < 10; i++) {
+            try {
+                template.sendBody("direct:two", "Hello " + i);
+            } catch (CamelExecutionException e) {
+                assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+            }
+        }
+
+        assertMockEndpointsSatisfied();
+        // the circuit of a is open after 2 failures
+        assertEquals(2, getMockEndpoint("mock:a").getReceivedCounter());
+        assertEquals(8, getMockEndpoint("mock:b").getReceivedCounter());
+    }
+
+    public void testCircuitBreakerSlowCall() throws Exception {
+        getMockEndpoint("mock:slow").expectedMessageCount(2);
+
+        template.sendBody("direct:slow", "Hello World");
+        template.sendBody("direct:slow", "Bye World");
+
+        // the slow calls opens the circuit
+        expectFailure("direct:slow", RejectedExecutionException.class);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    private void expectFailure(String uri, Class<? extends Exception> type) {
+        try {
+            template.sendBody(uri, "Hello World");
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(type, e.getCause());
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(noErrorHandler());
+
+                from("direct:start")
+                    .loadBalance().circuitBreaker(2, 500, IllegalArgumentException.class)
+                        .to("mock:result");
+
+                from("direct:two")
+                    .loadBalance().circuitBreaker(2, 60000)
+                        .to("mock:a", "mock:b");
+
+                from("direct:slow")
+                    .loadBalance().circuitBreaker(2, 60000, 100, 60000, 1)
+                        .to("direct:delay");
+
+                from("direct:delay").delay(200).to("mock:slow");
+            }
+        };
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+
+/**
+ * @version 
+ */
+public class LeastInflightLoadBalanceTest extends ContextTestSupport {
+
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    public void testLeastInflight() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(1);
+        getMockEndpoint("mock:b").expectedMessageCount(1);
+
+        // the first message is kept in flight at the chosen processor
+        Future<Object> future = template.asyncRequestBody("direct:start", "Hello World");
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // so the second message must go to the other processor
+        template.sendBody("direct:start", "Bye World");
+
+        release.countDown();
+        future.get(5, TimeUnit.SECONDS);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().leastInflight()
+                        .to("direct:a", "direct:b");
+
+                Processor hold = new Processor() {
+                    public void process(Exchange exchange) throws Exception {
+                        if (entered.getCount() > 0) {
+                            entered.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                        }
+                    }
+                };
+
+                from("direct:a").process(hold).to("mock:a");
+                from("direct:b").process(hold).to("mock:b");
+            }
+        };
+    }
+}
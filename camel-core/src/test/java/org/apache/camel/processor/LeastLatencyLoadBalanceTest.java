@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.loadbalancer.LeastLatencyLoadBalancer;
+
+/**
+ * @version 
+ */
+public class LeastLatencyLoadBalanceTest extends ContextTestSupport {
+
+    private volatile boolean healthy;
+
+    public void testLeastLatency() throws Exception {
+        // the slow processor should only be probed once, and then the fast processor is preferred
+        getMockEndpoint("mock:slow").expectedMessageCount(1);
+        getMockEndpoint("mock:fast").expectedMessageCount(9);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testLeastLatencyTwoRandomChoices() throws Exception {
+        // with only two processors then the two random choices is the same as comparing all of them
+        getMockEndpoint("mock:slow").expectedMessageCount(1);
+        getMockEndpoint("mock:fast").expectedMessageCount(9);
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("direct:two", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testLeastLatencyFailFast() throws Exception {
+        // the failing processor is fast but should not be preferred
+        getMockEndpoint("mock:failing").expectedMessageCount(1);
+        getMockEndpoint("mock:ok").expectedMessageCount(9);
+
+        for (int i = 0; i < 10; i++) {
+            template.send("direct:failing", new Processor() {
+                public void process(Exchange exchange) throws Exception {
+                    exchange.getIn().setBody("Hello");
+                }
+            });
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    public void testLeastLatencyRecoverAfterFailures() throws Exception {
+        // the flaky processor fails once and is then avoided
+        getMockEndpoint("mock:flaky").expectedMessageCount(1);
+        getMockEndpoint("mock:steady").expectedMessageCount(4);
+
+        for (int i = 0; i < 5; i++) {
+            sendRecover();
+        }
+        assertMockEndpointsSatisfied();
+
+        // the flaky processor has recovered and is faster, so after the retry interval it should be probed and preferred
+        resetMocks();
+        healthy = true;
+        Thread.sleep(200);
+        getMockEndpoint("mock:flaky").expectedMessageCount(5);
+        getMockEndpoint("mock:steady").expectedMessageCount(0);
+
+        for (int i = 0; i < 5; i++) {
+            sendRecover();
+        }
+        assertMockEndpointsSatisfied();
+    }
+
+    private void sendRecover() {
+        template.send("direct:recover", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+                exchange.getIn().setBody("Hello");
+            }
+        });
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                    .loadBalance().leastLatency()
+                        .to("direct:slow", "mock:fast");
+
+                from("direct:two")
+                    .loadBalance().leastLatency(true)
+                        .to("direct:slow", "mock:fast");
+
+                from("direct:failing")
+                    .loadBalance().leastLatency()
+                        .to("direct:fail", "direct:ok");
+
+                LeastLatencyLoadBalancer recover = new LeastLatencyLoadBalancer();
+                recover.setFailureRetryInterval(100);
+                from("direct:recover")
+                    .loadBalance(recover)
+                        .to("direct:flaky", "direct:steady");
+
+                from("direct:slow").delay(200).to("mock:slow");
+                from("direct:fail").to("mock:failing").throwException(new IllegalArgumentException("Forced"));
+                from("direct:ok").delay(20).to("mock:ok");
+                from("direct:flaky").to("mock:flaky")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            if (!healthy) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }
+                    });
+                from("direct:steady").delay(20).to("mock:steady");
+            }
+        };
+    }
+}
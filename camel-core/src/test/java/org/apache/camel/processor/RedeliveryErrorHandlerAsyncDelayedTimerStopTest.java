@@ -0,0 +1,79 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.util.AsyncProcessorConverterHelper;
+
+/**
+ * @version 
+ */
+public class RedeliveryErrorHandlerAsyncDelayedTimerStopTest extends ContextTestSupport {
+
+    public void testPendingRedeliveryFailedOnStop() throws Exception {
+        Producer producer = context.getEndpoint("direct:start").createProducer();
+        producer.start();
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        Exchange exchange = producer.createExchange();
+        exchange.getIn().setBody("Hello World");
+        boolean sync = AsyncProcessorConverterHelper.convert(producer).process(exchange, new AsyncCallback() {
+            public void done(boolean doneSync) {
+                latch.countDown();
+            }
+        });
+        assertFalse("Should continue asynchronously", sync);
+
+        // the redelivery is parked on the timer
+        assertEquals(1, ((DefaultCamelContext) context).getErrorHandlerRedeliveryTimer().getPendingCount());
+
+        // do not wait for the pending redelivery when stopping
+        context.getShutdownStrategy().setTimeout(1);
+        context.stop();
+
+        // the redelivery cannot be run as the thread pool is stopped, so the exchange should be failed
+        assertTrue("Callback should be invoked", latch.await(5, TimeUnit.SECONDS));
+        assertIsInstanceOf(RejectedExecutionException.class, exchange.getException());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(defaultErrorHandler().maximumRedeliveries(1).redeliveryDelay(60000).asyncDelayedRedelivery());
+
+                from("direct:start")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            throw new IllegalArgumentException("Forced");
+                        }
+                    });
+            }
+        };
+    }
+}
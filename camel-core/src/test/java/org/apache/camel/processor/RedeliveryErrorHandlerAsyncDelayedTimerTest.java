@@ -0,0 +1,73 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+
+/**
+ * @version 
+ */
+public class RedeliveryErrorHandlerAsyncDelayedTimerTest extends ContextTestSupport {
+
+    public void testRedeliveryParkedOnTimer() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedMessageCount(50);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("seda:start", "Message " + i);
+        }
+
+        // the redeliveries is waiting on the timer without blocking the seda consumer
+        int pending = 0;
+        for (int i = 0; i < 50 && pending < 50; i++) {
+            pending = ((DefaultCamelContext) context).getErrorHandlerRedeliveryTimer().getPendingCount();
+            Thread.sleep(20);
+        }
+        assertEquals(50, pending);
+        assertEquals(0, result.getReceivedCounter());
+
+        assertMockEndpointsSatisfied();
+        assertEquals(0, ((DefaultCamelContext) context).getErrorHandlerRedeliveryTimer().getPendingCount());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(defaultErrorHandler().maximumRedeliveries(3).redeliveryDelay(1000)
+                        .useExponentialBackOff().asyncDelayedRedelivery());
+
+                from("seda:start")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            Integer counter = exchange.getIn().getHeader(Exchange.REDELIVERY_COUNTER, Integer.class);
+                            if (counter == null) {
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }
+                    })
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -59,6 +59,10 @@ public class MessageHelperTest extends TestCase {
             public void writeTo(OutputStream os) throws IOException {
                 // noop
             }
+
+            public StreamCache copy() throws IOException {
+                return null;
+            }
         });
         MessageHelper.resetStreamCache(message);
         assertTrue("Should have reset the stream cache", reset.get());
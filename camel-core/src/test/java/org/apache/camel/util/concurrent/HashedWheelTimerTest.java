@@ -0,0 +1,195 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class HashedWheelTimerTest extends TestCase {
+
+    private HashedWheelTimer timer;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        timer = new HashedWheelTimer(new CamelThreadFactory("#name#", "HashedWheelTimerTest", true), 10, TimeUnit.MILLISECONDS, 8);
+        timer.start();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        timer.stop();
+        super.tearDown();
+    }
+
+    public void testSchedule() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        }, 200, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, timer.getPendingCount());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        long delta = System.currentTimeMillis() - start;
+        assertTrue("Should not fire before the delay, was " + delta, delta >= 190);
+
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+        assertEquals(0, timer.getPendingCount());
+    }
+
+    public void testScheduleMoreRoundsThanWheelSize() throws Exception {
+        // the wheel has 8 buckets of 10 millis, so this is several rounds
+        final CountDownLatch latch = new CountDownLatch(1);
+        long start = System.currentTimeMillis();
+        timer.schedule(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        }, 300, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        long delta = System.currentTimeMillis() - start;
+        assertTrue("Should not fire before the delay, was " + delta, delta >= 290);
+    }
+
+    public void testOrder() throws Exception {
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch latch = new CountDownLatch(20);
+
+        // schedule with decreasing delays and the same delay, which should be run by deadline and then in order scheduled
+        for (int i = 0; i < 10; i++) {
+            final int num = i;
+            timer.schedule(new Runnable() {
+                public void run() {
+                    order.add(num);
+                    latch.countDown();
+                }
+            }, 200 - i * 10, TimeUnit.MILLISECONDS);
+        }
+        for (int i = 10; i < 20; i++) {
+            final int num = i;
+            timer.schedule(new Runnable() {
+                public void run() {
+                    order.add(num);
+                    latch.countDown();
+                }
+            }, 300, TimeUnit.MILLISECONDS);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(20, order.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(9 - i, order.get(i).intValue());
+        }
+        for (int i = 10; i < 20; i++) {
+            assertEquals(i, order.get(i).intValue());
+        }
+    }
+
+    public void testCancel() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        HashedWheelTimer.Timeout timeout = timer.schedule(new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        }, 100, TimeUnit.MILLISECONDS);
+
+        assertEquals(1, timer.getPendingCount());
+        assertTrue(timeout.cancel());
+        assertTrue(timeout.isCancelled());
+        assertEquals(0, timer.getPendingCount());
+
+        assertFalse(latch.await(300, TimeUnit.MILLISECONDS));
+        assertFalse(timeout.isExpired());
+    }
+
+    public void testIdleAndResume() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(2);
+        Runnable task = new Runnable() {
+            public void run() {
+                latch.countDown();
+            }
+        };
+        timer.schedule(task, 10, TimeUnit.MILLISECONDS);
+
+        // let the timer become idle before scheduling again
+        Thread.sleep(200);
+        assertEquals(1, latch.getCount());
+
+        timer.schedule(task, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    public void testScheduleWhenStopped() throws Exception {
+        timer.schedule(new Runnable() {
+            public void run() {
+            }
+        }, 1, TimeUnit.HOURS);
+        timer.stop();
+        assertEquals(0, timer.getPendingCount());
+
+        try {
+            timer.schedule(new Runnable() {
+                public void run() {
+                }
+            }, 10, TimeUnit.MILLISECONDS);
+            fail("Should have thrown exception");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+    }
+
+    public void testRunPendingOnStop() throws Exception {
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        timer.schedule(new Runnable() {
+            public void run() {
+                order.add("B");
+            }
+        }, 2, TimeUnit.HOURS);
+        timer.schedule(new Runnable() {
+            public void run() {
+                order.add("A");
+            }
+        }, 1, TimeUnit.HOURS);
+        HashedWheelTimer.Timeout cancelled = timer.schedule(new Runnable() {
+            public void run() {
+                order.add("C");
+            }
+        }, 1, TimeUnit.HOURS);
+        assertTrue(cancelled.cancel());
+
+        // the pending timeouts should be run in order when stopping
+        timer.stop();
+        assertEquals(0, timer.getPendingCount());
+        assertEquals(2, order.size());
+        assertEquals("A", order.get(0));
+        assertEquals("B", order.get(1));
+    }
+}
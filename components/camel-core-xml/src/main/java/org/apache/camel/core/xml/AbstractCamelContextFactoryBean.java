@@ -78,6 +78,7 @@ import org.apache.camel.spi.PackageScanClassResolver;
 import org.apache.camel.spi.PackageScanFilter;
 import org.apache.camel.spi.ProcessorFactory;
 import org.apache.camel.spi.ShutdownStrategy;
+import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.spi.UuidGenerator;
@@ -225,6 +226,12 @@ public abstract class AbstractCamelContextFactoryBean<T extends ModelCamelContex
             LOG.info("Using custom ShutdownStrategy: " + shutdownStrategy);
             getContext().setShutdownStrategy(shutdownStrategy);
         }
+        // stream caching
+        StreamCachingStrategy streamCachingStrategy = getBeanForType(StreamCachingStrategy.class);
+        if (streamCachingStrategy != null) {
+            LOG.info("Using custom StreamCachingStrategy: " + streamCachingStrategy);
+            getContext().setStreamCachingStrategy(streamCachingStrategy);
+        }
         // add global interceptors
         Map<String, InterceptStrategy> interceptStrategies = getContext().getRegistry().lookupByType(InterceptStrategy.class);
         if (interceptStrategies != null && !interceptStrategies.isEmpty()) {
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.file.remote;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.camel.Processor;
@@ -39,6 +40,11 @@ public class FtpConsumer extends RemoteFileConsumer<FTPFile> {
 
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<FTPFile>> fileList, int depth) {
+        if (isParallelScan()) {
+            // the parallel scan lists the directories using absolute paths so stepwise is not in use
+            return pollDirectoryInParallel(FileUtil.stripTrailingSeparator(fileName), fileList);
+        }
+
         String currentDir = null;
         if (isStepwise()) {
             // must remember current dir so we stay in that directory after the poll
@@ -135,6 +141,37 @@ public class FtpConsumer extends RemoteFileConsumer<FTPFile> {
         return true;
     }
 
+    @Override
+    protected boolean isParallelScanSupported() {
+        return true;
+    }
+
+    @Override
+    protected List<GenericFile<FTPFile>> listDirectory(String directory) throws Exception {
+        RemoteFileOperations<FTPFile> scanOperations = acquireScanOperations();
+        List<FTPFile> files;
+        try {
+            files = scanOperations.listFiles(directory);
+        } catch (Exception e) {
+            releaseScanOperations(scanOperations, false);
+            throw e;
+        }
+        releaseScanOperations(scanOperations, true);
+
+        if (files == null) {
+            return null;
+        }
+        List<GenericFile<FTPFile>> answer = new ArrayList<GenericFile<FTPFile>>(files.size());
+        for (FTPFile file : files) {
+            if (file.isDirectory() || file.isFile()) {
+                answer.add(asRemoteFile(directory, file));
+            } else {
+                log.debug("Ignoring unsupported remote file type: " + file);
+            }
+        }
+        return answer;
+    }
+
     private RemoteFile<FTPFile> asRemoteFile(String absolutePath, FTPFile file) {
         RemoteFile<FTPFile> answer = new RemoteFile<FTPFile>();
 
@@ -17,6 +17,10 @@
 package org.apache.camel.component.file.remote;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
@@ -30,6 +34,8 @@ import org.apache.camel.util.FileUtil;
  */
 public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
     protected boolean loggedIn;
+    private final Queue<RemoteFileOperations<T>> idleScanOperations = new ConcurrentLinkedQueue<RemoteFileOperations<T>>();
+    private final List<RemoteFileOperations<T>> scanOperations = new CopyOnWriteArrayList<RemoteFileOperations<T>>();
 
     public RemoteFileConsumer(RemoteFileEndpoint<T> endpoint, Processor processor, RemoteFileOperations<T> operations) {
         super(endpoint, processor, operations);
@@ -83,9 +89,61 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
         if (getEndpoint().isDisconnect()) {
             log.trace("postPollCheck disconnect from: {}", getEndpoint());
             disconnect();
+            disconnectScanOperations();
         }
     }
 
+    /**
+     * Acquires operations from the pool of connections used for scanning directories in parallel.
+     * <p/>
+     * The pool is bounded by the size of the scan thread pool, as each scan thread uses at most one
+     * connection at a time.
+     *
+     * @return connected operations which must be given back using {@link #releaseScanOperations(RemoteFileOperations, boolean)}
+     * @throws Exception is thrown if not possible to connect
+     */
+    protected RemoteFileOperations<T> acquireScanOperations() throws Exception {
+        RemoteFileOperations<T> answer = idleScanOperations.poll();
+        if (answer == null) {
+            log.debug("Creating new connection for scanning directories on: {}", remoteServer());
+            answer = getEndpoint().createRemoteFileOperations();
+            scanOperations.add(answer);
+        }
+
+        try {
+            if (!answer.isConnected() && !answer.connect((RemoteFileConfiguration) endpoint.getConfiguration())) {
+                throw new GenericFileOperationFailedException("Cannot connect/login to: " + remoteServer());
+            }
+        } catch (Exception e) {
+            releaseScanOperations(answer, false);
+            throw e;
+        }
+        return answer;
+    }
+
+    /**
+     * Gives back operations acquired using {@link #acquireScanOperations()}.
+     *
+     * @param scanOperations the operations
+     * @param reuse          whether the operations can be reused, or should be disconnected and discarded such as after an error
+     */
+    protected void releaseScanOperations(RemoteFileOperations<T> scanOperations, boolean reuse) {
+        if (reuse && isRunAllowed()) {
+            idleScanOperations.offer(scanOperations);
+        } else {
+            this.scanOperations.remove(scanOperations);
+            disconnect(scanOperations);
+        }
+    }
+
+    protected void disconnectScanOperations() {
+        for (RemoteFileOperations<T> scanOperation : scanOperations) {
+            disconnect(scanOperation);
+        }
+        scanOperations.clear();
+        idleScanOperations.clear();
+    }
+
     @Override
     protected void processExchange(Exchange exchange) {
         // mark the exchange to be processed synchronously as the ftp client is not thread safe
@@ -98,6 +156,7 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
     protected void doStop() throws Exception {
         super.doStop();
         disconnect();
+        disconnectScanOperations();
     }
 
     protected void disconnect() {
@@ -118,6 +177,16 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
         }
     }
 
+    private void disconnect(RemoteFileOperations<T> operations) {
+        try {
+            if (operations.isConnected()) {
+                operations.disconnect();
+            }
+        } catch (GenericFileOperationFailedException e) {
+            log.debug("Error occurred while disconnecting scan connection from " + remoteServer() + ". This exception will be ignored.", e);
+        }
+    }
+
     protected void recoverableConnectIfNecessary() throws Exception {
         try {
             connectIfNecessary();
@@ -158,8 +227,9 @@ public abstract class RemoteFileConsumer<T> extends GenericFileConsumer<T> {
     @Override
     protected boolean isMatched(GenericFile<T> file, String doneFileName) {
         // ftp specific as we need to cater for stepwise
-        if (getEndpoint().getConfiguration().isStepwise()) {
+        if (getEndpoint().getConfiguration().isStepwise() && !isParallelScan()) {
             // stepwise enabled, so done file should always be without path
+            // (a parallel scan does not change directory so the path is kept)
             doneFileName = FileUtil.stripPath(doneFileName);
         }
 
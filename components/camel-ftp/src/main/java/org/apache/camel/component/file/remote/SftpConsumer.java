@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.file.remote;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.jcraft.jsch.ChannelSftp;
@@ -38,6 +39,11 @@ public class SftpConsumer extends RemoteFileConsumer<ChannelSftp.LsEntry> {
 
     @Override
     protected boolean pollDirectory(String fileName, List<GenericFile<ChannelSftp.LsEntry>> fileList, int depth) {
+        if (isParallelScan()) {
+            // the parallel scan lists the directories using absolute paths so stepwise is not in use
+            return pollDirectoryInParallel(FileUtil.stripTrailingSeparator(fileName), fileList);
+        }
+
         String currentDir = null;
         if (isStepwise()) {
             // must remember current dir so we stay in that directory after the poll
@@ -134,6 +140,33 @@ public class SftpConsumer extends RemoteFileConsumer<ChannelSftp.LsEntry> {
         return true;
     }
 
+    @Override
+    protected boolean isParallelScanSupported() {
+        return true;
+    }
+
+    @Override
+    protected List<GenericFile<ChannelSftp.LsEntry>> listDirectory(String directory) throws Exception {
+        RemoteFileOperations<ChannelSftp.LsEntry> scanOperations = acquireScanOperations();
+        List<ChannelSftp.LsEntry> files;
+        try {
+            files = scanOperations.listFiles(directory);
+        } catch (Exception e) {
+            releaseScanOperations(scanOperations, false);
+            throw e;
+        }
+        releaseScanOperations(scanOperations, true);
+
+        if (files == null) {
+            return null;
+        }
+        List<GenericFile<ChannelSftp.LsEntry>> answer = new ArrayList<GenericFile<ChannelSftp.LsEntry>>(files.size());
+        for (ChannelSftp.LsEntry file : files) {
+            answer.add(asRemoteFile(directory, file));
+        }
+        return answer;
+    }
+
     private RemoteFile<ChannelSftp.LsEntry> asRemoteFile(String absolutePath, ChannelSftp.LsEntry file) {
         RemoteFile<ChannelSftp.LsEntry> answer = new RemoteFile<ChannelSftp.LsEntry>();
 
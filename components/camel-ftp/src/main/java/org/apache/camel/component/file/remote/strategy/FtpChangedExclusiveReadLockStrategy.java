@@ -23,6 +23,7 @@ import org.apache.camel.component.file.GenericFile;
 import org.apache.camel.component.file.GenericFileEndpoint;
 import org.apache.camel.component.file.GenericFileExclusiveReadLockStrategy;
 import org.apache.camel.component.file.GenericFileOperations;
+import org.apache.camel.component.file.strategy.ChangedReadLockTracker;
 import org.apache.camel.util.StopWatch;
 import org.apache.commons.net.ftp.FTPFile;
 import org.slf4j.Logger;
@@ -34,6 +35,8 @@ public class FtpChangedExclusiveReadLockStrategy implements GenericFileExclusive
     private long checkInterval = 5000;
     private long minLength = 1;
     private boolean fastExistsCheck;
+    private boolean nonBlocking;
+    private final ChangedReadLockTracker tracker = new ChangedReadLockTracker();
 
     @Override
     public void prepareOnStartup(GenericFileOperations<FTPFile> tGenericFileOperations, GenericFileEndpoint<FTPFile> tGenericFileEndpoint) throws Exception {
@@ -41,6 +44,15 @@ public class FtpChangedExclusiveReadLockStrategy implements GenericFileExclusive
     }
 
     public boolean acquireExclusiveReadLock(GenericFileOperations<FTPFile> operations, GenericFile<FTPFile> file, Exchange exchange) throws Exception {
+        if (nonBlocking) {
+            // use the length and timestamp from the poll listing so we do not need to list the file again
+            boolean unchanged = tracker.isUnchanged(file.getAbsoluteFilePath(), file.getFileLength(), file.getLastModified(), minLength, checkInterval);
+            if (!unchanged) {
+                LOG.trace("File is new or changed since last poll, will skip the file for now: " + file);
+            }
+            return unchanged;
+        }
+
         boolean exclusive = false;
 
         LOG.trace("Waiting for exclusive read lock to file: " + file);
@@ -150,4 +162,12 @@ public class FtpChangedExclusiveReadLockStrategy implements GenericFileExclusive
     public void setFastExistsCheck(boolean fastExistsCheck) {
         this.fastExistsCheck = fastExistsCheck;
     }
+
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
+    public void setNonBlocking(boolean nonBlocking) {
+        this.nonBlocking = nonBlocking;
+    }
 }
\ No newline at end of file
@@ -130,6 +130,10 @@ public final class SftpProcessStrategyFactory {
                 if (fastExistsCheck != null) {
                     readLockStrategy.setFastExistsCheck(fastExistsCheck);
                 }
+                Boolean nonBlocking = (Boolean) params.get("readLockNonBlocking");
+                if (nonBlocking != null) {
+                    readLockStrategy.setNonBlocking(nonBlocking);
+                }
                 return readLockStrategy;
             }
         }
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+/**
+ *
+ */
+public class FtpChangedReadLockNonBlockingTest extends FtpServerTestSupport {
+
+    private volatile boolean writing;
+
+    protected String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/changed?password=admin&readLock=changed&readLockNonBlocking=true"
+                + "&readLockCheckInterval=1000&delete=true&delay=100";
+    }
+
+    @Test
+    public void testChangedReadLockNonBlocking() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+        mock.expectedFileExists("target/changed/out/slowfile.dat");
+        MockEndpoint hello = getMockEndpoint("mock:hello");
+        hello.expectedMessageCount(1);
+
+        createDirectory(FTP_ROOT_DIR + "/changed");
+        template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/changed", "Hello World", Exchange.FILE_NAME, "hello.dat");
+
+        writing = true;
+        Thread writer = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    writeSlowFile();
+                } catch (Exception e) {
+                    // ignore
+                } finally {
+                    writing = false;
+                }
+            }
+        });
+        writer.start();
+
+        // the ready file should be processed while the slow file is still being written
+        hello.assertIsSatisfied();
+        assertTrue("Slow file should still be written", writing);
+
+        assertMockEndpointsSatisfied();
+
+        String content = context.getTypeConverter().convertTo(String.class, new File("target/changed/out/slowfile.dat").getAbsoluteFile());
+        String[] lines = content.split(LS);
+        assertEquals("There should be 20 lines in the file", 20, lines.length);
+        for (int i = 0; i < 20; i++) {
+            assertEquals("Line " + i, lines[i]);
+        }
+    }
+
+    private void writeSlowFile() throws Exception {
+        FileOutputStream fos = new FileOutputStream(FTP_ROOT_DIR + "/changed/slowfile.dat", true);
+        for (int i = 0; i < 20; i++) {
+            fos.write(("Line " + i + LS).getBytes());
+            fos.flush();
+            Thread.sleep(200);
+        }
+        fos.close();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(getFtpUrl()).to("file:target/changed/out")
+                    .filter(header(Exchange.FILE_NAME).isEqualTo("hello.dat")).to("mock:hello").end()
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
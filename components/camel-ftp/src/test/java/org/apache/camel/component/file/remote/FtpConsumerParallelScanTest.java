@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file.remote;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for scanning the sub directories in parallel using additional connections
+ */
+public class FtpConsumerParallelScanTest extends FtpServerTestSupport {
+
+    protected String getFtpUrl() {
+        return "ftp://admin@localhost:" + getPort() + "/parallelscan?password=admin&recursive=true&parallelScan=true"
+                + "&parallelScanPoolSize=2&move=.done&initialDelay=0&delay=5000";
+    }
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        prepareFtpServer();
+    }
+
+    @Test
+    public void testParallelScan() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedBodiesReceivedInAnyOrder("Hello", "Bye", "Goodday", "Cake", "Done");
+        mock.expectedFileExists(FTP_ROOT_DIR + "/parallelscan/.done/hello.txt");
+        mock.expectedFileExists(FTP_ROOT_DIR + "/parallelscan/bye/.done/bye.txt");
+        mock.expectedFileExists(FTP_ROOT_DIR + "/parallelscan/goodday/cake/.done/cake.txt");
+
+        context.startRoute("foo");
+
+        assertMockEndpointsSatisfied();
+
+        // the file name should be the relative path as when not scanning in parallel
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            String name = exchange.getIn().getHeader(Exchange.FILE_NAME, String.class);
+            assertTrue("Unexpected file name: " + name, name.endsWith(exchange.getIn().getBody(String.class).toLowerCase() + ".txt"));
+        }
+    }
+
+    private void prepareFtpServer() throws Exception {
+        template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/parallelscan", "Hello", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/parallelscan", "Bye", Exchange.FILE_NAME, "bye/bye.txt");
+        template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/parallelscan", "Goodday", Exchange.FILE_NAME, "goodday/goodday.txt");
+        template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/parallelscan", "Cake", Exchange.FILE_NAME, "goodday/cake/cake.txt");
+        template.sendBodyAndHeader("file:" + FTP_ROOT_DIR + "/parallelscan", "Done", Exchange.FILE_NAME, "goodday/cake/done.txt");
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(getFtpUrl()).routeId("foo").noAutoStartup()
+                    .convertBodyTo(String.class).to("mock:result");
+            }
+        };
+    }
+}
@@ -22,6 +22,8 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Map;
@@ -312,7 +314,10 @@ public class DefaultHttpBinding implements HttpBinding {
 
         // prefer streaming
         InputStream is;
-        if (checkChunked(message, exchange)) {
+        if (message.getBody() instanceof ReadableByteChannel) {
+            // read the channel in chunks, as there is no type converter from a channel to a stream
+            is = Channels.newInputStream((ReadableByteChannel) message.getBody());
+        } else if (checkChunked(message, exchange)) {
             is = message.getBody(InputStream.class);
         } else {
             // try to use input stream first, so we can copy directly
@@ -19,6 +19,8 @@ package org.apache.camel.component.http4;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.camel.Endpoint;
 import org.apache.camel.ResolveEndpointFailedException;
@@ -27,6 +29,7 @@ import org.apache.camel.impl.HeaderFilterStrategyComponent;
 import org.apache.camel.spi.HeaderFilterStrategy;
 import org.apache.camel.util.IntrospectionSupport;
 import org.apache.camel.util.URISupport;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.jsse.SSLContextParameters;
 import org.apache.http.auth.params.AuthParamBean;
 import org.apache.http.client.params.ClientParamBean;
@@ -40,6 +43,12 @@ import org.apache.http.conn.ssl.SSLSocketFactory;
 import org.apache.http.conn.ssl.X509HostnameVerifier;
 import org.apache.http.cookie.params.CookieSpecParamBean;
 import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.nio.client.DefaultHttpAsyncClient;
+import org.apache.http.impl.nio.conn.PoolingClientAsyncConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.reactor.IOReactorException;
 import org.apache.http.params.BasicHttpParams;
 import org.apache.http.params.HttpConnectionParamBean;
 import org.apache.http.params.HttpParams;
@@ -59,6 +68,8 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
 
     protected HttpClientConfigurer httpClientConfigurer;
     protected ClientConnectionManager clientConnectionManager;
+    protected HttpAsyncClient httpAsyncClient;
+    protected ExecutorService asyncClientExecutorService;
     protected HttpBinding httpBinding;
     protected HttpContext httpContext;
     protected SSLContextParameters sslContextParameters;
@@ -243,6 +254,13 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
         if (httpMethodRestrict != null) {
             endpoint.setHttpMethodRestrict(httpMethodRestrict);
         }
+        if (endpoint.isAsyncClient()) {
+            // the async client is shared by all the endpoints so the client settings of the endpoint cannot be applied
+            if (endpoint.getHttpClientConfigurer() != null || (secure && sslContextParameters != null)) {
+                throw new ResolveEndpointFailedException(uri, "The asyncClient option cannot be used together with"
+                        + " sslContextParameters, httpClientConfigurer, authentication or proxy settings");
+            }
+        }
         endpoint.setHttpContext(getHttpContext());
         if (httpContext != null) {
             endpoint.setHttpContext(httpContext);
@@ -355,6 +373,59 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
         this.clientConnectionManager = clientConnectionManager;
     }
 
+    /**
+     * Gets the non-blocking {@link HttpAsyncClient} shared by the producers which has the <tt>asyncClient</tt>
+     * option enabled. The client is created and started on first use.
+     */
+    public synchronized HttpAsyncClient getHttpAsyncClient() throws IOReactorException {
+        if (httpAsyncClient == null) {
+            httpAsyncClient = createHttpAsyncClient();
+            httpAsyncClient.start();
+        }
+        return httpAsyncClient;
+    }
+
+    public synchronized void setHttpAsyncClient(HttpAsyncClient httpAsyncClient) {
+        this.httpAsyncClient = httpAsyncClient;
+    }
+
+    /**
+     * Gets the thread pool which continues routing the exchanges when the response of the
+     * {@link HttpAsyncClient} is complete, so the I/O threads of the client is not used for routing.
+     * The thread pool is created on first use.
+     */
+    public synchronized ExecutorService getAsyncClientExecutorService() {
+        if (asyncClientExecutorService == null) {
+            asyncClientExecutorService = getCamelContext().getExecutorServiceManager().newDefaultThreadPool(this, "HttpAsyncClientCallback");
+        }
+        return asyncClientExecutorService;
+    }
+
+    public synchronized void setAsyncClientExecutorService(ExecutorService asyncClientExecutorService) {
+        this.asyncClientExecutorService = asyncClientExecutorService;
+    }
+
+    /**
+     * Factory method to create the {@link HttpAsyncClient}, which pools the connections per route
+     * using the same limits as the blocking connection manager.
+     */
+    protected HttpAsyncClient createHttpAsyncClient() throws IOReactorException {
+        String pattern = getCamelContext().getExecutorServiceManager().getThreadNamePattern();
+        ThreadFactory factory = new CamelThreadFactory(pattern, "HttpAsyncClient", true);
+        DefaultConnectingIOReactor ioReactor = new DefaultConnectingIOReactor(new IOReactorConfig(), factory);
+
+        PoolingClientAsyncConnectionManager connectionManager = new PoolingClientAsyncConnectionManager(ioReactor);
+        if (getMaxTotalConnections() > 0) {
+            connectionManager.setMaxTotal(getMaxTotalConnections());
+        }
+        if (getConnectionsPerRoute() > 0) {
+            connectionManager.setDefaultMaxPerRoute(getConnectionsPerRoute());
+        }
+        LOG.info("Created ClientAsyncConnectionManager " + connectionManager);
+
+        return new DefaultHttpAsyncClient(connectionManager);
+    }
+
     public HttpBinding getHttpBinding() {
         return httpBinding;
     }
@@ -419,6 +490,18 @@ public class HttpComponent extends HeaderFilterStrategyComponent {
             clientConnectionManager.shutdown();
             clientConnectionManager = null;
         }
+        // shutdown the async client which also closes its connections
+        synchronized (this) {
+            if (httpAsyncClient != null) {
+                LOG.info("Shutting down HttpAsyncClient: " + httpAsyncClient);
+                httpAsyncClient.shutdown();
+                httpAsyncClient = null;
+            }
+            if (asyncClientExecutorService != null) {
+                getCamelContext().getExecutorServiceManager().shutdown(asyncClientExecutorService);
+                asyncClientExecutorService = null;
+            }
+        }
         super.doStop();
     }
 }
@@ -18,6 +18,7 @@ package org.apache.camel.component.http4;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.camel.PollingConsumer;
 import org.apache.camel.Producer;
@@ -32,6 +33,7 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.conn.ClientConnectionManager;
 import org.apache.http.conn.params.ConnRoutePNames;
 import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.nio.client.HttpAsyncClient;
 import org.apache.http.params.BasicHttpParams;
 import org.apache.http.params.HttpParams;
 import org.apache.http.protocol.HttpContext;
@@ -59,6 +61,7 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
     private boolean bridgeEndpoint;
     private boolean matchOnUriPrefix;
     private boolean chunked = true;
+    private boolean asyncClient;
     private boolean disableStreamCache;
     private boolean transferException;
     private boolean traceEnabled;
@@ -113,6 +116,26 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
         this.httpClient = httpClient;
     }
 
+    /**
+     * Gets the non-blocking HttpAsyncClient shared by the component, to be used by
+     * {@link org.apache.camel.component.http4.HttpProducer} when the <tt>asyncClient</tt> option is enabled
+     */
+    public HttpAsyncClient getHttpAsyncClient() {
+        try {
+            return component.getHttpAsyncClient();
+        } catch (Exception e) {
+            throw ObjectHelper.wrapRuntimeCamelException(e);
+        }
+    }
+
+    /**
+     * Gets the thread pool shared by the component, which continues routing the exchanges
+     * when the response of the <tt>asyncClient</tt> is complete
+     */
+    public ExecutorService getAsyncClientExecutorService() {
+        return component.getAsyncClientExecutorService();
+    }
+
     /**
      * Factory method to create a new {@link HttpClient} instance
      * <p/>
@@ -314,6 +337,20 @@ public class HttpEndpoint extends DefaultPollingEndpoint implements HeaderFilter
         this.chunked = chunked;
     }
 
+    public boolean isAsyncClient() {
+        return asyncClient;
+    }
+
+    /**
+     * Whether to send the request using the non-blocking HttpAsyncClient shared by the component.
+     * <p/>
+     * As the client is shared, this cannot be used together with <tt>sslContextParameters</tt>,
+     * <tt>httpClientConfigurer</tt>, authentication or proxy settings.
+     */
+    public void setAsyncClient(boolean asyncClient) {
+        this.asyncClient = asyncClient;
+    }
+
     public boolean isTransferException() {
         return transferException;
     }
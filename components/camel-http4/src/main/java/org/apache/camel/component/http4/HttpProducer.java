@@ -29,10 +29,15 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.apache.camel.StreamCache;
 import org.apache.camel.component.file.GenericFile;
 import org.apache.camel.component.http4.helper.HttpHelper;
 import org.apache.camel.converter.stream.CachedOutputStream;
@@ -51,12 +56,16 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpRequestBase;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
 import org.apache.http.entity.ByteArrayEntity;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.FileEntity;
 import org.apache.http.entity.InputStreamEntity;
 import org.apache.http.entity.StringEntity;
+import org.apache.http.nio.client.HttpAsyncClient;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
 import org.apache.http.params.CoreProtocolPNames;
+import org.apache.http.params.DefaultedHttpParams;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
@@ -65,9 +74,11 @@ import org.slf4j.LoggerFactory;
 /**
  * @version 
  */
-public class HttpProducer extends DefaultProducer {
+public class HttpProducer extends DefaultProducer implements AsyncProcessor {
     private static final transient Logger LOG = LoggerFactory.getLogger(HttpProducer.class);
     private HttpClient httpClient;
+    private HttpAsyncClient httpAsyncClient;
+    private ExecutorService asyncClientExecutorService;
     private HttpContext httpContext;
     private boolean throwException;
     private boolean transferException;
@@ -80,7 +91,130 @@ public class HttpProducer extends DefaultProducer {
         this.transferException = endpoint.isTransferException();
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (getEndpoint().isAsyncClient()) {
+            // the async client and its thread pool is created and started by the component on first use
+            this.httpAsyncClient = getEndpoint().getHttpAsyncClient();
+            this.asyncClientExecutorService = getEndpoint().getAsyncClientExecutorService();
+        }
+    }
+
     public void process(Exchange exchange) throws Exception {
+        HttpRequestBase httpRequest = createRequest(exchange);
+
+        // lets store the result in the output message.
+        HttpResponse httpResponse = null;
+        try {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI().toString());
+            }
+            httpResponse = executeMethod(httpRequest);
+            handleResponse(exchange, httpRequest, httpResponse);
+        } finally {
+            if (httpResponse != null) {
+                try {
+                    EntityUtils.consume(httpResponse.getEntity());
+                } catch (IOException e) {
+                    // nothing we could do
+                }
+            }
+        }
+    }
+
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        if (httpAsyncClient == null) {
+            // use the blocking client
+            try {
+                process(exchange);
+            } catch (Exception e) {
+                exchange.setException(e);
+            }
+            callback.done(true);
+            return true;
+        }
+
+        final HttpRequestBase httpRequest;
+        try {
+            httpRequest = createRequest(exchange);
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        // the async client does not know the endpoint client parameters so use them as defaults for the request
+        httpRequest.setParams(new DefaultedHttpParams(httpRequest.getParams(), getEndpoint().getClientParams()));
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Executing async http {} method: {}", httpRequest.getMethod(), httpRequest.getURI().toString());
+        }
+        // the response body is streamed to the stream cache using the I/O thread and the thread pool, and the callback
+        // is invoked from the I/O thread when the response is complete, which hands over to the thread pool to continue routing
+        final StreamCacheResponseConsumer responseConsumer = new StreamCacheResponseConsumer(exchange, asyncClientExecutorService);
+        httpAsyncClient.execute(HttpAsyncMethods.create(httpRequest), responseConsumer, httpContext,
+            new FutureCallback<HttpResponse>() {
+                public void completed(final HttpResponse httpResponse) {
+                    continueRouting(exchange, callback, new Runnable() {
+                        public void run() {
+                            try {
+                                handleResponse(exchange, httpRequest, responseConsumer.complete(httpResponse));
+                            } catch (Exception e) {
+                                exchange.setException(e);
+                            }
+                        }
+                    });
+                }
+
+                public void failed(final Exception e) {
+                    continueRouting(exchange, callback, new Runnable() {
+                        public void run() {
+                            exchange.setException(e);
+                        }
+                    });
+                }
+
+                public void cancelled() {
+                    continueRouting(exchange, callback, new Runnable() {
+                        public void run() {
+                            exchange.setException(new CamelExchangeException("Http request cancelled: " + httpRequest.getURI(), exchange));
+                        }
+                    });
+                }
+            });
+        return false;
+    }
+
+    /**
+     * Runs the task and continues routing the exchange using the thread pool, so the I/O thread of the
+     * async client is not used for routing.
+     */
+    private void continueRouting(final Exchange exchange, final AsyncCallback callback, final Runnable task) {
+        try {
+            asyncClientExecutorService.submit(new Runnable() {
+                public void run() {
+                    try {
+                        task.run();
+                    } finally {
+                        callback.done(false);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the thread pool is shutting down
+            exchange.setException(e);
+            callback.done(false);
+        }
+    }
+
+    /**
+     * Creates the request to send to the remote server with the message headers as HTTP headers.
+     *
+     * @param exchange the exchange
+     * @return the request
+     * @throws Exception is thrown if error creating the request
+     */
+    protected HttpRequestBase createRequest(Exchange exchange) throws Exception {
         // if we bridge endpoint then we need to skip matching headers with the HTTP_QUERY to avoid sending
         // duplicated headers to the receiver, so use this skipRequestHeaders as the list of headers to skip
         Map<String, Object> skipRequestHeaders = null;
@@ -141,29 +275,21 @@ public class HttpProducer extends DefaultProducer {
             }
         }
 
-        // lets store the result in the output message.
-        HttpResponse httpResponse = null;
-        try {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Executing http {} method: {}", httpRequest.getMethod(), httpRequest.getURI().toString());
-            }
-            httpResponse = executeMethod(httpRequest);
-            int responseCode = httpResponse.getStatusLine().getStatusCode();
-            LOG.debug("Http responseCode: {}", responseCode);
+        return httpRequest;
+    }
 
-            if (throwException && (responseCode < 100 || responseCode >= 300)) {
-                throw populateHttpOperationFailedException(exchange, httpRequest, httpResponse, responseCode);
-            } else {
-                populateResponse(exchange, httpRequest, httpResponse, in, strategy, responseCode);
-            }
-        } finally {
-            if (httpResponse != null) {
-                try {
-                    EntityUtils.consume(httpResponse.getEntity());
-                } catch (IOException e) {
-                    // nothing we could do
-                }
-            }
+    /**
+     * Handles the response from the remote server, by populating the response on the exchange
+     * or by throwing an exception if the response code is a failure.
+     */
+    protected void handleResponse(Exchange exchange, HttpRequestBase httpRequest, HttpResponse httpResponse) throws Exception {
+        int responseCode = httpResponse.getStatusLine().getStatusCode();
+        LOG.debug("Http responseCode: {}", responseCode);
+
+        if (throwException && (responseCode < 100 || responseCode >= 300)) {
+            throw populateHttpOperationFailedException(exchange, httpRequest, httpResponse, responseCode);
+        } else {
+            populateResponse(exchange, httpRequest, httpResponse, exchange.getIn(), getEndpoint().getHeaderFilterStrategy(), responseCode);
         }
     }
 
@@ -306,6 +432,10 @@ public class HttpProducer extends DefaultProducer {
     }
 
     private static InputStream doExtractResponseBodyAsStream(InputStream is, Exchange exchange) throws IOException {
+        if (is instanceof StreamCache) {
+            // the response is already cached, eg when streamed to the stream cache by the async client
+            return is;
+        }
         // As httpclient is using a AutoCloseInputStream, it will be closed when the connection is closed
         // we need to cache the stream for it.
         CachedOutputStream cos = null;
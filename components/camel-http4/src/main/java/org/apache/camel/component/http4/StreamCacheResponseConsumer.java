@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http4;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.CachedOutputStream;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * A response consumer for the non-blocking HttpAsyncClient which writes the response body
+ * to the stream cache as the content arrives, so the body is not buffered in full on the heap.
+ * <p/>
+ * Writing to the stream cache may block when it spools to disk, so the I/O thread only keeps the content
+ * in memory up to a limit. When the limit is reached the I/O thread suspends reading from the connection,
+ * and the thread pool writes the content to the stream cache and resumes reading. The remaining content is
+ * written by the thread pool in {@link #complete(org.apache.http.HttpResponse)} when the response is complete.
+ * <p/>
+ * The response returned has an entity which content is the {@link org.apache.camel.StreamCache},
+ * which is closed when the {@link Exchange} is done.
+ */
+class StreamCacheResponseConsumer extends AbstractAsyncResponseConsumer<HttpResponse> {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_PENDING_SIZE = 64 * 1024;
+
+    private final Exchange exchange;
+    private final ExecutorService executorService;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    // guards the content which is written by the I/O thread and the thread pool
+    private final Object lock = new Object();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(BUFFER_SIZE);
+    private volatile HttpResponse response;
+    private volatile HttpEntity entity;
+    private CachedOutputStream cos;
+    private IOException failure;
+
+    StreamCacheResponseConsumer(Exchange exchange, ExecutorService executorService) {
+        this.exchange = exchange;
+        this.executorService = executorService;
+    }
+
+    /**
+     * Writes the remaining content to the stream cache and sets the stream cache as the content of the response.
+     * <p/>
+     * Must be called when the response is complete, from a thread which may block.
+     *
+     * @param response the response returned by this consumer
+     * @return the response
+     * @throws IOException is thrown if the content could not be written to the stream cache
+     */
+    HttpResponse complete(HttpResponse response) throws IOException {
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+            if (entity != null) {
+                pending.writeTo(cos);
+                pending.reset();
+
+                BasicHttpEntity answer = new BasicHttpEntity();
+                answer.setContentType(entity.getContentType());
+                answer.setContentEncoding(entity.getContentEncoding());
+                answer.setChunked(entity.isChunked());
+                answer.setContentLength(entity.getContentLength());
+                answer.setContent((InputStream) cos.getStreamCache());
+                response.setEntity(answer);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    protected void onResponseReceived(HttpResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    protected void onEntityEnclosed(HttpEntity entity, ContentType contentType) {
+        synchronized (lock) {
+            this.entity = entity;
+            this.cos = new CachedOutputStream(exchange);
+        }
+    }
+
+    @Override
+    protected void onContentReceived(ContentDecoder decoder, final IOControl ioctrl) throws IOException {
+        synchronized (lock) {
+            if (failure != null) {
+                throw failure;
+            }
+            // copy what is available now, the decoder returns 0 when we must wait for more data
+            int len;
+            while ((len = decoder.read(buffer)) > 0) {
+                pending.write(buffer.array(), 0, len);
+                buffer.clear();
+                if (pending.size() >= MAX_PENDING_SIZE && !decoder.isCompleted()) {
+                    // do not read more until the thread pool has written the content to the stream cache
+                    final byte[] data = pending.toByteArray();
+                    pending.reset();
+                    ioctrl.suspendInput();
+                    try {
+                        executorService.submit(new Runnable() {
+                            public void run() {
+                                write(data, ioctrl);
+                            }
+                        });
+                    } catch (RejectedExecutionException e) {
+                        throw new IOException("Cannot write the response to the stream cache as the thread pool is shutting down", e);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    private void write(byte[] data, IOControl ioctrl) {
+        synchronized (lock) {
+            try {
+                cos.write(data);
+            } catch (IOException e) {
+                // fail the response when the next content is received
+                failure = e;
+            }
+        }
+        ioctrl.requestInput();
+    }
+
+    @Override
+    protected HttpResponse buildResult(HttpContext context) throws IOException {
+        // the content is set by the thread pool when completing the response
+        return response;
+    }
+
+    @Override
+    protected void releaseResources() {
+        // the remaining content is written when completing the response, and the
+        // cached output stream is closed when the exchange is done
+    }
+
+}
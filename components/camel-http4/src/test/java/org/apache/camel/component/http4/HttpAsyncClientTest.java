@@ -0,0 +1,126 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.http4;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ResolveEndpointFailedException;
+import org.apache.camel.StreamCache;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.http4.handler.BasicValidationHandler;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.apache.http.localserver.LocalTestServer;
+import org.junit.Test;
+
+/**
+ * @version 
+ */
+public class HttpAsyncClientTest extends BaseHttpTest {
+
+    private static final String LARGE_CONTENT = createLargeContent();
+
+    @Test
+    public void httpGetWithAsyncClient() throws Exception {
+        Exchange exchange = template.request("http4://" + getHostName() + ":" + getPort() + "/?asyncClient=true", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+            }
+        });
+
+        assertExchange(exchange);
+        // the response body was streamed to the stream cache
+        assertIsInstanceOf(StreamCache.class, exchange.getOut().getBody());
+    }
+
+    @Test
+    public void httpGetWithAsyncClientWhichReturnsHttp501() throws Exception {
+        Exchange reply = template.request("http4://" + getHostName() + ":" + getPort() + "/XXX?asyncClient=true", new Processor() {
+            public void process(Exchange exchange) throws Exception {
+            }
+        });
+
+        HttpOperationFailedException cause = assertIsInstanceOf(HttpOperationFailedException.class, reply.getException());
+        assertEquals(501, cause.getStatusCode());
+    }
+
+    @Test
+    public void concurrentHttpGetWithAsyncClient() throws Exception {
+        List<Future<String>> replies = new ArrayList<Future<String>>();
+        for (int i = 0; i < 50; i++) {
+            replies.add(template.asyncRequestBody("http4://" + getHostName() + ":" + getPort() + "/?asyncClient=true", null, String.class));
+        }
+
+        for (Future<String> reply : replies) {
+            assertBody(reply.get());
+        }
+    }
+
+    @Test
+    public void httpGetLargeResponseWithAsyncClient() throws Exception {
+        // the response is larger than what the I/O thread keeps in memory, and is spooled to disk
+        context.getStreamCachingStrategy().setSpoolThreshold(64 * 1024);
+
+        // convert the body in the route as the spool file is deleted when the exchange is done
+        String body = template.requestBody("direct:large", null, String.class);
+
+        assertEquals(LARGE_CONTENT, body);
+    }
+
+    @Test
+    public void asyncClientWithAuthentication() throws Exception {
+        try {
+            context.getEndpoint("http4://" + getHostName() + ":" + getPort() + "/?asyncClient=true&authUsername=camel&authPassword=password");
+            fail("Should have thrown exception");
+        } catch (ResolveEndpointFailedException e) {
+            // expected as the settings cannot be applied to the shared async client
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:large")
+                    .to("http4://" + getHostName() + ":" + getPort() + "/large?asyncClient=true")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            assertIsInstanceOf(FileInputStreamCache.class, exchange.getIn().getBody());
+                        }
+                    })
+                    .convertBodyTo(String.class);
+            }
+        };
+    }
+
+    @Override
+    protected void registerHandler(LocalTestServer server) {
+        server.register("/", new BasicValidationHandler("GET", null, null, getExpectedContent()));
+        server.register("/large", new BasicValidationHandler("GET", null, null, LARGE_CONTENT));
+    }
+
+    private static String createLargeContent() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 1024 * 1024; i++) {
+            sb.append("line ").append(i).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -35,6 +35,7 @@ public class JdbcEndpoint extends DefaultEndpoint {
     private DataSource dataSource;
     private Map<String, Object> parameters;
     private boolean useJDBC4ColumnNameAndLabelSemantics = true;
+    private boolean batchStatements;
 
     public JdbcEndpoint() {
     }
@@ -122,6 +123,26 @@ public class JdbcEndpoint extends DefaultEndpoint {
         this.useJDBC4ColumnNameAndLabelSemantics = useJDBC4ColumnNameAndLabelSemantics;
     }
 
+    public boolean isBatchStatements() {
+        return batchStatements;
+    }
+
+    /**
+     * Sets whether the statements of the exchanges sent in a batch using the <tt>batchTo</tt> EIP
+     * is executed as one JDBC batch.
+     * <p/>
+     * The statements must then be updates, as a JDBC batch cannot return a result set. Exchanges retrieving
+     * generated keys is always executed individually. If this option is <tt>false</tt> the statements of a batch
+     * is executed one by one using the same connection, which is committed once if resetting auto commit.
+     * <p/>
+     * This option is default <tt>false</tt>.
+     *
+     * @param batchStatements <tt>true</tt> to execute the statements as a JDBC batch
+     */
+    public void setBatchStatements(boolean batchStatements) {
+        this.batchStatements = batchStatements;
+    }
+
     @Override
     protected String createEndpointUri() {
         return "jdbc";
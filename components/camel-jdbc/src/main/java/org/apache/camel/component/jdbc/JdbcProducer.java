@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.jdbc;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
@@ -28,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import javax.sql.DataSource;
 
+import org.apache.camel.BatchProducer;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultProducer;
 import org.apache.camel.util.IntrospectionSupport;
@@ -37,7 +39,7 @@ import org.slf4j.LoggerFactory;
 /**
  * @version 
  */
-public class JdbcProducer extends DefaultProducer {
+public class JdbcProducer extends DefaultProducer implements BatchProducer {
     private static final transient Logger LOG = LoggerFactory.getLogger(JdbcProducer.class);
     private DataSource dataSource;
     private int readSize;
@@ -68,6 +70,107 @@ public class JdbcProducer extends DefaultProducer {
         exchange.getOut().getHeaders().putAll(exchange.getIn().getHeaders());
     }
 
+    /**
+     * Execute the sql of the exchanges using the same connection, which is committed once if resetting
+     * auto commit, in which case all the exchanges fails if one of the statements fails.
+     * <p/>
+     * The statements is executed as one JDBC batch if the endpoint is configured to
+     * {@link JdbcEndpoint#isBatchStatements() batch statements}, otherwise they are executed one by one.
+     */
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        boolean resetAutoCommit = getEndpoint().isResetAutoCommit();
+        Connection conn = null;
+        Boolean autoCommit = null;
+        try {
+            conn = dataSource.getConnection();
+            if (resetAutoCommit) {
+                autoCommit = conn.getAutoCommit();
+                if (autoCommit) {
+                    conn.setAutoCommit(false);
+                }
+            }
+
+            List<Exchange> batch = new ArrayList<Exchange>(exchanges.size());
+            for (Exchange exchange : exchanges) {
+                String sql = exchange.getIn().getBody(String.class);
+                Boolean shouldRetrieveGeneratedKeys =
+                        exchange.getIn().getHeader(JdbcConstants.JDBC_RETRIEVE_GENERATED_KEYS, false, Boolean.class);
+                if (getEndpoint().isBatchStatements() && sql != null && !shouldRetrieveGeneratedKeys) {
+                    batch.add(exchange);
+                } else {
+                    try {
+                        createAndExecuteSqlStatement(exchange, sql, conn);
+                        // populate headers
+                        exchange.getOut().getHeaders().putAll(exchange.getIn().getHeaders());
+                    } catch (Exception e) {
+                        if (resetAutoCommit) {
+                            // the transaction is rolled back so all the exchanges fails
+                            throw e;
+                        }
+                        exchange.setException(e);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                executeBatch(batch, conn, resetAutoCommit);
+            }
+
+            if (resetAutoCommit) {
+                conn.commit();
+            }
+        } catch (Exception e) {
+            if (resetAutoCommit) {
+                rollbackQuietly(conn);
+            }
+            throw e;
+        } finally {
+            resetAutoCommit(conn, autoCommit);
+            closeQuietly(conn);
+        }
+    }
+
+    private void executeBatch(List<Exchange> batch, Connection conn, boolean resetAutoCommit) throws Exception {
+        Statement stmt = null;
+        try {
+            stmt = conn.createStatement();
+            if (parameters != null && !parameters.isEmpty()) {
+                IntrospectionSupport.setProperties(stmt, parameters);
+            }
+            for (Exchange exchange : batch) {
+                String sql = exchange.getIn().getBody(String.class);
+                LOG.debug("Adding JDBC statement to batch: {}", sql);
+                stmt.addBatch(sql);
+            }
+            int[] updateCounts = stmt.executeBatch();
+            for (int i = 0; i < batch.size(); i++) {
+                setBatchUpdateCount(batch.get(i), updateCounts[i]);
+            }
+        } catch (BatchUpdateException e) {
+            if (resetAutoCommit) {
+                // the transaction is rolled back so all the exchanges fails
+                throw e;
+            }
+            // the update counts is either for all the statements if the driver continued after the failure,
+            // or only for the statements executed before the failure
+            int[] updateCounts = e.getUpdateCounts();
+            for (int i = 0; i < batch.size(); i++) {
+                if (updateCounts != null && i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED) {
+                    setBatchUpdateCount(batch.get(i), updateCounts[i]);
+                } else {
+                    batch.get(i).setException(e);
+                }
+            }
+        } finally {
+            closeQuietly(stmt);
+        }
+    }
+
+    private static void setBatchUpdateCount(Exchange exchange, int updateCount) {
+        exchange.getOut().setHeader(JdbcConstants.JDBC_UPDATE_COUNT, updateCount);
+        // populate headers
+        exchange.getOut().getHeaders().putAll(exchange.getIn().getHeaders());
+    }
+
     private void processingSqlBySettingAutoCommit(Exchange exchange) throws Exception {
         String sql = exchange.getIn().getBody(String.class);
         Connection conn = null;
@@ -83,13 +186,7 @@ public class JdbcProducer extends DefaultProducer {
 
             conn.commit();
         } catch (Exception e) {
-            try {
-                if (conn != null) {
-                    conn.rollback();
-                }
-            } catch (SQLException sqle) {
-                LOG.warn("Error occurred during jdbc rollback. This exception will be ignored.", sqle);
-            }
+            rollbackQuietly(conn);
             throw e;
         } finally {
             resetAutoCommit(conn, autoCommit);
@@ -178,6 +275,16 @@ public class JdbcProducer extends DefaultProducer {
         }
     }
 
+    private void rollbackQuietly(Connection con) {
+        if (con != null) {
+            try {
+                con.rollback();
+            } catch (SQLException sqle) {
+                LOG.warn("Error occurred during jdbc rollback. This exception will be ignored.", sqle);
+            }
+        }
+    }
+
     private void resetAutoCommit(Connection con, Boolean autoCommit) {
         if (con != null && autoCommit != null) {
             try {
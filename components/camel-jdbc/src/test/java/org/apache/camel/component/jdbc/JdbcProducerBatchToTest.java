@@ -0,0 +1,168 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jdbc;
+
+import java.sql.BatchUpdateException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class JdbcProducerBatchToTest extends AbstractJdbcTestSupport {
+
+    @EndpointInject(uri = "mock:result")
+    private MockEndpoint mock;
+
+    @Test
+    public void testBatchInsert() throws Exception {
+        mock.expectedMessageCount(4);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("seda:start", "insert into customer values('cust" + (10 + i) + "','camel')");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        for (Exchange exchange : mock.getExchanges()) {
+            assertEquals(1, exchange.getIn().getHeader(JdbcConstants.JDBC_UPDATE_COUNT));
+        }
+
+        List<?> rows = template.requestBody("direct:select", "select * from customer where name = 'camel'", List.class);
+        assertEquals(4, rows.size());
+    }
+
+    @Test
+    public void testBatchWithQuery() throws Exception {
+        mock.expectedMessageCount(2);
+
+        template.sendBody("seda:start", "insert into customer values('cust10','camel')");
+        template.sendBody("seda:start", "select * from customer");
+
+        assertMockEndpointsSatisfied();
+
+        for (Exchange exchange : mock.getExchanges()) {
+            if (exchange.getIn().getHeader(JdbcConstants.JDBC_UPDATE_COUNT) == null) {
+                List<?> rows = exchange.getIn().getBody(List.class);
+                assertTrue(rows.size() >= 3);
+            }
+        }
+    }
+
+    @Test
+    public void testBatchWithQueries() throws Exception {
+        JdbcProducer producer = createProducer("jdbc:testdb");
+        List<Exchange> exchanges = createExchanges("insert into customer values('cust10','camel')",
+                "-- the customers\nselect * from customer", "values 1");
+        try {
+            producer.processBatch(exchanges);
+        } finally {
+            producer.stop();
+        }
+
+        assertEquals(1, exchanges.get(0).getOut().getHeader(JdbcConstants.JDBC_UPDATE_COUNT));
+        assertEquals(4, exchanges.get(1).getOut().getBody(List.class).size());
+        assertEquals(1, exchanges.get(2).getOut().getBody(List.class).size());
+    }
+
+    @Test
+    public void testBatchStatements() throws Exception {
+        mock.expectedMessageCount(4);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("seda:batchStatements", "insert into customer values('cust" + (10 + i) + "','camel')");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        for (Exchange exchange : mock.getExchanges()) {
+            assertEquals(1, exchange.getIn().getHeader(JdbcConstants.JDBC_UPDATE_COUNT));
+        }
+    }
+
+    @Test
+    public void testBatchStatementsFailure() throws Exception {
+        JdbcProducer producer = createProducer("jdbc:testdb?batchStatements=true&resetAutoCommit=false");
+        List<Exchange> exchanges = createExchanges("insert into customer values('cust10','camel')",
+                "insert into customer values('cust11','name which is too long')",
+                "insert into customer values('cust12','camel')");
+        try {
+            producer.processBatch(exchanges);
+        } finally {
+            producer.stop();
+        }
+
+        // the statement before the failure was executed, but the driver may not execute the statements after
+        assertEquals(1, exchanges.get(0).getOut().getHeader(JdbcConstants.JDBC_UPDATE_COUNT));
+        assertIsInstanceOf(BatchUpdateException.class, exchanges.get(1).getException());
+    }
+
+    @Test
+    public void testBatchStatementsFailureRollback() throws Exception {
+        JdbcProducer producer = createProducer("jdbc:testdb?batchStatements=true");
+        List<Exchange> exchanges = createExchanges("insert into customer values('cust10','camel')",
+                "insert into customer values('cust11','name which is too long')");
+        try {
+            producer.processBatch(exchanges);
+            fail("Should have thrown exception");
+        } catch (BatchUpdateException e) {
+            // expected
+        } finally {
+            producer.stop();
+        }
+
+        List<?> rows = template.requestBody("direct:select", "select * from customer where name = 'camel'", List.class);
+        assertEquals(0, rows.size());
+    }
+
+    private JdbcProducer createProducer(String uri) throws Exception {
+        JdbcProducer producer = (JdbcProducer) context.getEndpoint(uri).createProducer();
+        producer.start();
+        return producer;
+    }
+
+    private List<Exchange> createExchanges(String... bodies) {
+        List<Exchange> answer = new ArrayList<Exchange>();
+        for (String body : bodies) {
+            Exchange exchange = new DefaultExchange(context);
+            exchange.getIn().setBody(body);
+            answer.add(exchange);
+        }
+        return answer;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("seda:start?concurrentConsumers=4")
+                    .batchTo("jdbc:testdb").batchSize(4).batchTimeout(2000).end()
+                    .to("mock:result");
+
+                from("seda:batchStatements?concurrentConsumers=4")
+                    .batchTo("jdbc:testdb?batchStatements=true").batchSize(4).batchTimeout(2000).end()
+                    .to("mock:result");
+
+                from("direct:select").to("jdbc:testdb");
+            }
+        };
+    }
+}
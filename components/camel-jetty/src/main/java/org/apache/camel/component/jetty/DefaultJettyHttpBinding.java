@@ -157,14 +157,20 @@ public class DefaultJettyHttpBinding implements JettyHttpBinding {
     protected Object extractResponseBody(Exchange exchange, JettyContentExchange httpExchange) throws IOException {
         String contentType = httpExchange.getHeaders().get(Exchange.CONTENT_TYPE);
 
+        // the response content is in the stream cache if the response was streamed
+        InputStream stream = httpExchange.getBodyAsStream();
+
         // if content type is serialized java object, then de-serialize it to a Java object
         if (contentType != null && HttpConstants.CONTENT_TYPE_JAVA_SERIALIZED_OBJECT.equals(contentType)) {
             try {
-                InputStream is = exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, httpExchange.getResponseContentBytes());
+                InputStream is = stream != null ? stream
+                        : exchange.getContext().getTypeConverter().mandatoryConvertTo(InputStream.class, httpExchange.getResponseContentBytes());
                 return HttpHelper.deserializeJavaObjectFromStream(is);
             } catch (Exception e) {
                 throw new RuntimeCamelException("Cannot deserialize body to Java object", e);
             }
+        } else if (stream != null) {
+            return stream;
         } else {
             // just grab the raw content body
             return httpExchange.getBody();
@@ -26,6 +26,7 @@ import org.apache.camel.AsyncCallback;
 import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.converter.stream.CachedOutputStream;
 import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StringHelper;
@@ -52,6 +53,8 @@ public class JettyContentExchange extends ContentExchange {
     private volatile AsyncCallback callback;
     private volatile JettyHttpBinding jettyBinding;
     private volatile HttpClient client;
+    private volatile boolean streamResponse;
+    private volatile CachedOutputStream responseStream;
     private final CountDownLatch done = new CountDownLatch(1);
 
     public JettyContentExchange(Exchange exchange, JettyHttpBinding jettyBinding, HttpClient client) {
@@ -65,6 +68,32 @@ public class JettyContentExchange extends ContentExchange {
         this.callback = callback;
     }
 
+    /**
+     * Whether to write the response content to the stream cache as it is received,
+     * instead of buffering the response content in memory.
+     */
+    public void setStreamResponse(boolean streamResponse) {
+        this.streamResponse = streamResponse;
+    }
+
+    public boolean isStreamResponse() {
+        return streamResponse;
+    }
+
+    @Override
+    protected synchronized void onResponseStatus(Buffer version, int status, Buffer reason) throws IOException {
+        super.onResponseStatus(version, status, reason);
+        // use a new stream cache for each response, as the content of an interim or retried
+        // response must not be mixed with the content of the final response
+        closeResponseStream();
+    }
+
+    @Override
+    protected synchronized void onRetry() throws IOException {
+        super.onRetry();
+        closeResponseStream();
+    }
+
     @Override
     protected void onResponseHeader(Buffer name, Buffer value) throws IOException {
         String k = name.toString();
@@ -91,6 +120,19 @@ public class JettyContentExchange extends ContentExchange {
         headers.put(k, v);
     }
 
+    @Override
+    protected synchronized void onResponseContent(Buffer content) throws IOException {
+        if (streamResponse) {
+            if (responseStream == null) {
+                responseStream = new CachedOutputStream(exchange);
+            }
+            // write the chunk to the stream cache which spools to disk when its large
+            content.writeTo(responseStream);
+        } else {
+            super.onResponseContent(content);
+        }
+    }
+
     @Override
     protected void onRequestComplete() throws IOException {
         LOG.trace("onRequestComplete");
@@ -157,11 +199,31 @@ public class JettyContentExchange extends ContentExchange {
         return super.getResponseContentBytes();
     }
 
+    /**
+     * Gets the response content as a stream cache when streaming the response
+     *
+     * @return the stream cache, or <tt>null</tt> if not streaming the response
+     * @throws IOException is thrown if error reading from the stream cache
+     */
+    public InputStream getBodyAsStream() throws IOException {
+        CachedOutputStream cos = responseStream;
+        return cos != null ? (InputStream) cos.getStreamCache() : null;
+    }
+
     public String getUrl() {
         String params = getRequestFields().getStringField(HttpHeaders.CONTENT_ENCODING);
         return getScheme() + "//" + getAddress().toString() + getRequestURI() + (params != null ? "?" + params : "");
     }
     
+    protected void closeResponseStream() {
+        // close the stream cache of the previous response which also deletes its spool file
+        CachedOutputStream cos = responseStream;
+        responseStream = null;
+        if (cos != null) {
+            IOHelper.close(cos, "ResponseStream", LOG);
+        }
+    }
+
     protected void closeRequestContentSource() {
         // close the input stream when its not needed anymore
         InputStream is = getRequestContentSource();
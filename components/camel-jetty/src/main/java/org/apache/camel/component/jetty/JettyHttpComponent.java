@@ -148,6 +148,7 @@ public class JettyHttpComponent extends HttpComponent {
         List<Filter> filters = resolveAndRemoveReferenceListParameter(parameters, "filtersRef", Filter.class);
         Long continuationTimeout = getAndRemoveParameter(parameters, "continuationTimeout", Long.class);
         Boolean useContinuation = getAndRemoveParameter(parameters, "useContinuation", Boolean.class);
+        Boolean streamResponse = getAndRemoveParameter(parameters, "streamResponse", Boolean.class);
         String httpMethodRestrict = getAndRemoveParameter(parameters, "httpMethodRestrict", String.class);
         SSLContextParameters sslContextParameters = resolveAndRemoveReferenceParameter(parameters, "sslContextParametersRef", SSLContextParameters.class);
         
@@ -263,6 +264,9 @@ public class JettyHttpComponent extends HttpComponent {
         if (useContinuation != null) {
             endpoint.setUseContinuation(useContinuation);
         }
+        if (streamResponse != null) {
+            endpoint.setStreamResponse(streamResponse);
+        }
 
         if (httpMethodRestrict != null) {
             endpoint.setHttpMethodRestrict(httpMethodRestrict);
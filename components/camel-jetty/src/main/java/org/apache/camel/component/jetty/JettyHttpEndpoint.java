@@ -47,6 +47,7 @@ public class JettyHttpEndpoint extends HttpEndpoint {
     private List<Filter> filters;
     private Long continuationTimeout;
     private Boolean useContinuation;
+    private boolean streamResponse;
     private SSLContextParameters sslContextParameters;
 
     public JettyHttpEndpoint(JettyHttpComponent component, String uri, URI httpURL) throws URISyntaxException {
@@ -163,6 +164,14 @@ public class JettyHttpEndpoint extends HttpEndpoint {
         this.useContinuation = useContinuation;
     }
 
+    public boolean isStreamResponse() {
+        return streamResponse;
+    }
+
+    public void setStreamResponse(boolean streamResponse) {
+        this.streamResponse = streamResponse;
+    }
+
     public SSLContextParameters getSslContextParameters() {
         return sslContextParameters;
     }
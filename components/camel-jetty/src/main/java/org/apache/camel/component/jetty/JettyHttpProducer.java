@@ -96,6 +96,7 @@ public class JettyHttpProducer extends DefaultProducer implements AsyncProcessor
         JettyContentExchange httpExchange = new JettyContentExchange(exchange, getBinding(), client);
         httpExchange.setMethod(method);
         httpExchange.setURL(url);
+        httpExchange.setStreamResponse(getEndpoint().isStreamResponse());
 
         // set query parameters
         doSetQueryParameters(exchange, httpExchange);
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jetty;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.eclipse.jetty.io.ByteArrayBuffer;
+import org.junit.Test;
+
+/**
+ * @version
+ */
+public class JettyContentExchangeStreamResponseTest extends CamelTestSupport {
+
+    @Test
+    public void testInterimResponseContentDiscarded() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        JettyContentExchange httpExchange = new JettyContentExchange(exchange, null, null);
+        httpExchange.setStreamResponse(true);
+
+        httpExchange.onResponseStatus(new ByteArrayBuffer("HTTP/1.1"), 100, new ByteArrayBuffer("Continue"));
+        httpExchange.onResponseContent(new ByteArrayBuffer("Interim"));
+        httpExchange.onResponseStatus(new ByteArrayBuffer("HTTP/1.1"), 200, new ByteArrayBuffer("OK"));
+        httpExchange.onResponseContent(new ByteArrayBuffer("Hello "));
+        httpExchange.onResponseContent(new ByteArrayBuffer("World"));
+
+        assertEquals("Hello World", context.getTypeConverter().convertTo(String.class, httpExchange.getBodyAsStream()));
+    }
+
+    @Test
+    public void testRetriedResponseContentDiscarded() throws Exception {
+        Exchange exchange = new DefaultExchange(context);
+        JettyContentExchange httpExchange = new JettyContentExchange(exchange, null, null);
+        httpExchange.setStreamResponse(true);
+
+        httpExchange.onResponseStatus(new ByteArrayBuffer("HTTP/1.1"), 200, new ByteArrayBuffer("OK"));
+        httpExchange.onResponseContent(new ByteArrayBuffer("Partial"));
+        httpExchange.onRetry();
+        assertNull(httpExchange.getBodyAsStream());
+
+        httpExchange.onResponseStatus(new ByteArrayBuffer("HTTP/1.1"), 200, new ByteArrayBuffer("OK"));
+        httpExchange.onResponseContent(new ByteArrayBuffer("Bye World"));
+
+        assertEquals("Bye World", context.getTypeConverter().convertTo(String.class, httpExchange.getBodyAsStream()));
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jetty.jettyproducer;
+
+import java.io.File;
+import java.io.FileInputStream;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.StreamCache;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.jetty.BaseJettyTest;
+import org.apache.camel.converter.stream.FileInputStreamCache;
+import org.junit.Test;
+
+/**
+ * @version
+ */
+public class JettyHttpProducerStreamResponseTest extends BaseJettyTest {
+
+    private static final String LARGE_CONTENT = createLargeContent();
+
+    private final File file = new File("src/test/data/logo.jpeg");
+
+    @Test
+    public void testStreamResponse() throws Exception {
+        Exchange out = template.request("jetty://http://localhost:{{port}}/myapp/myservice?streamResponse=true", null);
+
+        assertNull(out.getException());
+        // the response was written to the stream cache
+        assertIsInstanceOf(StreamCache.class, out.getOut().getBody());
+
+        byte[] data = out.getOut().getBody(byte[].class);
+        assertEquals(file.length(), data.length);
+    }
+
+    @Test
+    public void testStreamLargeResponse() throws Exception {
+        // the response is larger than the spool threshold so it should be spooled to disk
+        context.getStreamCachingStrategy().setSpoolThreshold(64 * 1024);
+
+        // convert the body in the route as the spool file is deleted when the exchange is done
+        String body = template.requestBody("direct:large", null, String.class);
+
+        assertEquals(LARGE_CONTENT, body);
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("direct:large")
+                    .to("jetty://http://localhost:{{port}}/myapp/large?streamResponse=true")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            assertIsInstanceOf(FileInputStreamCache.class, exchange.getIn().getBody());
+                        }
+                    })
+                    .convertBodyTo(String.class);
+
+                from("jetty:http://localhost:{{port}}/myapp/large")
+                    .transform(constant(LARGE_CONTENT));
+
+                from("jetty:http://localhost:{{port}}/myapp/myservice")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            // the channel is written to the response in chunks
+                            exchange.getOut().setBody(new FileInputStream(file).getChannel());
+                            exchange.getOut().setHeader(Exchange.CONTENT_TYPE, "image/jpeg");
+                        }
+                    });
+            }
+        };
+    }
+
+    private static String createLargeContent() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 1024 * 1024; i++) {
+            sb.append("line ").append(i).append("\n");
+        }
+        return sb.toString();
+    }
+
+}
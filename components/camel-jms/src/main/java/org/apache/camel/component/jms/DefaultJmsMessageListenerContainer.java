@@ -16,7 +16,14 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.concurrent.atomic.AtomicLong;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+
 import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.transaction.TransactionStatus;
 
 /**
  * The default {@link DefaultMessageListenerContainer container} which listen for messages
@@ -24,20 +31,171 @@ import org.springframework.jms.listener.DefaultMessageListenerContainer;
  * <p/>
  * This implementation extends Springs {@link DefaultMessageListenerContainer} supporting
  * automatic recovery and throttling.
+ * <p/>
+ * When a consumer batch size is configured, then up till that number of messages is received and processed
+ * one by one in each turn of the session, and the session is committed or acknowledged once at the end of
+ * the batch. After the first message, the batch only waits for more messages up till the batch timeout, so a
+ * batch is completed by the messages which is already prefetched by the JMS client when the timeout is zero.
+ * If processing a message fails, then the session is rolled back which means all the messages in the
+ * batch is redelivered.
  *
  * @version 
  */
 public class DefaultJmsMessageListenerContainer extends DefaultMessageListenerContainer {
 
     private final JmsEndpoint endpoint;
+    private final ThreadLocal<Batch> currentBatch = new ThreadLocal<Batch>();
+    private final AtomicLong batchCommitCounter = new AtomicLong();
+    private final AtomicLong batchMessageCounter = new AtomicLong();
+    private final AtomicLong batchRollbackCounter = new AtomicLong();
+    private volatile long batchStatisticsStarted = System.currentTimeMillis();
+    private int batchSize;
+    private long batchTimeout;
 
     public DefaultJmsMessageListenerContainer(JmsEndpoint endpoint) {
         this.endpoint = endpoint;
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of messages to process before the session is committed or acknowledged.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the time in millis to wait for the next message in a batch, where zero means to only
+     * use the messages which can be received without waiting.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    /**
+     * Number of batches which has been committed or acknowledged
+     */
+    public long getBatchCommitCounter() {
+        return batchCommitCounter.get();
+    }
+
+    /**
+     * Number of messages which has been committed or acknowledged in batches
+     */
+    public long getBatchMessageCounter() {
+        return batchMessageCounter.get();
+    }
+
+    /**
+     * Number of batches which has been rolled back
+     */
+    public long getBatchRollbackCounter() {
+        return batchRollbackCounter.get();
+    }
+
+    /**
+     * Number of batches committed per second since the statistics was started or reset
+     */
+    public double getBatchCommitRate() {
+        long elapsed = System.currentTimeMillis() - batchStatisticsStarted;
+        return elapsed > 0 ? batchCommitCounter.get() * 1000d / elapsed : 0;
+    }
+
+    public void resetBatchStatistics() {
+        batchCommitCounter.set(0);
+        batchMessageCounter.set(0);
+        batchRollbackCounter.set(0);
+        batchStatisticsStarted = System.currentTimeMillis();
+    }
+
+    @Override
+    protected boolean doReceiveAndExecute(Object invoker, Session session, MessageConsumer consumer, TransactionStatus status) throws JMSException {
+        // a batch can only span several receives if the session is cached or bound to the transaction
+        if (batchSize <= 1 || (session == null && status == null)) {
+            return super.doReceiveAndExecute(invoker, session, consumer, status);
+        }
+
+        Batch batch = new Batch();
+        currentBatch.set(batch);
+        try {
+            while (batch.count < batchSize && !batch.rollback && (status == null || !status.isRollbackOnly())) {
+                if (!super.doReceiveAndExecute(invoker, session, consumer, status)) {
+                    break;
+                }
+                batch.count++;
+            }
+        } finally {
+            currentBatch.remove();
+        }
+
+        if (batch.rollback || (status != null && status.isRollbackOnly())) {
+            batchRollbackCounter.incrementAndGet();
+        } else if (batch.count > 0) {
+            if (batch.session != null) {
+                super.commitIfNecessary(batch.session, batch.message);
+            }
+            batchCommitCounter.incrementAndGet();
+            batchMessageCounter.addAndGet(batch.count);
+            if (logger.isTraceEnabled()) {
+                logger.trace("Committed batch of " + batch.count + " messages");
+            }
+        }
+        return batch.count > 0;
+    }
+
+    @Override
+    protected Message receiveMessage(MessageConsumer consumer) throws JMSException {
+        Batch batch = currentBatch.get();
+        if (batch != null && batch.count > 0) {
+            // only wait shortly for the next message in the batch
+            return batchTimeout > 0 ? consumer.receive(batchTimeout) : consumer.receiveNoWait();
+        }
+        return super.receiveMessage(consumer);
+    }
+
+    @Override
+    protected void commitIfNecessary(Session session, Message message) throws JMSException {
+        Batch batch = currentBatch.get();
+        if (batch != null && (message != null || batch.message != null)) {
+            // defer until the batch is complete
+            if (message != null) {
+                batch.session = session;
+                batch.message = message;
+            }
+            return;
+        }
+        super.commitIfNecessary(session, message);
+    }
+
+    @Override
+    protected void rollbackOnExceptionIfNecessary(Session session, Throwable ex) throws JMSException {
+        Batch batch = currentBatch.get();
+        if (batch != null) {
+            batch.rollback = true;
+        }
+        super.rollbackOnExceptionIfNecessary(session, ex);
+    }
+
     @Override
     protected boolean runningAllowed() {
         // do not run if we have been stopped
         return endpoint.isRunning();
     }
+
+    /**
+     * The state of the batch being processed by the current thread.
+     */
+    private static final class Batch {
+        private int count;
+        private boolean rollback;
+        private Session session;
+        private Message message;
+    }
 }
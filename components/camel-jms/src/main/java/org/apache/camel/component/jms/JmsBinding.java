@@ -202,6 +202,71 @@ public class JmsBinding {
         return map;
     }
     
+    /**
+     * Extracts a single header from the JMS message, without extracting all the headers.
+     * <p/>
+     * The value is the same as the value in the map returned by {@link #extractHeadersFromJms(javax.jms.Message, org.apache.camel.Exchange)},
+     * except that the header name must match the decoded name of the JMS property exactly, and not ignoring case.
+     *
+     * @param jmsMessage the JMS message
+     * @param exchange   the current exchange
+     * @param name       the header name
+     * @return the header value, or <tt>null</tt> if no such header
+     */
+    public Object extractHeaderFromJms(Message jmsMessage, Exchange exchange, String name) {
+        if (jmsMessage == null) {
+            return null;
+        }
+        try {
+            // the standard JMS message headers
+            if (name.regionMatches(true, 0, "JMS", 0, 3)) {
+                if ("JMSCorrelationID".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSCorrelationID();
+                } else if ("JMSDeliveryMode".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSDeliveryMode();
+                } else if ("JMSDestination".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSDestination();
+                } else if ("JMSExpiration".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSExpiration();
+                } else if ("JMSMessageID".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSMessageID();
+                } else if ("JMSPriority".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSPriority();
+                } else if ("JMSRedelivered".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSRedelivered();
+                } else if ("JMSTimestamp".equalsIgnoreCase(name)) {
+                    return jmsMessage.getJMSTimestamp();
+                } else if ("JMSReplyTo".equalsIgnoreCase(name)) {
+                    return JmsMessageHelper.getJMSReplyTo(jmsMessage);
+                } else if ("JMSType".equalsIgnoreCase(name)) {
+                    return JmsMessageHelper.getJMSType(jmsMessage);
+                } else if ("JMSXGroupID".equalsIgnoreCase(name)) {
+                    // this works around a bug in the ActiveMQ property handling
+                    return jmsMessage.getStringProperty("JMSXGroupID");
+                }
+            }
+
+            // the header names is the decoded names of the JMS properties, so only lookup the
+            // property names which decodes back to the header name (the encoded name is usually the same)
+            Object value = null;
+            String key = jmsKeyFormatStrategy.encodeKey(name);
+            if (name.equals(jmsKeyFormatStrategy.decodeKey(key))) {
+                value = jmsMessage.getObjectProperty(key);
+            }
+            if (value == null && !name.equals(key) && name.equals(jmsKeyFormatStrategy.decodeKey(name))) {
+                key = name;
+                value = jmsMessage.getObjectProperty(key);
+            }
+            if (value != null && headerFilterStrategy != null
+                && headerFilterStrategy.applyFilterToExternalHeaders(key, value, exchange)) {
+                return null;
+            }
+            return value;
+        } catch (JMSException e) {
+            throw new RuntimeCamelException(name, e);
+        }
+    }
+
     public Object getObjectProperty(Message jmsMessage, String name) throws JMSException {
         // try a direct lookup first
         Object answer = jmsMessage.getObjectProperty(name);
@@ -16,7 +16,9 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import javax.jms.ConnectionFactory;
 import javax.jms.ExceptionListener;
@@ -56,6 +58,7 @@ public class JmsComponent extends DefaultComponent implements ApplicationContext
     private HeaderFilterStrategy headerFilterStrategy = new JmsHeaderFilterStrategy();
     private ExecutorService asyncStartStopExecutorService;
     private MessageListenerContainerFactory messageListenerContainerFactory;
+    private final Set<String> replyToPartitions = new HashSet<String>();
 
     public JmsComponent() {
     }
@@ -365,6 +368,10 @@ public class JmsComponent extends DefaultComponent implements ApplicationContext
         getConfiguration().setReplyToType(replyToType);
     }
 
+    public void setReplyToPartition(String replyToPartition) {
+        getConfiguration().setReplyToPartition(replyToPartition);
+    }
+
     public void setPreserveMessageQos(boolean preserveMessageQos) {
         getConfiguration().setPreserveMessageQos(preserveMessageQos);
     }
@@ -412,6 +419,33 @@ public class JmsComponent extends DefaultComponent implements ApplicationContext
         super.doShutdown();
     }
 
+    /**
+     * Registers the reply queue of a partition as being consumed by a producer.
+     * <p/>
+     * <b>Important:</b> This is an internal API and end users should not use this.
+     *
+     * @param replyToQueue the name of the reply queue of the partition
+     * @return <tt>true</tt> if registered, <tt>false</tt> if the partition is already consumed by another producer
+     */
+    public boolean addReplyToPartition(String replyToQueue) {
+        synchronized (replyToPartitions) {
+            return replyToPartitions.add(replyToQueue);
+        }
+    }
+
+    /**
+     * Unregisters the reply queue of a partition when the producer no longer consumes it.
+     * <p/>
+     * <b>Important:</b> This is an internal API and end users should not use this.
+     *
+     * @param replyToQueue the name of the reply queue of the partition
+     */
+    public void removeReplyToPartition(String replyToQueue) {
+        synchronized (replyToPartitions) {
+            replyToPartitions.remove(replyToQueue);
+        }
+    }
+
     protected synchronized ExecutorService getAsyncStartStopExecutorService() {
         if (asyncStartStopExecutorService == null) {
             // use a cached thread pool for async start tasks as they can run for a while, and we need a dedicated thread
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.List;
 import javax.jms.ConnectionFactory;
 import javax.jms.Destination;
 import javax.jms.ExceptionListener;
@@ -134,6 +135,11 @@ public class JmsConfiguration implements Cloneable {
     private boolean asyncConsumer;
     // the cacheLevelName of reply manager
     private String replyToCacheLevelName;
+    private String replyToPartition;
+    private int producerBatchSize;
+    private long producerBatchTimeout = 1000;
+    private int consumerBatchSize;
+    private long consumerBatchTimeout;
     private boolean allowNullBody = true;
     private MessageListenerContainerFactory messageListenerContainerFactory;
 
@@ -203,6 +209,58 @@ public class JmsConfiguration implements Cloneable {
             }, false);
         }
 
+        /**
+         * Sends the messages using the same session and producer, and commits once after
+         * all the messages has been sent, if the session is transacted.
+         * <p/>
+         * Failures creating a message, or sending a message when the session is not transacted,
+         * only fails that message. Failures sending when the session is transacted fails all the messages.
+         *
+         * @param destinationName the destination name
+         * @param destination     the destination (if no name provided)
+         * @param messageCreators the creators to create the messages to send
+         * @return the failures indexed the same as the creators, where <tt>null</tt> means the message was sent
+         */
+        public Exception[] send(final String destinationName, final Destination destination,
+                                final List<MessageCreator> messageCreators) throws JmsException {
+            return execute(new SessionCallback<Exception[]>() {
+                public Exception[] doInJms(Session session) throws JMSException {
+                    Destination target = destination != null ? destination : resolveDestinationName(session, destinationName);
+                    boolean transacted = session.getTransacted() && isSessionLocallyTransacted(session);
+                    Exception[] failures = new Exception[messageCreators.size()];
+
+                    MessageProducer producer = createProducer(session, target);
+                    try {
+                        for (int i = 0; i < messageCreators.size(); i++) {
+                            Message message;
+                            try {
+                                message = messageCreators.get(i).createMessage(session);
+                            } catch (Exception e) {
+                                failures[i] = e;
+                                continue;
+                            }
+                            try {
+                                doSend(producer, message);
+                            } catch (JMSException e) {
+                                if (transacted) {
+                                    // the session is rolled back when closed without committing
+                                    throw e;
+                                }
+                                failures[i] = e;
+                            }
+                        }
+                        // Check commit - avoid commit call within a JTA transaction.
+                        if (transacted) {
+                            JmsUtils.commitIfNecessary(session);
+                        }
+                    } finally {
+                        JmsUtils.closeMessageProducer(producer);
+                    }
+                    return failures;
+                }
+            }, false);
+        }
+
         private Object doSendToDestination(final Destination destination,
                                            final MessageCreator messageCreator,
                                            final MessageSentCallback callback,
@@ -1005,6 +1063,11 @@ public class JmsConfiguration implements Cloneable {
         if (transactionTimeout >= 0) {
             container.setTransactionTimeout(transactionTimeout);
         }
+        if (container instanceof DefaultJmsMessageListenerContainer) {
+            DefaultJmsMessageListenerContainer batchContainer = (DefaultJmsMessageListenerContainer) container;
+            batchContainer.setBatchSize(consumerBatchSize);
+            batchContainer.setBatchTimeout(consumerBatchTimeout);
+        }
     }
 
     public void configureMessageListener(EndpointMessageListener listener) {
@@ -1277,6 +1340,86 @@ public class JmsConfiguration implements Cloneable {
         return replyToCacheLevelName;
     }
 
+    public String getReplyToPartition() {
+        return replyToPartition;
+    }
+
+    /**
+     * Sets the name of the partition to use when <tt>replyToType=Partitioned</tt>.
+     * <p/>
+     * The replies is received on the queue <tt>replyTo.partition</tt> which must only be consumed by
+     * this producer, so a producer fails if the partition is already used by another producer of the same component.
+     * If not configured a partition is created for each producer, named after the {@link org.apache.camel.CamelContext}
+     * and the endpoint, with a counter added if other producers of the endpoint is using the partition. The name is
+     * the same when the producer is restarted, so the reply queue is reused. The {@link org.apache.camel.CamelContext}
+     * must have a unique name if the endpoint is also used from other JVMs.
+     */
+    public void setReplyToPartition(String replyToPartition) {
+        this.replyToPartition = replyToPartition;
+    }
+
+    public int getProducerBatchSize() {
+        return producerBatchSize;
+    }
+
+    /**
+     * Sets the number of InOnly messages the producer collects and sends as a batch using one session
+     * and producer, and committing once if the session is transacted.
+     * <p/>
+     * The batch is sent by the thread which completes the batch, or by a timeout thread, so callers which
+     * are not asynchronous is blocked for up to <tt>producerBatchTimeout</tt> waiting for the batch to be sent.
+     * Exchanges which is transacted is sent one by one, as they must be sent by the thread of the transaction.
+     * <p/>
+     * By default this is <tt>0</tt> which means the messages is sent one by one.
+     */
+    public void setProducerBatchSize(int producerBatchSize) {
+        this.producerBatchSize = producerBatchSize;
+    }
+
+    public long getProducerBatchTimeout() {
+        return producerBatchTimeout;
+    }
+
+    /**
+     * Sets the time in millis to wait for a batch to complete before it is sent with fewer messages
+     * than <tt>producerBatchSize</tt>. The timeout must be a positive number.
+     * <p/>
+     * The default is 1000 millis.
+     */
+    public void setProducerBatchTimeout(long producerBatchTimeout) {
+        this.producerBatchTimeout = producerBatchTimeout;
+    }
+
+    public int getConsumerBatchSize() {
+        return consumerBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of messages the consumer receives and processes in each turn of the session,
+     * before the session is committed or the messages is acknowledged once.
+     * <p/>
+     * This requires the default consumer type, and the session or consumer to be cached, or a transaction manager.
+     * If processing a message fails then all the messages in the batch is rolled back.
+     * By default this is <tt>0</tt> which means the messages is committed or acknowledged one by one.
+     */
+    public void setConsumerBatchSize(int consumerBatchSize) {
+        this.consumerBatchSize = consumerBatchSize;
+    }
+
+    public long getConsumerBatchTimeout() {
+        return consumerBatchTimeout;
+    }
+
+    /**
+     * Sets the time in millis to wait for the next message when a batch has been started.
+     * <p/>
+     * The default is <tt>0</tt> which means the batch is completed by the messages which can be received
+     * without waiting, such as the messages prefetched by the JMS client.
+     */
+    public void setConsumerBatchTimeout(long consumerBatchTimeout) {
+        this.consumerBatchTimeout = consumerBatchTimeout;
+    }
+
     public boolean isAllowNullBody() {
         return allowNullBody;
     }
@@ -21,6 +21,9 @@ import javax.jms.Connection;
 import org.apache.camel.FailedToCreateConsumerException;
 import org.apache.camel.Processor;
 import org.apache.camel.SuspendableService;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.impl.DefaultConsumer;
 import org.springframework.jms.listener.AbstractMessageListenerContainer;
 import org.springframework.jms.support.JmsUtils;
@@ -33,6 +36,7 @@ import org.springframework.jms.support.JmsUtils;
  * @see DefaultJmsMessageListenerContainer
  * @see SimpleJmsMessageListenerContainer
  */
+@ManagedResource(description = "Managed JMS Consumer")
 public class JmsConsumer extends DefaultConsumer implements SuspendableService {
     private volatile AbstractMessageListenerContainer listenerContainer;
     private volatile EndpointMessageListener messageListener;
@@ -62,6 +66,43 @@ public class JmsConsumer extends DefaultConsumer implements SuspendableService {
         return messageListener;
     }
 
+    @ManagedAttribute(description = "Number of batches committed or acknowledged when using consumerBatchSize")
+    public long getBatchCommitCounter() {
+        DefaultJmsMessageListenerContainer container = getBatchListenerContainer();
+        return container != null ? container.getBatchCommitCounter() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of messages committed or acknowledged in batches when using consumerBatchSize")
+    public long getBatchMessageCounter() {
+        DefaultJmsMessageListenerContainer container = getBatchListenerContainer();
+        return container != null ? container.getBatchMessageCounter() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of batches rolled back when using consumerBatchSize")
+    public long getBatchRollbackCounter() {
+        DefaultJmsMessageListenerContainer container = getBatchListenerContainer();
+        return container != null ? container.getBatchRollbackCounter() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of batches committed or acknowledged per second when using consumerBatchSize")
+    public double getBatchCommitRate() {
+        DefaultJmsMessageListenerContainer container = getBatchListenerContainer();
+        return container != null ? container.getBatchCommitRate() : 0;
+    }
+
+    @ManagedOperation(description = "Reset the batch statistics")
+    public void resetBatchStatistics() {
+        DefaultJmsMessageListenerContainer container = getBatchListenerContainer();
+        if (container != null) {
+            container.resetBatchStatistics();
+        }
+    }
+
+    private DefaultJmsMessageListenerContainer getBatchListenerContainer() {
+        AbstractMessageListenerContainer container = listenerContainer;
+        return container instanceof DefaultJmsMessageListenerContainer ? (DefaultJmsMessageListenerContainer) container : null;
+    }
+
     protected void createMessageListener(JmsEndpoint endpoint, Processor processor) {
         messageListener = new EndpointMessageListener(endpoint, processor);
         getEndpoint().getConfiguration().configureMessageListener(messageListener);
@@ -556,6 +556,31 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         return getConfiguration().getReplyTo();
     }
 
+    @ManagedAttribute
+    public int getProducerBatchSize() {
+        return getConfiguration().getProducerBatchSize();
+    }
+
+    @ManagedAttribute
+    public long getProducerBatchTimeout() {
+        return getConfiguration().getProducerBatchTimeout();
+    }
+
+    @ManagedAttribute
+    public int getConsumerBatchSize() {
+        return getConfiguration().getConsumerBatchSize();
+    }
+
+    @ManagedAttribute
+    public long getConsumerBatchTimeout() {
+        return getConfiguration().getConsumerBatchTimeout();
+    }
+
+    @ManagedAttribute
+    public String getReplyToPartition() {
+        return getConfiguration().getReplyToPartition();
+    }
+
     @ManagedAttribute
     public String getReplyToDestinationSelectorName() {
         return getConfiguration().getReplyToDestinationSelectorName();
@@ -730,6 +755,27 @@ public class JmsEndpoint extends DefaultEndpoint implements HeaderFilterStrategy
         getConfiguration().setReplyToCacheLevelName(cacheName);
     }
 
+    public void setProducerBatchSize(int producerBatchSize) {
+        getConfiguration().setProducerBatchSize(producerBatchSize);
+    }
+
+    public void setProducerBatchTimeout(long producerBatchTimeout) {
+        getConfiguration().setProducerBatchTimeout(producerBatchTimeout);
+    }
+
+    public void setConsumerBatchSize(int consumerBatchSize) {
+        getConfiguration().setConsumerBatchSize(consumerBatchSize);
+    }
+
+    public void setConsumerBatchTimeout(long consumerBatchTimeout) {
+        getConfiguration().setConsumerBatchTimeout(consumerBatchTimeout);
+    }
+
+    @ManagedAttribute
+    public void setReplyToPartition(String replyToPartition) {
+        getConfiguration().setReplyToPartition(replyToPartition);
+    }
+
     @ManagedAttribute
     public void setClientId(String consumerClientId) {
         getConfiguration().setClientId(consumerClientId);
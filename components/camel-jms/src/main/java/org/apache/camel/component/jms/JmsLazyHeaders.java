@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import javax.jms.Message;
+
+import org.apache.camel.util.CaseInsensitiveMap;
+
+/**
+ * The headers of a {@link JmsMessage} which is extracted lazily from the underlying {@link Message}.
+ * <p/>
+ * Looking up a header reads only the given header from the JMS message, and all the headers is only
+ * extracted when the headers is iterated or copied, which allows routes that only access
+ * a few headers to avoid extracting all the headers of each message.
+ *
+ * @version
+ */
+public class JmsLazyHeaders extends CaseInsensitiveMap {
+    private static final long serialVersionUID = 5412473591848466839L;
+
+    private final transient Message jmsMessage;
+    private final transient JmsMessage message;
+    // the lower case names of the headers removed before the headers was extracted
+    private transient Set<String> removed;
+    private transient boolean extracted;
+
+    public JmsLazyHeaders(Message jmsMessage, JmsMessage message) {
+        this.jmsMessage = jmsMessage;
+        this.message = message;
+    }
+
+    /**
+     * Whether all the headers has been extracted from the JMS message
+     */
+    public boolean isExtracted() {
+        return extracted;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object answer = super.get(key);
+        if (answer == null && !extracted && key != null && !isRemoved(key)) {
+            answer = message.getBinding().extractHeaderFromJms(jmsMessage, message.getExchange(), key.toString());
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!extracted && key != null && key.toString().regionMatches(true, 0, "JMS", 0, 3)) {
+            // the standard JMS headers is present even if they have no value
+            extract();
+        }
+        return super.containsKey(key) || (!extracted && get(key) != null);
+    }
+
+    /**
+     * Sets the header, where the previous value is only returned if the header has been set or extracted,
+     * to avoid looking up the header in the JMS message on every set.
+     */
+    @Override
+    public Object put(String key, Object value) {
+        Object answer = super.get(key);
+        if (removed != null) {
+            removed.remove(lowerCase(key));
+        }
+        super.put(key, value);
+        return answer;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map) {
+        if (map != null) {
+            for (Map.Entry<? extends String, ?> entry : map.entrySet()) {
+                put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Object answer = get(key);
+        if (!extracted) {
+            if (removed == null) {
+                removed = new HashSet<String>();
+            }
+            removed.add(lowerCase(key));
+        }
+        super.remove(key);
+        return answer;
+    }
+
+    @Override
+    public void clear() {
+        // nothing to extract anymore
+        extracted = true;
+        removed = null;
+        super.clear();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (!extracted && removed == null) {
+            // the standard JMS headers is always present
+            return false;
+        }
+        extract();
+        return super.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        extract();
+        return super.size();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        extract();
+        return super.containsValue(value);
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+        extract();
+        return super.entrySet();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        extract();
+        return super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        extract();
+        return super.values();
+    }
+
+    @Override
+    public Object clone() {
+        extract();
+        return super.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        extract();
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        extract();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        extract();
+        return super.toString();
+    }
+
+    private Object writeReplace() {
+        // serialize the extracted headers as a plain map
+        return new CaseInsensitiveMap(this);
+    }
+
+    /**
+     * Extracts all the headers from the JMS message, keeping the headers which has been set or removed.
+     */
+    protected void extract() {
+        if (extracted) {
+            return;
+        }
+        extracted = true;
+        Map<String, Object> headers = message.getBinding().extractHeadersFromJms(jmsMessage, message.getExchange());
+        for (Map.Entry<String, Object> entry : headers.entrySet()) {
+            String key = entry.getKey();
+            if (!super.containsKey(key) && (removed == null || !removed.contains(lowerCase(key)))) {
+                super.put(key, entry.getValue());
+            }
+        }
+        removed = null;
+    }
+
+    private boolean isRemoved(Object key) {
+        return removed != null && removed.contains(lowerCase(key));
+    }
+
+    private static String lowerCase(Object key) {
+        return key.toString().toLowerCase(Locale.ENGLISH);
+    }
+
+}
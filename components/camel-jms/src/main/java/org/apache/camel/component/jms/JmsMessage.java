@@ -139,25 +139,21 @@ public class JmsMessage extends DefaultMessage {
     }
 
     public Object getHeader(String name) {
-        Object answer = null;
-
-        // we will exclude using JMS-prefixed headers here to avoid strangeness with some JMS providers
-        // e.g. ActiveMQ returns the String not the Destination type for "JMSReplyTo"!
-        // only look in jms message directly if we have not populated headers
-        if (jmsMessage != null && !hasPopulatedHeaders() && !name.startsWith("JMS")) {
-            try {
-                // use binding to do the lookup as it has to consider using encoded keys
-                answer = getBinding().getObjectProperty(jmsMessage, name);
-            } catch (JMSException e) {
-                throw new RuntimeExchangeException("Unable to retrieve header from JMS Message: " + name, getExchange(), e);
-            }
-        }
-        // only look if we have populated headers otherwise there are no headers at all
-        // if we do lookup a header starting with JMS then force a lookup
-        if (answer == null && (hasPopulatedHeaders() || name.startsWith("JMS"))) {
-            answer = super.getHeader(name);
+        // only look in jms message directly if we have not populated headers, which avoids
+        // extracting all the headers and marking the headers as populated
+        if (jmsMessage != null && !hasPopulatedHeaders()) {
+            // use binding to do the lookup as it has to consider using encoded keys
+            // and the JMS-prefixed headers which some JMS providers returns as another type
+            // e.g. ActiveMQ returns the String not the Destination type for "JMSReplyTo"!
+            return getBinding().extractHeaderFromJms(jmsMessage, getExchange(), name);
         }
-        return answer;
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Object getHeader(String name, Object defaultValue) {
+        Object answer = getHeader(name);
+        return answer != null ? answer : defaultValue;
     }
 
     @Override
@@ -209,18 +205,20 @@ public class JmsMessage extends DefaultMessage {
     }
 
     @Override
-    protected Object createBody() {
+    protected Map<String, Object> createHeaders() {
         if (jmsMessage != null) {
-            return getBinding().extractBodyFromJms(getExchange(), jmsMessage);
+            // extract the headers from the JMS message on demand
+            return new JmsLazyHeaders(jmsMessage, this);
         }
-        return null;
+        return super.createHeaders();
     }
 
     @Override
-    protected void populateInitialHeaders(Map<String, Object> map) {
-        if (jmsMessage != null && map != null) {
-            map.putAll(getBinding().extractHeadersFromJms(jmsMessage, getExchange()));
+    protected Object createBody() {
+        if (jmsMessage != null) {
+            return getBinding().extractBodyFromJms(getExchange(), jmsMessage);
         }
+        return null;
     }
 
     @Override
@@ -16,6 +16,10 @@
  */
 package org.apache.camel.component.jms;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -26,15 +30,18 @@ import javax.jms.Message;
 import javax.jms.Session;
 
 import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchProducer;
 import org.apache.camel.Exchange;
 import org.apache.camel.FailedToCreateProducerException;
 import org.apache.camel.RuntimeExchangeException;
 import org.apache.camel.component.jms.JmsConfiguration.CamelJmsTemplate;
+import org.apache.camel.component.jms.reply.PartitionedQueueReplyManager;
 import org.apache.camel.component.jms.reply.PersistentQueueReplyManager;
 import org.apache.camel.component.jms.reply.ReplyManager;
 import org.apache.camel.component.jms.reply.TemporaryQueueReplyManager;
 import org.apache.camel.component.jms.reply.UseMessageIdAsCorrelationIdMessageSentCallback;
 import org.apache.camel.impl.DefaultAsyncProducer;
+import org.apache.camel.processor.BatchSendProcessor;
 import org.apache.camel.spi.UuidGenerator;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.ServiceHelper;
@@ -50,7 +57,7 @@ import static org.apache.camel.component.jms.JmsMessageHelper.normalizeDestinati
 /**
  * @version 
  */
-public class JmsProducer extends DefaultAsyncProducer {
+public class JmsProducer extends DefaultAsyncProducer implements BatchProducer {
     private static final transient Logger LOG = LoggerFactory.getLogger(JmsProducer.class);
     private static final String GENERATED_CORRELATION_ID_PREFIX = "Camel-";
     private final JmsEndpoint endpoint;
@@ -59,6 +66,7 @@ public class JmsProducer extends DefaultAsyncProducer {
     private JmsOperations inOutTemplate;
     private UuidGenerator uuidGenerator;
     private ReplyManager replyManager;
+    private BatchSendProcessor batchProcessor;
 
     public JmsProducer(JmsEndpoint endpoint) {
         super(endpoint);
@@ -128,6 +136,10 @@ public class JmsProducer extends DefaultAsyncProducer {
             if (!endpoint.isDisableReplyTo() && exchange.getPattern().isOutCapable()) {
                 // in out requires a bit more work than in only
                 return processInOut(exchange, callback);
+            } else if (batchProcessor != null && !exchange.isTransacted()) {
+                // in only collected in batches, unless transacted as the batch is sent by another thread
+                // which is not part of the transaction
+                return batchProcessor.process(exchange, callback);
             } else {
                 // in only
                 return processInOnly(exchange, callback);
@@ -242,6 +254,82 @@ public class JmsProducer extends DefaultAsyncProducer {
     protected boolean processInOnly(final Exchange exchange, final AsyncCallback callback) {
         final org.apache.camel.Message in = exchange.getIn();
 
+        Object target = resolveInOnlyDestination(in);
+        String destinationName = target instanceof String ? (String) target : null;
+        Destination destination = target instanceof Destination ? (Destination) target : null;
+        final String to = destinationName != null ? destinationName : "" + destination;
+
+        MessageCreator messageCreator = createInOnlyMessageCreator(exchange, to);
+
+        doSend(false, destinationName, destination, messageCreator, null);
+
+        // after sending then set the OUT message id to the JMSMessageID so its identical
+        setMessageId(exchange);
+
+        // we are synchronous so return true
+        callback.done(true);
+        return true;
+    }
+
+    /**
+     * Sends the InOnly exchanges to the same destination using one session and producer, and
+     * committing once if the session is transacted.
+     * <p/>
+     * InOut exchanges cannot be batched as they wait for the reply, so these exchanges are processed one by one.
+     */
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        // group the exchanges by their destination and keep the order
+        Map<Object, List<Exchange>> batches = new LinkedHashMap<Object, List<Exchange>>();
+        for (Exchange exchange : exchanges) {
+            if (!endpoint.isDisableReplyTo() && exchange.getPattern().isOutCapable()) {
+                process(exchange);
+                continue;
+            }
+
+            Object target = resolveInOnlyDestination(exchange.getIn());
+            if (target == null) {
+                exchange.setException(new IllegalArgumentException("Neither destination nor destinationName is specified on this endpoint: " + endpoint));
+                continue;
+            }
+            List<Exchange> batch = batches.get(target);
+            if (batch == null) {
+                batch = new ArrayList<Exchange>();
+                batches.put(target, batch);
+            }
+            batch.add(exchange);
+        }
+
+        CamelJmsTemplate template = (CamelJmsTemplate) getInOnlyTemplate();
+        for (Map.Entry<Object, List<Exchange>> entry : batches.entrySet()) {
+            Object target = entry.getKey();
+            List<Exchange> batch = entry.getValue();
+            String destinationName = target instanceof String ? (String) target : null;
+            Destination destination = target instanceof Destination ? (Destination) target : null;
+
+            List<MessageCreator> messageCreators = new ArrayList<MessageCreator>(batch.size());
+            for (Exchange exchange : batch) {
+                messageCreators.add(createInOnlyMessageCreator(exchange, "" + target));
+            }
+
+            LOG.debug("Sending batch of {} messages to: {}", batch.size(), target);
+            Exception[] failures = template.send(destinationName, destination, messageCreators);
+            for (int i = 0; i < batch.size(); i++) {
+                if (failures[i] != null) {
+                    batch.get(i).setException(failures[i]);
+                } else {
+                    // after sending then set the OUT message id to the JMSMessageID so its identical
+                    setMessageId(batch.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves the destination to send an InOnly message to.
+     *
+     * @return the {@link Destination}, or the destination name, or <tt>null</tt> if none configured
+     */
+    private Object resolveInOnlyDestination(org.apache.camel.Message in) {
         String destinationName = in.getHeader(JmsConstants.JMS_DESTINATION_NAME, String.class);
         if (destinationName != null) {
             // remove the header so it wont be propagated
@@ -259,13 +347,13 @@ public class JmsProducer extends DefaultAsyncProducer {
         if (destination == null) {
             destination = endpoint.getDestination();
         }
-        if (destination != null) {
-            // prefer to use destination over destination name
-            destinationName = null;
-        }
-        final String to = destinationName != null ? destinationName : "" + destination;
+        // prefer to use destination over destination name
+        return destination != null ? destination : destinationName;
+    }
 
-        MessageCreator messageCreator = new MessageCreator() {
+    private MessageCreator createInOnlyMessageCreator(final Exchange exchange, final String to) {
+        final org.apache.camel.Message in = exchange.getIn();
+        return new MessageCreator() {
             public Message createMessage(Session session) throws JMSException {
                 Message answer = endpoint.getBinding().makeJmsMessage(exchange, in, session, null);
 
@@ -352,15 +440,6 @@ public class JmsProducer extends DefaultAsyncProducer {
                 return answer;
             }
         };
-
-        doSend(false, destinationName, destination, messageCreator, null);
-
-        // after sending then set the OUT message id to the JMSMessageID so its identical
-        setMessageId(exchange);
-
-        // we are synchronous so return true
-        callback.done(true);
-        return true;
     }
 
     /**
@@ -483,15 +562,30 @@ public class JmsProducer extends DefaultAsyncProducer {
         if (endpoint.isTestConnectionOnStartup()) {
             testConnectionOnStartup();
         }
+        if (batchProcessor == null && endpoint.getConfiguration().getProducerBatchSize() > 0) {
+            String name = "JmsProducerBatchTimeout[" + endpoint.getEndpointConfiguredDestinationName() + "]";
+            ScheduledExecutorService executorService = endpoint.getCamelContext().getExecutorServiceManager().newSingleThreadScheduledExecutor(this, name);
+            batchProcessor = new BatchSendProcessor(endpoint, this, endpoint.getConfiguration().getProducerBatchSize(),
+                    endpoint.getConfiguration().getProducerBatchTimeout(), executorService, true);
+        }
+        ServiceHelper.startServices(batchProcessor);
     }
 
     protected void doStop() throws Exception {
+        // send the pending batch before we stop
+        ServiceHelper.stopService(batchProcessor);
         super.doStop();
 
         // must stop/un-init reply manager if it was in use
         unInitReplyManager();
     }
 
+    protected void doShutdown() throws Exception {
+        super.doShutdown();
+        ServiceHelper.stopAndShutdownService(batchProcessor);
+        batchProcessor = null;
+    }
+
     protected ReplyManager createReplyManager() throws Exception {
         // use a temporary queue
         ReplyManager replyManager = new TemporaryQueueReplyManager(getEndpoint().getCamelContext());
@@ -506,8 +600,13 @@ public class JmsProducer extends DefaultAsyncProducer {
     }
 
     protected ReplyManager createReplyManager(String replyTo) throws Exception {
-        // use a persistent queue
-        ReplyManager replyManager = new PersistentQueueReplyManager(getEndpoint().getCamelContext());
+        // use a persistent queue, or a partition of it
+        ReplyManager replyManager;
+        if (ReplyToType.Partitioned == getEndpoint().getConfiguration().getReplyToType()) {
+            replyManager = new PartitionedQueueReplyManager(getEndpoint().getCamelContext());
+        } else {
+            replyManager = new PersistentQueueReplyManager(getEndpoint().getCamelContext());
+        }
         replyManager.setEndpoint(getEndpoint());
 
         String name = "JmsReplyManagerTimeoutChecker[" + replyTo + "]";
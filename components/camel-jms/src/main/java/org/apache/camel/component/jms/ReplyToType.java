@@ -22,5 +22,5 @@ package org.apache.camel.component.jms;
  * @version 
  */
 public enum ReplyToType {
-    Temporary, Shared, Exclusive
+    Temporary, Shared, Exclusive, Partitioned
 }
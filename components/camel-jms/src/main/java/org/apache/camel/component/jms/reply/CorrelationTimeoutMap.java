@@ -35,6 +35,14 @@ public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandle
         super(executor, requestMapPollTimeMillis);
     }
 
+    /**
+     * Creates the map, where <tt>useLock=false</tt> allows concurrent lookups while the timed out entries are purged.
+     * The reply must then be claimed using {@link #remove(String)} before it is processed.
+     */
+    public CorrelationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis, boolean useLock) {
+        super(executor, requestMapPollTimeMillis, useLock);
+    }
+
     public void setListener(CorrelationListener listener) {
         // there is only one listener needed
         this.listener = listener;
@@ -49,6 +57,12 @@ public class CorrelationTimeoutMap extends DefaultTimeoutMap<String, ReplyHandle
             // ignore
         }
 
+        // only trigger timeout if the reply has not been claimed in the meantime
+        if (super.remove(key) == null) {
+            log.trace("CorrelationID: {} has been claimed by a reply before it could be evicted", key);
+            return true;
+        }
+
         // trigger timeout
         value.onTimeout(key);
         // return true to remove the element
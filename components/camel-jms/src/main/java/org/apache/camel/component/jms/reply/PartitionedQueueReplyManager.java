@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms.reply;
+
+import javax.jms.Message;
+
+import org.apache.camel.CamelContext;
+
+/**
+ * A {@link ReplyManager} when using a partition of a persistent reply queue.
+ * <p/>
+ * Each producer consumes the replies from its own queue named <tt>replyTo.partition</tt> without using
+ * JMS message selectors. The replies is correlated using a lookup by the <tt>JMSCorrelationID</tt> which
+ * does not lock the correlation map, and the requests which has timed out is purged in batches by the
+ * timeout checker.
+ *
+ * @version 
+ */
+public class PartitionedQueueReplyManager extends PersistentQueueReplyManager {
+
+    private String partition;
+
+    public PartitionedQueueReplyManager(CamelContext camelContext) {
+        super(camelContext);
+    }
+
+    /**
+     * Gets the name of the partition this reply manager receives replies from.
+     */
+    public String getPartition() {
+        return partition;
+    }
+
+    @Override
+    protected String getReplyToDestinationName() {
+        return endpoint.getReplyTo() + "." + partition;
+    }
+
+    @Override
+    protected CorrelationTimeoutMap createCorrelationMap() {
+        return new CorrelationTimeoutMap(executorService, endpoint.getRequestTimeoutCheckerInterval(), false);
+    }
+
+    @Override
+    protected void handleReplyMessage(String correlationID, Message message) {
+        // claim the reply by removing it, as the timeout checker may evict it concurrently
+        ReplyHandler handler = correlation.remove(correlationID);
+        if (handler == null && endpoint.isUseMessageIDAsCorrelationID()) {
+            if (waitForProvisionCorrelationToBeUpdated(correlationID, message) != null) {
+                handler = correlation.remove(correlationID);
+            }
+        }
+
+        if (handler != null) {
+            handler.onReply(correlationID, message);
+        } else {
+            // we could not correlate the received reply message to a matching request, which may be due
+            // it has timed out, or the reply queue is consumed by other producers as well
+            log.warn("Reply received for unknown correlationID [{}] on partition [{}]. The message will be ignored: {}",
+                    new Object[]{correlationID, partition, message});
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        String name = endpoint.getReplyToPartition();
+        if (name != null) {
+            if (!registerPartition(name)) {
+                throw new IllegalArgumentException("The partition [" + name + "] of reply queue: " + endpoint.getReplyTo()
+                        + " is already used by another producer. Each producer must use its own partition.");
+            }
+        } else {
+            // use a stable name so the same reply queue is used when restarted, and add a counter
+            // if other producers for the same endpoint is already using it
+            name = createDefaultPartition();
+            int counter = 1;
+            while (!registerPartition(counter == 1 ? name : name + "-" + counter)) {
+                counter++;
+            }
+        }
+        log.debug("Using partition [{}] of reply queue: {}", partition, endpoint.getReplyTo());
+        try {
+            super.doStart();
+        } catch (Exception e) {
+            unregisterPartition();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+        // the partition can now be used by another producer
+        unregisterPartition();
+    }
+
+    /**
+     * Creates the name of the partition when none has been configured.
+     * <p/>
+     * The name is based on the {@link CamelContext} name and the endpoint, so the producer uses the same
+     * reply queue when it is restarted, instead of creating a new queue on the broker each time. The
+     * {@link CamelContext} must have an unique name if the same endpoint is used from other JVMs.
+     */
+    protected String createDefaultPartition() {
+        String name = camelContext.getName() + "-" + endpoint.getDestinationName()
+                + "-" + Integer.toHexString(endpoint.getEndpointKey().hashCode());
+        // only use characters which is valid in queue names on all brokers
+        return name.replaceAll("[^a-zA-Z0-9_\\-]", "_");
+    }
+
+    private boolean registerPartition(String name) {
+        String queue = endpoint.getReplyTo() + "." + name;
+        // the endpoint may have been created without the component
+        if (endpoint.getComponent() == null || endpoint.getComponent().addReplyToPartition(queue)) {
+            partition = name;
+            return true;
+        }
+        return false;
+    }
+
+    private void unregisterPartition() {
+        if (partition != null && endpoint.getComponent() != null) {
+            endpoint.getComponent().removeReplyToPartition(getReplyToDestinationName());
+        }
+        partition = null;
+    }
+
+}
@@ -95,6 +95,13 @@ public class PersistentQueueReplyManager extends ReplyManagerSupport {
         }
     }
 
+    /**
+     * Gets the name of the queue to receive the replies from.
+     */
+    protected String getReplyToDestinationName() {
+        return endpoint.getReplyTo();
+    }
+
     private final class DestinationResolverDelegate implements DestinationResolver {
         private DestinationResolver delegate;
         private Destination destination;
@@ -148,11 +155,11 @@ public class PersistentQueueReplyManager extends ReplyManagerSupport {
             // shared is not as fast as temporary or exclusive, so log this so the end user may be aware of this
             log.warn("{} is using a shared reply queue, which is not as fast as alternatives."
                     + " See more detail at the section 'Request-reply over JMS' at http://camel.apache.org/jms", endpoint);
-        } else if (ReplyToType.Exclusive == type) {
+        } else if (ReplyToType.Exclusive == type || ReplyToType.Partitioned == type) {
             answer = new ExclusivePersistentQueueMessageListenerContainer();
             // must use cache level consumer for exclusive as there is no message selector
             answer.setCacheLevel(DefaultMessageListenerContainer.CACHE_CONSUMER);
-            log.debug("Using exclusive queue:" + endpoint.getReplyTo() + " as reply listener: " + answer);
+            log.debug("Using exclusive queue:" + getReplyToDestinationName() + " as reply listener: " + answer);
         } else {
             throw new IllegalArgumentException("ReplyToType " + type + " is not supported for persistent reply queues");
         }
@@ -168,7 +175,7 @@ public class PersistentQueueReplyManager extends ReplyManagerSupport {
             resolver = answer.getDestinationResolver();
         }
         answer.setDestinationResolver(new DestinationResolverDelegate(resolver));
-        answer.setDestinationName(endpoint.getReplyTo());
+        answer.setDestinationName(getReplyToDestinationName());
 
         answer.setAutoStartup(true);
         answer.setMessageListener(this);
@@ -164,6 +164,13 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
 
     protected abstract AbstractMessageListenerContainer createListenerContainer() throws Exception;
 
+    /**
+     * Creates the map which holds the {@link ReplyHandler}s waiting for a reply keyed by their correlation id.
+     */
+    protected CorrelationTimeoutMap createCorrelationMap() {
+        return new CorrelationTimeoutMap(executorService, endpoint.getRequestTimeoutCheckerInterval());
+    }
+
     /**
      * <b>IMPORTANT:</b> This logic is only being used due to high performance in-memory only
      * testing using InOut over JMS. Its unlikely to happen in a real life situation with communication
@@ -215,7 +222,7 @@ public abstract class ReplyManagerSupport extends ServiceSupport implements Repl
         // timeout map to use for purging messages which have timed out, while waiting for an expected reply
         // when doing request/reply over JMS
         log.trace("Using timeout checker interval with {} millis", endpoint.getRequestTimeoutCheckerInterval());
-        correlation = new CorrelationTimeoutMap(executorService, endpoint.getRequestTimeoutCheckerInterval());
+        correlation = createCorrelationMap();
         ServiceHelper.startService(correlation);
 
         // create JMS listener and start it
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.Set;
+import javax.jms.ConnectionFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentTransacted;
+
+/**
+ * Consuming from JMS in batches using the consumerBatchSize option
+ */
+public class JmsConsumerBatchTest extends CamelTestSupport {
+
+    private static final String URI = "activemq:queue:batch?consumerBatchSize=10&consumerBatchTimeout=500&cacheLevelName=CACHE_CONSUMER";
+
+    @Override
+    protected boolean useJmx() {
+        return true;
+    }
+
+    @Test
+    public void testConsumerBatch() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(20);
+
+        for (int i = 0; i < 20; i++) {
+            template.sendBody("activemq:queue:batch", "Message " + i);
+        }
+        context.startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+
+        // the last batch is committed after the exchange has been routed
+        Thread.sleep(1000);
+
+        ObjectName name = getConsumerObjectName();
+        assertEquals(20L, getMBeanServer().getAttribute(name, "BatchMessageCounter"));
+        Long commits = (Long) getMBeanServer().getAttribute(name, "BatchCommitCounter");
+        assertTrue("Should commit in batches, was: " + commits, commits >= 2 && commits < 20);
+        assertEquals(0L, getMBeanServer().getAttribute(name, "BatchRollbackCounter"));
+        Double rate = (Double) getMBeanServer().getAttribute(name, "BatchCommitRate");
+        assertTrue("Should have a commit rate, was: " + rate, rate > 0);
+
+        getMBeanServer().invoke(name, "resetBatchStatistics", null, null);
+        assertEquals(0L, getMBeanServer().getAttribute(name, "BatchCommitCounter"));
+    }
+
+    @Test
+    public void testConsumerBatchRollback() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        // the messages in the batch before the failed message is redelivered as well
+        mock.expectedMessageCount(9);
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("activemq:queue:batch", i == 3 ? "Kaboom" : "Message " + i);
+        }
+        context.startRoute("batch");
+
+        assertMockEndpointsSatisfied();
+
+        // the last batch is committed after the exchange has been routed
+        Thread.sleep(1000);
+
+        assertEquals(1L, getMBeanServer().getAttribute(getConsumerObjectName(), "BatchCommitCounter"));
+        assertEquals(5L, getMBeanServer().getAttribute(getConsumerObjectName(), "BatchMessageCounter"));
+        assertTrue((Long) getMBeanServer().getAttribute(getConsumerObjectName(), "BatchRollbackCounter") >= 1);
+    }
+
+    private MBeanServer getMBeanServer() {
+        return context.getManagementStrategy().getManagementAgent().getMBeanServer();
+    }
+
+    private ObjectName getConsumerObjectName() throws Exception {
+        Set<ObjectName> names = getMBeanServer().queryNames(new ObjectName("org.apache.camel:type=consumers,*"), null);
+        for (ObjectName name : names) {
+            if (name.getKeyProperty("name").startsWith("JmsConsumer")) {
+                return name;
+            }
+        }
+        fail("Cannot find the JMS consumer in JMX");
+        return null;
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentTransacted(connectionFactory));
+
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from(URI).routeId("batch").noAutoStartup()
+                    .to("mock:result")
+                    .process(new Processor() {
+                        private boolean failed;
+
+                        public void process(Exchange exchange) throws Exception {
+                            if (!failed && "Kaboom".equals(exchange.getIn().getBody(String.class))) {
+                                failed = true;
+                                throw new IllegalArgumentException("Forced");
+                            }
+                        }
+                    });
+            }
+        };
+    }
+}
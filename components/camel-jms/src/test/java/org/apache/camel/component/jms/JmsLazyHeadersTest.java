@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.jms.Message;
+
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultMessage;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @version
+ */
+public class JmsLazyHeadersTest {
+
+    private ActiveMQTextMessage jmsMessage;
+    private JmsMessage message;
+
+    @Before
+    public void setUp() throws Exception {
+        jmsMessage = new ActiveMQTextMessage();
+        jmsMessage.setText("Hello World");
+        jmsMessage.setJMSCorrelationID("123");
+        jmsMessage.setStringProperty("name", "Claus");
+        jmsMessage.setIntProperty("age", 42);
+        // a header name which is encoded in JMS
+        jmsMessage.setStringProperty("my_DOT_id", "abc");
+        message = new JmsMessage(jmsMessage, new JmsBinding());
+    }
+
+    @Test
+    public void testGetHeaderDoesNotExtract() throws Exception {
+        JmsLazyHeaders headers = (JmsLazyHeaders) message.getHeaders();
+
+        assertEquals("Claus", headers.get("name"));
+        assertEquals(42, headers.get("age"));
+        assertEquals("abc", headers.get("my.id"));
+        assertEquals("123", headers.get("JMSCorrelationID"));
+        assertEquals("123", headers.get("jmscorrelationid"));
+        assertNull(headers.get("unknown"));
+        assertTrue(headers.containsKey("name"));
+        assertFalse(headers.containsKey("unknown"));
+        assertFalse(headers.isEmpty());
+
+        assertFalse("Should not extract all headers", headers.isExtracted());
+    }
+
+    @Test
+    public void testIterateExtracts() throws Exception {
+        JmsLazyHeaders headers = (JmsLazyHeaders) message.getHeaders();
+
+        Map<String, Object> copy = new HashMap<String, Object>(headers);
+        assertTrue(headers.isExtracted());
+        assertEquals("Claus", copy.get("name"));
+        assertEquals(42, copy.get("age"));
+        assertEquals("abc", copy.get("my.id"));
+        assertEquals("123", copy.get("JMSCorrelationID"));
+        assertTrue(copy.containsKey("JMSReplyTo"));
+    }
+
+    @Test
+    public void testSetAndRemoveBeforeExtract() throws Exception {
+        message.setHeader("name", "Jonathan");
+        message.setHeader("city", "Paris");
+        message.removeHeader("age");
+
+        JmsLazyHeaders headers = (JmsLazyHeaders) message.getHeaders();
+        assertFalse(headers.isExtracted());
+        assertEquals("Jonathan", message.getHeader("name"));
+        assertNull(message.getHeader("age"));
+
+        // the changes should be kept when extracting the remainder headers
+        DefaultMessage copy = new DefaultMessage();
+        copy.copyFrom(message);
+        assertTrue(headers.isExtracted());
+        assertEquals("Jonathan", copy.getHeader("name"));
+        assertEquals("Paris", copy.getHeader("city"));
+        assertEquals("abc", copy.getHeader("my.id"));
+        assertNull(copy.getHeader("age"));
+        assertFalse(copy.getHeaders().containsKey("age"));
+    }
+
+    @Test
+    public void testSetHeaderDoesNotLookupHeader() throws Exception {
+        final AtomicInteger lookups = new AtomicInteger();
+        message = new JmsMessage(jmsMessage, new JmsBinding() {
+            @Override
+            public Object extractHeaderFromJms(Message jmsMessage, Exchange exchange, String name) {
+                lookups.incrementAndGet();
+                return super.extractHeaderFromJms(jmsMessage, exchange, name);
+            }
+        });
+
+        JmsLazyHeaders headers = (JmsLazyHeaders) message.getHeaders();
+        assertNull(headers.put("name", "Jonathan"));
+        assertEquals("Jonathan", headers.put("name", "Donald"));
+        assertEquals(0, lookups.get());
+        assertFalse(headers.isExtracted());
+
+        assertEquals("Donald", message.getHeader("name"));
+        assertEquals(42, message.getHeader("age"));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testGetHeaderDoesNotPopulateHeaders() throws Exception {
+        assertEquals("Claus", message.getHeader("name"));
+        assertEquals("123", message.getHeader("JMSCorrelationID"));
+        assertEquals("Claus", message.getHeader("name", "Default"));
+
+        // reading headers does not require creating a new JMS message
+        assertFalse(message.shouldCreateNewMessage());
+    }
+
+}
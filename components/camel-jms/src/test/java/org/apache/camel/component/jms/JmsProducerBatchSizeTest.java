@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.apache.camel.util.StopWatch;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentTransacted;
+
+/**
+ * Sending to JMS in batches using the producerBatchSize option
+ */
+public class JmsProducerBatchSizeTest extends CamelTestSupport {
+
+    @Test
+    public void testBatchSize() throws Exception {
+        MockEndpoint sent = getMockEndpoint("mock:sent");
+        sent.expectedMessageCount(10);
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedMessageCount(10);
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the batches is completed by size so should not wait for the batch timeout
+        long delta = watch.stop();
+        assertTrue("Should be faster than the batch timeout, was: " + delta, delta < 2000);
+    }
+
+    @Test
+    public void testBatchTimeout() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceivedInAnyOrder("Hello 0", "Hello 1", "Hello 2");
+
+        StopWatch watch = new StopWatch();
+        for (int i = 0; i < 3; i++) {
+            template.sendBody("seda:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        // the batch is not complete so should wait for the batch timeout
+        long delta = watch.stop();
+        assertTrue("Should wait for the batch timeout, was: " + delta, delta > 1500);
+    }
+
+    @Test
+    public void testTransactedNotBatched() throws Exception {
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceived("Hello World");
+
+        StopWatch watch = new StopWatch();
+        template.sendBody("direct:transacted", "Hello World");
+
+        // transacted exchanges is sent by the calling thread so should not wait for the batch timeout
+        long delta = watch.stop();
+        assertTrue("Should not wait for the batch timeout, was: " + delta, delta < 1500);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testInOutNotBatched() throws Exception {
+        assertEquals("Bye World", template.requestBody("activemq:queue:reply?producerBatchSize=5", "World"));
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentTransacted(connectionFactory));
+
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("seda:start?concurrentConsumers=5")
+                    .to("activemq:queue:batch?producerBatchSize=5&producerBatchTimeout=2000")
+                    .to("mock:sent");
+
+                from("direct:transacted")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            exchange.getUnitOfWork().beginTransactedBy("myTransaction");
+                        }
+                    })
+                    .to("activemq:queue:batch?producerBatchSize=5&producerBatchTimeout=2000");
+
+                from("activemq:queue:batch").to("mock:result");
+
+                from("activemq:queue:reply").transform(body().prepend("Bye "));
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentTransacted;
+
+/**
+ * Sending to JMS in batches using batchTo
+ */
+public class JmsProducerBatchToTest extends CamelTestSupport {
+
+    @Test
+    public void testBatchTo() throws Exception {
+        MockEndpoint sent = getMockEndpoint("mock:sent");
+        sent.expectedMessageCount(5);
+        MockEndpoint result = getMockEndpoint("mock:result");
+        result.expectedBodiesReceivedInAnyOrder("Hello 0", "Hello 1", "Hello 2", "Hello 3", "Hello 4");
+
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("seda:start", "Hello " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testBatchToDestinationHeader() throws Exception {
+        getMockEndpoint("mock:sent").expectedMessageCount(2);
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello 0");
+        getMockEndpoint("mock:other").expectedBodiesReceived("Hello 1");
+
+        template.sendBody("seda:start", "Hello 0");
+        template.sendBodyAndHeader("seda:start", "Hello 1", JmsConstants.JMS_DESTINATION_NAME, "other");
+
+        assertMockEndpointsSatisfied();
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentTransacted(connectionFactory));
+
+        return camelContext;
+    }
+
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() throws Exception {
+                from("seda:start?concurrentConsumers=5")
+                    .batchTo("activemq:queue:batch").batchSize(5).batchTimeout(1000).end()
+                    .to("mock:sent");
+
+                from("activemq:queue:batch").to("mock:result");
+
+                from("activemq:queue:other").to("mock:other");
+            }
+        };
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.Destination;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * Using a partition of a fixed replyTo queue, which is consumed without JMS message selectors.
+ *
+ * @version
+ */
+public class JmsRequestReplyPartitionedReplyToTest extends CamelTestSupport {
+
+    @Test
+    public void testJmsRequestReplyPartitionedReplyTo() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo");
+        mock.expectedMessageCount(5);
+
+        String uri = "activemq:queue:foo?replyTo=bar&replyToType=Partitioned&replyToPartition=node1";
+        assertEquals("Hello A", template.requestBody(uri, "A"));
+        assertEquals("Hello B", template.requestBody(uri, "B"));
+        assertEquals("Hello C", template.requestBody(uri, "C"));
+        assertEquals("Hello D", template.requestBody(uri, "D"));
+        assertEquals("Hello E", template.requestBody(uri, "E"));
+
+        assertMockEndpointsSatisfied();
+
+        Destination replyTo = mock.getReceivedExchanges().get(0).getIn().getHeader("JMSReplyTo", Destination.class);
+        assertEquals("queue://bar.node1", replyTo.toString());
+    }
+
+    @Test
+    public void testJmsRequestReplyPartitionedReplyToDefaultPartition() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo");
+        mock.expectedMessageCount(4);
+
+        // two producers using the same reply queue should each use their own partition
+        String uri = "activemq:queue:foo?replyTo=bar&replyToType=Partitioned";
+        String uri2 = uri + "&requestTimeout=30000";
+        assertEquals("Hello A", template.requestBody(uri, "A"));
+        assertEquals("Hello B", template.requestBody(uri2, "B"));
+        assertEquals("Hello C", template.requestBody(uri, "C"));
+        assertEquals("Hello D", template.requestBody(uri2, "D"));
+
+        assertMockEndpointsSatisfied();
+
+        String replyTo = mock.getReceivedExchanges().get(0).getIn().getHeader("JMSReplyTo", Destination.class).toString();
+        String replyTo2 = mock.getReceivedExchanges().get(1).getIn().getHeader("JMSReplyTo", Destination.class).toString();
+        assertTrue("Should use a partition of the reply queue, was: " + replyTo, replyTo.startsWith("queue://bar." + context.getName() + "-"));
+        assertTrue("Should use a partition of the reply queue, was: " + replyTo2, replyTo2.startsWith("queue://bar." + context.getName() + "-"));
+        assertFalse("Each producer should use its own partition", replyTo.equals(replyTo2));
+        assertEquals(replyTo, mock.getReceivedExchanges().get(2).getIn().getHeader("JMSReplyTo", Destination.class).toString());
+    }
+
+    @Test
+    public void testJmsRequestReplyPartitionedReplyToDefaultPartitionReused() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:foo");
+        mock.expectedMessageCount(3);
+
+        Endpoint endpoint = context.getEndpoint("activemq:queue:foo?replyTo=bar&replyToType=Partitioned");
+        Producer producer = endpoint.createProducer();
+        Producer producer2 = endpoint.createProducer();
+        producer.start();
+        producer2.start();
+        assertEquals("Hello A", request(producer, "A"));
+        assertEquals("Hello B", request(producer2, "B"));
+
+        // a new producer should reuse the partition when the first producer has been stopped
+        producer.stop();
+        Producer producer3 = endpoint.createProducer();
+        producer3.start();
+        assertEquals("Hello C", request(producer3, "C"));
+        producer2.stop();
+        producer3.stop();
+
+        assertMockEndpointsSatisfied();
+
+        String replyTo = mock.getReceivedExchanges().get(0).getIn().getHeader("JMSReplyTo", Destination.class).toString();
+        String replyTo2 = mock.getReceivedExchanges().get(1).getIn().getHeader("JMSReplyTo", Destination.class).toString();
+        String replyTo3 = mock.getReceivedExchanges().get(2).getIn().getHeader("JMSReplyTo", Destination.class).toString();
+        assertEquals("The other producer should use the next partition", replyTo + "-2", replyTo2);
+        assertEquals("The partition should be reused", replyTo, replyTo3);
+    }
+
+    @Test
+    public void testJmsRequestReplyPartitionedReplyToSharedPartition() throws Exception {
+        Endpoint endpoint = context.getEndpoint("activemq:queue:foo?replyTo=bar&replyToType=Partitioned&replyToPartition=node3");
+        Producer producer = endpoint.createProducer();
+        Producer producer2 = endpoint.createProducer();
+        producer.start();
+        producer2.start();
+        try {
+            assertEquals("Hello A", request(producer, "A"));
+            try {
+                request(producer2, "B");
+                fail("Should have thrown exception");
+            } catch (Exception e) {
+                assertNotNull(ObjectHelper.getException(IllegalArgumentException.class, e));
+            }
+        } finally {
+            producer.stop();
+            producer2.stop();
+        }
+    }
+
+    private String request(Producer producer, String body) throws Exception {
+        Exchange exchange = producer.createExchange(ExchangePattern.InOut);
+        exchange.getIn().setBody(body);
+        producer.process(exchange);
+        if (exchange.getException() != null) {
+            throw exchange.getException();
+        }
+        return exchange.getOut().getBody(String.class);
+    }
+
+    @Test
+    public void testJmsRequestReplyPartitionedReplyToTimeout() throws Exception {
+        try {
+            template.requestBody("activemq:queue:slow?replyTo=bar&replyToType=Partitioned&replyToPartition=node2"
+                    + "&requestTimeout=500&requestTimeoutCheckerInterval=100", "World");
+            fail("Should have thrown exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(ExchangeTimedOutException.class, e.getCause());
+        }
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("activemq:queue:foo")
+                    .to("mock:foo")
+                    .transform(body().prepend("Hello "));
+
+                from("activemq:queue:slow")
+                    .delay(2000)
+                    .transform(body().prepend("Bye "));
+            }
+        };
+    }
+}
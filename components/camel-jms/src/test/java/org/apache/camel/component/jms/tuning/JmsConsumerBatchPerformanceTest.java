@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms.tuning;
+
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.jms.CamelJmsTestHelper;
+import org.apache.camel.component.jms.JmsComponent;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.springframework.jms.core.JmsTemplate;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentTransacted;
+
+/**
+ * Compares consuming from a transacted JMS endpoint committing each message with committing in batches,
+ * using an embedded ActiveMQ broker.
+ *
+ * @version
+ */
+@Ignore
+public class JmsConsumerBatchPerformanceTest extends CamelTestSupport {
+
+    private int size = 20000;
+
+    @Test
+    public void testOneByOne() throws Exception {
+        doConsumeMessages("single");
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        doConsumeMessages("batch");
+    }
+
+    private void doConsumeMessages(String queue) throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:" + queue);
+        mock.expectedMessageCount(size);
+        mock.setRetainFirst(0);
+        mock.setRetainLast(0);
+        mock.setResultWaitTime(120000);
+
+        // send the messages before consuming so we only measure the consumer
+        JmsComponent jms = context.getComponent("activemq", JmsComponent.class);
+        JmsTemplate jmsTemplate = new JmsTemplate(jms.getConfiguration().getConnectionFactory());
+        for (int i = 0; i < size; i++) {
+            jmsTemplate.convertAndSend(queue, "Message " + i);
+        }
+
+        long start = System.currentTimeMillis();
+        context.startRoute(queue);
+
+        mock.assertIsSatisfied();
+
+        long delta = System.currentTimeMillis() - start;
+        log.info("JmsConsumerBatchPerformanceTest: " + queue + " Consumed: " + size + " Took: " + delta + " ms ("
+                + (size * 1000L / Math.max(1, delta)) + " msg/s)");
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentTransacted(connectionFactory));
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("activemq:queue:single?cacheLevelName=CACHE_CONSUMER").routeId("single").noAutoStartup()
+                    .to("mock:single");
+
+                from("activemq:queue:batch?cacheLevelName=CACHE_CONSUMER&consumerBatchSize=100").routeId("batch").noAutoStartup()
+                    .to("mock:batch");
+            }
+        };
+    }
+}
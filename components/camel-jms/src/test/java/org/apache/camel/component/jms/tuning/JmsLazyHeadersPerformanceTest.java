@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms.tuning;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.Session;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.jms.CamelJmsTestHelper;
+import org.apache.camel.component.jms.JmsComponent;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessageCreator;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * Consumes messages with many properties where the route only reads a single header,
+ * to measure the cost of extracting the JMS headers.
+ *
+ * @version
+ */
+@Ignore
+public class JmsLazyHeadersPerformanceTest extends CamelTestSupport {
+
+    private int size = 100000;
+    private int properties = 30;
+
+    @Test
+    public void testPerformance() throws Exception {
+        getMockEndpoint("mock:gold").expectedMessageCount(size / 2);
+        getMockEndpoint("mock:gold").setRetainFirst(0);
+        getMockEndpoint("mock:gold").setRetainLast(0);
+
+        // send the messages before consuming so we only measure the consumer
+        JmsComponent jms = context.getComponent("activemq", JmsComponent.class);
+        JmsTemplate jmsTemplate = new JmsTemplate(jms.getConfiguration().getConnectionFactory());
+        for (int i = 0; i < size; i++) {
+            final int index = i;
+            jmsTemplate.send("inbox", new MessageCreator() {
+                public Message createMessage(Session session) throws JMSException {
+                    Message message = session.createTextMessage("Message " + index);
+                    for (int j = 0; j < properties; j++) {
+                        message.setStringProperty("property" + j, "value" + j);
+                    }
+                    message.setStringProperty("type", index % 2 == 0 ? "gold" : "silver");
+                    return message;
+                }
+            });
+        }
+
+        long start = System.currentTimeMillis();
+        context.startRoute("inbox");
+
+        assertMockEndpointsSatisfied();
+
+        long delta = System.currentTimeMillis() - start;
+        log.info("JmsLazyHeadersPerformanceTest: Consumed: " + size + " Took: " + delta + " ms");
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("activemq:queue:inbox").routeId("inbox").noAutoStartup()
+                    .filter(header("type").isEqualTo("gold"))
+                        .to("mock:gold");
+            }
+        };
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms.tuning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.jms.CamelJmsTestHelper;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentAutoAcknowledge;
+
+/**
+ * Compares the throughput of request/reply over a shared reply queue using message selectors
+ * with a partition of the reply queue, using an embedded ActiveMQ broker.
+ *
+ * @version
+ */
+@Ignore
+public class JmsPartitionedReplyToPerformanceTest extends CamelTestSupport {
+
+    private int size = 10000;
+    private int threads = 20;
+
+    @Test
+    public void testShared() throws Exception {
+        doSendMessages("activemq:queue:foo?replyTo=shared&replyToType=Shared");
+    }
+
+    @Test
+    public void testPartitioned() throws Exception {
+        doSendMessages("activemq:queue:foo?replyTo=partitioned&replyToType=Partitioned");
+    }
+
+    private void doSendMessages(final String uri) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Object>> futures = new ArrayList<Future<Object>>(size);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            final int index = i;
+            futures.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    return template.requestBody(uri, "Message " + index);
+                }
+            }));
+        }
+        for (int i = 0; i < size; i++) {
+            assertEquals("Hello Message " + i, futures.get(i).get());
+        }
+        long delta = System.currentTimeMillis() - start;
+        executor.shutdownNow();
+
+        log.info("JmsPartitionedReplyToPerformanceTest: " + uri + " Requests: " + size + " Took: " + delta + " ms ("
+                + (size * 1000L / Math.max(1, delta)) + " req/s)");
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentAutoAcknowledge(connectionFactory));
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("activemq:queue:foo?concurrentConsumers=" + threads)
+                    .transform(body().prepend("Hello "));
+            }
+        };
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.jms.tuning;
+
+import javax.jms.ConnectionFactory;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.jms.CamelJmsTestHelper;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Ignore;
+import org.junit.Test;
+
+import static org.apache.camel.component.jms.JmsComponent.jmsComponentTransacted;
+
+/**
+ * Compares sending small messages to a transacted JMS endpoint one by one with sending them in batches,
+ * using an embedded ActiveMQ broker.
+ *
+ * @version
+ */
+@Ignore
+public class JmsProducerBatchPerformanceTest extends CamelTestSupport {
+
+    private int size = 50000;
+
+    @Test
+    public void testOneByOne() throws Exception {
+        doSendMessages("seda:single");
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        doSendMessages("seda:batch");
+    }
+
+    private void doSendMessages(String uri) throws Exception {
+        MockEndpoint sent = getMockEndpoint("mock:sent");
+        sent.expectedMessageCount(size);
+        sent.setRetainFirst(0);
+        sent.setRetainLast(0);
+        sent.setResultWaitTime(120000);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            template.sendBody(uri, "Message " + i);
+        }
+
+        sent.assertIsSatisfied();
+
+        long delta = System.currentTimeMillis() - start;
+        log.info("JmsProducerBatchPerformanceTest: " + uri + " Sent: " + size + " Took: " + delta + " ms ("
+                + (size * 1000L / Math.max(1, delta)) + " msg/s)");
+    }
+
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext camelContext = super.createCamelContext();
+        ConnectionFactory connectionFactory = CamelJmsTestHelper.createConnectionFactory();
+        camelContext.addComponent("activemq", jmsComponentTransacted(connectionFactory));
+        return camelContext;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("seda:single?concurrentConsumers=200&size=" + size)
+                    .to("activemq:queue:single")
+                    .to("mock:sent");
+
+                from("seda:batch?concurrentConsumers=200&size=" + size)
+                    .to("activemq:queue:batch?producerBatchSize=100&producerBatchTimeout=100")
+                    .to("mock:sent");
+            }
+        };
+    }
+}
@@ -53,6 +53,9 @@ public class Mina2Configuration implements Cloneable {
     private boolean autoStartTls = true;
     private int maximumPoolSize = 16; // 16 is the default mina setting
     private boolean orderedThreadPoolExecutor = true;
+    private int datagramQueueSize;
+    private int datagramBatchSize = 100;
+    private int datagramConsumers = 1;
 
     /**
      * Returns a copy of this configuration
@@ -263,4 +266,28 @@ public class Mina2Configuration implements Cloneable {
     public void setOrderedThreadPoolExecutor(boolean orderedThreadPoolExecutor) {
         this.orderedThreadPoolExecutor = orderedThreadPoolExecutor;
     }
+
+    public int getDatagramQueueSize() {
+        return datagramQueueSize;
+    }
+
+    public void setDatagramQueueSize(int datagramQueueSize) {
+        this.datagramQueueSize = datagramQueueSize;
+    }
+
+    public int getDatagramBatchSize() {
+        return datagramBatchSize;
+    }
+
+    public void setDatagramBatchSize(int datagramBatchSize) {
+        this.datagramBatchSize = datagramBatchSize;
+    }
+
+    public int getDatagramConsumers() {
+        return datagramConsumers;
+    }
+
+    public void setDatagramConsumers(int datagramConsumers) {
+        this.datagramConsumers = datagramConsumers;
+    }
 }
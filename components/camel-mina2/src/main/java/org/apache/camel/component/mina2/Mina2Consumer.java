@@ -26,9 +26,13 @@ import org.apache.camel.CamelException;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.Processor;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.impl.DefaultConsumer;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.apache.mina.core.filterchain.DefaultIoFilterChainBuilder;
 import org.apache.mina.core.filterchain.IoFilter;
 import org.apache.mina.core.service.IoAcceptor;
@@ -56,6 +60,7 @@ import org.slf4j.LoggerFactory;
  *
  * @version 
  */
+@ManagedResource(description = "Managed MINA2 Consumer")
 public class Mina2Consumer extends DefaultConsumer {
 
     private static final transient Logger LOG = LoggerFactory.getLogger(Mina2Consumer.class);
@@ -63,6 +68,7 @@ public class Mina2Consumer extends DefaultConsumer {
     private IoAcceptor acceptor;
     private Mina2Configuration configuration;
     private ExecutorService workerPool;
+    private Mina2DatagramQueue datagramQueue;
 
     public Mina2Consumer(final Mina2Endpoint endpoint, Processor processor) throws Exception {
         super(endpoint, processor);
@@ -87,6 +93,15 @@ public class Mina2Consumer extends DefaultConsumer {
     protected void doStart() throws Exception {
         super.doStart();
 
+        if (configuration.isDatagramProtocol() && configuration.getDatagramQueueSize() > 0) {
+            if (configuration.isSync()) {
+                throw new IllegalArgumentException("The option datagramQueueSize can only be used with sync=false");
+            }
+            // queue the datagrams so the MINA processor thread is not blocked by the routing
+            datagramQueue = new Mina2DatagramQueue(this);
+            ServiceHelper.startService(datagramQueue);
+        }
+
         acceptor.setHandler(new ReceiveHandler());
         acceptor.bind(address);
         LOG.info("Bound to server address: {} using acceptor: {}", address, acceptor);
@@ -96,6 +111,10 @@ public class Mina2Consumer extends DefaultConsumer {
     protected void doStop() throws Exception {
         LOG.info("Unbinding from server address: {} using acceptor: {}", address, acceptor);
         acceptor.unbind(address);
+        if (datagramQueue != null) {
+            ServiceHelper.stopService(datagramQueue);
+            datagramQueue = null;
+        }
         super.doStop();
     }
 
@@ -297,6 +316,28 @@ public class Mina2Consumer extends DefaultConsumer {
         this.acceptor = acceptor;
     }
 
+    @ManagedAttribute(description = "Number of datagrams received when using datagramQueueSize")
+    public long getDatagramReceivedCounter() {
+        return datagramQueue != null ? datagramQueue.getReceivedCounter() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of datagrams dropped as the queue was full when using datagramQueueSize")
+    public long getDatagramDroppedCounter() {
+        return datagramQueue != null ? datagramQueue.getDroppedCounter() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of datagrams currently in the queue when using datagramQueueSize")
+    public int getDatagramQueueDepth() {
+        return datagramQueue != null ? datagramQueue.getQueueDepth() : 0;
+    }
+
+    @ManagedOperation(description = "Reset the datagram counters")
+    public void resetDatagramCounters() {
+        if (datagramQueue != null) {
+            datagramQueue.resetCounters();
+        }
+    }
+
     /**
      * Handles consuming messages and replying if the exchange is out capable.
      */
@@ -316,6 +357,12 @@ public class Mina2Consumer extends DefaultConsumer {
 
         @Override
         public void messageReceived(IoSession session, Object object) throws Exception {
+            // queue the datagram which is processed by the consumer threads of the queue
+            if (datagramQueue != null) {
+                datagramQueue.offer(session, object);
+                return;
+            }
+
             // log what we received
             if (LOG.isDebugEnabled()) {
                 Object in = object;
@@ -0,0 +1,190 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.mina2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.support.ServiceSupport;
+import org.apache.camel.util.AsyncProcessorHelper;
+import org.apache.camel.util.IOHelper;
+import org.apache.mina.core.session.IoSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bounded queue of received datagrams, which is used by the {@link Mina2Consumer} when
+ * <tt>datagramQueueSize</tt> is configured for UDP.
+ * <p/>
+ * The MINA processor thread only adds the datagram to the queue, and the datagrams are dropped if the queue
+ * is full. A number of consumer threads take the datagrams from the queue in batches and process them as
+ * <tt>InOnly</tt> {@link Exchange}s, using the batch properties {@link Exchange#BATCH_INDEX},
+ * {@link Exchange#BATCH_SIZE} and {@link Exchange#BATCH_COMPLETE}.
+ */
+public class Mina2DatagramQueue extends ServiceSupport {
+    // use Mina2Consumer as logger to make it easier to read the logs as this is part of the consumer
+    private static final transient Logger LOG = LoggerFactory.getLogger(Mina2Consumer.class);
+    private final Mina2Consumer consumer;
+    private final BlockingQueue<Datagram> queue;
+    private final int batchSize;
+    private final int concurrentConsumers;
+    private final AtomicLong receivedCounter = new AtomicLong();
+    private final AtomicLong droppedCounter = new AtomicLong();
+    private ExecutorService executorService;
+
+    public Mina2DatagramQueue(Mina2Consumer consumer) {
+        this.consumer = consumer;
+        Mina2Configuration configuration = consumer.getEndpoint().getConfiguration();
+        // the array blocking queue preallocates the ring buffer
+        this.queue = new ArrayBlockingQueue<Datagram>(configuration.getDatagramQueueSize());
+        this.batchSize = Math.max(1, configuration.getDatagramBatchSize());
+        this.concurrentConsumers = Math.max(1, configuration.getDatagramConsumers());
+    }
+
+    /**
+     * Adds the received datagram to the queue, which is dropped if the queue is full.
+     *
+     * @return <tt>true</tt> if added, <tt>false</tt> if dropped
+     */
+    public boolean offer(IoSession session, Object payload) {
+        receivedCounter.incrementAndGet();
+        if (queue.offer(new Datagram(session, payload))) {
+            return true;
+        }
+        long dropped = droppedCounter.incrementAndGet();
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Datagram queue is full, dropped datagram from: {} (dropped: {})", session.getRemoteAddress(), dropped);
+        }
+        return false;
+    }
+
+    public long getReceivedCounter() {
+        return receivedCounter.get();
+    }
+
+    public long getDroppedCounter() {
+        return droppedCounter.get();
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public void resetCounters() {
+        receivedCounter.set(0);
+        droppedCounter.set(0);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        CamelContext context = consumer.getEndpoint().getCamelContext();
+        executorService = context.getExecutorServiceManager().newFixedThreadPool(this, "Mina2DatagramConsumer", concurrentConsumers);
+        for (int i = 0; i < concurrentConsumers; i++) {
+            executorService.submit(new DatagramConsumerTask());
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            // interrupt the consumer threads which wait for datagrams
+            consumer.getEndpoint().getCamelContext().getExecutorServiceManager().shutdownNow(executorService);
+            executorService = null;
+        }
+        if (!queue.isEmpty()) {
+            LOG.debug("Discarding {} queued datagrams", queue.size());
+            queue.clear();
+        }
+    }
+
+    private void processBatch(List<Datagram> batch) {
+        Mina2Configuration configuration = consumer.getEndpoint().getConfiguration();
+        int total = batch.size();
+        for (int index = 0; index < total; index++) {
+            Datagram datagram = batch.get(index);
+            final Exchange exchange = consumer.getEndpoint().createExchange(datagram.session, datagram.payload);
+            // no reply is sent for queued datagrams
+            exchange.setPattern(ExchangePattern.InOnly);
+            exchange.setProperty(Exchange.BATCH_INDEX, index);
+            exchange.setProperty(Exchange.BATCH_SIZE, total);
+            exchange.setProperty(Exchange.BATCH_COMPLETE, index == total - 1);
+            // set the exchange charset property for converting
+            if (configuration.getCharsetName() != null) {
+                exchange.setProperty(Exchange.CHARSET_NAME, IOHelper.normalizeCharset(configuration.getCharsetName()));
+            }
+
+            // use the asynchronous routing engine to support it
+            AsyncProcessorHelper.process(consumer.getAsyncProcessor(), exchange, new AsyncCallback() {
+                public void done(boolean doneSync) {
+                    if (exchange.getException() != null) {
+                        consumer.getExceptionHandler().handleException("Error processing datagram", exchange, exchange.getException());
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Task which takes the datagrams from the queue in batches and processes them.
+     */
+    private final class DatagramConsumerTask implements Runnable {
+
+        public void run() {
+            List<Datagram> batch = new ArrayList<Datagram>(batchSize);
+            while (isRunAllowed()) {
+                try {
+                    // wait for the first datagram and then take what else is in the queue
+                    batch.add(queue.take());
+                    queue.drainTo(batch, batchSize - 1);
+                    LOG.trace("Processing batch of {} datagrams", batch.size());
+                    processBatch(batch);
+                } catch (InterruptedException e) {
+                    LOG.debug("Interrupted while waiting for datagrams");
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable e) {
+                    consumer.getExceptionHandler().handleException("Error processing batch of datagrams", e);
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * A received datagram.
+     */
+    private static final class Datagram {
+
+        private final IoSession session;
+        private final Object payload;
+
+        private Datagram(IoSession session, Object payload) {
+            this.session = session;
+            this.payload = payload;
+        }
+    }
+
+}
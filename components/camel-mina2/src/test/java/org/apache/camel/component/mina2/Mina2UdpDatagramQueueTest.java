@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.mina2;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.util.ObjectHelper;
+import org.junit.Test;
+
+/**
+ * @version 
+ */
+public class Mina2UdpDatagramQueueTest extends BaseMina2Test {
+
+    @Test
+    public void testDatagramQueue() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(50);
+        mock.allMessages().property(Exchange.BATCH_SIZE).isNotNull();
+        mock.allMessages().property(Exchange.BATCH_INDEX).isNotNull();
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody(String.format("mina2:udp://127.0.0.1:%1$s?sync=false", getPort()), "Hello Message: " + i);
+            // do not flood the socket, as UDP may drop datagrams
+            Thread.sleep(5);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        Mina2Consumer consumer = (Mina2Consumer) context.getRoute("datagrams").getConsumer();
+        assertEquals(50, consumer.getDatagramReceivedCounter());
+        assertEquals(0, consumer.getDatagramDroppedCounter());
+    }
+
+    @Test
+    public void testDatagramQueueRequiresSyncFalse() throws Exception {
+        try {
+            context.addRoutes(new RouteBuilder() {
+                public void configure() {
+                    // sync is true by default
+                    from(String.format("mina2:udp://127.0.0.1:%1$s?datagramQueueSize=1000", getNextPort())).to("mock:sync");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            assertNotNull(ObjectHelper.getException(IllegalArgumentException.class, e));
+        }
+    }
+
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            public void configure() {
+                from(String.format("mina2:udp://127.0.0.1:%1$s?sync=false&datagramQueueSize=1000&datagramBatchSize=10&datagramConsumers=2", getPort()))
+                    .routeId("datagrams")
+                    .to("mock:result");
+            }
+        };
+    }
+}
@@ -21,6 +21,7 @@ import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLEngine;
 
 import org.apache.camel.component.netty.handlers.ServerChannelHandler;
+import org.apache.camel.component.netty.handlers.ServerInflightHandler;
 import org.apache.camel.component.netty.ssl.SSLEngineFactory;
 import org.jboss.netty.channel.ChannelHandler;
 import org.jboss.netty.channel.ChannelPipeline;
@@ -69,7 +70,15 @@ public class DefaultServerPipelineFactory extends ServerPipelineFactory {
             addToPipeline("decoder-" + x, channelPipeline, decoder);
         }
 
-        if (consumer.getConfiguration().isOrderedThreadPoolExecutor()) {
+        if (consumer.getConfiguration().isTcp() && consumer.getConfiguration().getInflightHighWaterMark() > 0) {
+            // this must be added before the thread pool, so the messages queued in the thread pool are counted
+            // only TCP channels are suspended, as UDP uses a single channel for all the clients
+            addToPipeline("inflight", channelPipeline, new ServerInflightHandler(consumer.getConfiguration()));
+        }
+
+        // no need for the thread pool when the datagrams is queued, as the queue has its own consumer threads
+        boolean datagramQueue = !consumer.getConfiguration().isTcp() && consumer.getConfiguration().getDatagramQueueSize() > 0;
+        if (consumer.getConfiguration().isOrderedThreadPoolExecutor() && !datagramQueue) {
             // this must be added just before the ServerChannelHandler
             // use ordered thread pool, to ensure we process the events in order, and can send back
             // replies in the expected order. eg this is required by TCP.
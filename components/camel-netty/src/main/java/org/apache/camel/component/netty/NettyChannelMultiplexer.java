@@ -0,0 +1,399 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelExchangeException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.support.ServiceSupport;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
+import org.jboss.netty.channel.ChannelLocal;
+import org.jboss.netty.util.Timeout;
+import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends many in-flight requests over a small number of persistent channels, which is used by the
+ * {@link NettyProducer} when <tt>multiplexed=true</tt>.
+ * <p/>
+ * The channels is selected in a round robin fashion and is kept open, and is only re-connected if the
+ * channel has been closed. The replies is correlated to the pending requests on the channel using the
+ * configured {@link NettyCorrelationIdExtractor}, or in the order the requests was sent (FIFO) if no
+ * extractor has been configured. Each request can have its own timeout, which is scheduled on the shared
+ * Netty {@link Timer}, so we do not hold a thread per pending request.
+ */
+public class NettyChannelMultiplexer extends ServiceSupport {
+    // use NettyProducer as logger to make it easier to read the logs as this is part of the producer
+    private static final transient Logger LOG = LoggerFactory.getLogger(NettyProducer.class);
+    private final NettyProducer producer;
+    private final NettyCorrelationIdExtractor correlationIdExtractor;
+    private final ChannelLocal<PendingRequests> pending = new ChannelLocal<PendingRequests>();
+    private final AtomicInteger counter = new AtomicInteger();
+    private final ChannelSlot[] slots;
+    private Timer timer;
+    private ExecutorService timeoutExecutor;
+
+    public NettyChannelMultiplexer(NettyProducer producer) {
+        this.producer = producer;
+        this.correlationIdExtractor = producer.getConfiguration().getCorrelationIdExtractor();
+        int size = Math.max(1, producer.getConfiguration().getMultiplexedChannels());
+        this.slots = new ChannelSlot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new ChannelSlot();
+        }
+    }
+
+    /**
+     * Sends the request on one of the multiplexed channels.
+     *
+     * @param exchange the exchange
+     * @param body     the body to send
+     * @param callback the callback which is invoked when the reply has been received, or the request failed or timed out
+     * @return <tt>true</tt> if the request was completed synchronously, which only happens if it could not be sent
+     */
+    public boolean send(final Exchange exchange, Object body, AsyncCallback callback) {
+        final boolean sync = producer.getConfiguration().isSync();
+        final Channel channel;
+        final Object id;
+        try {
+            channel = nextSlot().getChannel();
+            id = sync && correlationIdExtractor != null ? correlationIdExtractor.extractRequestCorrelationId(exchange, body) : null;
+        } catch (Exception e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+
+        final PendingRequest request = new PendingRequest(exchange, callback);
+        final PendingRequests requests = getPendingRequests(channel);
+
+        // add the request and write it while holding the lock, so the FIFO order is the same as the order on the wire
+        synchronized (requests) {
+            if (sync && !requests.add(id, request)) {
+                exchange.setException(new CamelExchangeException("Duplicate correlation id " + id + " for in-flight request on channel " + channel, exchange));
+                callback.done(true);
+                return true;
+            }
+
+            NettyHelper.writeBodyAsync(LOG, channel, null, body, exchange, new ChannelFutureListener() {
+                public void operationComplete(ChannelFuture channelFuture) throws Exception {
+                    if (!channelFuture.isSuccess()) {
+                        // remove the request if its still pending, as otherwise a FIFO reply could be matched to it
+                        requests.remove(id, request);
+                        request.fail(channelFuture.getCause());
+                    } else if (!sync) {
+                        // no reply expected so we are done
+                        request.complete();
+                    }
+                }
+            });
+        }
+
+        if (sync && producer.getConfiguration().getRequestTimeout() > 0) {
+            request.scheduleTimeout(channel, id, requests, producer.getConfiguration().getRequestTimeout());
+        }
+        return false;
+    }
+
+    /**
+     * Correlates the reply to the pending request on the given channel.
+     *
+     * @param channel the channel the reply was received on
+     * @param reply   the reply
+     * @return the state of the pending request, or <tt>null</tt> if there is no pending request for the reply,
+     * for example if the request has already timed out
+     */
+    public NettyCamelState onReply(Channel channel, Object reply) {
+        PendingRequests requests = pending.get(channel);
+        if (requests == null) {
+            LOG.warn("Received reply on channel: {} with no in-flight requests. The reply is discarded: {}", channel, reply);
+            return null;
+        }
+
+        Object id = correlationIdExtractor != null ? correlationIdExtractor.extractReplyCorrelationId(reply) : null;
+        PendingRequest request;
+        synchronized (requests) {
+            request = requests.take(id);
+        }
+        if (request == null) {
+            LOG.warn("Received reply on channel: {} with correlation id: {} with no in-flight request. The reply is discarded: {}",
+                    new Object[]{channel, id, reply});
+            return null;
+        }
+        if (!request.claim()) {
+            // the request has already timed out
+            LOG.debug("Received late reply on channel: {} with correlation id: {}. The reply is discarded: {}", new Object[]{channel, id, reply});
+            return null;
+        }
+        return new NettyCamelState(request.getCallback(), request.getExchange());
+    }
+
+    /**
+     * Fails all the pending requests on the given channel, such as when the channel has been closed
+     * or an exception was thrown.
+     *
+     * @param channel the channel
+     * @param cause   the cause, or <tt>null</tt> if the channel was closed without any reply
+     */
+    public void onChannelClosed(Channel channel, Throwable cause) {
+        PendingRequests requests = pending.remove(channel);
+        if (requests == null) {
+            return;
+        }
+
+        List<PendingRequest> failed;
+        synchronized (requests) {
+            failed = requests.drain();
+        }
+        if (!failed.isEmpty()) {
+            LOG.debug("Failing {} in-flight requests on channel: {}", failed.size(), channel);
+        }
+        for (PendingRequest request : failed) {
+            if (cause != null) {
+                request.fail(cause);
+            } else {
+                request.fail(new CamelExchangeException("No response received from remote server: "
+                        + producer.getConfiguration().getAddress(), request.getExchange()));
+            }
+        }
+    }
+
+    /**
+     * Number of requests which is in-flight on the given channel.
+     */
+    public int getPendingCount(Channel channel) {
+        PendingRequests requests = pending.get(channel);
+        if (requests == null) {
+            return 0;
+        }
+        synchronized (requests) {
+            return requests.size();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        timer = producer.getEndpoint().getTimer();
+        if (timer == null) {
+            timer = NettyComponent.getTimer();
+        }
+        timeoutExecutor = producer.getContext().getExecutorServiceManager().newCachedThreadPool(this, "NettyRequestTimeout");
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        for (ChannelSlot slot : slots) {
+            slot.close();
+        }
+        if (timeoutExecutor != null) {
+            producer.getContext().getExecutorServiceManager().shutdown(timeoutExecutor);
+            timeoutExecutor = null;
+        }
+    }
+
+    private ChannelSlot nextSlot() {
+        int index = (counter.getAndIncrement() & Integer.MAX_VALUE) % slots.length;
+        return slots[index];
+    }
+
+    private PendingRequests getPendingRequests(Channel channel) {
+        PendingRequests answer = pending.get(channel);
+        if (answer == null) {
+            answer = new PendingRequests();
+            PendingRequests existing = pending.setIfAbsent(channel, answer);
+            if (existing != null) {
+                answer = existing;
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * A persistent channel which is re-connected on demand if it has been closed.
+     */
+    private final class ChannelSlot {
+
+        private volatile Channel channel;
+
+        Channel getChannel() throws Exception {
+            Channel answer = channel;
+            if (answer != null && answer.isConnected()) {
+                return answer;
+            }
+            synchronized (this) {
+                answer = channel;
+                if (answer == null || !answer.isConnected()) {
+                    answer = producer.createChannel();
+                    LOG.debug("Created multiplexed channel: {}", answer);
+                    channel = answer;
+                }
+                return answer;
+            }
+        }
+
+        void close() {
+            Channel answer = channel;
+            channel = null;
+            if (answer != null) {
+                NettyHelper.close(answer);
+                onChannelClosed(answer, null);
+            }
+        }
+    }
+
+    /**
+     * The in-flight requests on a channel, which must be accessed while synchronized on this instance.
+     */
+    private final class PendingRequests {
+
+        private final LinkedList<PendingRequest> queue = new LinkedList<PendingRequest>();
+        private final Map<Object, PendingRequest> map = new HashMap<Object, PendingRequest>();
+
+        boolean add(Object id, PendingRequest request) {
+            if (correlationIdExtractor == null) {
+                queue.add(request);
+                return true;
+            }
+            if (map.containsKey(id)) {
+                return false;
+            }
+            map.put(id, request);
+            return true;
+        }
+
+        PendingRequest take(Object id) {
+            if (correlationIdExtractor == null) {
+                return queue.poll();
+            }
+            return id != null ? map.remove(id) : null;
+        }
+
+        void remove(Object id, PendingRequest request) {
+            synchronized (this) {
+                if (correlationIdExtractor == null) {
+                    queue.remove(request);
+                } else if (map.get(id) == request) {
+                    map.remove(id);
+                }
+            }
+        }
+
+        List<PendingRequest> drain() {
+            List<PendingRequest> answer = new ArrayList<PendingRequest>(queue);
+            answer.addAll(map.values());
+            queue.clear();
+            map.clear();
+            return answer;
+        }
+
+        int size() {
+            return queue.size() + map.size();
+        }
+    }
+
+    /**
+     * An in-flight request, which is completed exactly once, either by the reply, a failure or the timeout.
+     */
+    private final class PendingRequest {
+
+        private final Exchange exchange;
+        private final AsyncCallback callback;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile Timeout timeout;
+
+        PendingRequest(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+        }
+
+        Exchange getExchange() {
+            return exchange;
+        }
+
+        AsyncCallback getCallback() {
+            return callback;
+        }
+
+        boolean claim() {
+            if (done.compareAndSet(false, true)) {
+                Timeout t = timeout;
+                if (t != null) {
+                    t.cancel();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        void complete() {
+            if (claim()) {
+                callback.done(false);
+            }
+        }
+
+        void fail(Throwable cause) {
+            if (claim()) {
+                exchange.setException(cause);
+                callback.done(false);
+            }
+        }
+
+        void scheduleTimeout(final Channel channel, final Object id, final PendingRequests requests, final long delay) {
+            timeout = timer.newTimeout(new TimerTask() {
+                public void run(Timeout t) throws Exception {
+                    if (!done.compareAndSet(false, true)) {
+                        return;
+                    }
+                    // with FIFO the request is kept in the queue, so a late reply is discarded instead of being matched
+                    // to the next request, but when using correlation ids we can remove the request
+                    if (correlationIdExtractor != null) {
+                        requests.remove(id, PendingRequest.this);
+                    }
+                    // continue routing on another thread, as the timer thread must not be blocked
+                    timeoutExecutor.submit(new Runnable() {
+                        public void run() {
+                            exchange.setException(new ExchangeTimedOutException(exchange, delay,
+                                    "No reply received within " + delay + " millis on channel " + channel));
+                            callback.done(false);
+                        }
+                    });
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+
+            // the reply may have been received before the timeout was scheduled
+            if (done.get()) {
+                timeout.cancel();
+            }
+        }
+    }
+
+}
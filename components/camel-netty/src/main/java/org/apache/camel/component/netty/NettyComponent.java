@@ -51,6 +51,12 @@ public class NettyComponent extends DefaultComponent {
             config = new NettyConfiguration();
         }
 
+        // the memory sizes is used by the thread pool which is shared by all the endpoints
+        if (parameters.containsKey("maxChannelMemorySize") || parameters.containsKey("maxTotalMemorySize")) {
+            throw new IllegalArgumentException("The options maxChannelMemorySize and maxTotalMemorySize can only be configured"
+                    + " on the component, and not on the endpoint: " + uri);
+        }
+
         config.parseURI(new URI(remaining), parameters, this);
 
         // validate config
@@ -102,10 +108,12 @@ public class NettyComponent extends DefaultComponent {
         // replies in the expected order. eg this is required by TCP.
         // and use a Camel thread factory so we have consistent thread namings
         // we should use a shared thread pool as recommended by Netty
+        // the executor stops reading from a channel when its queued events exceeds the max channel memory size,
+        // and blocks the I/O threads when all the queued events exceeds the max total memory size
         String pattern = getCamelContext().getExecutorServiceManager().getThreadNamePattern();
         ThreadFactory factory = new CamelThreadFactory(pattern, "NettyOrderedWorker", true);
         return new OrderedMemoryAwareThreadPoolExecutor(configuration.getMaximumPoolSize(),
-                0L, 0L, 30, TimeUnit.SECONDS, factory);
+                configuration.getMaxChannelMemorySize(), configuration.getMaxTotalMemorySize(), 30, TimeUnit.SECONDS, factory);
     }
 
     @Override
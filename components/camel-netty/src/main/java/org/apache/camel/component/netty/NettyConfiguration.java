@@ -78,10 +78,22 @@ public class NettyConfiguration implements Cloneable {
     private boolean needClientAuth;
     private int maximumPoolSize = 16;
     private boolean orderedThreadPoolExecutor = true;
+    private long maxChannelMemorySize;
+    private long maxTotalMemorySize;
+    private int inflightHighWaterMark;
+    private int inflightLowWaterMark;
+    private int datagramQueueSize;
+    private int datagramBatchSize = 100;
+    private int datagramConsumers = 1;
     private int producerPoolMaxActive = -1;
     private int producerPoolMinIdle = 0;
     private int producerPoolMaxIdle = 100;
     private long producerPoolMinEvictableIdle = 5 * 60 * 1000L;
+    private boolean multiplexed;
+    private int multiplexedChannels = 1;
+    private long requestTimeout;
+    private NettyCorrelationIdExtractor correlationIdExtractor;
+    private boolean directBuffer;
     
     /**
      * Returns a copy of this configuration
@@ -149,6 +161,7 @@ public class NettyConfiguration implements Cloneable {
         trustStoreFile = component.resolveAndRemoveReferenceParameter(parameters, "trustStoreFile", File.class, null);
         clientPipelineFactory = component.resolveAndRemoveReferenceParameter(parameters, "clientPipelineFactory", ClientPipelineFactory.class, null);
         serverPipelineFactory = component.resolveAndRemoveReferenceParameter(parameters, "serverPipelineFactory", ServerPipelineFactory.class, null);
+        correlationIdExtractor = component.resolveAndRemoveReferenceParameter(parameters, "correlationIdExtractor", NettyCorrelationIdExtractor.class, null);
 
         // set custom encoders and decoders first
         List<ChannelHandler> referencedEncoders = component.resolveAndRemoveReferenceListParameter(parameters, "encoders", ChannelHandler.class, null);
@@ -541,6 +554,65 @@ public class NettyConfiguration implements Cloneable {
         this.orderedThreadPoolExecutor = orderedThreadPoolExecutor;
     }
 
+    public long getMaxChannelMemorySize() {
+        return maxChannelMemorySize;
+    }
+
+    /**
+     * Sets the maximum size of the queued events per channel in the ordered thread pool, where reading
+     * from the channel is suspended when exceeded. Use 0 for unlimited which is the default.
+     * <p/>
+     * <b>Important:</b> The thread pool is shared by all the endpoints, so this option can only be
+     * configured on the {@link NettyComponent}. It cannot be used together with <tt>inflightHighWaterMark</tt>
+     * as both suspend and resume reading from the channels.
+     */
+    public void setMaxChannelMemorySize(long maxChannelMemorySize) {
+        this.maxChannelMemorySize = maxChannelMemorySize;
+    }
+
+    public long getMaxTotalMemorySize() {
+        return maxTotalMemorySize;
+    }
+
+    /**
+     * Sets the maximum size of all the queued events in the ordered thread pool, where the I/O threads
+     * is blocked when exceeded. Use 0 for unlimited which is the default.
+     * <p/>
+     * <b>Important:</b> The thread pool is shared by all the endpoints, so this option can only be
+     * configured on the {@link NettyComponent}.
+     */
+    public void setMaxTotalMemorySize(long maxTotalMemorySize) {
+        this.maxTotalMemorySize = maxTotalMemorySize;
+    }
+
+    public int getInflightHighWaterMark() {
+        return inflightHighWaterMark;
+    }
+
+    /**
+     * Sets the number of received messages from a TCP channel at which the consumer suspends reading
+     * from the channel, until the number drops to <tt>inflightLowWaterMark</tt>. The messages which are
+     * queued in the ordered thread pool are counted as well as the in-flight exchanges.
+     * Use 0 to not suspend reading which is the default.
+     * <p/>
+     * A custom <tt>serverPipelineFactory</tt> must add the
+     * {@link org.apache.camel.component.netty.handlers.ServerInflightHandler} to support this option.
+     * <p/>
+     * Cannot be used together with <tt>maxChannelMemorySize</tt> on the component, unless
+     * <tt>orderedThreadPoolExecutor=false</tt>.
+     */
+    public void setInflightHighWaterMark(int inflightHighWaterMark) {
+        this.inflightHighWaterMark = inflightHighWaterMark;
+    }
+
+    public int getInflightLowWaterMark() {
+        return inflightLowWaterMark;
+    }
+
+    public void setInflightLowWaterMark(int inflightLowWaterMark) {
+        this.inflightLowWaterMark = inflightLowWaterMark;
+    }
+
     public int getProducerPoolMaxActive() {
         return producerPoolMaxActive;
     }
@@ -573,6 +645,70 @@ public class NettyConfiguration implements Cloneable {
         this.producerPoolMinEvictableIdle = producerPoolMinEvictableIdle;
     }
 
+    public boolean isMultiplexed() {
+        return multiplexed;
+    }
+
+    public void setMultiplexed(boolean multiplexed) {
+        this.multiplexed = multiplexed;
+    }
+
+    public int getMultiplexedChannels() {
+        return multiplexedChannels;
+    }
+
+    public void setMultiplexedChannels(int multiplexedChannels) {
+        this.multiplexedChannels = multiplexedChannels;
+    }
+
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public NettyCorrelationIdExtractor getCorrelationIdExtractor() {
+        return correlationIdExtractor;
+    }
+
+    public void setCorrelationIdExtractor(NettyCorrelationIdExtractor correlationIdExtractor) {
+        this.correlationIdExtractor = correlationIdExtractor;
+    }
+
+    public boolean isDirectBuffer() {
+        return directBuffer;
+    }
+
+    public void setDirectBuffer(boolean directBuffer) {
+        this.directBuffer = directBuffer;
+    }
+
+    public int getDatagramQueueSize() {
+        return datagramQueueSize;
+    }
+
+    public void setDatagramQueueSize(int datagramQueueSize) {
+        this.datagramQueueSize = datagramQueueSize;
+    }
+
+    public int getDatagramBatchSize() {
+        return datagramBatchSize;
+    }
+
+    public void setDatagramBatchSize(int datagramBatchSize) {
+        this.datagramBatchSize = datagramBatchSize;
+    }
+
+    public int getDatagramConsumers() {
+        return datagramConsumers;
+    }
+
+    public void setDatagramConsumers(int datagramConsumers) {
+        this.datagramConsumers = datagramConsumers;
+    }
+
     private static <T> void addToHandlersList(List<T> configured, List<T> handlers, Class<T> handlerType) {
         if (handlers != null) {
             for (int x = 0; x < handlers.size(); x++) {
@@ -21,9 +21,14 @@ import java.util.concurrent.ExecutorService;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Processor;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.impl.DefaultConsumer;
+import org.apache.camel.util.ServiceHelper;
 import org.jboss.netty.bootstrap.ConnectionlessBootstrap;
 import org.jboss.netty.bootstrap.ServerBootstrap;
+import org.jboss.netty.buffer.DirectChannelBufferFactory;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFactory;
 import org.jboss.netty.channel.FixedReceiveBufferSizePredictorFactory;
@@ -36,6 +41,7 @@ import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+@ManagedResource(description = "Managed Netty Consumer")
 public class NettyConsumer extends DefaultConsumer {
     private static final transient Logger LOG = LoggerFactory.getLogger(NettyConsumer.class);
     private final ChannelGroup allChannels;
@@ -49,6 +55,7 @@ public class NettyConsumer extends DefaultConsumer {
     private Channel channel;
     private ExecutorService bossExecutor;
     private ExecutorService workerExecutor;
+    private NettyDatagramQueue datagramQueue;
 
     public NettyConsumer(NettyEndpoint nettyEndpoint, Processor processor, NettyConfiguration configuration) {
         super(nettyEndpoint, processor);
@@ -68,6 +75,25 @@ public class NettyConsumer extends DefaultConsumer {
 
         LOG.debug("Netty consumer binding to: {}", configuration.getAddress());
 
+        if (!isTcp() && configuration.getDatagramQueueSize() > 0) {
+            if (configuration.isSync()) {
+                throw new IllegalArgumentException("The option datagramQueueSize can only be used with sync=false");
+            }
+            // queue the datagrams so the I/O thread is not blocked by the routing
+            datagramQueue = new NettyDatagramQueue(this);
+            ServiceHelper.startService(datagramQueue);
+        }
+
+        if (isTcp() && configuration.getInflightHighWaterMark() > 0 && configuration.isOrderedThreadPoolExecutor()) {
+            // the ordered thread pool suspends and resumes reading from the channels on its own, which would resume
+            // reading from channels which have been suspended due to too many in-flight messages, and vice versa
+            NettyConfiguration componentConfiguration = getEndpoint().getComponent().getConfiguration();
+            if (componentConfiguration != null && componentConfiguration.getMaxChannelMemorySize() > 0) {
+                throw new IllegalArgumentException("The option inflightHighWaterMark cannot be used together with"
+                        + " maxChannelMemorySize on the component, unless orderedThreadPoolExecutor=false");
+            }
+        }
+
         // setup pipeline factory
         ServerPipelineFactory factory = configuration.getServerPipelineFactory();
         if (factory != null) {
@@ -109,6 +135,11 @@ public class NettyConsumer extends DefaultConsumer {
             workerExecutor = null;
         }
 
+        if (datagramQueue != null) {
+            ServiceHelper.stopService(datagramQueue);
+            datagramQueue = null;
+        }
+
         LOG.info("Netty consumer unbound from: " + configuration.getAddress());
 
         super.doStop();
@@ -118,6 +149,35 @@ public class NettyConsumer extends DefaultConsumer {
         return context;
     }
 
+    /**
+     * Gets the {@link NettyDatagramQueue} when using <tt>datagramQueueSize</tt>, otherwise <tt>null</tt>.
+     */
+    public NettyDatagramQueue getDatagramQueue() {
+        return datagramQueue;
+    }
+
+    @ManagedAttribute(description = "Number of datagrams received when using datagramQueueSize")
+    public long getDatagramReceivedCounter() {
+        return datagramQueue != null ? datagramQueue.getReceivedCounter() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of datagrams dropped as the queue was full when using datagramQueueSize")
+    public long getDatagramDroppedCounter() {
+        return datagramQueue != null ? datagramQueue.getDroppedCounter() : 0;
+    }
+
+    @ManagedAttribute(description = "Number of datagrams currently in the queue when using datagramQueueSize")
+    public int getDatagramQueueDepth() {
+        return datagramQueue != null ? datagramQueue.getQueueDepth() : 0;
+    }
+
+    @ManagedOperation(description = "Reset the datagram counters")
+    public void resetDatagramCounters() {
+        if (datagramQueue != null) {
+            datagramQueue.resetCounters();
+        }
+    }
+
     public ChannelGroup getAllChannels() {
         return allChannels;
     }
@@ -182,6 +242,10 @@ public class NettyConsumer extends DefaultConsumer {
         serverBootstrap.setOption("reuseAddress", configuration.isReuseAddress());
         serverBootstrap.setOption("child.reuseAddress", configuration.isReuseAddress());
         serverBootstrap.setOption("child.connectTimeoutMillis", configuration.getConnectTimeout());
+        if (configuration.isDirectBuffer()) {
+            // allocate the buffers from preallocated direct memory, which avoids copying to/from the socket
+            serverBootstrap.setOption("child.bufferFactory", DirectChannelBufferFactory.getInstance());
+        }
 
         // set the pipeline factory, which creates the pipeline for each newly created channels
         serverBootstrap.setPipelineFactory(pipelineFactory);
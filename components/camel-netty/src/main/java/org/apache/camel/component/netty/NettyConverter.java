@@ -20,15 +20,21 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 
 import org.apache.camel.Converter;
 import org.apache.camel.Exchange;
+import org.apache.camel.util.IOHelper;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBufferInputStream;
-import org.jboss.netty.buffer.DynamicChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
 
 /**
  * A set of converter methods for working with Netty types
+ * <p/>
+ * The converters avoid copying the data where possible, by reading directly from the {@link ChannelBuffer}
+ * or wrapping the given data in a {@link ChannelBuffer}.
  *
  * @version 
  */
@@ -41,17 +47,28 @@ public final class NettyConverter {
 
     @Converter
     public static byte[] toByteArray(ChannelBuffer buffer) {
-        return buffer.array();
+        // use the backing array as-is if it holds exactly the readable bytes
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.readerIndex() == 0
+                && buffer.readableBytes() == buffer.array().length) {
+            return buffer.array();
+        }
+        byte[] bytes = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), bytes);
+        return bytes;
     }
 
     @Converter
     public static String toString(ChannelBuffer buffer, Exchange exchange) {
-        byte[] bytes = toByteArray(buffer);
-        // use type converter as it can handle encoding set on the Exchange
-        if (exchange != null) {
-            return exchange.getContext().getTypeConverter().convertTo(String.class, exchange, bytes);
-        }
-        return new String(bytes);
+        // decode directly from the buffer using the encoding set on the Exchange
+        String charsetName = exchange != null ? IOHelper.getCharsetName(exchange, false) : null;
+        Charset charset = charsetName != null ? Charset.forName(charsetName) : Charset.defaultCharset();
+        return buffer.toString(charset);
+    }
+
+    @Converter
+    public static ByteBuffer toByteBuffer(ChannelBuffer buffer) {
+        // the returned buffer shares the content of the channel buffer
+        return buffer.toByteBuffer();
     }
 
     @Converter
@@ -67,8 +84,20 @@ public final class NettyConverter {
 
     @Converter
     public static ChannelBuffer toByteBuffer(byte[] bytes) {
-        ChannelBuffer buf = new DynamicChannelBuffer(bytes.length);
-        buf.writeBytes(bytes);
-        return buf;
+        // wrap the bytes without copying
+        return ChannelBuffers.wrappedBuffer(bytes);
+    }
+
+    @Converter
+    public static ChannelBuffer toChannelBuffer(ByteBuffer buffer) {
+        // wrap the buffer without copying
+        return ChannelBuffers.wrappedBuffer(buffer);
+    }
+
+    @Converter
+    public static ChannelBuffer toChannelBuffer(String text, Exchange exchange) {
+        String charsetName = exchange != null ? IOHelper.getCharsetName(exchange, false) : null;
+        Charset charset = charsetName != null ? Charset.forName(charsetName) : Charset.defaultCharset();
+        return ChannelBuffers.copiedBuffer(text, charset);
     }
 }
@@ -0,0 +1,48 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import org.apache.camel.Exchange;
+
+/**
+ * Extracts the correlation id from requests and replies, which allows the {@link NettyProducer} to
+ * correlate replies to the in-flight requests when using <tt>multiplexed=true</tt>.
+ * <p/>
+ * The id of a request must be unique among the requests which are in-flight at the same time, and the remote
+ * server must return the same id in the reply. If no extractor is configured then the replies is
+ * correlated in the order the requests was sent (FIFO), which requires the remote server to reply in order.
+ */
+public interface NettyCorrelationIdExtractor {
+
+    /**
+     * Extracts the correlation id from the request which is about to be sent.
+     *
+     * @param exchange the exchange
+     * @param request  the request body which is to be written to the channel
+     * @return the correlation id, must not be <tt>null</tt>
+     */
+    Object extractRequestCorrelationId(Exchange exchange, Object request);
+
+    /**
+     * Extracts the correlation id from the reply which has been received.
+     *
+     * @param reply the reply body as received from the channel
+     * @return the correlation id, or <tt>null</tt> if the reply has no id
+     */
+    Object extractReplyCorrelationId(Object reply);
+
+}
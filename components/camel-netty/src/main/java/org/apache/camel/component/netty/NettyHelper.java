@@ -20,6 +20,7 @@ import java.net.SocketAddress;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.NoTypeConversionAvailableException;
+import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
@@ -72,6 +73,23 @@ public final class NettyHelper {
         return s;
     }
 
+    /**
+     * Gets the body as a {@link ChannelBuffer} to be used when sending without any encoders.
+     * <p/>
+     * The body is wrapped without copying the data if possible, for example when the body is a <tt>byte[]</tt>.
+     *
+     * @param body      the current body
+     * @param exchange  the exchange
+     * @return the body as a {@link ChannelBuffer}, or the current body if it could not be converted
+     */
+    public static Object getChannelBufferBody(Object body, Exchange exchange) {
+        if (body instanceof ChannelBuffer) {
+            return body;
+        }
+        ChannelBuffer buffer = exchange.getContext().getTypeConverter().tryConvertTo(ChannelBuffer.class, exchange, body);
+        return buffer != null ? buffer : body;
+    }
+
     /**
      * Writes the given body to Netty channel. Will <b>not</b >wait until the body has been written.
      *
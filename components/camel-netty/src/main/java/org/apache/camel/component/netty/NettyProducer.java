@@ -30,11 +30,13 @@ import org.apache.camel.impl.DefaultAsyncProducer;
 import org.apache.camel.util.CamelLogger;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ServiceHelper;
 import org.apache.commons.pool.ObjectPool;
 import org.apache.commons.pool.PoolableObjectFactory;
 import org.apache.commons.pool.impl.GenericObjectPool;
 import org.jboss.netty.bootstrap.ClientBootstrap;
 import org.jboss.netty.bootstrap.ConnectionlessBootstrap;
+import org.jboss.netty.buffer.DirectChannelBufferFactory;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFactory;
 import org.jboss.netty.channel.ChannelFuture;
@@ -62,6 +64,7 @@ public class NettyProducer extends DefaultAsyncProducer {
     private ExecutorService workerExecutor;
     private final ChannelLocal<NettyCamelState> state = new ChannelLocal<NettyCamelState>();
     private ObjectPool<Channel> pool;
+    private NettyChannelMultiplexer multiplexer;
 
     public NettyProducer(NettyEndpoint nettyEndpoint, NettyConfiguration configuration) {
         super(nettyEndpoint);
@@ -88,6 +91,10 @@ public class NettyProducer extends DefaultAsyncProducer {
         return configuration.getProtocol().equalsIgnoreCase("tcp");
     }
 
+    protected boolean isMultiplexed() {
+        return configuration.isMultiplexed() && isTcp();
+    }
+
     @Override
     protected void doStart() throws Exception {
         super.doStart();
@@ -125,11 +132,22 @@ public class NettyProducer extends DefaultAsyncProducer {
             // ensure the connection can be established when we start up
             openAndCloseConnection();
         }
+
+        if (isMultiplexed()) {
+            // send the requests over a few persistent channels instead of borrowing a channel per request
+            multiplexer = new NettyChannelMultiplexer(this);
+            ServiceHelper.startService(multiplexer);
+        }
     }
 
     @Override
     protected void doStop() throws Exception {
         LOG.debug("Stopping producer at address: {}", configuration.getAddress());
+        if (multiplexer != null) {
+            ServiceHelper.stopService(multiplexer);
+            multiplexer = null;
+        }
+
         // close all channels
         LOG.trace("Closing {} channels", ALL_CHANNELS.size());
         ChannelGroupFuture future = ALL_CHANNELS.close();
@@ -190,6 +208,16 @@ public class NettyProducer extends DefaultAsyncProducer {
             exchange.setProperty(Exchange.CHARSET_NAME, IOHelper.normalizeCharset(getConfiguration().getCharsetName()));
         }
 
+        // if there is no encoders then write the body as a channel buffer, which wraps the body without copying
+        if (getConfiguration().getEncoders().isEmpty() && getConfiguration().getClientPipelineFactory() == null) {
+            body = NettyHelper.getChannelBufferBody(body, exchange);
+        }
+
+        if (multiplexer != null) {
+            // the multiplexer correlates the reply to the request and signals the callback
+            return multiplexer.send(exchange, body, callback);
+        }
+
         if (LOG.isTraceEnabled()) {
             LOG.trace("Pool[active={}, idle={}]", pool.getNumActive(), pool.getNumIdle());
         }
@@ -275,6 +303,13 @@ public class NettyProducer extends DefaultAsyncProducer {
         state.remove(channel);
     }
 
+    /**
+     * Gets the {@link NettyChannelMultiplexer} when using <tt>multiplexed=true</tt>, otherwise <tt>null</tt>.
+     */
+    public NettyChannelMultiplexer getMultiplexer() {
+        return multiplexer;
+    }
+
     protected void setupTCPCommunication() throws Exception {
         if (channelFactory == null) {
             bossExecutor = context.getExecutorServiceManager().newCachedThreadPool(this, "NettyTCPBoss");
@@ -307,6 +342,10 @@ public class NettyProducer extends DefaultAsyncProducer {
             clientBootstrap.setOption("tcpNoDelay", configuration.isTcpNoDelay());
             clientBootstrap.setOption("reuseAddress", configuration.isReuseAddress());
             clientBootstrap.setOption("connectTimeoutMillis", configuration.getConnectTimeout());
+            if (configuration.isDirectBuffer()) {
+                // allocate the buffers from preallocated direct memory, which avoids copying to/from the socket
+                clientBootstrap.setOption("bufferFactory", DirectChannelBufferFactory.getInstance());
+            }
 
             // set the pipeline factory, which creates the pipeline for each newly created channels
             clientBootstrap.setPipelineFactory(pipelineFactory);
@@ -361,6 +400,14 @@ public class NettyProducer extends DefaultAsyncProducer {
         return answer;
     }
 
+    /**
+     * Opens a new connected channel, which is used by the {@link NettyChannelMultiplexer}.
+     */
+    Channel createChannel() throws Exception {
+        ChannelFuture channelFuture = openConnection();
+        return openChannel(channelFuture);
+    }
+
     private void openAndCloseConnection() throws Exception {
         ChannelFuture future = openConnection();
         Channel channel = openChannel(future);
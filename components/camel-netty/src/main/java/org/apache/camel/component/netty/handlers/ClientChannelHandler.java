@@ -21,6 +21,7 @@ import org.apache.camel.CamelExchangeException;
 import org.apache.camel.Exchange;
 import org.apache.camel.NoTypeConversionAvailableException;
 import org.apache.camel.component.netty.NettyCamelState;
+import org.apache.camel.component.netty.NettyChannelMultiplexer;
 import org.apache.camel.component.netty.NettyConstants;
 import org.apache.camel.component.netty.NettyHelper;
 import org.apache.camel.component.netty.NettyPayloadHelper;
@@ -72,6 +73,14 @@ public class ClientChannelHandler extends SimpleChannelUpstreamHandler {
             LOG.debug("Closing channel as an exception was thrown from Netty", cause);
         }
 
+        NettyChannelMultiplexer multiplexer = producer.getMultiplexer();
+        if (multiplexer != null) {
+            // fail all the in-flight requests on the channel before we close it
+            multiplexer.onChannelClosed(exceptionEvent.getChannel(), cause);
+            NettyHelper.close(exceptionEvent.getChannel());
+            return;
+        }
+
         Exchange exchange = getExchange(ctx);
         AsyncCallback callback = getAsyncCallback(ctx);
 
@@ -92,6 +101,13 @@ public class ClientChannelHandler extends SimpleChannelUpstreamHandler {
     public void channelClosed(ChannelHandlerContext ctx, ChannelStateEvent e) throws Exception {
         LOG.trace("Channel closed: {}", ctx.getChannel());
 
+        NettyChannelMultiplexer multiplexer = producer.getMultiplexer();
+        if (multiplexer != null) {
+            // the in-flight requests on the channel will not receive any reply
+            multiplexer.onChannelClosed(ctx.getChannel(), null);
+            return;
+        }
+
         Exchange exchange = getExchange(ctx);
         AsyncCallback callback = getAsyncCallback(ctx);
 
@@ -114,14 +130,25 @@ public class ClientChannelHandler extends SimpleChannelUpstreamHandler {
     public void messageReceived(ChannelHandlerContext ctx, MessageEvent messageEvent) throws Exception {
         messageReceived = true;
 
-        Exchange exchange = getExchange(ctx);
-        AsyncCallback callback = getAsyncCallback(ctx);
-
         Object body = messageEvent.getMessage();
         if (LOG.isDebugEnabled()) {
             LOG.debug("Channel: {} received body: {}", new Object[]{messageEvent.getChannel(), body});
         }
 
+        NettyChannelMultiplexer multiplexer = producer.getMultiplexer();
+        NettyCamelState state;
+        if (multiplexer != null) {
+            // correlate the reply to one of the in-flight requests on the channel
+            state = multiplexer.onReply(ctx.getChannel(), body);
+            if (state == null) {
+                return;
+            }
+        } else {
+            state = producer.getState(ctx.getChannel());
+        }
+        Exchange exchange = state != null ? state.getExchange() : null;
+        AsyncCallback callback = state != null ? state.getCallback() : null;
+
         // if textline enabled then covert to a String which must be used for textline
         if (producer.getConfiguration().isTextline()) {
             try {
@@ -129,6 +156,7 @@ public class ClientChannelHandler extends SimpleChannelUpstreamHandler {
             } catch (NoTypeConversionAvailableException e) {
                 exchange.setException(e);
                 callback.done(false);
+                return;
             }
         }
 
@@ -140,6 +168,12 @@ public class ClientChannelHandler extends SimpleChannelUpstreamHandler {
             NettyPayloadHelper.setIn(exchange, body);
         }
 
+        if (multiplexer != null) {
+            // the multiplexed channels is kept open and shared by many requests
+            callback.done(false);
+            return;
+        }
+
         try {
             // should channel be closed after complete?
             Boolean close;
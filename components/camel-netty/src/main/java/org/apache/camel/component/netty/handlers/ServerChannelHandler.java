@@ -24,11 +24,13 @@ import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.component.netty.NettyConstants;
 import org.apache.camel.component.netty.NettyConsumer;
+import org.apache.camel.component.netty.NettyDatagramQueue;
 import org.apache.camel.component.netty.NettyHelper;
 import org.apache.camel.component.netty.NettyPayloadHelper;
 import org.apache.camel.util.CamelLogger;
 import org.apache.camel.util.ExchangeHelper;
 import org.apache.camel.util.IOHelper;
+import org.jboss.netty.channel.Channel;
 import org.jboss.netty.channel.ChannelFuture;
 import org.jboss.netty.channel.ChannelFutureListener;
 import org.jboss.netty.channel.ChannelHandlerContext;
@@ -87,25 +89,43 @@ public class ServerChannelHandler extends SimpleChannelUpstreamHandler {
             LOG.debug("Channel: {} received body: {}", new Object[]{messageEvent.getChannel(), in});
         }
 
-        // create Exchange and let the consumer process it
-        final Exchange exchange = consumer.getEndpoint().createExchange(ctx, messageEvent);
-        if (consumer.getConfiguration().isSync()) {
-            exchange.setPattern(ExchangePattern.InOut);
-        }
-        // set the exchange charset property for converting
-        if (consumer.getConfiguration().getCharsetName() != null) {
-            exchange.setProperty(Exchange.CHARSET_NAME, IOHelper.normalizeCharset(consumer.getConfiguration().getCharsetName()));
+        // queue the datagram which is processed by the consumer threads of the queue
+        NettyDatagramQueue datagramQueue = consumer.getDatagramQueue();
+        if (datagramQueue != null) {
+            datagramQueue.offer(ctx, messageEvent);
+            return;
         }
 
-        // process accordingly to endpoint configuration
-        if (consumer.getEndpoint().isSynchronous()) {
-            processSynchronously(exchange, messageEvent);
-        } else {
-            processAsynchronously(exchange, messageEvent);
+        // keep track of the in-flight messages so we can stop reading if we cannot keep up
+        final ServerInflightHandler inflightHandler = ctx.getPipeline().get(ServerInflightHandler.class);
+
+        boolean started = false;
+        try {
+            // create Exchange and let the consumer process it
+            final Exchange exchange = consumer.getEndpoint().createExchange(ctx, messageEvent);
+            if (consumer.getConfiguration().isSync()) {
+                exchange.setPattern(ExchangePattern.InOut);
+            }
+            // set the exchange charset property for converting
+            if (consumer.getConfiguration().getCharsetName() != null) {
+                exchange.setProperty(Exchange.CHARSET_NAME, IOHelper.normalizeCharset(consumer.getConfiguration().getCharsetName()));
+            }
+
+            // process accordingly to endpoint configuration
+            started = true;
+            if (consumer.getEndpoint().isSynchronous()) {
+                processSynchronously(exchange, messageEvent, inflightHandler);
+            } else {
+                processAsynchronously(exchange, messageEvent, inflightHandler);
+            }
+        } finally {
+            if (!started) {
+                messageDone(messageEvent, inflightHandler);
+            }
         }
     }
 
-    private void processSynchronously(final Exchange exchange, final MessageEvent messageEvent) {
+    private void processSynchronously(final Exchange exchange, final MessageEvent messageEvent, final ServerInflightHandler inflightHandler) {
         try {
             consumer.getProcessor().process(exchange);
             if (consumer.getConfiguration().isSync()) {
@@ -113,10 +133,12 @@ public class ServerChannelHandler extends SimpleChannelUpstreamHandler {
             }
         } catch (Throwable e) {
             consumer.getExceptionHandler().handleException(e);
+        } finally {
+            messageDone(messageEvent, inflightHandler);
         }
     }
 
-    private void processAsynchronously(final Exchange exchange, final MessageEvent messageEvent) {
+    private void processAsynchronously(final Exchange exchange, final MessageEvent messageEvent, final ServerInflightHandler inflightHandler) {
         consumer.getAsyncProcessor().process(exchange, new AsyncCallback() {
             @Override
             public void done(boolean doneSync) {
@@ -127,11 +149,19 @@ public class ServerChannelHandler extends SimpleChannelUpstreamHandler {
                     }
                 } catch (Throwable e) {
                     consumer.getExceptionHandler().handleException(e);
+                } finally {
+                    messageDone(messageEvent, inflightHandler);
                 }
             }
         });
     }
 
+    private void messageDone(MessageEvent messageEvent, ServerInflightHandler inflightHandler) {
+        if (inflightHandler != null) {
+            inflightHandler.messageDone(messageEvent.getChannel());
+        }
+    }
+
     private void sendResponse(MessageEvent messageEvent, Exchange exchange) throws Exception {
         Object body;
         if (ExchangeHelper.isOutCapable(exchange)) {
@@ -166,6 +196,11 @@ public class ServerChannelHandler extends SimpleChannelUpstreamHandler {
                 body = NettyHelper.getTextlineBody(body, exchange, consumer.getConfiguration().getDelimiter(), consumer.getConfiguration().isAutoAppendDelimiter());
             }
 
+            // if there is no encoders then write the body as a channel buffer, which wraps the body without copying
+            if (consumer.getConfiguration().getEncoders().isEmpty() && consumer.getConfiguration().getServerPipelineFactory() == null) {
+                body = NettyHelper.getChannelBufferBody(body, exchange);
+            }
+
             // we got a body to write
             ChannelFutureListener listener = new ResponseFutureListener(exchange, messageEvent.getRemoteAddress());
             if (consumer.getConfiguration().isTcp()) {
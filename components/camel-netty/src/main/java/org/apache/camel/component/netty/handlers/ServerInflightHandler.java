@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty.handlers;
+
+import org.apache.camel.component.netty.NettyConfiguration;
+import org.apache.camel.component.netty.NettyConsumer;
+import org.jboss.netty.channel.Channel;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.jboss.netty.channel.MessageEvent;
+import org.jboss.netty.channel.SimpleChannelUpstreamHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Server handler which counts the received messages of a TCP channel, until the {@link ServerChannelHandler}
+ * is done processing them, and suspends reading from the channel when <tt>inflightHighWaterMark</tt> is reached.
+ * <p/>
+ * This handler is added before the thread pool in the pipeline, so the messages which are queued in the
+ * thread pool are counted as well as the in-flight exchanges.
+ * <p/>
+ * This handler cannot be shared.
+ */
+public class ServerInflightHandler extends SimpleChannelUpstreamHandler {
+    // use NettyConsumer as logger to make it easier to read the logs as this is part of the consumer
+    private static final transient Logger LOG = LoggerFactory.getLogger(NettyConsumer.class);
+    private final int highWaterMark;
+    private final int lowWaterMark;
+    private int inflight;
+    private boolean suspended;
+
+    public ServerInflightHandler(NettyConfiguration configuration) {
+        this.highWaterMark = configuration.getInflightHighWaterMark();
+        // default to half of the high water mark
+        this.lowWaterMark = configuration.getInflightLowWaterMark() > 0 ? configuration.getInflightLowWaterMark() : highWaterMark / 2;
+    }
+
+    @Override
+    public void messageReceived(ChannelHandlerContext ctx, MessageEvent messageEvent) throws Exception {
+        messageStarted(messageEvent.getChannel());
+        super.messageReceived(ctx, messageEvent);
+    }
+
+    /**
+     * Gets the number of received messages which are queued or in-flight
+     */
+    public synchronized int getInflight() {
+        return inflight;
+    }
+
+    public synchronized boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     * Callback when the {@link ServerChannelHandler} is done processing a received message.
+     */
+    public synchronized void messageDone(Channel channel) {
+        inflight--;
+        if (suspended && inflight <= lowWaterMark) {
+            LOG.debug("Resume reading from channel: {} as there are {} in-flight messages", channel, inflight);
+            suspended = false;
+            channel.setReadable(true);
+        }
+    }
+
+    private synchronized void messageStarted(Channel channel) {
+        inflight++;
+        if (!suspended && inflight >= highWaterMark) {
+            LOG.debug("Suspend reading from channel: {} as there are {} in-flight messages", channel, inflight);
+            suspended = true;
+            channel.setReadable(false);
+        }
+    }
+
+}
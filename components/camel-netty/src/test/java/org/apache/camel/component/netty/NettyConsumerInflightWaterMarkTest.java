@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ResolveEndpointFailedException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.netty.handlers.ServerInflightHandler;
+import org.apache.camel.impl.JndiRegistry;
+import org.apache.camel.util.ObjectHelper;
+import org.jboss.netty.channel.ChannelHandlerContext;
+import org.junit.Test;
+
+public class NettyConsumerInflightWaterMarkTest extends BaseNettyTest {
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger maxInflight = new AtomicInteger();
+    private final AtomicBoolean suspended = new AtomicBoolean();
+    private int orderedPort;
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        // the replies may be sent out of order so correlate using the prefix
+        jndi.bind("myExtractor", new NettyCorrelationIdExtractor() {
+            public Object extractRequestCorrelationId(Exchange exchange, Object request) {
+                return extractReplyCorrelationId(request);
+            }
+
+            public Object extractReplyCorrelationId(Object reply) {
+                String text = reply.toString();
+                return text.substring(0, text.indexOf(':'));
+            }
+        });
+        return jndi;
+    }
+
+    @Test
+    public void testSuspendAndResumeReading() throws Exception {
+        // send all the requests over a single channel
+        String uri = "netty:tcp://localhost:{{port}}?textline=true&sync=true&multiplexed=true&correlationIdExtractor=#myExtractor";
+
+        List<Future<String>> replies = new ArrayList<Future<String>>();
+        for (int i = 0; i < 20; i++) {
+            replies.add(template.asyncRequestBody(uri, i + ":Hello", String.class));
+        }
+
+        // all the replies should be received, as reading is resumed when the exchanges complete
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + ":Bye Hello", replies.get(i).get());
+        }
+        log.info("Max in-flight exchanges: {}", maxInflight.get());
+    }
+
+    @Test
+    public void testSuspendReadingWithOrderedThreadPool() throws Exception {
+        // send all the requests over a single channel, which are queued in the ordered thread pool
+        String uri = "netty:tcp://localhost:" + orderedPort + "?textline=true&sync=true&multiplexed=true&correlationIdExtractor=#myExtractor";
+
+        List<Future<String>> replies = new ArrayList<Future<String>>();
+        for (int i = 0; i < 20; i++) {
+            replies.add(template.asyncRequestBody(uri, i + ":Hello", String.class));
+        }
+
+        // all the replies should be received, as reading is resumed when the queued messages are processed
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i + ":Bye Hello", replies.get(i).get());
+        }
+        // the queued messages are counted, even though only one exchange at a time is in-flight
+        assertTrue("Reading from the channel should have been suspended", suspended.get());
+    }
+
+    @Test
+    public void testMaxChannelMemorySizeOnEndpoint() throws Exception {
+        try {
+            context.getEndpoint("netty:tcp://localhost:{{port}}?textline=true&maxChannelMemorySize=1024");
+            fail("Should have thrown exception");
+        } catch (ResolveEndpointFailedException e) {
+            assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+        }
+    }
+
+    @Test
+    public void testInflightHighWaterMarkWithMaxChannelMemorySize() throws Exception {
+        context.getComponent("netty", NettyComponent.class).getConfiguration().setMaxChannelMemorySize(1024);
+
+        try {
+            context.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() throws Exception {
+                    from("netty:tcp://localhost:" + getNextPort() + "?textline=true&inflightHighWaterMark=4").to("mock:result");
+                }
+            });
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            assertNotNull(ObjectHelper.getException(IllegalArgumentException.class, e));
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("netty:tcp://localhost:{{port}}?textline=true&sync=true&orderedThreadPoolExecutor=false"
+                        + "&inflightHighWaterMark=4&inflightLowWaterMark=1")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            int current = inflight.incrementAndGet();
+                            if (current > maxInflight.get()) {
+                                maxInflight.set(current);
+                            }
+                        }
+                    })
+                    // delay asynchronously so the exchanges stay in-flight without blocking the I/O thread
+                    .delay(100).asyncDelayed()
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            inflight.decrementAndGet();
+                        }
+                    })
+                    .transform(body().regexReplaceAll(":", ":Bye "));
+
+                orderedPort = getNextPort();
+                from("netty:tcp://localhost:" + orderedPort + "?textline=true&sync=true&inflightHighWaterMark=4")
+                    .process(new Processor() {
+                        public void process(Exchange exchange) throws Exception {
+                            ChannelHandlerContext ctx = exchange.getIn().getHeader(NettyConstants.NETTY_CHANNEL_HANDLER_CONTEXT, ChannelHandlerContext.class);
+                            if (ctx.getPipeline().get(ServerInflightHandler.class).isSuspended()) {
+                                suspended.set(true);
+                            }
+                        }
+                    })
+                    // delay synchronously so the messages are queued in the ordered thread pool
+                    .delay(20)
+                    .transform(body().regexReplaceAll(":", ":Bye "));
+            }
+        };
+    }
+}
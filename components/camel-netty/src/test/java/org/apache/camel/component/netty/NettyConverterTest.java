@@ -16,9 +16,12 @@
  */
 package org.apache.camel.component.netty;
 
+import java.nio.ByteBuffer;
+
 import org.apache.camel.impl.DefaultExchange;
 import org.apache.camel.test.junit4.CamelTestSupport;
 import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
 import org.jboss.netty.buffer.DynamicChannelBuffer;
 import org.junit.Before;
 import org.junit.Test;
@@ -57,4 +60,33 @@ public class NettyConverterTest extends CamelTestSupport {
         assertEquals(PAYLOAD, result);
     }
 
+    @Test
+    public void testConversionToByteArray() {
+        byte[] bytes = PAYLOAD.getBytes();
+        ChannelBuffer wrapped = ChannelBuffers.wrappedBuffer(bytes);
+        // the backing array is used as-is
+        assertSame(bytes, context.getTypeConverter().convertTo(byte[].class, wrapped));
+
+        // only the readable bytes are returned
+        wrapped.skipBytes(5);
+        assertEquals("Message", new String(context.getTypeConverter().convertTo(byte[].class, wrapped)));
+    }
+
+    @Test
+    public void testConversionToChannelBuffer() {
+        byte[] bytes = PAYLOAD.getBytes();
+        ChannelBuffer buffer = context.getTypeConverter().convertTo(ChannelBuffer.class, bytes);
+        assertNotNull(buffer);
+        // the bytes are wrapped and not copied
+        assertSame(bytes, buffer.array());
+
+        buffer = context.getTypeConverter().convertTo(ChannelBuffer.class, ByteBuffer.wrap(bytes));
+        assertNotNull(buffer);
+        assertSame(bytes, buffer.array());
+
+        buffer = context.getTypeConverter().convertTo(ChannelBuffer.class, new DefaultExchange(context), PAYLOAD);
+        assertNotNull(buffer);
+        assertEquals(PAYLOAD, context.getTypeConverter().convertTo(String.class, buffer));
+    }
+
 }
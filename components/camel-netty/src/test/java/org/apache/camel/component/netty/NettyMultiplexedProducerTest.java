@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.CamelExecutionException;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangeTimedOutException;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.JndiRegistry;
+import org.junit.Test;
+
+public class NettyMultiplexedProducerTest extends BaseNettyTest {
+
+    @Override
+    protected JndiRegistry createRegistry() throws Exception {
+        JndiRegistry jndi = super.createRegistry();
+        jndi.bind("myExtractor", new PrefixCorrelationIdExtractor());
+        return jndi;
+    }
+
+    @Test
+    public void testMultiplexedFifo() throws Exception {
+        doSendConcurrent("netty:tcp://localhost:{{port}}?textline=true&sync=true&multiplexed=true&multiplexedChannels=2", 50, 10);
+    }
+
+    @Test
+    public void testMultiplexedCorrelationId() throws Exception {
+        doSendConcurrent("netty:tcp://localhost:{{port}}?textline=true&sync=true&multiplexed=true&multiplexedChannels=2"
+                + "&correlationIdExtractor=#myExtractor", 50, 10);
+    }
+
+    @Test
+    public void testMultiplexedRequestTimeout() throws Exception {
+        String uri = "netty:tcp://localhost:{{port}}?textline=true&sync=true&multiplexed=true&requestTimeout=500";
+        try {
+            template.requestBody(uri, "0:Slow", String.class);
+            fail("Should have thrown an exception");
+        } catch (CamelExecutionException e) {
+            assertIsInstanceOf(ExchangeTimedOutException.class, e.getCause());
+        }
+
+        // the server processes the requests on the channel in order, so wait for the late reply to arrive,
+        // which must not be used as reply for the next request
+        Thread.sleep(2000);
+        String reply = template.requestBody(uri, "1:Hello", String.class);
+        assertEquals("1:Bye Hello", reply);
+    }
+
+    private void doSendConcurrent(final String uri, int messages, int poolSize) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<String>> replies = new ArrayList<Future<String>>();
+            for (int i = 0; i < messages; i++) {
+                final int index = i;
+                replies.add(executor.submit(new Callable<String>() {
+                    public String call() throws Exception {
+                        return template.requestBody(uri, index + ":Hello", String.class);
+                    }
+                }));
+            }
+
+            for (int i = 0; i < messages; i++) {
+                assertEquals(i + ":Bye Hello", replies.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("netty:tcp://localhost:{{port}}?textline=true&sync=true")
+                    .choice()
+                        // end the delay and then the choice
+                        .when(body().contains("Slow")).delay(2000).end()
+                    .end()
+                    .transform(body().regexReplaceAll(":", ":Bye "));
+            }
+        };
+    }
+
+    private static final class PrefixCorrelationIdExtractor implements NettyCorrelationIdExtractor {
+
+        public Object extractRequestCorrelationId(Exchange exchange, Object request) {
+            return extract(request);
+        }
+
+        public Object extractReplyCorrelationId(Object reply) {
+            return extract(reply);
+        }
+
+        private static Object extract(Object body) {
+            String text = body.toString();
+            int idx = text.indexOf(':');
+            return idx > 0 ? text.substring(0, idx) : null;
+        }
+    }
+
+}
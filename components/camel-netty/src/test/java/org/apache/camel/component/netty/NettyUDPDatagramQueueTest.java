@@ -0,0 +1,58 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.netty;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Test;
+
+public class NettyUDPDatagramQueueTest extends BaseNettyTest {
+
+    @Test
+    public void testDatagramQueue() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(50);
+        mock.allMessages().property(Exchange.BATCH_SIZE).isNotNull();
+        mock.allMessages().property(Exchange.BATCH_INDEX).isNotNull();
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("netty:udp://localhost:{{port}}?sync=false", "Message " + i);
+            // do not flood the socket, as UDP may drop datagrams
+            Thread.sleep(5);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        NettyConsumer consumer = (NettyConsumer) context.getRoute("datagrams").getConsumer();
+        assertEquals(50, consumer.getDatagramReceivedCounter());
+        assertEquals(0, consumer.getDatagramDroppedCounter());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("netty:udp://localhost:{{port}}?sync=false&datagramQueueSize=1000&datagramBatchSize=10&datagramConsumers=2")
+                    .routeId("datagrams")
+                    .to("mock:result");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.xslt;
+
+import javax.xml.transform.Templates;
+
+import org.apache.camel.builder.xml.XsltBuilder;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.Test;
+
+public class SaxonXsltTemplatesCacheTest extends CamelTestSupport {
+
+    private static final String SAXON_URI = "xslt:org/apache/camel/component/xslt/transform.xsl?transformerFactoryClass=net.sf.saxon.TransformerFactoryImpl";
+
+    @Test
+    public void testSaxonTemplatesShared() throws Exception {
+        Templates saxon1 = getTemplate(SAXON_URI);
+        Templates saxon2 = getTemplate(SAXON_URI + "&output=bytes");
+        Templates jdk = getTemplate("xslt:org/apache/camel/component/xslt/transform.xsl");
+
+        // the compiled stylesheet of saxon is cached separately
+        assertSame(saxon1, saxon2);
+        assertNotSame(saxon1, jdk);
+        assertTrue(saxon1.getClass().getName().startsWith("net.sf.saxon"));
+        assertEquals(2, context.getComponent("xslt", XsltComponent.class).getTemplatesCache().size());
+
+        String out = template.requestBody(SAXON_URI, "<mail><subject>Hey</subject><body>Hello world!</body></mail>", String.class);
+        assertTrue(out.contains("<subject>Hey</subject>"));
+    }
+
+    private Templates getTemplate(String uri) throws Exception {
+        XsltEndpoint endpoint = context.getEndpoint(uri, XsltEndpoint.class);
+        return ((XsltBuilder) endpoint.getProcessor()).getTemplate();
+    }
+
+}
@@ -16,12 +16,18 @@
  */
 package org.apache.camel.component.sql;
 
+import java.sql.BatchUpdateException;
 import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.camel.BatchProducer;
 import org.apache.camel.Exchange;
 import org.apache.camel.impl.DefaultProducer;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
@@ -29,7 +35,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 
-public class SqlProducer extends DefaultProducer {
+public class SqlProducer extends DefaultProducer implements BatchProducer {
     private String query;
     private JdbcTemplate jdbcTemplate;
     private boolean batch;
@@ -42,8 +48,7 @@ public class SqlProducer extends DefaultProducer {
     }
 
     public void process(final Exchange exchange) throws Exception {
-        String queryHeader = exchange.getIn().getHeader(SqlConstants.SQL_QUERY, String.class);
-        String sql = queryHeader != null ? queryHeader : query;
+        String sql = resolveQuery(exchange);
 
         jdbcTemplate.execute(sql, new PreparedStatementCallback<Map<?, ?>>() {
             public Map<?, ?> doInPreparedStatement(PreparedStatement ps) throws SQLException {
@@ -93,6 +98,135 @@ public class SqlProducer extends DefaultProducer {
         });
     }
 
+    /**
+     * Executes the exchanges as JDBC batches, using one batch per query.
+     * <p/>
+     * Queries which returns a result set cannot be batched, so these exchanges are processed one by one.
+     * If some of the statements in a batch fails, only the exchanges of the failed statements, and of the
+     * statements the driver did not execute after the failure, fails.
+     */
+    public void processBatch(List<Exchange> exchanges) throws Exception {
+        // group the exchanges by their query and keep the order
+        Map<String, List<Exchange>> batches = new LinkedHashMap<String, List<Exchange>>();
+        for (Exchange exchange : exchanges) {
+            String sql = resolveQuery(exchange);
+            List<Exchange> batch = batches.get(sql);
+            if (batch == null) {
+                batch = new ArrayList<Exchange>();
+                batches.put(sql, batch);
+            }
+            batch.add(exchange);
+        }
+
+        for (Map.Entry<String, List<Exchange>> entry : batches.entrySet()) {
+            List<Exchange> batch = entry.getValue();
+            if (!executeBatch(entry.getKey(), batch)) {
+                log.debug("Query returns a result set so cannot be batched: {}", entry.getKey());
+                for (Exchange exchange : batch) {
+                    try {
+                        process(exchange);
+                    } catch (Exception e) {
+                        exchange.setException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean executeBatch(final String sql, final List<Exchange> exchanges) {
+        Boolean answer = jdbcTemplate.execute(sql, new PreparedStatementCallback<Boolean>() {
+            public Boolean doInPreparedStatement(PreparedStatement ps) throws SQLException {
+                ResultSetMetaData meta = ps.getMetaData();
+                if (meta != null && meta.getColumnCount() > 0) {
+                    return false;
+                }
+
+                int expected = ps.getParameterMetaData().getParameterCount();
+
+                // the number of statements each exchange added to the batch
+                List<Exchange> added = new ArrayList<Exchange>(exchanges.size());
+                List<Integer> counts = new ArrayList<Integer>(exchanges.size());
+                for (Exchange exchange : exchanges) {
+                    try {
+                        counts.add(addBatch(ps, exchange, expected));
+                        added.add(exchange);
+                    } catch (SQLException e) {
+                        if (batch) {
+                            // some of the rows of the exchange may already have been added so fail the entire batch
+                            throw e;
+                        }
+                        // only fail this exchange as its parameters is invalid
+                        exchange.setException(e);
+                        ps.clearParameters();
+                    }
+                }
+                if (added.isEmpty()) {
+                    return true;
+                }
+
+                log.debug("Executing batch with {} exchanges: {}", added.size(), sql);
+                int[] updateCounts;
+                BatchUpdateException failure = null;
+                try {
+                    updateCounts = ps.executeBatch();
+                } catch (BatchUpdateException e) {
+                    // the update counts is either for all the statements if the driver continued after the failure,
+                    // or only for the statements executed before the failure
+                    updateCounts = e.getUpdateCounts();
+                    failure = e;
+                }
+                int index = 0;
+                for (int i = 0; i < added.size(); i++) {
+                    int total = 0;
+                    boolean failed = false;
+                    for (int j = 0; j < counts.get(i); j++) {
+                        if (updateCounts == null || index >= updateCounts.length || updateCounts[index] == Statement.EXECUTE_FAILED) {
+                            failed = true;
+                        } else if (updateCounts[index] > 0) {
+                            total += updateCounts[index];
+                        }
+                        index++;
+                    }
+                    if (failed) {
+                        added.get(i).setException(failure);
+                    } else {
+                        added.get(i).getIn().setHeader(SqlConstants.SQL_UPDATE_COUNT, total);
+                    }
+                }
+                return true;
+            }
+        });
+        return answer != null && answer;
+    }
+
+    private int addBatch(PreparedStatement ps, Exchange exchange, int expected) throws SQLException {
+        Iterator<?> iterator = null;
+        if (exchange.getIn().getBody() != null) {
+            iterator = exchange.getIn().getBody(Iterator.class);
+        }
+
+        if (!batch) {
+            populateStatement(ps, iterator, expected);
+            ps.addBatch();
+            return 1;
+        }
+
+        int count = 0;
+        while (iterator != null && iterator.hasNext()) {
+            Object value = iterator.next();
+            Iterator<?> i = exchange.getContext().getTypeConverter().convertTo(Iterator.class, value);
+            populateStatement(ps, i, expected);
+            ps.addBatch();
+            count++;
+        }
+        return count;
+    }
+
+    private String resolveQuery(Exchange exchange) {
+        String queryHeader = exchange.getIn().getHeader(SqlConstants.SQL_QUERY, String.class);
+        return queryHeader != null ? queryHeader : query;
+    }
+
     private void populateStatement(PreparedStatement ps, Iterator<?> iterator, int expectedParams) throws SQLException {
         int argNumber = 1;
         if (expectedParams > 0) {
@@ -0,0 +1,165 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.sql;
+
+import java.sql.BatchUpdateException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.NotifyBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.test.junit4.CamelTestSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+/**
+ * @version 
+ */
+public class SqlProducerBatchToTest extends CamelTestSupport {
+
+    private EmbeddedDatabase db;
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testBatchInsert() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(4);
+
+        for (int i = 0; i < 4; i++) {
+            template.sendBody("seda:insert", new Object[] {10 + i, "Project" + i, "ASF"});
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(7, jdbcTemplate.queryForInt("select count(*) from projects"));
+        for (Exchange exchange : mock.getExchanges()) {
+            assertEquals(Integer.valueOf(1), exchange.getIn().getHeader(SqlConstants.SQL_UPDATE_COUNT, Integer.class));
+        }
+    }
+
+    @Test
+    public void testBatchInsertInvalidParameters() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+        MockEndpoint error = getMockEndpoint("mock:error");
+        error.expectedMessageCount(1);
+
+        template.sendBody("seda:insert", new Object[] {10, "Project0", "ASF"});
+        template.sendBody("seda:insert", new Object[] {11, "Project1", "ASF"});
+        template.sendBody("seda:insert", new Object[] {12, "Project2", "ASF"});
+        // missing parameter which should only fail this exchange
+        template.sendBody("seda:insert", new Object[] {13, "Project3"});
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(6, jdbcTemplate.queryForInt("select count(*) from projects"));
+        assertEquals(0, jdbcTemplate.queryForInt("select count(*) from projects where id = 13"));
+    }
+
+    @Test
+    public void testBatchInsertFailedStatement() throws Exception {
+        NotifyBuilder notify = new NotifyBuilder(context).from("seda:insert*").whenDone(4).create();
+        MockEndpoint error = getMockEndpoint("mock:error");
+        error.expectedMinimumMessageCount(1);
+
+        template.sendBody("seda:insert", new Object[] {10, "Project0", "ASF"});
+        template.sendBody("seda:insert", new Object[] {11, "Project1", "ASF"});
+        template.sendBody("seda:insert", new Object[] {12, "Project2", "ASF"});
+        // duplicate key which should fail this exchange, and the exchanges the driver did not execute after it
+        template.sendBody("seda:insert", new Object[] {1, "Project3", "ASF"});
+
+        assertTrue(notify.matches(10, TimeUnit.SECONDS));
+        assertMockEndpointsSatisfied();
+
+        int inserted = getMockEndpoint("mock:result").getReceivedCounter();
+        assertEquals(4, inserted + error.getReceivedCounter());
+        assertEquals(3 + inserted, jdbcTemplate.queryForInt("select count(*) from projects"));
+        boolean duplicateFailed = false;
+        for (Exchange exchange : error.getExchanges()) {
+            Exception cause = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
+            assertIsInstanceOf(BatchUpdateException.class, cause);
+            if ("Project3".equals(exchange.getIn().getBody(List.class).get(1))) {
+                duplicateFailed = true;
+            }
+        }
+        assertTrue("The exchange with the duplicate key should fail", duplicateFailed);
+    }
+
+    @Test
+    public void testBatchQuery() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(2);
+
+        template.sendBody("seda:select", "ASF");
+        template.sendBody("seda:select", "XXX");
+
+        assertMockEndpointsSatisfied();
+
+        for (Exchange exchange : mock.getExchanges()) {
+            String license = exchange.getIn().getHeader("license", String.class);
+            List<?> received = assertIsInstanceOf(List.class, exchange.getIn().getBody());
+            for (Object row : received) {
+                assertEquals(license, ((Map<?, ?>) row).get("LICENSE"));
+            }
+        }
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        db = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.DERBY).addScript("sql/createAndPopulateDatabase.sql").build();
+
+        jdbcTemplate = new JdbcTemplate(db);
+
+        super.setUp();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        super.tearDown();
+
+        db.shutdown();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            public void configure() {
+                getContext().getComponent("sql", SqlComponent.class).setDataSource(db);
+
+                onException(Exception.class).handled(true).to("mock:error");
+
+                from("seda:insert?concurrentConsumers=4")
+                    .batchTo("sql:insert into projects values (#, #, #)").batchSize(4).batchTimeout(5000).end()
+                    .to("mock:result");
+
+                from("seda:select?concurrentConsumers=2")
+                    .setHeader("license", body())
+                    .batchTo("sql:select * from projects where license = # order by id").batchSize(2).batchTimeout(5000).end()
+                    .to("mock:result");
+            }
+        };
+    }
+}